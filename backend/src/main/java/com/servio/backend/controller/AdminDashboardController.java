@@ -2,14 +2,19 @@ package com.servio.backend.controller;
 
 import com.servio.backend.service.AdminDashboardService;
 import com.servio.dto.ApiResponse;
+import com.servio.dto.RevenueChartData;
 import com.servio.dto.admin.DashboardStatsDto;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+
 @RestController
 @RequestMapping("/api/admin/dashboard")
 @RequiredArgsConstructor
@@ -23,4 +28,22 @@ public class AdminDashboardController {
         DashboardStatsDto stats = adminDashboardService.getDashboardStats();
         return ResponseEntity.ok(ApiResponse.success("Dashboard stats retrieved successfully", stats));
     }
+
+    /**
+     * Revenue time series backed by the daily KPI rollups.
+     * granularity = day (default, last 30 days) or month (last 12 months);
+     * from / to (ISO dates, inclusive) override the default range.
+     */
+    @GetMapping("/revenue-trend")
+    public ResponseEntity<ApiResponse<RevenueChartData>> getRevenueTrend(
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            RevenueChartData trend = adminDashboardService.getRevenueTrend(granularity, from, to);
+            return ResponseEntity.ok(ApiResponse.success("Revenue trend retrieved successfully", trend));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage(), null));
+        }
+    }
 }
@@ -5,9 +5,11 @@ import com.servio.backend.service.AdminServiceService;
 import com.servio.backend.service.CloudinaryService;
 import com.servio.dto.ApiResponse;
 import com.servio.dto.admin.AdminServiceDto;
+import com.servio.dto.admin.NotificationFanOutJobDto;
 import com.servio.dto.admin.ServiceRequest;
 import com.servio.dto.admin.ServicePhotoUploadResponse;
 import com.servio.dto.admin.ServiceToggleRequest;
+import com.servio.service.NotificationFanOutService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -26,6 +28,7 @@ public class AdminServiceController {
 
     private final AdminServiceService adminServiceService;
     private final CloudinaryService cloudinaryService;
+    private final NotificationFanOutService notificationFanOutService;
 
     @GetMapping
     public ResponseEntity<ApiResponse<List<AdminServiceDto>>> getAllServices() {
@@ -91,4 +94,19 @@ public class AdminServiceController {
         ServicePhotoUploadResponse icon = cloudinaryService.uploadServiceIcon(file);
         return ResponseEntity.ok(ApiResponse.success("Icon uploaded successfully", icon));
     }
+
+    /** Progress of the "new service available" notification fan-outs, most recent first. */
+    @GetMapping("/notification-jobs")
+    public ResponseEntity<ApiResponse<List<NotificationFanOutJobDto>>> getNotificationJobs() {
+        return ResponseEntity.ok(ApiResponse.success("Notification jobs retrieved successfully",
+                notificationFanOutService.getRecentJobs()));
+    }
+
+    @GetMapping("/notification-jobs/{jobId}")
+    public ResponseEntity<ApiResponse<NotificationFanOutJobDto>> getNotificationJob(@PathVariable String jobId) {
+        return notificationFanOutService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(ApiResponse.success("Notification job retrieved successfully", job)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Notification job not found: " + jobId, null)));
+    }
 }
@@ -1,10 +1,13 @@
 package com.servio.backend.controller;
 
 import com.servio.backend.dto.*;
+import com.servio.backend.service.ServiceSearchIndex;
 import com.servio.backend.service.ServiceService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -18,33 +21,54 @@ public class ServiceController {
     private final ServiceService serviceService;
 
     @GetMapping("/categories")
-    public ResponseEntity<Map<String, Object>> getServiceCategories() {
+    public ResponseEntity<Map<String, Object>> getServiceCategories(WebRequest request) {
+        String etag = serviceService.getCatalogETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<ServiceCategoryResponse> categories = serviceService.getAllCategoriesWithServices();
-        return ResponseEntity.ok(createSuccessResponse(categories));
+        return catalogResponse(etag, categories);
     }
 
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllServices() {
+    public ResponseEntity<Map<String, Object>> getAllServices(WebRequest request) {
+        String etag = serviceService.getCatalogETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<ServiceResponse> services = serviceService.getAllServices();
-        return ResponseEntity.ok(createSuccessResponse(services));
+        return catalogResponse(etag, services);
     }
 
     @GetMapping("/featured")
-    public ResponseEntity<Map<String, Object>> getFeaturedServices() {
+    public ResponseEntity<Map<String, Object>> getFeaturedServices(WebRequest request) {
+        String etag = serviceService.getCatalogETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<ServiceResponse> services = serviceService.getFeaturedServices();
-        return ResponseEntity.ok(createSuccessResponse(services));
+        return catalogResponse(etag, services);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Map<String, Object>> getServiceById(@PathVariable Long id) {
+    public ResponseEntity<Map<String, Object>> getServiceById(@PathVariable Long id, WebRequest request) {
+        String etag = serviceService.getCatalogETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         ServiceResponse service = serviceService.getServiceById(id);
-        return ResponseEntity.ok(createSuccessResponse(service));
+        return catalogResponse(etag, service);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Map<String, Object>> searchServices(@RequestParam String q) {
-        List<ServiceResponse> services = serviceService.searchServices(q);
-        return ResponseEntity.ok(createSuccessResponse(services));
+    public ResponseEntity<Map<String, Object>> searchServices(
+            @RequestParam String q,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Integer limit) {
+        ServiceSearchIndex.Result result = serviceService.searchServices(q, categoryId, limit);
+        Map<String, Object> response = createSuccessResponse(result.services());
+        response.put("facets", result.facets());
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/providers")
@@ -54,9 +78,26 @@ public class ServiceController {
     }
 
     @GetMapping("/offers")
-    public ResponseEntity<Map<String, Object>> getActiveOffers() {
+    public ResponseEntity<Map<String, Object>> getActiveOffers(WebRequest request) {
+        String etag = serviceService.getCatalogETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<OfferResponse> offers = serviceService.getActiveOffers();
-        return ResponseEntity.ok(createSuccessResponse(offers));
+        return catalogResponse(etag, offers);
+    }
+
+    /**
+     * Catalog responses carry the snapshot's ETag and must be revalidated, so
+     * clients get a 304 with no body until an admin changes the catalog.  The
+     * ETag is read before the data: a response can then only be older-tagged
+     * than its body, never newer, so clients cannot pin stale data.
+     */
+    private ResponseEntity<Map<String, Object>> catalogResponse(String etag, Object data) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(createSuccessResponse(data));
     }
 
     private Map<String, Object> createSuccessResponse(Object data) {
@@ -0,0 +1,14 @@
+package com.servio.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceSearchFacet {
+    private Long categoryId;
+    private String categoryName;
+    private long count;
+}
@@ -11,4 +11,6 @@ import java.util.List;
 public interface OfferRepository extends JpaRepository<Offer, Long> {
     @Query("SELECT o FROM Offer o WHERE o.isActive = true AND o.validFrom <= :now AND (o.validUntil IS NULL OR o.validUntil >= :now)")
     List<Offer> findActiveOffers(LocalDateTime now);
+
+    List<Offer> findByIsActiveTrue();
 }
\ No newline at end of file
@@ -2,10 +2,14 @@ package com.servio.backend.repository;
 
 import com.servio.backend.entity.ServiceOption;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
 public interface ServiceOptionRepository extends JpaRepository<ServiceOption, Long> {
     List<ServiceOption> findByServiceIdOrderByDisplayOrderAsc(Long serviceId);
+
+    @Query("SELECT o FROM ServiceOption o WHERE o.service.isActive = true")
+    List<ServiceOption> findForActiveServices();
 }
\ No newline at end of file
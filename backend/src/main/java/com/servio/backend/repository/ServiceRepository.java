@@ -23,4 +23,11 @@ public interface ServiceRepository extends JpaRepository<Service, Long> {
     Optional<Service> findByIdWithOptions(@Param("id") Long id);
 
     List<Service> findAllByOrderByUpdatedAtDesc();
+
+    @Query("SELECT s FROM Service s JOIN FETCH s.category WHERE s.isActive = true ORDER BY s.name ASC")
+    List<Service> findActiveWithCategory();
+
+    /** Rows of [serviceId, item] for every active service, in display order. */
+    @Query("SELECT s.id, i FROM Service s JOIN s.includedItems i WHERE s.isActive = true ORDER BY s.id, INDEX(i)")
+    List<Object[]> findActiveIncludedItems();
 }
@@ -1,74 +1,135 @@
 package com.servio.backend.service;
 
 import com.servio.dto.AppointmentDto;
+import com.servio.dto.RevenueChartData;
 import com.servio.dto.admin.DashboardStatsDto;
 import com.servio.entity.Appointment;
-import com.servio.entity.Payment;
 import com.servio.repository.AppointmentRepository;
 import com.servio.repository.PaymentRepository;
-import com.servio.repository.ProfileRepository;
+import com.servio.service.KpiRollupService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.util.Arrays;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AdminDashboardService {
 
+    private static final int PENDING_CASH_LIMIT = 10;
+    private static final int UPCOMING_LIMIT = 5;
+
+    /**
+     * Every dashboard counter in one round trip.  Totals are summed from the
+     * daily KPI rollups (see KpiRollupService), so they cost O(days) rather than
+     * a scan of payments and profiles.  Card revenue covers CREDIT_CARD,
+     * DEBIT_CARD and WALLET.  Pending cash is the estimated value of CONFIRMED /
+     * IN_PROGRESS appointments that have no completed payment yet.
+     */
+    private static final String STATS_SQL =
+            "WITH totals AS ("
+                    + " SELECT COALESCE(SUM(total_amount) FILTER (WHERE metric = 'REVENUE'), 0) AS total,"
+                    + " COALESCE(SUM(total_amount) FILTER (WHERE metric = 'REVENUE'"
+                    + " AND dimension IN ('CREDIT_CARD', 'DEBIT_CARD', 'WALLET')), 0) AS card,"
+                    + " COALESCE(SUM(total_amount) FILTER (WHERE metric = 'REVENUE' AND dimension = 'CASH'), 0) AS cash,"
+                    + " COALESCE(SUM(event_count) FILTER (WHERE metric = 'NEW_CUSTOMERS'), 0) AS total_customers,"
+                    + " COALESCE(SUM(event_count) FILTER (WHERE metric = 'APPOINTMENTS'), 0) AS total_appointments"
+                    + " FROM kpi_daily_rollups),"
+                    + " pending AS ("
+                    + " SELECT COALESCE(SUM(a.estimated_cost), 0) AS amount FROM appointments a"
+                    + " WHERE a.status IN ('CONFIRMED', 'IN_PROGRESS')"
+                    + " AND NOT EXISTS (SELECT 1 FROM payments p"
+                    + " WHERE p.appointment_id = a.id AND p.payment_status = 'COMPLETED'))"
+                    + " SELECT totals.*, pending.amount AS pending_cash"
+                    + " FROM totals, pending";
+
     private final AppointmentRepository appointmentRepository;
-    private final ProfileRepository profileRepository;
     private final PaymentRepository paymentRepository;
-
+    private final JdbcTemplate jdbcTemplate;
+    private final KpiRollupService kpiRollupService;
+
+    /**
+     * Builds the dashboard in four queries regardless of data volume: the
+     * aggregate counters, the two top-N lists (each limited in SQL), and one
+     * batched payment lookup for every appointment shown.
+     */
+    @Transactional(readOnly = true)
     public DashboardStatsDto getDashboardStats() {
-        long totalCustomers = profileRepository.count();
-        long totalAppointments = appointmentRepository.count();
-
-        // Payments table is the authoritative revenue source
-        BigDecimal totalRevenue = paymentRepository.getTotalRevenue();
-        if (totalRevenue == null) totalRevenue = BigDecimal.ZERO;
-
-        BigDecimal cardRevenue = paymentRepository.getRevenueByPaymentMethods(
-                Arrays.asList("CREDIT_CARD", "DEBIT_CARD", "WALLET"));
-        if (cardRevenue == null) cardRevenue = BigDecimal.ZERO;
-
-        BigDecimal cashRevenue = paymentRepository.getRevenueByPaymentMethods(
-                Arrays.asList("CASH"));
-        if (cashRevenue == null) cashRevenue = BigDecimal.ZERO;
-
-        // Appointments awaiting cash collection
-        List<Appointment> pendingCashEntities = appointmentRepository.findAppointmentsNeedingPayment();
-        BigDecimal pendingCashRevenue = pendingCashEntities.stream()
-                .map(a -> a.getEstimatedCost() != null ? a.getEstimatedCost() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        List<AppointmentDto> pendingCashAppointments = pendingCashEntities.stream()
-                .limit(10)
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        DashboardStatsDto.DashboardStatsDtoBuilder stats = jdbcTemplate.queryForObject(STATS_SQL, (rs, rowNum) ->
+                DashboardStatsDto.builder()
+                        .totalCustomers(rs.getLong("total_customers"))
+                        .totalAppointments(rs.getLong("total_appointments"))
+                        .totalRevenue(rs.getBigDecimal("total"))
+                        .cardRevenue(rs.getBigDecimal("card"))
+                        .cashRevenue(rs.getBigDecimal("cash"))
+                        .pendingCashRevenue(rs.getBigDecimal("pending_cash")));
+
+        List<Appointment> pendingCashEntities = appointmentRepository
+                .findAppointmentsNeedingPayment(PageRequest.of(0, PENDING_CASH_LIMIT));
+        List<Appointment> upcomingEntities = appointmentRepository
+                .findUpcomingAppointments(PageRequest.of(0, UPCOMING_LIMIT));
+
+        List<Appointment> shown = new ArrayList<>(pendingCashEntities);
+        shown.addAll(upcomingEntities);
+        Map<Long, PaymentSummary> payments = loadPaymentSummaries(shown);
+
+        return stats
+                .pendingCashAppointments(toDtos(pendingCashEntities, payments))
+                .upcomingAppointments(toDtos(upcomingEntities, payments))
+                .build();
+    }
 
-        List<Appointment> upcomingEntities = appointmentRepository.findUpcomingAppointments();
-        List<AppointmentDto> upcomingAppointments = upcomingEntities.stream()
-                .limit(5)
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    /** Revenue per day (last 30 days) or per month (last 12 months) unless a range is given. */
+    public RevenueChartData getRevenueTrend(String granularity, LocalDate from, LocalDate to) {
+        boolean monthly;
+        if ("month".equalsIgnoreCase(granularity)) {
+            monthly = true;
+        } else if ("day".equalsIgnoreCase(granularity)) {
+            monthly = false;
+        } else {
+            throw new IllegalArgumentException("granularity must be 'day' or 'month'");
+        }
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : (monthly ? end.minusMonths(11).withDayOfMonth(1) : end.minusDays(29));
+        return kpiRollupService.getRevenueTrend(start, end, monthly);
+    }
 
-        return DashboardStatsDto.builder()
-                .totalCustomers(totalCustomers)
-                .totalAppointments(totalAppointments)
-                .totalRevenue(totalRevenue)
-                .cardRevenue(cardRevenue)
-                .cashRevenue(cashRevenue)
-                .pendingCashRevenue(pendingCashRevenue)
-                .upcomingAppointments(upcomingAppointments)
-                .pendingCashAppointments(pendingCashAppointments)
-                .build();
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    /** Paid amount and latest payment method per appointment, loaded with a single IN query. */
+    private Map<Long, PaymentSummary> loadPaymentSummaries(List<Appointment> appointments) {
+        Map<Long, PaymentSummary> summaries = new HashMap<>();
+        if (appointments.isEmpty()) {
+            return summaries;
+        }
+        List<Long> ids = appointments.stream().map(Appointment::getId).distinct().collect(Collectors.toList());
+        // Rows arrive newest first, so the first row per appointment carries the latest method
+        for (Object[] row : paymentRepository.findCompletedPaymentSummariesByAppointmentIds(ids)) {
+            Long appointmentId = (Long) row[0];
+            BigDecimal amount = (BigDecimal) row[1];
+            String method = (String) row[2];
+            summaries.merge(appointmentId, new PaymentSummary(amount, method),
+                    (existing, next) -> new PaymentSummary(existing.paidAmount().add(next.paidAmount()), existing.paymentMethod()));
+        }
+        return summaries;
+    }
+
+    private List<AppointmentDto> toDtos(List<Appointment> appointments, Map<Long, PaymentSummary> payments) {
+        return appointments.stream()
+                .map(a -> convertToDto(a, payments.get(a.getId())))
+                .collect(Collectors.toList());
     }
 
-    AppointmentDto convertToDto(Appointment appointment) {
+    private AppointmentDto convertToDto(Appointment appointment, PaymentSummary payment) {
         Long userId = null;
         String userName = null;
         String userEmail = null;
@@ -82,12 +143,6 @@ public class AdminDashboardService {
             userEmail = appointment.getUser().getEmail();
         }
 
-        List<Payment> completedPayments = paymentRepository.findCompletedPaymentsByAppointmentId(appointment.getId());
-        BigDecimal paidAmount = completedPayments.stream()
-                .map(Payment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        String paymentMethod = completedPayments.isEmpty() ? null : completedPayments.get(0).getPaymentMethod();
-
         return AppointmentDto.builder()
                 .id(appointment.getId())
                 .userId(userId)
@@ -103,10 +158,12 @@ public class AdminDashboardService {
                 .notes(appointment.getNotes())
                 .estimatedCost(appointment.getEstimatedCost())
                 .actualCost(appointment.getActualCost())
-                .paidAmount(paidAmount)
-                .paymentMethod(paymentMethod)
+                .paidAmount(payment != null ? payment.paidAmount() : BigDecimal.ZERO)
+                .paymentMethod(payment != null ? payment.paymentMethod() : null)
                 .createdAt(appointment.getCreatedAt())
                 .updatedAt(appointment.getUpdatedAt())
                 .build();
     }
+
+    private record PaymentSummary(BigDecimal paidAmount, String paymentMethod) {}
 }
@@ -14,6 +14,7 @@ import java.util.List;
 public class AdminOfferService {
 
     private final OfferRepository offerRepository;
+    private final ServiceCatalog serviceCatalog;
 
     public List<Offer> getAllOffers() {
         return offerRepository.findAll();
@@ -37,6 +38,7 @@ public class AdminOfferService {
         offer.setValidUntil(request.getValidUntil());
         offer.setIsActive(request.getIsActive());
 
+        serviceCatalog.invalidate();
         return offerRepository.save(offer);
     }
 
@@ -72,6 +74,7 @@ public class AdminOfferService {
             offer.setIsActive(request.getIsActive());
         }
 
+        serviceCatalog.invalidate();
         return offerRepository.save(offer);
     }
 
@@ -81,5 +84,6 @@ public class AdminOfferService {
             throw new RuntimeException("Offer not found with id: " + id);
         }
         offerRepository.deleteById(id);
+        serviceCatalog.invalidate();
     }
 }
@@ -6,16 +6,12 @@ import com.servio.backend.entity.ServicePhoto;
 import com.servio.backend.entity.ServiceStatus;
 import com.servio.backend.repository.ServiceCategoryRepository;
 import com.servio.backend.repository.ServiceRepository;
-import com.servio.dto.NotificationRequest;
 import com.servio.dto.admin.AdminServiceDto;
 import com.servio.dto.admin.ServiceRequest;
 import com.servio.dto.admin.ServiceOptionRequest;
 import com.servio.dto.admin.ServicePhotoDto;
 import com.servio.dto.admin.ServiceToggleRequest;
-import com.servio.entity.Role;
-import com.servio.entity.User;
-import com.servio.repository.UserRepository;
-import com.servio.service.NotificationService;
+import com.servio.service.NotificationFanOutService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,8 +29,8 @@ public class AdminServiceService {
 
     private final ServiceRepository serviceRepository;
     private final ServiceCategoryRepository categoryRepository;
-    private final NotificationService notificationService;
-    private final UserRepository userRepository;
+    private final NotificationFanOutService notificationFanOutService;
+    private final ServiceCatalog serviceCatalog;
 
     @Transactional(readOnly = true)
     public List<AdminServiceDto> getAllServices() {
@@ -131,6 +127,7 @@ public class AdminServiceService {
         syncPrimaryImage(service);
 
         com.servio.backend.entity.Service saved = serviceRepository.save(service);
+        serviceCatalog.invalidate();
         if (saved.getStatus() == ServiceStatus.PUBLISHED) {
             notifyCustomersIfNeeded(saved);
         }
@@ -194,6 +191,7 @@ public class AdminServiceService {
         }
 
         com.servio.backend.entity.Service saved = serviceRepository.save(service);
+        serviceCatalog.invalidate();
         if (saved.getStatus() == ServiceStatus.PUBLISHED) {
             notifyCustomersIfNeeded(saved);
         }
@@ -209,6 +207,7 @@ public class AdminServiceService {
             service.setPublishedAt(LocalDateTime.now());
         }
         com.servio.backend.entity.Service saved = serviceRepository.save(service);
+        serviceCatalog.invalidate();
         if (saved.getStatus() == ServiceStatus.PUBLISHED) {
             notifyCustomersIfNeeded(saved);
         }
@@ -224,6 +223,7 @@ public class AdminServiceService {
             service.setPublishedAt(LocalDateTime.now());
         }
         com.servio.backend.entity.Service saved = serviceRepository.save(service);
+        serviceCatalog.invalidate();
         notifyCustomersIfNeeded(saved);
         return saved;
     }
@@ -233,6 +233,7 @@ public class AdminServiceService {
         com.servio.backend.entity.Service service = getServiceById(id);
         service.setStatus(ServiceStatus.HIDDEN);
         service.setIsActive(false);
+        serviceCatalog.invalidate();
         return serviceRepository.save(service);
     }
 
@@ -242,6 +243,7 @@ public class AdminServiceService {
             throw new RuntimeException("Service not found with id: " + id);
         }
         serviceRepository.deleteById(id);
+        serviceCatalog.invalidate();
     }
 
     private ServiceStatus parseStatus(String status, Boolean isActive) {
@@ -377,17 +379,8 @@ public class AdminServiceService {
                 : service.getPriceRange();
         String message = String.format("%s is now available%s.", service.getName(), price != null ? " " + price : "");
 
-        List<User> customers = userRepository.findAll().stream()
-                .filter(user -> user.getRole() == Role.USER || user.getRole() == Role.CUSTOMER)
-                .collect(Collectors.toList());
-        for (User user : customers) {
-            notificationService.createNotification(NotificationRequest.builder()
-                    .userId(user.getId())
-                    .title("New service available")
-                    .message(message)
-                    .type("SERVICE")
-                    .build());
-        }
+        // Fan-out runs in the background once this transaction commits
+        notificationFanOutService.notifyAllCustomers("New service available", message, "SERVICE");
         service.setCustomerNotifiedAt(LocalDateTime.now());
     }
 }
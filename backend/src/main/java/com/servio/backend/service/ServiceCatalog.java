@@ -0,0 +1,257 @@
+package com.servio.backend.service;
+
+import com.servio.backend.dto.OfferResponse;
+import com.servio.backend.dto.ServiceCategoryResponse;
+import com.servio.backend.dto.ServiceOptionResponse;
+import com.servio.backend.dto.ServiceResponse;
+import com.servio.backend.entity.Offer;
+import com.servio.backend.entity.ServiceCategory;
+import com.servio.backend.entity.ServiceOption;
+import com.servio.backend.repository.OfferRepository;
+import com.servio.backend.repository.ServiceCategoryRepository;
+import com.servio.backend.repository.ServiceOptionRepository;
+import com.servio.backend.repository.ServiceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, versioned snapshot of the public service catalog.
+ *
+ * Catalog reads are served from the current {@link Snapshot} without touching
+ * the database.  Admin writes call {@link #invalidate()}; once their
+ * transaction commits the snapshot is marked stale and the next read rebuilds
+ * it (five queries, no lazy loading) and swaps it in atomically.  A snapshot
+ * also goes stale when an offer's validity window opens or closes.
+ *
+ * Each snapshot carries an ETag so clients can revalidate with
+ * If-None-Match and get a 304 while the catalog is unchanged.
+ */
+@Service
+@Slf4j
+public class ServiceCatalog {
+
+    private final ServiceCategoryRepository categoryRepository;
+    private final ServiceRepository serviceRepository;
+    private final ServiceOptionRepository optionRepository;
+    private final OfferRepository offerRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    /** Distinguishes ETags across restarts, since versions start again at 1. */
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    /** Bumped by every committed catalog write. */
+    private final AtomicLong requestedVersion = new AtomicLong();
+    private final AtomicLong builtSnapshots = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    public ServiceCatalog(ServiceCategoryRepository categoryRepository,
+                          ServiceRepository serviceRepository,
+                          ServiceOptionRepository optionRepository,
+                          OfferRepository offerRepository,
+                          PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        this.serviceRepository = serviceRepository;
+        this.optionRepository = optionRepository;
+        this.offerRepository = offerRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /** The current snapshot, rebuilding it first if it is stale. */
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current != null && !isStale(current)) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current == null || isStale(current)) {
+                current = readOnlyTransaction.execute(status -> build(requestedVersion.get()));
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    /** Marks the catalog stale once the active transaction commits. */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    requestedVersion.incrementAndGet();
+                }
+            });
+        } else {
+            requestedVersion.incrementAndGet();
+        }
+    }
+
+    /**
+     * One consistent view of the catalog.  The lists are unmodifiable and the
+     * DTOs inside are shared between requests, so callers must not mutate them.
+     */
+    public record Snapshot(String etag,
+                           long sourceVersion,
+                           LocalDateTime offersChangeAt,
+                           List<ServiceCategoryResponse> categories,
+                           List<ServiceResponse> services,
+                           List<ServiceResponse> featured,
+                           Map<Long, ServiceResponse> servicesById,
+                           List<OfferResponse> offers,
+                           ServiceSearchIndex searchIndex) {
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private boolean isStale(Snapshot current) {
+        return current.sourceVersion() != requestedVersion.get()
+                || (current.offersChangeAt() != null && !LocalDateTime.now().isBefore(current.offersChangeAt()));
+    }
+
+    private Snapshot build(long sourceVersion) {
+        LocalDateTime now = LocalDateTime.now();
+
+        // Categories first: the fetch join initialises each category's services
+        List<ServiceCategory> categoryEntities = categoryRepository.findAllActiveWithServices();
+        List<com.servio.backend.entity.Service> serviceEntities = serviceRepository.findActiveWithCategory();
+
+        Map<Long, List<String>> itemsByService = new HashMap<>();
+        for (Object[] row : serviceRepository.findActiveIncludedItems()) {
+            itemsByService.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+        Map<Long, List<ServiceOption>> optionsByService = optionRepository.findForActiveServices().stream()
+                .collect(Collectors.groupingBy(o -> o.getService().getId()));
+
+        Map<Long, ServiceResponse> servicesById = new HashMap<>();
+        List<ServiceResponse> services = new ArrayList<>(serviceEntities.size());
+        for (com.servio.backend.entity.Service service : serviceEntities) {
+            ServiceResponse response = mapToServiceResponse(service,
+                    itemsByService.getOrDefault(service.getId(), List.of()),
+                    optionsByService.getOrDefault(service.getId(), List.of()));
+            services.add(response);
+            servicesById.put(service.getId(), response);
+        }
+
+        List<ServiceResponse> featured = serviceEntities.stream()
+                .filter(s -> Boolean.TRUE.equals(s.getIsFeatured()))
+                .map(s -> servicesById.get(s.getId()))
+                .collect(Collectors.toList());
+
+        List<ServiceCategoryResponse> categories = categoryEntities.stream()
+                .map(category -> mapToCategoryResponse(category, servicesById))
+                .collect(Collectors.toList());
+
+        List<OfferResponse> offers = new ArrayList<>();
+        LocalDateTime offersChangeAt = null;
+        for (Offer offer : offerRepository.findByIsActiveTrue()) {
+            LocalDateTime from = offer.getValidFrom();
+            LocalDateTime until = offer.getValidUntil();
+            LocalDateTime changeAt = null;
+            if (from != null && from.isAfter(now)) {
+                changeAt = from;
+            } else if (from != null && (until == null || !until.isBefore(now))) {
+                offers.add(mapToOfferResponse(offer));
+                if (until != null) {
+                    changeAt = until.plusNanos(1);
+                }
+            }
+            if (changeAt != null && (offersChangeAt == null || changeAt.isBefore(offersChangeAt))) {
+                offersChangeAt = changeAt;
+            }
+        }
+
+        String etag = "\"catalog-" + epoch + "-" + builtSnapshots.incrementAndGet() + "\"";
+        log.debug("Service catalog snapshot {} built: {} services, {} offers", etag, services.size(), offers.size());
+        return new Snapshot(etag, sourceVersion, offersChangeAt,
+                Collections.unmodifiableList(categories),
+                Collections.unmodifiableList(services),
+                Collections.unmodifiableList(featured),
+                Collections.unmodifiableMap(servicesById),
+                Collections.unmodifiableList(offers),
+                ServiceSearchIndex.build(services));
+    }
+
+    private ServiceCategoryResponse mapToCategoryResponse(ServiceCategory category, Map<Long, ServiceResponse> servicesById) {
+        ServiceCategoryResponse response = new ServiceCategoryResponse();
+        response.setId(category.getId());
+        response.setName(category.getName());
+        response.setDescription(category.getDescription());
+
+        if (category.getServices() != null) {
+            List<ServiceResponse> services = category.getServices().stream()
+                    .filter(s -> Boolean.TRUE.equals(s.getIsActive()))
+                    .map(s -> servicesById.get(s.getId()))
+                    .filter(s -> s != null)
+                    .collect(Collectors.toList());
+            response.setServices(Collections.unmodifiableList(services));
+        }
+
+        return response;
+    }
+
+    private ServiceResponse mapToServiceResponse(com.servio.backend.entity.Service service,
+                                                 List<String> includedItems,
+                                                 List<ServiceOption> options) {
+        ServiceResponse response = new ServiceResponse();
+        response.setId(service.getId());
+        response.setCategoryId(service.getCategory().getId());
+        response.setCategoryName(service.getCategory().getName());
+        response.setName(service.getName());
+        response.setDescription(service.getDescription());
+        response.setBasePrice(service.getBasePrice());
+        response.setPriceRange(service.getPriceRange());
+        response.setDurationMinutes(service.getDurationMinutes());
+        response.setImageUrl(service.getImageUrl());
+        response.setIconUrl(service.getIconUrl());
+        response.setWarrantyIncluded(service.getWarrantyIncluded());
+        response.setIsFeatured(service.getIsFeatured());
+        response.setIncludedItems(Collections.unmodifiableList(includedItems));
+        if (!options.isEmpty()) {
+            response.setOptions(options.stream()
+                    .sorted(Comparator.comparing(o -> o.getDisplayOrder() != null ? o.getDisplayOrder() : 0))
+                    .map(this::mapToOptionResponse)
+                    .collect(Collectors.toUnmodifiableList()));
+        }
+        return response;
+    }
+
+    private ServiceOptionResponse mapToOptionResponse(ServiceOption option) {
+        ServiceOptionResponse response = new ServiceOptionResponse();
+        response.setId(option.getId());
+        response.setName(option.getName());
+        response.setDescription(option.getDescription());
+        response.setPriceAdjustment(option.getPriceAdjustment());
+        response.setIsDefault(option.getIsDefault());
+        response.setDisplayOrder(option.getDisplayOrder());
+        return response;
+    }
+
+    private OfferResponse mapToOfferResponse(Offer offer) {
+        OfferResponse response = new OfferResponse();
+        response.setId(offer.getId());
+        response.setTitle(offer.getTitle());
+        response.setSubtitle(offer.getSubtitle());
+        response.setDescription(offer.getDescription());
+        response.setDiscountType(offer.getDiscountType());
+        response.setDiscountValue(offer.getDiscountValue());
+        response.setImageUrl(offer.getImageUrl());
+        response.setValidUntil(offer.getValidUntil());
+        return response;
+    }
+}
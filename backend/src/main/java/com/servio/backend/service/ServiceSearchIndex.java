@@ -0,0 +1,265 @@
+package com.servio.backend.service;
+
+import com.servio.backend.dto.ServiceResponse;
+import com.servio.backend.dto.ServiceSearchFacet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable inverted index over the active services of one catalog snapshot.
+ *
+ * Names and descriptions are split into lower-case alphanumeric tokens.  Each
+ * query token matches index terms exactly, by prefix (so results update as
+ * the user types) or, for tokens of four or more characters, within one edit
+ * (two for eight or more).  A service matches when every query token matches
+ * one of its terms; hits in the name outweigh hits in the description, and
+ * exact hits outweigh prefix and fuzzy ones.
+ */
+public final class ServiceSearchIndex {
+
+    private static final float NAME_WEIGHT = 3f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+
+    private static final float EXACT = 1f;
+    private static final float PREFIX = 0.7f;
+    private static final float ONE_EDIT = 0.5f;
+    private static final float TWO_EDITS = 0.3f;
+
+    private static final int[] NO_DOCS = new int[0];
+
+    private final List<ServiceResponse> services;
+    /** Sorted, so prefix matches are a contiguous range. */
+    private final String[] terms;
+    private final int[][] nameDocs;
+    private final int[][] descriptionDocs;
+
+    private ServiceSearchIndex(List<ServiceResponse> services, String[] terms, int[][] nameDocs, int[][] descriptionDocs) {
+        this.services = services;
+        this.terms = terms;
+        this.nameDocs = nameDocs;
+        this.descriptionDocs = descriptionDocs;
+    }
+
+    /** Indexes {@code services}; the list order is the tie-break order of results. */
+    public static ServiceSearchIndex build(List<ServiceResponse> services) {
+        TreeSet<String> vocabulary = new TreeSet<>();
+        for (ServiceResponse service : services) {
+            vocabulary.addAll(tokenize(service.getName()));
+            vocabulary.addAll(tokenize(service.getDescription()));
+        }
+
+        String[] terms = vocabulary.toArray(new String[0]);
+        Map<String, Integer> termIds = new HashMap<>(terms.length * 2);
+        for (int i = 0; i < terms.length; i++) {
+            termIds.put(terms[i], i);
+        }
+
+        List<List<Integer>> names = new ArrayList<>(terms.length);
+        List<List<Integer>> descriptions = new ArrayList<>(terms.length);
+        for (int i = 0; i < terms.length; i++) {
+            names.add(new ArrayList<>(1));
+            descriptions.add(new ArrayList<>(1));
+        }
+        for (int doc = 0; doc < services.size(); doc++) {
+            ServiceResponse service = services.get(doc);
+            for (String token : tokenize(service.getName())) {
+                addPosting(names.get(termIds.get(token)), doc);
+            }
+            for (String token : tokenize(service.getDescription())) {
+                addPosting(descriptions.get(termIds.get(token)), doc);
+            }
+        }
+
+        int[][] nameDocs = new int[terms.length][];
+        int[][] descriptionDocs = new int[terms.length][];
+        for (int i = 0; i < terms.length; i++) {
+            nameDocs[i] = toArray(names.get(i));
+            descriptionDocs[i] = toArray(descriptions.get(i));
+        }
+        return new ServiceSearchIndex(services, terms, nameDocs, descriptionDocs);
+    }
+
+    /**
+     * Ranked matches for {@code query}.  Facets count the matches per category
+     * before {@code categoryId} is applied, so a client can show every
+     * category a query hits while one is selected.
+     *
+     * @param categoryId only return services in this category, or null for all
+     * @param limit      maximum number of services returned
+     */
+    public Result search(String query, Long categoryId, int limit) {
+        List<String> tokens = tokenize(query);
+        List<Integer> matches = new ArrayList<>();
+        float[] scores = new float[services.size()];
+
+        if (tokens.isEmpty()) {
+            for (int doc = 0; doc < services.size(); doc++) {
+                matches.add(doc);
+            }
+        } else {
+            int[] matchedTokens = new int[services.size()];
+            float[] best = new float[services.size()];
+            for (String token : tokens) {
+                Arrays.fill(best, 0f);
+                scoreToken(token, best);
+                for (int doc = 0; doc < best.length; doc++) {
+                    if (best[doc] > 0) {
+                        scores[doc] += best[doc];
+                        matchedTokens[doc]++;
+                    }
+                }
+            }
+            for (int doc = 0; doc < services.size(); doc++) {
+                if (matchedTokens[doc] == tokens.size()) {
+                    matches.add(doc);
+                }
+            }
+            // Stable sort: equal scores keep catalog (name) order
+            matches.sort((a, b) -> Float.compare(scores[b], scores[a]));
+        }
+
+        Map<Long, ServiceSearchFacet> facets = new LinkedHashMap<>();
+        List<ServiceResponse> results = new ArrayList<>();
+        for (int doc : matches) {
+            ServiceResponse service = services.get(doc);
+            ServiceSearchFacet facet = facets.computeIfAbsent(service.getCategoryId(),
+                    id -> new ServiceSearchFacet(id, service.getCategoryName(), 0));
+            facet.setCount(facet.getCount() + 1);
+            if (results.size() < limit && (categoryId == null || categoryId.equals(service.getCategoryId()))) {
+                results.add(service);
+            }
+        }
+
+        List<ServiceSearchFacet> facetList = facets.values().stream()
+                .sorted(Comparator.comparingLong(ServiceSearchFacet::getCount).reversed()
+                        .thenComparing(ServiceSearchFacet::getCategoryName, Comparator.nullsLast(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+        return new Result(results, facetList);
+    }
+
+    public record Result(List<ServiceResponse> services, List<ServiceSearchFacet> facets) {}
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    /** Records, per service, the best weight any index term gives this query token. */
+    private void scoreToken(String token, float[] best) {
+        int start = lowerBound(token);
+        int end = start;
+        while (end < terms.length && terms[end].startsWith(token)) {
+            apply(end, terms[end].length() == token.length() ? EXACT : PREFIX, best);
+            end++;
+        }
+
+        int maxEdits = token.length() >= 8 ? 2 : token.length() >= 4 ? 1 : 0;
+        if (maxEdits == 0) {
+            return;
+        }
+        for (int term = 0; term < terms.length; term++) {
+            if (term >= start && term < end) {
+                continue; // already matched by prefix
+            }
+            int edits = editDistance(token, terms[term], maxEdits);
+            if (edits <= maxEdits) {
+                apply(term, edits == 1 ? ONE_EDIT : TWO_EDITS, best);
+            }
+        }
+    }
+
+    private void apply(int term, float quality, float[] best) {
+        for (int doc : nameDocs[term]) {
+            best[doc] = Math.max(best[doc], quality * NAME_WEIGHT);
+        }
+        for (int doc : descriptionDocs[term]) {
+            best[doc] = Math.max(best[doc], quality * DESCRIPTION_WEIGHT);
+        }
+    }
+
+    private int lowerBound(String token) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(token) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Optimal-string-alignment distance (adjacent transpositions count as one
+     * edit), or {@code maxEdits + 1} as soon as the distance must exceed it.
+     */
+    private static int editDistance(String a, String b, int maxEdits) {
+        if (Math.abs(a.length() - b.length()) > maxEdits) {
+            return maxEdits + 1;
+        }
+        int[] previous2 = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, previous2[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] recycled = previous2;
+            previous2 = previous;
+            previous = current;
+            current = recycled;
+        }
+        return previous[b.length()];
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addPosting(List<Integer> docs, int doc) {
+        if (docs.isEmpty() || docs.get(docs.size() - 1) != doc) {
+            docs.add(doc);
+        }
+    }
+
+    private static int[] toArray(List<Integer> docs) {
+        return docs.isEmpty() ? NO_DOCS : docs.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
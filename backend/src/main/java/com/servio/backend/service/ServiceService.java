@@ -7,55 +7,63 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class ServiceService {
+
+    private static final int DEFAULT_SEARCH_LIMIT = 50;
+    private static final int MAX_SEARCH_LIMIT = 200;
     
-    private final ServiceCategoryRepository categoryRepository;
-    private final ServiceRepository serviceRepository;
     private final ServiceProviderRepository providerRepository;
-    private final OfferRepository offerRepository;
+    private final ServiceCatalog catalog;
+
+    /** Changes whenever any catalog response below changes; used as the HTTP ETag. */
+    public String getCatalogETag() {
+        return catalog.current().etag();
+    }
 
     public List<ServiceCategoryResponse> getAllCategoriesWithServices() {
-        List<ServiceCategory> categories = categoryRepository.findAllActiveWithServices();
-        return categories.stream()
-                .map(this::mapToCategoryResponse)
-                .collect(Collectors.toList());
+        return catalog.current().categories();
     }
 
     public List<ServiceResponse> getAllServices() {
-        List<com.servio.backend.entity.Service> services = serviceRepository.findByIsActiveTrueOrderByNameAsc();
-        return services.stream()
-                .map(this::mapToServiceResponse)
-                .collect(Collectors.toList());
+        return catalog.current().services();
     }
 
     public List<ServiceResponse> getFeaturedServices() {
-        List<com.servio.backend.entity.Service> services = serviceRepository.findByIsFeaturedTrueAndIsActiveTrue();
-        return services.stream()
-                .map(this::mapToServiceResponse)
-                .collect(Collectors.toList());
+        return catalog.current().featured();
     }
 
+    /**
+     * A published service from the catalog snapshot.  Hidden (inactive)
+     * services are not found, as before the snapshot: the old
+     * findByIdWithOptions query also required is_active.  Admin screens load
+     * services through AdminServiceService, which sees every service.
+     */
     public ServiceResponse getServiceById(Long id) {
-        com.servio.backend.entity.Service service = serviceRepository.findByIdWithOptions(id)
-                .orElseThrow(() -> new RuntimeException("Service not found"));
-        return mapToServiceResponseWithOptions(service);
+        ServiceResponse service = catalog.current().servicesById().get(id);
+        if (service == null) {
+            throw new RuntimeException("Service not found");
+        }
+        return service;
     }
 
-    public List<ServiceResponse> searchServices(String query) {
-        List<com.servio.backend.entity.Service> services = serviceRepository.searchServices(query);
-        return services.stream()
-                .map(this::mapToServiceResponse)
-                .collect(Collectors.toList());
+    /**
+     * Ranked, typo-tolerant search over the catalog snapshot's index, with
+     * per-category match counts.
+     *
+     * @param categoryId restrict results to one category, or null
+     * @param limit      maximum results; defaults to {@value #DEFAULT_SEARCH_LIMIT}
+     */
+    public ServiceSearchIndex.Result searchServices(String query, Long categoryId, Integer limit) {
+        int size = limit == null ? DEFAULT_SEARCH_LIMIT : Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT));
+        return catalog.current().searchIndex().search(query, categoryId, size);
     }
 
+    @Transactional(readOnly = true)
     public List<ServiceProviderResponse> getAllProviders() {
         List<ServiceProvider> providers = providerRepository.findByIsActiveTrueOrderByRatingDesc();
         return providers.stream()
@@ -64,75 +72,7 @@ public class ServiceService {
     }
 
     public List<OfferResponse> getActiveOffers() {
-        List<Offer> offers = offerRepository.findActiveOffers(LocalDateTime.now());
-        return offers.stream()
-                .map(this::mapToOfferResponse)
-                .collect(Collectors.toList());
-    }
-
-    private ServiceCategoryResponse mapToCategoryResponse(ServiceCategory category) {
-        ServiceCategoryResponse response = new ServiceCategoryResponse();
-        response.setId(category.getId());
-        response.setName(category.getName());
-        response.setDescription(category.getDescription());
-        
-        if (category.getServices() != null) {
-            List<ServiceResponse> services = category.getServices().stream()
-                    .filter(s -> s.getIsActive())
-                    .map(this::mapToServiceResponse)
-                    .collect(Collectors.toList());
-            response.setServices(services);
-        }
-        
-        return response;
-    }
-
-    private ServiceResponse mapToServiceResponse(com.servio.backend.entity.Service service) {
-        ServiceResponse response = new ServiceResponse();
-        response.setId(service.getId());
-        response.setCategoryId(service.getCategory().getId());
-        response.setCategoryName(service.getCategory().getName());
-        response.setName(service.getName());
-        response.setDescription(service.getDescription());
-        response.setBasePrice(service.getBasePrice());
-        response.setPriceRange(service.getPriceRange());
-        response.setDurationMinutes(service.getDurationMinutes());
-        response.setImageUrl(service.getImageUrl());
-        response.setIconUrl(service.getIconUrl());
-        response.setWarrantyIncluded(service.getWarrantyIncluded());
-        response.setIsFeatured(service.getIsFeatured());
-        response.setIncludedItems(service.getIncludedItems() != null ? service.getIncludedItems() : List.of());
-        if (service.getOptions() != null && !service.getOptions().isEmpty()) {
-            response.setOptions(service.getOptions().stream()
-                    .sorted(Comparator.comparing(o -> o.getDisplayOrder() != null ? o.getDisplayOrder() : 0))
-                    .map(this::mapToOptionResponse)
-                    .collect(Collectors.toList()));
-        }
-        return response;
-    }
-
-    private ServiceResponse mapToServiceResponseWithOptions(com.servio.backend.entity.Service service) {
-        ServiceResponse response = mapToServiceResponse(service);
-        
-        if (service.getOptions() != null && !service.getOptions().isEmpty()) {
-            List<ServiceOptionResponse> options = service.getOptions().stream()
-                    .map(this::mapToOptionResponse)
-                    .collect(Collectors.toList());
-            response.setOptions(options);
-        }
-        
-        return response;
-    }
-
-    private ServiceOptionResponse mapToOptionResponse(ServiceOption option) {
-        ServiceOptionResponse response = new ServiceOptionResponse();
-        response.setId(option.getId());
-        response.setName(option.getName());
-        response.setDescription(option.getDescription());
-        response.setPriceAdjustment(option.getPriceAdjustment());
-        response.setIsDefault(option.getIsDefault());
-        response.setDisplayOrder(option.getDisplayOrder());
-        return response;
+        return catalog.current().offers();
     }
 
     private ServiceProviderResponse mapToProviderResponse(ServiceProvider provider) {
@@ -145,17 +85,4 @@ public class ServiceService {
         response.setRating(provider.getRating());
         return response;
     }
-
-    private OfferResponse mapToOfferResponse(Offer offer) {
-        OfferResponse response = new OfferResponse();
-        response.setId(offer.getId());
-        response.setTitle(offer.getTitle());
-        response.setSubtitle(offer.getSubtitle());
-        response.setDescription(offer.getDescription());
-        response.setDiscountType(offer.getDiscountType());
-        response.setDiscountValue(offer.getDiscountValue());
-        response.setImageUrl(offer.getImageUrl());
-        response.setValidUntil(offer.getValidUntil());
-        return response;
-    }
 }
@@ -0,0 +1,125 @@
+package com.servio.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Bounded executors for background work that must not run on Tomcat request
+ * threads.  Queues are bounded so a burst degrades into back-pressure instead
+ * of unbounded memory growth.
+ */
+@Configuration
+public class AsyncConfig {
+
+    /** Runs notification fan-out jobs one at a time, in submission order. */
+    @Bean(name = "notificationFanOutExecutor")
+    public ThreadPoolTaskExecutor notificationFanOutExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("notify-fanout-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pushes WebSocket messages for fanned-out notifications.  When the queue
+     * is full the fan-out thread sends the batch itself, which throttles
+     * inserts to the rate the broker can absorb.
+     */
+    @Bean(name = "notificationPushExecutor")
+    public ThreadPoolTaskExecutor notificationPushExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("notify-push-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs BCrypt hashing for password sign-up and login.  The pool is sized
+     * to the CPU, since the work is pure CPU, and a full queue rejects new
+     * hashes rather than letting a burst of logins pile up without limit.
+     * Such a login gets a 503 and can retry.
+     */
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${auth.password.hash-threads:0}") int threads,
+            @Value("${auth.password.hash-queue:200}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Finishes sign-ups, logins and rehashes once their hash is done: saves
+     * users and signs tokens, which is database work that must not hold the
+     * CPU-sized hashing threads.  A full queue makes the hashing thread run
+     * the step itself, which slows hashing down to what the database absorbs.
+     */
+    @Bean(name = "authCompletionExecutor")
+    public ThreadPoolTaskExecutor authCompletionExecutor(
+            @Value("${auth.completion-threads:8}") int threads,
+            @Value("${auth.password.hash-queue:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("auth-completion-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs the nightly maintenance prediction pages in parallel.  The queue
+     * holds one page per worker; beyond that the paging thread processes the
+     * next page itself, so at most a few pages are in memory at once.
+     */
+    @Bean(name = "maintenancePredictionExecutor")
+    public ThreadPoolTaskExecutor maintenancePredictionExecutor(
+            @Value("${maintenance.prediction.workers:4}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers);
+        executor.setThreadNamePrefix("maintenance-predict-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs the single writer that drains the time event queue.  One thread
+     * keeps the clock totals consistent without row locks; bursts wait in
+     * TaskTimeTrackingService's own bounded queue, not here.
+     */
+    @Bean(name = "timeEventWriterExecutor")
+    public ThreadPoolTaskExecutor timeEventWriterExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("time-event-writer-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -16,6 +16,8 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         config.enableSimpleBroker("/topic");
         // Prefix for messages sent FROM client TO server (if needed)
         config.setApplicationDestinationPrefixes("/app");
+        // Workshop board events are sequenced; keep them in order per session
+        config.setPreservePublishOrder(true);
     }
 
     @Override
@@ -0,0 +1,26 @@
+package com.servio.controller;
+
+import com.servio.dto.ApiResponse;
+import com.servio.dto.admin.AuthMetricsDto;
+import com.servio.security.AuthFilterMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/metrics")
+@RequiredArgsConstructor
+@PreAuthorize("hasAuthority('ADMIN')")
+public class AdminAuthMetricsController {
+
+    private final AuthFilterMetrics authFilterMetrics;
+
+    /** Request-authentication counters and token verification latency since startup. */
+    @GetMapping("/auth")
+    public ResponseEntity<ApiResponse<AuthMetricsDto>> getAuthMetrics() {
+        return ResponseEntity.ok(ApiResponse.success("Auth metrics retrieved successfully", authFilterMetrics.snapshot()));
+    }
+}
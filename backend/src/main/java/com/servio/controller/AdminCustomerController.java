@@ -1,7 +1,9 @@
 package com.servio.controller;
 
 import com.servio.dto.AdminCustomerDetailsDto;
+import com.servio.dto.AdminCustomerPageDto;
 import com.servio.dto.ApiResponse;
+import com.servio.dto.CustomerSearchResultDto;
 import com.servio.entity.Profile;
 import com.servio.service.AdminCustomerService;
 import lombok.RequiredArgsConstructor;
@@ -20,14 +22,26 @@ public class AdminCustomerController {
     private final AdminCustomerService adminCustomerService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Profile>>> getAllCustomers(
-            @RequestParam(required = false) String search) {
-        List<Profile> customers = search != null && !search.isEmpty()
-                ? adminCustomerService.searchCustomers(search)
-                : adminCustomerService.getAllCustomers();
+    public ResponseEntity<ApiResponse<AdminCustomerPageDto>> getCustomers(
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String role,
+            @RequestParam(defaultValue = "joined") String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "25") int size) {
+        AdminCustomerPageDto customers = adminCustomerService.getCustomers(search, role, sort, direction, page, size);
         return ResponseEntity.ok(ApiResponse.success("Customers retrieved successfully", customers));
     }
 
+    /** Typeahead: ranked matches across profiles, local users and walk-ins. */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<CustomerSearchResultDto>>> searchCustomers(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<CustomerSearchResultDto> results = adminCustomerService.searchCustomers(query, limit);
+        return ResponseEntity.ok(ApiResponse.success("Customers retrieved successfully", results));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<Profile>> getCustomerById(@PathVariable String id) {
         Profile customer = adminCustomerService.getCustomerById(id);
@@ -2,11 +2,14 @@ package com.servio.controller;
 
 import com.servio.dto.ApiResponse;
 import com.servio.dto.JobCardDto;
+import com.servio.dto.JobCardPageDto;
 import com.servio.service.JobCardService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -36,10 +39,18 @@ public class AdminJobCardController {
         }
     }
 
+    /** One page of job cards, newest first, optionally filtered by status, mechanic, bay and creation date. */
     @GetMapping
-    public ResponseEntity<?> getAllJobCards() {
+    public ResponseEntity<?> getJobCards(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long mechanicId,
+            @RequestParam(required = false) Long bayId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "25") int size) {
         try {
-            List<JobCardDto> jobCards = jobCardService.getAllJobCards();
+            JobCardPageDto jobCards = jobCardService.getJobCards(status, mechanicId, bayId, from, to, page, size);
             return ResponseEntity.ok(ApiResponse.success("Job cards retrieved successfully", jobCards));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(ApiResponse.error("Failed to retrieve job cards", e.getMessage()));
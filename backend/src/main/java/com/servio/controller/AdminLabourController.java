@@ -0,0 +1,81 @@
+package com.servio.controller;
+
+import com.servio.dto.ApiResponse;
+import com.servio.dto.EstimateAccuracyDto;
+import com.servio.dto.MechanicUtilizationDto;
+import com.servio.dto.TaskTimeEventRequest;
+import com.servio.service.TaskTimeTrackingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Labour time tracking: clock events from the workshop tablets, and the
+ * utilization and estimate accuracy derived from them.
+ */
+@RestController
+@RequestMapping("/api/admin/labour")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminLabourController {
+    private final TaskTimeTrackingService taskTimeTrackingService;
+
+    /** Records a batch of clock events; 503 when the writer is saturated and the tablet should retry. */
+    @PostMapping("/events")
+    public CompletableFuture<ResponseEntity<?>> recordEvents(@RequestBody List<TaskTimeEventRequest> events) {
+        try {
+            return taskTimeTrackingService.submit(events)
+                    .<ResponseEntity<?>>thenApply(recorded -> ResponseEntity.ok(
+                            ApiResponse.success("Time events recorded successfully", recorded)))
+                    .exceptionally(this::failure);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(failure(e));
+        }
+    }
+
+    @GetMapping("/utilization")
+    public ResponseEntity<?> getUtilization(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            LocalDate end = to != null ? to : LocalDate.now();
+            LocalDate start = from != null ? from : end.minusDays(6);
+            List<MechanicUtilizationDto> utilization = taskTimeTrackingService.getUtilization(start, end);
+            return ResponseEntity.ok(ApiResponse.success("Mechanic utilization retrieved successfully", utilization));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to retrieve mechanic utilization", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/estimate-accuracy")
+    public ResponseEntity<?> getEstimateAccuracy(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long mechanicId) {
+        try {
+            LocalDate end = to != null ? to : LocalDate.now();
+            LocalDate start = from != null ? from : end.minusDays(29);
+            EstimateAccuracyDto accuracy = taskTimeTrackingService.getEstimateAccuracy(start, end, mechanicId);
+            return ResponseEntity.ok(ApiResponse.success("Estimate accuracy retrieved successfully", accuracy));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to retrieve estimate accuracy", e.getMessage()));
+        }
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    /** Bad events map to 400, a saturated or failed writer to 503. */
+    private ResponseEntity<?> failure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        HttpStatus status = cause instanceof IllegalArgumentException ? HttpStatus.BAD_REQUEST : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status)
+                .body(ApiResponse.error("Failed to record time events", cause.getMessage()));
+    }
+}
@@ -0,0 +1,45 @@
+package com.servio.controller;
+
+import com.servio.dto.ApiResponse;
+import com.servio.dto.WorkshopBoardDto;
+import com.servio.dto.WorkshopBoardEvent;
+import com.servio.service.WorkshopBoardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+/**
+ * Live workshop board.  Subscribe to /topic/workshop/board first, then load
+ * the snapshot and apply the events numbered above its sequence.
+ */
+@RestController
+@RequestMapping("/api/admin/workshop/board")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminWorkshopBoardController {
+    private final WorkshopBoardService workshopBoardService;
+
+    @GetMapping
+    public ResponseEntity<?> getSnapshot() {
+        try {
+            WorkshopBoardDto board = workshopBoardService.snapshot();
+            return ResponseEntity.ok(ApiResponse.success("Workshop board retrieved successfully", board));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to retrieve workshop board", e.getMessage()));
+        }
+    }
+
+    /** Events missed since {@code after}; 409 when they are gone and the snapshot must be reloaded. */
+    @GetMapping("/events")
+    public ResponseEntity<?> getEventsAfter(@RequestParam long after) {
+        List<WorkshopBoardEvent> events = workshopBoardService.eventsAfter(after);
+        if (events == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("Workshop board events are no longer available", "Reload the snapshot"));
+        }
+        return ResponseEntity.ok(ApiResponse.success("Workshop board events retrieved successfully", events));
+    }
+}
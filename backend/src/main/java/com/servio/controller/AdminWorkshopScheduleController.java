@@ -0,0 +1,50 @@
+package com.servio.controller;
+
+import com.servio.dto.ApiResponse;
+import com.servio.dto.WorkshopPlanDto;
+import com.servio.service.WorkshopSchedulingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/workshop/schedule")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminWorkshopScheduleController {
+    private final WorkshopSchedulingService workshopSchedulingService;
+
+    /** Today's plan for the open job cards (or tomorrow's, after closing). */
+    @GetMapping
+    public ResponseEntity<?> getPlan() {
+        try {
+            WorkshopPlanDto plan = workshopSchedulingService.getPlan();
+            return ResponseEntity.ok(ApiResponse.success("Workshop plan retrieved successfully", plan));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to retrieve workshop plan", e.getMessage()));
+        }
+    }
+
+    /** Rebuilds the plan from the database. */
+    @PostMapping("/replan")
+    public ResponseEntity<?> replan() {
+        try {
+            WorkshopPlanDto plan = workshopSchedulingService.replan();
+            return ResponseEntity.ok(ApiResponse.success("Workshop plan rebuilt successfully", plan));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to rebuild workshop plan", e.getMessage()));
+        }
+    }
+
+    /** Assigns the planned mechanic and bay to every new, unassigned job card. */
+    @PostMapping("/apply")
+    public ResponseEntity<?> applyPlan() {
+        try {
+            WorkshopPlanDto plan = workshopSchedulingService.applyPlan();
+            return ResponseEntity.ok(ApiResponse.success("Workshop plan applied successfully", plan));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("Failed to apply workshop plan", e.getMessage()));
+        }
+    }
+}
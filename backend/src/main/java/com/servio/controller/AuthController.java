@@ -6,6 +6,7 @@ import com.servio.dto.SupabaseLoginRequest;
 import com.servio.dto.UserResponse;
 import com.servio.dto.AuthResponse;
 import com.servio.dto.ApiResponse;
+import com.servio.security.PasswordHashRejectedException;
 import com.servio.service.AuthService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -17,6 +18,8 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -26,30 +29,24 @@ public class AuthController {
     private final AuthService authService;
 
     @PostMapping("/signup")
-    public ResponseEntity<AuthResponse> signup(@Valid @RequestBody SignupRequest request) {
+    public CompletableFuture<ResponseEntity<AuthResponse>> signup(@Valid @RequestBody SignupRequest request) {
         try {
-            AuthResponse response = authService.signup(request);
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            return authService.signup(request)
+                    .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED).body(response))
+                    .exceptionally(e -> failure(e, HttpStatus.BAD_REQUEST));
         } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(AuthResponse.builder()
-                            .success(false)
-                            .message(e.getMessage())
-                            .build());
+            return CompletableFuture.completedFuture(failure(e, HttpStatus.BAD_REQUEST));
         }
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
         try {
-            AuthResponse response = authService.login(request);
-            return ResponseEntity.ok(response);
+            return authService.login(request)
+                    .thenApply(ResponseEntity::ok)
+                    .exceptionally(e -> failure(e, HttpStatus.UNAUTHORIZED));
         } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(AuthResponse.builder()
-                            .success(false)
-                            .message(e.getMessage())
-                            .build());
+            return CompletableFuture.completedFuture(failure(e, HttpStatus.UNAUTHORIZED));
         }
     }
 
@@ -58,12 +55,8 @@ public class AuthController {
         try {
             AuthResponse response = authService.loginWithSupabase(request);
             return ResponseEntity.ok(response);
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(AuthResponse.builder()
-                            .success(false)
-                            .message(e.getMessage())
-                            .build());
+        } catch (IllegalArgumentException | PasswordHashRejectedException e) {
+            return failure(e, HttpStatus.UNAUTHORIZED);
         }
     }
 
@@ -115,4 +108,30 @@ public class AuthController {
                         .errors(e.getMessage())
                         .build());
     }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    /**
+     * Maps a failed sign-up or login to a response: bad input to {@code status},
+     * a saturated hashing pool to 503.  Anything else is rethrown, so its
+     * message reaches the generic handler rather than the client as-is.
+     */
+    private ResponseEntity<AuthResponse> failure(Throwable error, HttpStatus status) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        HttpStatus resolved;
+        if (cause instanceof IllegalArgumentException) {
+            resolved = status;
+        } else if (cause instanceof PasswordHashRejectedException) {
+            resolved = HttpStatus.SERVICE_UNAVAILABLE;
+        } else if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        } else {
+            throw new CompletionException(cause);
+        }
+        return ResponseEntity.status(resolved)
+                .body(AuthResponse.builder()
+                        .success(false)
+                        .message(cause.getMessage())
+                        .build());
+    }
 }
@@ -7,8 +7,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/notifications")
 @RequiredArgsConstructor
@@ -31,27 +29,39 @@ public class NotificationController {
     }
     
     @GetMapping("/user/{userId}")
-    public ResponseEntity<ApiResponse<List<NotificationDto>>> getUserNotifications(
-        @PathVariable Long userId
+    public ResponseEntity<ApiResponse<NotificationPageDto>> getUserNotifications(
+        @PathVariable Long userId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit
     ) {
-        List<NotificationDto> notifications = notificationService.getUserNotifications(userId);
-        return ResponseEntity.ok(ApiResponse.<List<NotificationDto>>builder()
-            .success(true)
-            .message("Notifications retrieved successfully")
-            .data(notifications)
-            .build());
+        try {
+            NotificationPageDto page = notificationService.getUserNotifications(userId, cursor, limit);
+            return ResponseEntity.ok(ApiResponse.<NotificationPageDto>builder()
+                .success(true)
+                .message("Notifications retrieved successfully")
+                .data(page)
+                .build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage(), null));
+        }
     }
     
     @GetMapping("/user/{userId}/unread")
-    public ResponseEntity<ApiResponse<List<NotificationDto>>> getUnreadNotifications(
-        @PathVariable Long userId
+    public ResponseEntity<ApiResponse<NotificationPageDto>> getUnreadNotifications(
+        @PathVariable Long userId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer limit
     ) {
-        List<NotificationDto> notifications = notificationService.getUnreadNotifications(userId);
-        return ResponseEntity.ok(ApiResponse.<List<NotificationDto>>builder()
-            .success(true)
-            .message("Unread notifications retrieved successfully")
-            .data(notifications)
-            .build());
+        try {
+            NotificationPageDto page = notificationService.getUnreadNotifications(userId, cursor, limit);
+            return ResponseEntity.ok(ApiResponse.<NotificationPageDto>builder()
+                .success(true)
+                .message("Unread notifications retrieved successfully")
+                .data(page)
+                .build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage(), null));
+        }
     }
     
     @GetMapping("/user/{userId}/unread/count")
@@ -1,6 +1,7 @@
 package com.servio.controller;
 
 import com.servio.dto.*;
+import com.servio.service.MaintenancePredictionService;
 import com.servio.service.VehicleService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -18,6 +19,7 @@ import java.util.List;
 public class VehicleController {
 
     private final VehicleService vehicleService;
+    private final MaintenancePredictionService maintenancePredictionService;
 
     /** Returns vehicles for the currently logged-in user (from JWT). */
     @GetMapping("/my")
@@ -97,6 +99,17 @@ public class VehicleController {
                 .build());
     }
 
+    /** Upcoming maintenance predicted from the vehicle's service history, soonest first. */
+    @GetMapping("/{id}/maintenance")
+    public ResponseEntity<ApiResponse<List<MaintenanceReminderDto>>> getMaintenancePredictions(@PathVariable Long id) {
+        List<MaintenanceReminderDto> predictions = maintenancePredictionService.getPredictions(id);
+        return ResponseEntity.ok(ApiResponse.<List<MaintenanceReminderDto>>builder()
+                .success(true)
+                .message("Maintenance predictions retrieved successfully")
+                .data(predictions)
+                .build());
+    }
+
     @GetMapping("/{id}/servicerecords")
     public ResponseEntity<ApiResponse<List<ServiceRecordDto>>> getServiceRecordsByVehicle(@PathVariable Long id) {
         List<ServiceRecordDto> records = vehicleService.getServiceRecordsByVehicle(id);
@@ -0,0 +1,29 @@
+package com.servio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * One row of the admin customer list.  Local users without a profile get a
+ * synthetic id of {@code new UUID(0, userId)}, which the details endpoint
+ * recognises; {@code source} says which table the row came from.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AdminCustomerListItemDto {
+    private UUID id;
+    private String fullName;
+    private String email;
+    private String phone;
+    private String role;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime joined;
+    private String source;
+}
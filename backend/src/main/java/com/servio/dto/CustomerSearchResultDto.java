@@ -0,0 +1,26 @@
+package com.servio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A customer search hit.  {@code source} is PROFILE, USER or WALK_IN; for
+ * PROFILE and USER rows {@code id} is the id the customer details endpoint
+ * takes, for WALK_IN rows the walk-in customer id.  {@code licensePlate} is
+ * set when the match came from a plate.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerSearchResultDto {
+    private String source;
+    private String id;
+    private String fullName;
+    private String email;
+    private String phone;
+    private String licensePlate;
+    private double score;
+}
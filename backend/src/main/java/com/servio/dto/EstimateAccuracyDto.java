@@ -0,0 +1,23 @@
+package com.servio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+/** How completed tasks' logged hours compared with their estimates. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EstimateAccuracyDto {
+    private LocalDate from;
+    private LocalDate to;
+    private Long mechanicId; // null for all mechanics
+    private long completedTasks;
+    private Double estimatedHours;
+    private Double actualHours;
+    private Double actualToEstimateRatio; // > 1 means tasks overran their estimates
+    private Double meanAbsolutePercentageError;
+}
@@ -1,5 +1,7 @@
 package com.servio.dto;
 
+import com.servio.entity.JobCardStatus;
+import com.servio.entity.JobPriority;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -33,4 +35,18 @@ public class JobCardDto {
     private LocalDateTime completedAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    /** Constructor-projection target for the JobCardRepository list queries. */
+    public JobCardDto(Long id, Long appointmentId, Long mechanicId, String mechanicName,
+                      Long serviceBayId, String bayNumber, Long walkInCustomerId, String customerName,
+                      String jobNumber, String serviceType, String description,
+                      JobCardStatus status, JobPriority priority,
+                      Double estimatedHours, Double actualHours, BigDecimal estimatedCost, BigDecimal actualCost,
+                      LocalDateTime startedAt, LocalDateTime completedAt,
+                      LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, appointmentId, mechanicId, mechanicName, serviceBayId, bayNumber, walkInCustomerId, customerName,
+                jobNumber, serviceType, description,
+                status != null ? status.toString() : null, priority != null ? priority.toString() : null,
+                estimatedHours, actualHours, estimatedCost, actualCost, startedAt, completedAt, createdAt, updatedAt);
+    }
 }
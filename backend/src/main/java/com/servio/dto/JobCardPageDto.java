@@ -0,0 +1,21 @@
+package com.servio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** One page of the admin job card list; {@code page} is zero-based. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobCardPageDto {
+    private List<JobCardDto> items;
+    private int page;
+    private int size;
+    private long totalItems;
+    private int totalPages;
+}
@@ -15,5 +15,6 @@ public class MaintenanceReminderDto {
     private String serviceType;
     private String description;
     private LocalDate dueDate;
+    private Integer dueMileage;
     private String priority; // HIGH, MEDIUM, LOW
 }
@@ -0,0 +1,18 @@
+package com.servio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MechanicUtilizationDto {
+    private Long mechanicId;
+    private String mechanicName;
+    private Double workedHours;
+    private Double availableHours; // opening hours over the period
+    private Double utilization; // workedHours / availableHours
+}
@@ -0,0 +1,23 @@
+package com.servio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a user's notifications, newest first.  Pass {@code nextCursor}
+ * back as the {@code cursor} parameter to fetch the following page; it is
+ * null once the end of the inbox has been reached.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationPageDto {
+    private List<NotificationDto> items;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -0,0 +1,26 @@
+package com.servio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlannedJobDto {
+    private Long jobCardId;
+    private String jobNumber;
+    private String serviceType;
+    private String priority;
+    private Long mechanicId;
+    private String mechanicName;
+    private Long serviceBayId;
+    private String bayNumber;
+    private LocalDateTime plannedStart;
+    private LocalDateTime plannedEnd;
+    private Boolean inProgress;
+    private Boolean specialistMatch;
+}
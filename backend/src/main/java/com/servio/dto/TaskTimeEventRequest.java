@@ -0,0 +1,18 @@
+package com.servio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskTimeEventRequest {
+    private Long taskId;
+    private Long mechanicId;
+    private String type; // CLOCK_IN, PAUSE, RESUME, CLOCK_OUT
+    private LocalDateTime occurredAt; // device time; defaults to when the server receives it
+}
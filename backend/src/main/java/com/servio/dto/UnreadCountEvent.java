@@ -0,0 +1,16 @@
+package com.servio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Pushed to /topic/notifications/user/{id}/unread-count whenever the user's unread count changes. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UnreadCountEvent {
+    private Long userId;
+    private long unreadCount;
+}
@@ -0,0 +1,18 @@
+package com.servio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VehicleServiceYearDto {
+    private Integer year;
+    private Long serviceCount;
+    private BigDecimal totalCost;
+}
@@ -6,6 +6,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -17,4 +19,6 @@ public class VehicleStatsDto {
     private Long totalServices;
     private BigDecimal totalCost;
     private Integer lastMileage;
+    private LocalDate lastServiceDate;
+    private List<VehicleServiceYearDto> servicesPerYear;
 }
@@ -0,0 +1,84 @@
+package com.servio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Snapshot of the live workshop board: open job cards, their tasks, and the
+ * active bays and mechanics.  {@code sequence} is the number of the last
+ * {@link WorkshopBoardEvent} the snapshot includes; the items reference
+ * each other by id only.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WorkshopBoardDto {
+    private long sequence;
+    private List<JobCardItem> jobCards;
+    private List<TaskItem> tasks;
+    private List<BayItem> bays;
+    private List<MechanicItem> mechanics;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class JobCardItem {
+        private Long id;
+        private String jobNumber;
+        private String serviceType;
+        private String status;
+        private String priority;
+        private Long mechanicId;
+        private Long serviceBayId;
+        private String customerName;
+        private Double estimatedHours;
+        private LocalDateTime startedAt;
+        private LocalDateTime updatedAt;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TaskItem {
+        private Long id;
+        private Long jobCardId;
+        private String taskNumber;
+        private String description;
+        private String status;
+        private Long mechanicId;
+        private Integer sequenceOrder;
+        private LocalDateTime updatedAt;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class BayItem {
+        private Long id;
+        private String bayNumber;
+        private String type;
+        private String status;
+        private Integer capacity;
+        private LocalDateTime updatedAt;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class MechanicItem {
+        private Long id;
+        private String fullName;
+        private String specialization;
+        private String status;
+        private LocalDateTime updatedAt;
+    }
+}
@@ -0,0 +1,27 @@
+package com.servio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One change to the workshop board, pushed over WebSocket on
+ * /topic/workshop/board.  Sequence numbers are consecutive: a client that
+ * sees a gap, or starts fresh, reloads the snapshot (or the missed events)
+ * and drops events at or below the snapshot's sequence.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkshopBoardEvent {
+    private long sequence;
+    /** JOB_CARD | TASK | BAY | MECHANIC */
+    private String entity;
+    /** UPSERT | REMOVE — removing a job card also removes its tasks */
+    private String type;
+    private Long id;
+    /** The item's new state for UPSERT, null for REMOVE */
+    private Object item;
+}
@@ -0,0 +1,21 @@
+package com.servio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WorkshopPlanDto {
+    private LocalDateTime planStart;
+    private LocalDateTime planEnd;
+    private List<PlannedJobDto> scheduled;
+    private List<PlannedJobDto> unscheduled; // don't fit before closing, or no suitable bay / mechanic
+    private Double bayUtilization; // 0..1 share of bay time kept busy
+    private Double averageWaitMinutes;
+}
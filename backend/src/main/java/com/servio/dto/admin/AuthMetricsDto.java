@@ -0,0 +1,24 @@
+package com.servio.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthMetricsDto {
+    private LocalDateTime since;
+    private long validTokens;
+    private long invalidTokens;
+    private long missingTokens;
+    /** Token verification latency: bucket upper bound ("le_10us", "le_50us", ..., "le_10000us", "le_inf") to count. */
+    private Map<String, Long> verifyLatencyBuckets;
+    private double verifyLatencyMeanMicros;
+    private long verifyLatencyMaxMicros;
+}
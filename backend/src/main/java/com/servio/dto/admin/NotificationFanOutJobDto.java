@@ -0,0 +1,24 @@
+package com.servio.dto.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationFanOutJobDto {
+    private String jobId;
+    private String title;
+    private String status; // QUEUED, RUNNING, COMPLETED, FAILED
+    private long totalRecipients;
+    private long notifiedRecipients;
+    private LocalDateTime queuedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,32 @@
+package com.servio.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Claim on a booking slot.  The primary key is the minute the slot starts at,
+ * so at most one appointment can hold a given slot; see AppointmentSlotClaimService.
+ */
+@Entity
+@Table(name = "appointment_slots")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AppointmentSlot {
+    @Id
+    @Column(name = "slot_start")
+    private LocalDateTime slotStart;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "appointment_id", nullable = false, unique = true)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Appointment appointment;
+
+    @Column(name = "claimed_at", nullable = false)
+    private LocalDateTime claimedAt;
+}
@@ -6,7 +6,7 @@ import java.time.LocalDateTime;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "job_cards")
+@Table(name = "job_cards", indexes = @Index(name = "uk_job_cards_job_number", columnList = "job_number", unique = true))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,8 +32,8 @@ public class JobCard {
     @JoinColumn(name = "walk_in_customer_id")
     private WalkInCustomer walkInCustomer;
 
-    @Column(nullable = false)
-    private String jobNumber; // Unique job card number
+    @Column(name = "job_number", nullable = false)
+    private String jobNumber; // Unique, e.g. JC-20261018-000151 (see WorkNumberAllocator)
 
     @Column(nullable = false)
     private String serviceType;
@@ -54,7 +54,8 @@ public class JobCard {
     @Column(name = "estimated_hours")
     private Double estimatedHours;
 
-    @Column(name = "actual_hours")
+    // Maintained in SQL by TaskTimeTrackingService from the clock events
+    @Column(name = "actual_hours", insertable = false, updatable = false)
     private Double actualHours;
 
     @Column(name = "estimated_cost")
@@ -79,9 +80,6 @@ public class JobCard {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
-        if (jobNumber == null) {
-            jobNumber = "JC-" + System.currentTimeMillis();
-        }
     }
 
     @PreUpdate
@@ -6,7 +6,7 @@ import java.time.LocalDateTime;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "job_tasks")
+@Table(name = "job_tasks", indexes = @Index(name = "uk_job_tasks_task_number", columnList = "task_number", unique = true))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -25,7 +25,7 @@ public class JobTask {
     private Mechanic assignedMechanic;
 
     @Column(name = "task_number", nullable = false)
-    private String taskNumber;
+    private String taskNumber; // Unique, e.g. JT-20261018-000051 (see WorkNumberAllocator)
 
     @Column(nullable = false)
     private String description;
@@ -44,7 +44,8 @@ public class JobTask {
     @Column(name = "estimated_hours")
     private Double estimatedHours;
 
-    @Column(name = "actual_hours")
+    // Maintained in SQL by TaskTimeTrackingService from the clock events
+    @Column(name = "actual_hours", insertable = false, updatable = false)
     private Double actualHours;
 
     @Column(name = "started_at")
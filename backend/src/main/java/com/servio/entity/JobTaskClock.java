@@ -0,0 +1,39 @@
+package com.servio.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running labour total of one mechanic on one job task.  {@code openSince}
+ * is set while the mechanic is clocked in.  Maintained by
+ * TaskTimeTrackingService from the time events.
+ */
+@Entity
+@Table(name = "job_task_clocks",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"task_id", "mechanic_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobTaskClock {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "mechanic_id", nullable = false)
+    private Long mechanicId;
+
+    @Column(name = "open_since")
+    private LocalDateTime openSince;
+
+    @Column(name = "worked_seconds", nullable = false)
+    private Long workedSeconds;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,42 @@
+package com.servio.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One clock event of a mechanic on a job task, as reported by the workshop
+ * tablets.  Append-only; written in batches by TaskTimeTrackingService.
+ */
+@Entity
+@Table(name = "job_task_time_events",
+        indexes = @Index(name = "idx_job_task_time_events_task", columnList = "task_id, occurred_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobTaskTimeEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "job_card_id", nullable = false)
+    private Long jobCardId;
+
+    @Column(name = "mechanic_id", nullable = false)
+    private Long mechanicId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 16)
+    private TimeEventType eventType;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+}
@@ -0,0 +1,44 @@
+package com.servio.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One day's running total for a dashboard metric, broken down by a dimension:
+ *
+ *   REVENUE        – completed payment amounts, dimension = payment method
+ *   APPOINTMENTS   – appointment counts, dimension = current status
+ *   NEW_CUSTOMERS  – profiles created that day, dimension = ''
+ *
+ * Maintained incrementally by KpiRollupService and recomputed nightly.
+ */
+@Entity
+@Table(name = "kpi_daily_rollups",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"day", "metric", "dimension"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class KpiDailyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false, length = 32)
+    private String metric;
+
+    @Column(nullable = false, length = 64)
+    private String dimension;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "event_count", nullable = false)
+    private Long eventCount;
+}
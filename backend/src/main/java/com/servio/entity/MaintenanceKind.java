@@ -0,0 +1,52 @@
+package com.servio.entity;
+
+/**
+ * Recurring services the maintenance predictor tracks, each with its
+ * interval in kilometres and days — whichever comes first.
+ */
+public enum MaintenanceKind {
+    OIL_CHANGE("Oil change", 5_000, 180),
+    TYRE_ROTATION("Tyre rotation", 10_000, 365),
+    BRAKE_INSPECTION("Brake inspection", 20_000, 365),
+    GENERAL_SERVICE("General service", 10_000, 365);
+
+    private final String label;
+    private final int intervalKm;
+    private final int intervalDays;
+
+    MaintenanceKind(String label, int intervalKm, int intervalDays) {
+        this.label = label;
+        this.intervalKm = intervalKm;
+        this.intervalDays = intervalDays;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int getIntervalKm() {
+        return intervalKm;
+    }
+
+    public int getIntervalDays() {
+        return intervalDays;
+    }
+
+    /** The kind a free-text service type counts as, by keyword; anything unrecognised is a general service. */
+    public static MaintenanceKind classify(String serviceType) {
+        if (serviceType == null) {
+            return GENERAL_SERVICE;
+        }
+        String type = serviceType.toLowerCase();
+        if (type.contains("oil")) {
+            return OIL_CHANGE;
+        }
+        if (type.contains("tyre") || type.contains("tire") || type.contains("rotation")) {
+            return TYRE_ROTATION;
+        }
+        if (type.contains("brake")) {
+            return BRAKE_INSPECTION;
+        }
+        return GENERAL_SERVICE;
+    }
+}
@@ -0,0 +1,55 @@
+package com.servio.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * When a vehicle is next due for one kind of maintenance.  Written by
+ * MaintenancePredictionService's nightly run; {@code remindedDueDate} records
+ * the due date the owner was last reminded about, so each prediction is sent
+ * once.
+ */
+@Entity
+@Table(name = "maintenance_predictions",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"vehicle_id", "service_kind"}),
+        indexes = @Index(name = "idx_maintenance_predictions_due_date", columnList = "due_date"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MaintenancePrediction {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "vehicle_id", nullable = false)
+    private Long vehicleId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "service_kind", nullable = false, length = 32)
+    private MaintenanceKind serviceKind;
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+
+    @Column(name = "due_mileage")
+    private Integer dueMileage;
+
+    @Column(name = "daily_km", nullable = false)
+    private Double dailyKm;
+
+    @Column(name = "last_service_date", nullable = false)
+    private LocalDate lastServiceDate;
+
+    @Column(name = "last_mileage")
+    private Integer lastMileage;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+
+    @Column(name = "reminded_due_date")
+    private LocalDate remindedDueDate;
+}
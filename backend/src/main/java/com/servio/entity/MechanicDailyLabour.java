@@ -0,0 +1,32 @@
+package com.servio.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * Seconds a mechanic was clocked in on job tasks, per day (the day each work
+ * interval started).  Maintained by TaskTimeTrackingService.
+ */
+@Entity
+@Table(name = "mechanic_daily_labour",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"mechanic_id", "day"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MechanicDailyLabour {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "mechanic_id", nullable = false)
+    private Long mechanicId;
+
+    @Column(nullable = false)
+    private LocalDate day;
+
+    @Column(name = "worked_seconds", nullable = false)
+    private Long workedSeconds;
+}
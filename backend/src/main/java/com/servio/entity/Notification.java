@@ -4,8 +4,13 @@ import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
 
+// The partial index for unread pages, idx_notifications_user_unread, is created by
+// database/notifications-inbox-migration.sql: JPA cannot declare partial indexes
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at DESC, id DESC"),
+    @Index(name = "idx_notifications_created_at", columnList = "created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -45,7 +45,8 @@ public class RepairJob {
     @Column(name = "estimated_duration_hours")
     private Integer estimatedDurationHours;
 
-    @Column(name = "actual_duration_hours")
+    // Maintained in SQL by TaskTimeTrackingService from the appointment's job cards
+    @Column(name = "actual_duration_hours", insertable = false, updatable = false)
     private Integer actualDurationHours;
 
     @Column(name = "estimated_cost")
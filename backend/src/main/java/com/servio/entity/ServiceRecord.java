@@ -7,7 +7,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "service_records")
+@Table(name = "service_records", indexes = @Index(name = "idx_service_records_vehicle_id", columnList = "vehicle_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,13 @@
+package com.servio.entity;
+
+/** Labour clock events: CLOCK_IN and RESUME start work on a task, PAUSE and CLOCK_OUT stop it. */
+public enum TimeEventType {
+    CLOCK_IN,
+    PAUSE,
+    RESUME,
+    CLOCK_OUT;
+
+    public boolean startsWork() {
+        return this == CLOCK_IN || this == RESUME;
+    }
+}
@@ -0,0 +1,43 @@
+package com.servio.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One vehicle's service totals for one calendar year (by service date).
+ * Maintained by VehicleStatsService on every service record write and
+ * recomputed nightly.
+ */
+@Entity
+@Table(name = "vehicle_service_year_stats",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"vehicle_id", "year"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VehicleServiceYearStats {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "vehicle_id", nullable = false)
+    private Long vehicleId;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(name = "service_count", nullable = false)
+    private Long serviceCount;
+
+    @Column(name = "total_cost", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalCost;
+
+    @Column(name = "max_mileage")
+    private Integer maxMileage;
+
+    @Column(name = "last_service_date")
+    private LocalDate lastServiceDate;
+}
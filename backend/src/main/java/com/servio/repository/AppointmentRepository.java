@@ -1,6 +1,7 @@
 package com.servio.repository;
 
 import com.servio.entity.Appointment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -49,18 +50,28 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
                         @Param("appointmentDate") LocalDateTime appointmentDate,
                         @Param("excludeStatuses") List<String> excludeStatuses);
 
-        // Returns all active appointments for a given date (used to show booked slots
-        // to customers)
-        @Query("SELECT a FROM Appointment a WHERE a.appointmentDate >= :startOfDay AND a.appointmentDate < :endOfDay AND a.status NOT IN ('CANCELLED')")
-        List<Appointment> findBookedSlotsForDate(
+        // Returns the start times of all active appointments for a given date (used to
+        // show booked slots to customers for dates outside the in-memory slot index)
+        @Query("SELECT DISTINCT a.appointmentDate FROM Appointment a WHERE a.appointmentDate >= :startOfDay AND a.appointmentDate < :endOfDay AND a.status NOT IN ('CANCELLED') ORDER BY a.appointmentDate")
+        List<LocalDateTime> findBookedSlotTimesForDate(
                         @Param("startOfDay") LocalDateTime startOfDay,
                         @Param("endOfDay") LocalDateTime endOfDay);
 
+        @Query("SELECT COUNT(a) > 0 FROM Appointment a WHERE a.appointmentDate >= :start AND a.appointmentDate < :end AND a.status NOT IN ('CANCELLED')")
+        boolean existsActiveInRange(
+                        @Param("start") LocalDateTime start,
+                        @Param("end") LocalDateTime end);
+
+        // (id, appointmentDate) pairs of every active appointment from a given instant
+        // — used to warm the in-memory slot index without loading entities.
+        @Query("SELECT a.id, a.appointmentDate FROM Appointment a WHERE a.appointmentDate >= :from AND a.status NOT IN ('CANCELLED')")
+        List<Object[]> findActiveSlotsFrom(@Param("from") LocalDateTime from);
+
         @Query("SELECT SUM(a.actualCost) FROM Appointment a WHERE a.status = 'COMPLETED'")
         java.math.BigDecimal calculateTotalRevenue();
 
-        @Query("SELECT DISTINCT a FROM Appointment a LEFT JOIN FETCH a.user LEFT JOIN FETCH a.profile LEFT JOIN FETCH a.vehicle WHERE a.appointmentDate >= CURRENT_TIMESTAMP AND a.status NOT IN ('CANCELLED', 'COMPLETED') ORDER BY a.appointmentDate ASC")
-        List<Appointment> findUpcomingAppointments();
+        @Query("SELECT a FROM Appointment a LEFT JOIN FETCH a.user LEFT JOIN FETCH a.profile LEFT JOIN FETCH a.vehicle WHERE a.appointmentDate >= CURRENT_TIMESTAMP AND a.status NOT IN ('CANCELLED', 'COMPLETED') ORDER BY a.appointmentDate ASC")
+        List<Appointment> findUpcomingAppointments(Pageable pageable);
 
         // Appointments whose date falls within [windowStart, windowEnd] — used by reminder scheduler
         @Query("SELECT DISTINCT a FROM Appointment a LEFT JOIN FETCH a.user LEFT JOIN FETCH a.profile " +
@@ -76,10 +87,11 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
         List<Appointment> findExpiredPendingPayments(@Param("cutoff") LocalDateTime cutoff);
 
         // CONFIRMED or IN_PROGRESS appointments that have no completed payment yet
-        // — used to identify appointments needing cash collection.
-        @Query("SELECT DISTINCT a FROM Appointment a LEFT JOIN FETCH a.user LEFT JOIN FETCH a.profile LEFT JOIN FETCH a.vehicle " +
+        // — used to identify appointments needing cash collection.  Limited in SQL to
+        // the requested page.
+        @Query("SELECT a FROM Appointment a LEFT JOIN FETCH a.user LEFT JOIN FETCH a.profile LEFT JOIN FETCH a.vehicle " +
                "WHERE a.status IN ('CONFIRMED', 'IN_PROGRESS') " +
                "AND NOT EXISTS (SELECT p FROM Payment p WHERE p.appointment = a AND p.paymentStatus = 'COMPLETED') " +
                "ORDER BY a.appointmentDate ASC")
-        List<Appointment> findAppointmentsNeedingPayment();
+        List<Appointment> findAppointmentsNeedingPayment(Pageable pageable);
 }
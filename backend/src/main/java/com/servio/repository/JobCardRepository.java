@@ -1,21 +1,71 @@
 package com.servio.repository;
 
+import com.servio.dto.JobCardDto;
 import com.servio.entity.JobCard;
 import com.servio.entity.JobCardStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface JobCardRepository extends JpaRepository<JobCard, Long> {
+
+    /** Card columns plus the mechanic, bay and walk-in names, in one select with outer joins. */
+    String DTO_SELECT = "SELECT new com.servio.dto.JobCardDto(j.id, j.appointment.id, m.id, m.fullName, "
+            + "b.id, b.bayNumber, w.id, w.fullName, j.jobNumber, j.serviceType, j.description, j.status, j.priority, "
+            + "j.estimatedHours, j.actualHours, j.estimatedCost, j.actualCost, j.startedAt, j.completedAt, "
+            + "j.createdAt, j.updatedAt) "
+            + "FROM JobCard j LEFT JOIN j.assignedMechanic m LEFT JOIN j.assignedBay b LEFT JOIN j.walkInCustomer w ";
+
+    /**
+     * Every filter is optional: a null parameter matches all cards.  {@code to} is exclusive.  The
+     * driver sends date-times untyped (timestamp or timestamptz), so Postgres needs the casts to
+     * resolve {@code IS NULL}.
+     */
+    String DTO_FILTER = "WHERE (:status IS NULL OR j.status = :status) "
+            + "AND (:mechanicId IS NULL OR j.assignedMechanic.id = :mechanicId) "
+            + "AND (:bayId IS NULL OR j.assignedBay.id = :bayId) "
+            + "AND (:appointmentId IS NULL OR j.appointment.id = :appointmentId) "
+            + "AND (CAST(:from AS LocalDateTime) IS NULL OR j.createdAt >= :from) "
+            + "AND (CAST(:to AS LocalDateTime) IS NULL OR j.createdAt < :to)";
+
     Optional<JobCard> findByJobNumber(String jobNumber);
 
-    List<JobCard> findByAppointmentId(Long appointmentId);
+    List<JobCard> findByStatusIn(Collection<JobCardStatus> statuses);
+
+    /** Open cards for the workshop board, with the walk-in customer fetched. */
+    @Query("SELECT j FROM JobCard j LEFT JOIN FETCH j.walkInCustomer WHERE j.status IN :statuses ORDER BY j.id")
+    List<JobCard> findOpenForBoard(@Param("statuses") Collection<JobCardStatus> statuses);
 
-    List<JobCard> findByAssignedMechanicId(Long mechanicId);
+    @Query(DTO_SELECT + "WHERE j.id = :id")
+    Optional<JobCardDto> findDtoById(@Param("id") Long id);
 
-    List<JobCard> findByStatus(JobCardStatus status);
+    /** One page of matching cards as DTOs: one select for the page and one count. */
+    @Query(value = DTO_SELECT + DTO_FILTER,
+            countQuery = "SELECT COUNT(j) FROM JobCard j " + DTO_FILTER)
+    Page<JobCardDto> findDtoPage(@Param("status") JobCardStatus status,
+                                 @Param("mechanicId") Long mechanicId,
+                                 @Param("bayId") Long bayId,
+                                 @Param("appointmentId") Long appointmentId,
+                                 @Param("from") LocalDateTime from,
+                                 @Param("to") LocalDateTime to,
+                                 Pageable pageable);
 
-    List<JobCard> findByAssignedBayId(Long bayId);
+    /** All matching cards as DTOs, in one select. */
+    @Query(DTO_SELECT + DTO_FILTER)
+    List<JobCardDto> findDtoList(@Param("status") JobCardStatus status,
+                                 @Param("mechanicId") Long mechanicId,
+                                 @Param("bayId") Long bayId,
+                                 @Param("appointmentId") Long appointmentId,
+                                 @Param("from") LocalDateTime from,
+                                 @Param("to") LocalDateTime to,
+                                 Sort sort);
 }
@@ -1,9 +1,11 @@
 package com.servio.repository;
 
+import com.servio.entity.JobCardStatus;
 import com.servio.entity.JobTask;
 import com.servio.entity.TaskStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,4 +17,6 @@ public interface JobTaskRepository extends JpaRepository<JobTask, Long> {
     List<JobTask> findByStatus(TaskStatus status);
 
     List<JobTask> findByJobCardIdOrderBySequenceOrder(Long jobCardId);
+
+    List<JobTask> findByJobCardStatusIn(Collection<JobCardStatus> statuses);
 }
@@ -1,11 +1,14 @@
 package com.servio.repository;
 
 import com.servio.entity.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -13,12 +16,68 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     
     List<Notification> findByUserId(Long userId);
     
-    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId ORDER BY n.createdAt DESC")
-    List<Notification> findUserNotificationsOrderByDate(@Param("userId") Long userId);
-    
-    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.isRead = false ORDER BY n.createdAt DESC")
-    List<Notification> findUnreadNotifications(@Param("userId") Long userId);
-    
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.isRead = false")
     Long countUnreadNotifications(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.isRead = false")
+    int markAllAsRead(@Param("userId") Long userId);
+
+    /** Marks one notification read; returns 0 if it was already read, so the caller decrements at most once. */
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.id = :id AND n.isRead = false")
+    int markAsReadIfUnread(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id = :id AND n.isRead = false")
+    int deleteIfUnread(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id = :id")
+    int removeById(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.user.id = :userId AND n.createdAt < :cutoff")
+    int deleteUserNotificationsCreatedBefore(@Param("userId") Long userId, @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * First page of a user's inbox, newest first, as rows of
+     * [id, title, message, type, isRead, createdAt].  n.user.id is the FK
+     * column, so users is never joined.  Served from
+     * idx_notifications_user_created.
+     */
+    @Query("SELECT n.id, n.title, n.message, n.type, n.isRead, n.createdAt FROM Notification n " +
+           "WHERE n.user.id = :userId " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Object[]> findInboxFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    /** Inbox rows strictly older than the (createdAt, id) cursor; same shape as {@link #findInboxFirstPage}. */
+    @Query("SELECT n.id, n.title, n.message, n.type, n.isRead, n.createdAt FROM Notification n " +
+           "WHERE n.user.id = :userId " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Object[]> findInboxPageBefore(@Param("userId") Long userId,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
+    /**
+     * First page of a user's unread notifications; same shape as
+     * {@link #findInboxFirstPage}.  Served from the partial index
+     * idx_notifications_user_unread, so read rows are never walked past.
+     */
+    @Query("SELECT n.id, n.title, n.message, n.type, n.isRead, n.createdAt FROM Notification n " +
+           "WHERE n.user.id = :userId AND n.isRead = false " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Object[]> findUnreadFirstPage(@Param("userId") Long userId, Pageable pageable);
+
+    /** Unread rows strictly older than the (createdAt, id) cursor. */
+    @Query("SELECT n.id, n.title, n.message, n.type, n.isRead, n.createdAt FROM Notification n " +
+           "WHERE n.user.id = :userId AND n.isRead = false " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Object[]> findUnreadPageBefore(@Param("userId") Long userId,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
 }
@@ -37,6 +37,13 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     @Query("SELECT p FROM Payment p WHERE p.appointment.id = :appointmentId AND p.paymentStatus = 'COMPLETED' ORDER BY p.paymentDate DESC, p.createdAt DESC")
     List<Payment> findCompletedPaymentsByAppointmentId(@Param("appointmentId") Long appointmentId);
 
+    /**
+     * (appointmentId, amount, paymentMethod) of every completed payment for the given
+     * appointments, newest first — lets list views batch-load payment info in one query.
+     */
+    @Query("SELECT p.appointment.id, p.amount, p.paymentMethod FROM Payment p WHERE p.appointment.id IN :appointmentIds AND p.paymentStatus = 'COMPLETED' ORDER BY p.paymentDate DESC, p.createdAt DESC")
+    List<Object[]> findCompletedPaymentSummariesByAppointmentIds(@Param("appointmentIds") List<Long> appointmentIds);
+
     /** Sum of completed payments for a given appointment (0 if none). */
     @Query("SELECT COALESCE(SUM(p.amount), 0) FROM Payment p WHERE p.appointment.id = :appointmentId AND p.paymentStatus = 'COMPLETED'")
     BigDecimal getPaidAmountForAppointment(@Param("appointmentId") Long appointmentId);
@@ -1,11 +1,27 @@
 package com.servio.repository;
 
+import com.servio.dto.ServiceRecordDto;
 import com.servio.entity.ServiceRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ServiceRecordRepository extends JpaRepository<ServiceRecord, Long> {
     List<ServiceRecord> findByVehicleId(Long vehicleId);
+
+    /** One row: record count, total cost (null if none), highest mileage, latest service date. */
+    @Query("SELECT COUNT(r), SUM(r.cost), MAX(r.mileage), MAX(r.serviceDate) "
+            + "FROM ServiceRecord r WHERE r.vehicle.id = :vehicleId")
+    List<Object[]> aggregateByVehicleId(@Param("vehicleId") Long vehicleId);
+
+    /** Records of all the given vehicles as DTOs, newest service first, in one query. */
+    @Query("SELECT new com.servio.dto.ServiceRecordDto(r.id, v.id, v.make, v.model, r.serviceType, r.description, "
+            + "r.serviceDate, r.mileage, r.cost, r.createdAt, r.updatedAt) "
+            + "FROM ServiceRecord r JOIN r.vehicle v WHERE v.id IN :vehicleIds "
+            + "ORDER BY r.serviceDate DESC, r.id DESC")
+    List<ServiceRecordDto> findDtosByVehicleIds(@Param("vehicleIds") Collection<Long> vehicleIds);
 }
@@ -1,7 +1,10 @@
 package com.servio.repository;
 
+import com.servio.dto.VehicleDto;
 import com.servio.entity.Vehicle;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.UUID;
@@ -9,4 +12,10 @@ import java.util.UUID;
 @Repository
 public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
     List<Vehicle> findByProfileId(UUID profileId);
+
+    /** The profile's vehicles as DTOs owned by {@code ownerName}, without loading the profile. */
+    @Query("SELECT new com.servio.dto.VehicleDto(v.id, CAST(v.profile.id AS String), :ownerName, v.make, v.model, "
+            + "v.year, v.licensePlate, v.vin, v.createdAt, v.updatedAt) "
+            + "FROM Vehicle v WHERE v.profile.id = :profileId ORDER BY v.id")
+    List<VehicleDto> findDtosByProfileId(@Param("profileId") UUID profileId, @Param("ownerName") String ownerName);
 }
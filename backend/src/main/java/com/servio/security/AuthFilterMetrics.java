@@ -0,0 +1,115 @@
+package com.servio.security;
+
+import com.servio.dto.admin.AuthMetricsDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and a latency histogram for {@link JwtAuthenticationFilter}.
+ *
+ * Recording is lock-free and allocation-free (LongAdder per counter and per
+ * fixed histogram bucket), so it can run on every request.  Per-request log
+ * lines are only written at DEBUG, and only for the users listed in
+ * {@code auth.debug.users} or paths starting with an entry of
+ * {@code auth.debug.paths}; with both empty, DEBUG covers every request.
+ */
+@Component
+public class AuthFilterMetrics {
+
+    /** Histogram bucket upper bounds in microseconds; the last bucket is unbounded. */
+    private static final long[] BUCKET_BOUNDS_MICROS = {10, 50, 100, 250, 500, 1_000, 5_000, 10_000};
+
+    private final LocalDateTime since = LocalDateTime.now();
+    private final LongAdder valid = new LongAdder();
+    private final LongAdder invalid = new LongAdder();
+    private final LongAdder missing = new LongAdder();
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MICROS.length + 1];
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    private final Set<String> debugUsers;
+    private final List<String> debugPaths;
+
+    public AuthFilterMetrics(@Value("${auth.debug.users:}") Set<String> debugUsers,
+                             @Value("${auth.debug.paths:}") List<String> debugPaths) {
+        this.debugUsers = debugUsers;
+        this.debugPaths = debugPaths;
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void recordValid(long verifyNanos) {
+        valid.increment();
+        recordLatency(verifyNanos);
+    }
+
+    public void recordInvalid(long verifyNanos) {
+        invalid.increment();
+        recordLatency(verifyNanos);
+    }
+
+    public void recordMissing() {
+        missing.increment();
+    }
+
+    /**
+     * Whether a request should get a detailed log line, assuming DEBUG is
+     * enabled for the filter.  {@code userId} is null when not yet known.
+     */
+    public boolean isDebugTarget(String path, String userId) {
+        if (debugUsers.isEmpty() && debugPaths.isEmpty()) {
+            return true;
+        }
+        if (userId != null && debugUsers.contains(userId)) {
+            return true;
+        }
+        for (String prefix : debugPaths) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public AuthMetricsDto snapshot() {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        long verified = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            long count = buckets[i].sum();
+            verified += count;
+            String label = i < BUCKET_BOUNDS_MICROS.length ? "le_" + BUCKET_BOUNDS_MICROS[i] + "us" : "le_inf";
+            histogram.put(label, count);
+        }
+        return AuthMetricsDto.builder()
+                .since(since)
+                .validTokens(valid.sum())
+                .invalidTokens(invalid.sum())
+                .missingTokens(missing.sum())
+                .verifyLatencyBuckets(histogram)
+                .verifyLatencyMeanMicros(verified == 0 ? 0 : totalNanos.sum() / 1_000.0 / verified)
+                .verifyLatencyMaxMicros(maxNanos.get() / 1_000)
+                .build();
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private void recordLatency(long nanos) {
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        long micros = nanos / 1_000;
+        int bucket = 0;
+        while (bucket < BUCKET_BOUNDS_MICROS.length && micros > BUCKET_BOUNDS_MICROS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+    }
+}
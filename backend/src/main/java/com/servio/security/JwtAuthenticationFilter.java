@@ -16,27 +16,33 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtTokenProvider jwtTokenProvider;
+    private final AuthFilterMetrics metrics;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String token = extractTokenFromRequest(request);
-            String requestURI = request.getRequestURI();
 
             if (StringUtils.hasText(token)) {
-                boolean valid = jwtTokenProvider.validateToken(token);
-                logger.info("JWT validation for " + requestURI + ": " + (valid ? "VALID" : "INVALID")
-                        + ", token prefix: " + token.substring(0, Math.min(20, token.length())));
-                if (valid) {
-                    String userId = jwtTokenProvider.getUserIdFromToken(token);
-                    String role = jwtTokenProvider.getRoleFromToken(token);
-                    logger.info("Authenticated user id=" + userId + ", role=" + role + " for " + requestURI);
+                long started = System.nanoTime();
+                Optional<JwtTokenProvider.VerifiedToken> verified = jwtTokenProvider.authenticate(token);
+                long verifyNanos = System.nanoTime() - started;
+
+                if (verified.isPresent()) {
+                    metrics.recordValid(verifyNanos);
+                    String userId = verified.get().userId();
+                    String role = verified.get().role();
+                    if (logger.isDebugEnabled() && metrics.isDebugTarget(request.getRequestURI(), userId)) {
+                        logger.debug("Authenticated user id=" + userId + ", role=" + role + " for "
+                                + request.getRequestURI() + " in " + verifyNanos / 1_000 + "us");
+                    }
 
                     // Store authority WITHOUT "ROLE_" prefix so it matches hasAuthority('ADMIN') in
                     // controllers
@@ -47,9 +53,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
+                } else {
+                    metrics.recordInvalid(verifyNanos);
+                    if (logger.isDebugEnabled() && metrics.isDebugTarget(request.getRequestURI(), null)) {
+                        logger.debug("Rejected invalid or expired JWT for " + request.getRequestURI());
+                    }
                 }
             } else {
-                logger.info("No JWT token found in request to: " + requestURI);
+                metrics.recordMissing();
             }
         } catch (Exception e) {
             logger.error("Could not set user authentication", e);
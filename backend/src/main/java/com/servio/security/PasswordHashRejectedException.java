@@ -0,0 +1,12 @@
+package com.servio.security;
+
+/**
+ * Thrown (as the cause of a failed future) when the password hashing pool is
+ * saturated.  The message is safe to show to the client, which should retry.
+ */
+public class PasswordHashRejectedException extends RuntimeException {
+
+    public PasswordHashRejectedException(String message) {
+        super(message);
+    }
+}
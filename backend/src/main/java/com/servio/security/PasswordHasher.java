@@ -0,0 +1,77 @@
+package com.servio.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing on the bounded {@code passwordHashExecutor}, so BCrypt
+ * work never occupies Tomcat request threads.  When the pool's queue is full
+ * the returned future fails with {@link PasswordHashRejectedException}.
+ *
+ * Futures complete on a hashing thread; callers doing I/O afterwards must
+ * continue on another executor so the pool stays sized to the CPU.
+ *
+ * {@link #needsRehash(String)} reports hashes made with a cost other than
+ * {@code auth.password.bcrypt-strength}, so logins can upgrade (or downgrade)
+ * stored hashes after the setting changes.
+ */
+@Component
+@Slf4j
+public class PasswordHasher {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor executor;
+    private final int strength;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor executor,
+                          @Value("${auth.password.bcrypt-strength:10}") int strength) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.strength = strength;
+    }
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /** True when {@code encodedPassword} is a BCrypt hash whose cost differs from the configured one. */
+    public boolean needsRehash(String encodedPassword) {
+        // $2a$10$<22-char salt><31-char hash>
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$'
+                || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$') {
+            return false;
+        }
+        char tens = encodedPassword.charAt(4);
+        char units = encodedPassword.charAt(5);
+        if (!Character.isDigit(tens) || !Character.isDigit(units)) {
+            return false;
+        }
+        return (tens - '0') * 10 + (units - '0') != strength;
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, executor);
+        } catch (TaskRejectedException e) {
+            log.warn("Password hashing pool is saturated ({} queued); rejecting request",
+                    executor.getThreadPoolExecutor().getQueue().size());
+            return CompletableFuture.failedFuture(
+                    new PasswordHashRejectedException("Too many sign-in attempts right now, please try again shortly"));
+        }
+    }
+}
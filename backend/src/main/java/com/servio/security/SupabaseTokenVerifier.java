@@ -0,0 +1,196 @@
+package com.servio.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.JwtParserBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Verifies Supabase access tokens locally, by signature and claims, so a
+ * Supabase login does not need a round trip to the Supabase Auth API.
+ *
+ * HS256 tokens are checked against {@code supabase.jwt.secret}; asymmetric
+ * tokens (ES256 / RS256) against the project's JWKS, which is fetched on
+ * first use and cached for {@link #JWKS_TTL}.  When no local key can check a
+ * token — the secret is not configured, or the JWKS is disabled or has no key
+ * with the token's kid — the result is {@link Status#UNAVAILABLE} and the
+ * caller should fall back to the remote check.
+ *
+ * The plain-value constructor allows verifying locally minted tokens offline.
+ */
+@Component
+@Slf4j
+public class SupabaseTokenVerifier {
+
+    private static final String PLACEHOLDER_SECRET = "your-supabase-jwt-secret";
+    private static final String AUDIENCE = "authenticated";
+    private static final long CLOCK_SKEW_SECONDS = 30;
+
+    private static final Duration JWKS_TTL = Duration.ofMinutes(10);
+    /** Unknown kids trigger a refresh, but no more often than this. */
+    private static final Duration JWKS_MIN_REFRESH = Duration.ofSeconds(30);
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String issuer;
+    private final String jwksUrl;
+    private final JwtParser hmacParser;
+
+    private volatile Map<String, JwtParser> jwksParsers = Map.of();
+    private volatile Instant jwksFetchedAt = Instant.EPOCH;
+
+    @Autowired
+    public SupabaseTokenVerifier(RestTemplate restTemplate,
+                                 @Value("${supabase.url}") String supabaseUrl,
+                                 @Value("${supabase.jwt.secret:}") String jwtSecret,
+                                 @Value("${supabase.jwks.enabled:true}") boolean jwksEnabled) {
+        String base = supabaseUrl.endsWith("/") ? supabaseUrl.substring(0, supabaseUrl.length() - 1) : supabaseUrl;
+        this.restTemplate = restTemplate;
+        this.issuer = base + "/auth/v1";
+        this.jwksUrl = jwksEnabled ? issuer + "/.well-known/jwks.json" : null;
+        this.hmacParser = buildHmacParser(jwtSecret);
+    }
+
+    /** Offline use: HS256 only, no JWKS. */
+    public SupabaseTokenVerifier(String supabaseUrl, String jwtSecret) {
+        this(null, supabaseUrl, jwtSecret, false);
+    }
+
+    public enum Status { VERIFIED, REJECTED, UNAVAILABLE }
+
+    /** Outcome of a local check; {@code userId} and {@code email} are set only when VERIFIED. */
+    public record Result(Status status, String userId, String email, String reason) {
+        static Result verified(String userId, String email) {
+            return new Result(Status.VERIFIED, userId, email, null);
+        }
+
+        static Result rejected(String reason) {
+            return new Result(Status.REJECTED, null, null, reason);
+        }
+
+        static Result unavailable(String reason) {
+            return new Result(Status.UNAVAILABLE, null, null, reason);
+        }
+    }
+
+    public Result verify(String token) {
+        JsonNode header;
+        try {
+            int dot = token.indexOf('.');
+            if (dot <= 0) {
+                return Result.rejected("malformed token");
+            }
+            header = objectMapper.readTree(Base64.getUrlDecoder().decode(token.substring(0, dot)));
+        } catch (Exception e) {
+            return Result.rejected("malformed token header");
+        }
+
+        String alg = header.path("alg").asText("");
+        JwtParser parser;
+        if ("HS256".equals(alg)) {
+            if (hmacParser == null) {
+                return Result.unavailable("supabase.jwt.secret is not configured");
+            }
+            parser = hmacParser;
+        } else if (alg.startsWith("ES") || alg.startsWith("RS") || alg.startsWith("PS")) {
+            parser = jwksParser(header.path("kid").asText(null));
+            if (parser == null) {
+                return Result.unavailable("no JWKS key for this token");
+            }
+        } else {
+            return Result.rejected("unsupported algorithm " + alg);
+        }
+
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            String email = claims.get("email", String.class);
+            if (claims.getSubject() == null || email == null) {
+                return Result.rejected("token has no subject or email");
+            }
+            return Result.verified(claims.getSubject(), email);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Result.rejected(e.getMessage());
+        }
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private JwtParser buildHmacParser(String secret) {
+        if (secret == null || secret.isBlank() || PLACEHOLDER_SECRET.equals(secret)) {
+            return null;
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length < 32) {
+            log.warn("supabase.jwt.secret is shorter than 256 bits; HS256 tokens will be checked remotely");
+            return null;
+        }
+        return configure(Jwts.parser().verifyWith(Keys.hmacShaKeyFor(bytes)));
+    }
+
+    private JwtParser configure(JwtParserBuilder builder) {
+        return builder
+                .requireIssuer(issuer)
+                .requireAudience(AUDIENCE)
+                .clockSkewSeconds(CLOCK_SKEW_SECONDS)
+                .build();
+    }
+
+    private JwtParser jwksParser(String kid) {
+        if (jwksUrl == null || kid == null) {
+            return null;
+        }
+        Instant fetchedAt = jwksFetchedAt;
+        boolean expired = fetchedAt.plus(JWKS_TTL).isBefore(Instant.now());
+        JwtParser parser = jwksParsers.get(kid);
+        if (parser != null && !expired) {
+            return parser;
+        }
+        if (expired || fetchedAt.plus(JWKS_MIN_REFRESH).isBefore(Instant.now())) {
+            refreshJwks();
+        }
+        return jwksParsers.get(kid);
+    }
+
+    private synchronized void refreshJwks() {
+        if (jwksFetchedAt.plus(JWKS_MIN_REFRESH).isAfter(Instant.now())) {
+            return; // another thread just refreshed
+        }
+        try {
+            String json = restTemplate.getForObject(jwksUrl, String.class);
+            JwkSet set = Jwks.setParser().build().parse(json);
+            Map<String, JwtParser> parsers = new HashMap<>();
+            for (Jwk<?> jwk : set.getKeys()) {
+                Key key = jwk.toKey();
+                if (jwk.getId() != null && key instanceof PublicKey publicKey) {
+                    parsers.put(jwk.getId(), configure(Jwts.parser().verifyWith(publicKey)));
+                }
+            }
+            jwksParsers = Map.copyOf(parsers);
+        } catch (Exception e) {
+            log.warn("Could not refresh Supabase JWKS from {}: {}", jwksUrl, e.getMessage());
+        } finally {
+            jwksFetchedAt = Instant.now();
+        }
+    }
+}
@@ -19,6 +19,9 @@ public class AdminAppointmentService {
 
     private final AppointmentRepository appointmentRepository;
     private final PaymentRepository paymentRepository;
+    private final AppointmentSlotIndex slotIndex;
+    private final AppointmentSlotClaimService slotClaimService;
+    private final KpiRollupService kpiRollupService;
 
     @Transactional(readOnly = true)
     public List<Appointment> getAllAppointments() {
@@ -44,10 +47,17 @@ public class AdminAppointmentService {
     @Transactional
     public Appointment updateAppointment(Long id, AppointmentUpdateRequest request) {
         Appointment appointment = getAppointmentById(id);
+        String previousStatus = appointment.getStatus();
         if (request.getStatus() != null) appointment.setStatus(request.getStatus());
         if (request.getNotes() != null) appointment.setNotes(request.getNotes());
         if (request.getActualCost() != null) appointment.setActualCost(request.getActualCost());
-        return appointmentRepository.save(appointment);
+        if (!slotClaimService.reclaimIfRevived(appointment, previousStatus)) {
+            throw new RuntimeException("This time slot has been booked by another appointment since it was cancelled.");
+        }
+        appointment = appointmentRepository.save(appointment);
+        slotIndex.track(appointment);
+        kpiRollupService.recordAppointmentStatus(appointment, previousStatus);
+        return appointment;
     }
 
     @Transactional
@@ -76,5 +86,6 @@ public class AdminAppointmentService {
         }
 
         paymentRepository.save(payment);
+        kpiRollupService.recordPayment(payment);
     }
 }
@@ -1,26 +1,31 @@
 package com.servio.service;
 
 import com.servio.dto.AdminCustomerDetailsDto;
+import com.servio.dto.AdminCustomerListItemDto;
+import com.servio.dto.AdminCustomerPageDto;
 import com.servio.dto.AdminCustomerUserDto;
+import com.servio.dto.CustomerSearchResultDto;
 import com.servio.dto.CustomerVehicleHistoryDto;
 import com.servio.dto.ServiceRecordDto;
 import com.servio.dto.VehicleDto;
 import com.servio.entity.Profile;
-import com.servio.entity.Role;
-import com.servio.entity.ServiceRecord;
 import com.servio.entity.User;
-import com.servio.entity.Vehicle;
 import com.servio.repository.ProfileRepository;
 import com.servio.repository.ServiceRecordRepository;
 import com.servio.repository.UserRepository;
 import com.servio.repository.VehicleRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
+import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -28,58 +33,195 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AdminCustomerService {
 
+    private static final int DEFAULT_PAGE_SIZE = 25;
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private static final String PROFILES_BRANCH =
+            "SELECT p.id AS profile_id, NULL::bigint AS user_id, p.full_name, p.email, p.phone, p.role,"
+                    + " p.created_at, p.joined"
+                    + " FROM public.profiles p"
+                    + " WHERE 1 = 1";
+
+    /**
+     * Local users with no profile of the same email.  Their timestamps are
+     * stored without a zone and are taken as UTC.
+     */
+    private static final String USERS_BRANCH =
+            "SELECT NULL::uuid, u.id, u.full_name, u.email, u.phone, u.role,"
+                    + " u.created_at AT TIME ZONE 'UTC', u.created_at AT TIME ZONE 'UTC'"
+                    + " FROM users u"
+                    + " WHERE u.role <> 'ADMIN'"
+                    + " AND NOT EXISTS (SELECT 1 FROM public.profiles p WHERE p.email = u.email)";
+
+    private static final String CUSTOMERS_CTE =
+            "WITH customers AS (" + PROFILES_BRANCH + " UNION ALL " + USERS_BRANCH + ") ";
+
+    private static final int MIN_SEARCH_LENGTH = 2;
+    private static final int DEFAULT_SEARCH_LIMIT = 10;
+    private static final int MAX_SEARCH_LIMIT = 50;
+
+    private static final String SEARCH_SQL =
+            "SELECT source, id, full_name, email, phone, license_plate, score FROM ("
+                    + " SELECT DISTINCT ON (source, id) * FROM ("
+                    + "  SELECT 'PROFILE' AS source, p.id::text AS id, p.full_name, p.email, p.phone,"
+                    + "  NULL::text AS license_plate,"
+                    + "  GREATEST(" + score("p.full_name") + ", " + score("p.email") + ", " + score("p.phone") + ") AS score"
+                    + "  FROM public.profiles p"
+                    + "  WHERE " + matches("p")
+                    + "  UNION ALL"
+                    + "  SELECT 'PROFILE', p.id::text, p.full_name, p.email, p.phone, v.license_plate,"
+                    + "  " + score("v.license_plate")
+                    + "  FROM vehicles v JOIN public.profiles p ON p.id = v.profile_id"
+                    + "  WHERE v.license_plate ILIKE :pattern"
+                    + "  UNION ALL"
+                    + "  SELECT 'USER', u.id::text, u.full_name, u.email, u.phone, NULL::text,"
+                    + "  GREATEST(" + score("u.full_name") + ", " + score("u.email") + ", " + score("u.phone") + ")"
+                    + "  FROM users u"
+                    + "  WHERE u.role <> 'ADMIN'"
+                    + "  AND NOT EXISTS (SELECT 1 FROM public.profiles p WHERE p.email = u.email)"
+                    + "  AND (" + matches("u") + ")"
+                    + "  UNION ALL"
+                    + "  SELECT 'WALK_IN', w.id::text, w.full_name, w.email, w.phone, w.license_plate,"
+                    + "  GREATEST(" + score("w.full_name") + ", " + score("w.email") + ", " + score("w.phone")
+                    + ", " + score("w.license_plate") + ")"
+                    + "  FROM walk_in_customers w"
+                    + "  WHERE " + matches("w") + " OR w.license_plate ILIKE :pattern"
+                    + " ) hits"
+                    + " ORDER BY source, id, score DESC"
+                    + ") best"
+                    + " ORDER BY score DESC, full_name"
+                    + " LIMIT :limit";
+
     private final ProfileRepository profileRepository;
     private final UserRepository userRepository;
     private final VehicleRepository vehicleRepository;
     private final ServiceRecordRepository serviceRecordRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
 
-    public List<Profile> getAllCustomers() {
-        List<Profile> profiles = profileRepository.findAll();
-
-        // Also include users from the local users table not already represented in profiles.
-        // This handles local Docker dev where Supabase auth triggers don't populate the profiles table.
-        Set<String> profileEmails = profiles.stream()
-                .filter(p -> p.getEmail() != null)
-                .map(Profile::getEmail)
-                .collect(Collectors.toSet());
-
-        List<Profile> usersAsProfiles = userRepository.findAll().stream()
-                .filter(u -> u.getRole() != Role.ADMIN)
-                .filter(u -> u.getEmail() != null && !profileEmails.contains(u.getEmail()))
-                .map(u -> Profile.builder()
-                        // Use a deterministic UUID derived from the user's numeric ID so
-                        // the details endpoint can identify it as a local-user record.
-                        .id(new UUID(0L, u.getId()))
-                        .fullName(u.getFullName())
-                        .email(u.getEmail())
-                        .phone(u.getPhone())
-                        .role(u.getRole().name())
-                        .createdAt(u.getCreatedAt() != null
-                                ? u.getCreatedAt().atOffset(ZoneOffset.UTC) : null)
-                        .joined(u.getCreatedAt() != null
-                                ? u.getCreatedAt().atOffset(ZoneOffset.UTC) : null)
-                        .build())
-                .collect(Collectors.toList());
+    /**
+     * One page of customers: every profile, plus each non-admin local user
+     * whose email has no profile (local Docker dev, where Supabase auth
+     * triggers don't populate profiles).  The merge, filtering, sorting and
+     * paging all happen in one SQL statement, so only the page is loaded.
+     *
+     * @param search    case-insensitive substring of the name or email, or null
+     * @param role      exact role, or null for all
+     * @param sort      "joined" (default), "name" or "email"
+     * @param direction "asc" or "desc"; defaults to newest first / A to Z
+     */
+    public AdminCustomerPageDto getCustomers(String search, String role, String sort, String direction,
+                                             int page, int size) {
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        int pageNumber = Math.max(page, 0);
+
+        // Column names alone, so the filter fits the merged rows and either branch
+        StringBuilder filter = new StringBuilder();
+        List<Object> params = new ArrayList<>();
+        if (search != null && !search.isBlank()) {
+            String pattern = "%" + escapeLike(search.trim()) + "%";
+            filter.append(" AND (full_name ILIKE ? OR email ILIKE ?)");
+            params.add(pattern);
+            params.add(pattern);
+        }
+        if (role != null && !role.isBlank()) {
+            filter.append(" AND role = ?");
+            params.add(role.trim().toUpperCase(Locale.ROOT));
+        }
+
+        Long total = jdbcTemplate.queryForObject(
+                CUSTOMERS_CTE + "SELECT COUNT(*) FROM customers WHERE 1 = 1" + filter, Long.class, params.toArray());
+        long totalItems = total != null ? total : 0;
 
-        List<Profile> combined = new ArrayList<>(profiles);
-        combined.addAll(usersAsProfiles);
-        return combined;
+        // Each branch is cut to its first offset + size rows in its own order,
+        // on its raw columns so idx_profiles_created_at / idx_users_created_at
+        // serve it (an index cannot serve a sort over the merged UNION ALL
+        // columns), and the merge then picks the page from those.
+        String column = sortColumn(sort);
+        boolean ascending = isAscending(column, direction);
+        long offset = (long) pageNumber * pageSize;
+        List<Object> pageParams = new ArrayList<>(params);
+        pageParams.add(offset + pageSize);
+        pageParams.addAll(params);
+        pageParams.add(offset + pageSize);
+        pageParams.add(pageSize);
+        pageParams.add(offset);
+        List<AdminCustomerListItemDto> items = jdbcTemplate.query(
+                "(" + PROFILES_BRANCH + filter + " ORDER BY " + branchOrderBy("p", column, ascending) + " LIMIT ?)"
+                        + " UNION ALL"
+                        + " (" + USERS_BRANCH + filter + " ORDER BY " + branchOrderBy("u", column, ascending) + " LIMIT ?)"
+                        + " ORDER BY " + orderBy(column, ascending) + " LIMIT ? OFFSET ?",
+                (rs, rowNum) -> {
+                    boolean fromProfile = rs.getObject("profile_id") != null;
+                    return AdminCustomerListItemDto.builder()
+                            .id(fromProfile ? rs.getObject("profile_id", UUID.class) : new UUID(0L, rs.getLong("user_id")))
+                            .fullName(rs.getString("full_name"))
+                            .email(rs.getString("email"))
+                            .phone(rs.getString("phone"))
+                            .role(rs.getString("role"))
+                            .createdAt(rs.getObject("created_at", OffsetDateTime.class))
+                            .joined(rs.getObject("joined", OffsetDateTime.class))
+                            .source(fromProfile ? "PROFILE" : "USER")
+                            .build();
+                },
+                pageParams.toArray());
+
+        return AdminCustomerPageDto.builder()
+                .items(items)
+                .page(pageNumber)
+                .size(pageSize)
+                .totalItems(totalItems)
+                .totalPages((int) ((totalItems + pageSize - 1) / pageSize))
+                .build();
     }
 
-    public Profile getCustomerById(String id) {
-        UUID uuid = UUID.fromString(id);
-        return profileRepository.findById(uuid)
-                .orElseThrow(() -> new RuntimeException("Customer not found with id: " + id));
+    /**
+     * Top {@code limit} customers for a typeahead query, across profiles
+     * (including their vehicles' plates), local users without a profile and
+     * walk-in customers.  Names, emails, phones and plates match by substring
+     * or, for names, by word similarity, all served by trigram indexes.  Exact
+     * and prefix hits rank above substring and fuzzy ones.
+     *
+     * @return an empty list for queries shorter than {@value #MIN_SEARCH_LENGTH} characters
+     */
+    public List<CustomerSearchResultDto> searchCustomers(String query, int limit) {
+        String term = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (term.length() < MIN_SEARCH_LENGTH) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("term", term)
+                .addValue("prefix", escapeLike(term) + "%")
+                .addValue("pattern", "%" + escapeLike(term) + "%")
+                .addValue("limit", limit <= 0 ? DEFAULT_SEARCH_LIMIT : Math.min(limit, MAX_SEARCH_LIMIT));
+
+        return namedJdbcTemplate.query(SEARCH_SQL, params, (rs, rowNum) -> {
+            String source = rs.getString("source");
+            String id = rs.getString("id");
+            return CustomerSearchResultDto.builder()
+                    .source(source)
+                    .id("USER".equals(source) ? new UUID(0L, Long.parseLong(id)).toString() : id)
+                    .fullName(rs.getString("full_name"))
+                    .email(rs.getString("email"))
+                    .phone(rs.getString("phone"))
+                    .licensePlate(rs.getString("license_plate"))
+                    .score(rs.getDouble("score"))
+                    .build();
+        });
     }
 
-    public List<Profile> searchCustomers(String query) {
-        return profileRepository.findByFullNameContainingIgnoreCaseOrEmailContainingIgnoreCase(query, query);
+    public Profile getCustomerById(String id) {
+        if (PrincipalResolver.kindOf(id) != PrincipalResolver.Kind.PROFILE) {
+            throw new RuntimeException("Customer not found with id: " + id);
+        }
+        return profileRepository.findById(UUID.fromString(id))
+                .orElseThrow(() -> new RuntimeException("Customer not found with id: " + id));
     }
 
     public AdminCustomerDetailsDto getCustomerDetails(String id) {
         // Check if this is a synthetic UUID created from a local User numeric ID
         // (getMostSignificantBits() == 0 is our marker)
-        try {
+        if (PrincipalResolver.kindOf(id) == PrincipalResolver.Kind.PROFILE) {
             UUID uuid = UUID.fromString(id);
             if (uuid.getMostSignificantBits() == 0L) {
                 long userId = uuid.getLeastSignificantBits();
@@ -87,8 +229,6 @@ public class AdminCustomerService {
                         .orElseThrow(() -> new RuntimeException("Customer not found: " + id));
                 return buildDetailsFromUser(localUser);
             }
-        } catch (IllegalArgumentException ignored) {
-            // Not a UUID — fall through
         }
 
         Profile profile = getCustomerById(id);
@@ -108,14 +248,7 @@ public class AdminCustomerService {
                         .createdAt(user.getCreatedAt())
                         .build();
 
-        List<CustomerVehicleHistoryDto> vehicles = vehicleRepository.findByProfileId(profile.getId()).stream()
-                .map(vehicle -> CustomerVehicleHistoryDto.builder()
-                        .vehicle(toVehicleDto(vehicle))
-                        .serviceRecords(serviceRecordRepository.findByVehicleId(vehicle.getId()).stream()
-                                .map(this::toServiceRecordDto)
-                                .collect(Collectors.toList()))
-                        .build())
-                .collect(Collectors.toList());
+        List<CustomerVehicleHistoryDto> vehicles = loadVehicleHistory(profile.getId(), profile.getFullName());
 
         return AdminCustomerDetailsDto.builder()
                 .profile(profile)
@@ -147,14 +280,7 @@ public class AdminCustomerService {
                 .build();
 
         // Vehicles are linked via profile_id, use the synthetic UUID to look up
-        List<CustomerVehicleHistoryDto> vehicles = vehicleRepository.findByProfileId(syntheticProfile.getId()).stream()
-                .map(vehicle -> CustomerVehicleHistoryDto.builder()
-                        .vehicle(toVehicleDto(vehicle))
-                        .serviceRecords(serviceRecordRepository.findByVehicleId(vehicle.getId()).stream()
-                                .map(this::toServiceRecordDto)
-                                .collect(Collectors.toList()))
-                        .build())
-                .collect(Collectors.toList());
+        List<CustomerVehicleHistoryDto> vehicles = loadVehicleHistory(syntheticProfile.getId(), user.getFullName());
 
         return AdminCustomerDetailsDto.builder()
                 .profile(syntheticProfile)
@@ -163,34 +289,72 @@ public class AdminCustomerService {
                 .build();
     }
 
-    private VehicleDto toVehicleDto(Vehicle vehicle) {
-        return VehicleDto.builder()
-                .id(vehicle.getId())
-                .profileId(vehicle.getProfile() != null ? vehicle.getProfile().getId().toString() : null)
-                .ownerName(vehicle.getProfile() != null ? vehicle.getProfile().getFullName() : null)
-                .make(vehicle.getMake())
-                .model(vehicle.getModel())
-                .year(vehicle.getYear())
-                .licensePlate(vehicle.getLicensePlate())
-                .vin(vehicle.getVin())
-                .createdAt(vehicle.getCreatedAt())
-                .updatedAt(vehicle.getUpdatedAt())
-                .build();
+    /**
+     * The profile's vehicles with their service records, in two queries: the
+     * vehicles, then every record of those vehicles, both as projections so
+     * nothing is lazily loaded afterwards.
+     */
+    private List<CustomerVehicleHistoryDto> loadVehicleHistory(UUID profileId, String ownerName) {
+        List<VehicleDto> vehicles = vehicleRepository.findDtosByProfileId(profileId, ownerName);
+        if (vehicles.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, List<ServiceRecordDto>> recordsByVehicle = serviceRecordRepository
+                .findDtosByVehicleIds(vehicles.stream().map(VehicleDto::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(ServiceRecordDto::getVehicleId));
+
+        return vehicles.stream()
+                .map(vehicle -> CustomerVehicleHistoryDto.builder()
+                        .vehicle(vehicle)
+                        .serviceRecords(recordsByVehicle.getOrDefault(vehicle.getId(), List.of()))
+                        .build())
+                .collect(Collectors.toList());
     }
 
-    private ServiceRecordDto toServiceRecordDto(ServiceRecord record) {
-        return ServiceRecordDto.builder()
-                .id(record.getId())
-                .vehicleId(record.getVehicle().getId())
-                .vehicleMake(record.getVehicle().getMake())
-                .vehicleModel(record.getVehicle().getModel())
-                .serviceType(record.getServiceType())
-                .description(record.getDescription())
-                .serviceDate(record.getServiceDate())
-                .mileage(record.getMileage())
-                .cost(record.getCost())
-                .createdAt(record.getCreatedAt())
-                .updatedAt(record.getUpdatedAt())
-                .build();
+    /** Exact 3, prefix 2, substring 1, plus word similarity (0..1) so fuzzy name hits still rank. */
+    private static String score(String column) {
+        return "COALESCE(CASE WHEN lower(" + column + ") = :term THEN 3"
+                + " WHEN " + column + " ILIKE :prefix THEN 2"
+                + " WHEN " + column + " ILIKE :pattern THEN 1 ELSE 0 END"
+                + " + word_similarity(:term, " + column + "), 0)";
+    }
+
+    /** Substring match on name, email or phone, or a fuzzy (word-similarity) name match. */
+    private static String matches(String alias) {
+        return "(" + alias + ".full_name ILIKE :pattern OR " + alias + ".email ILIKE :pattern"
+                + " OR " + alias + ".phone ILIKE :pattern OR :term <% " + alias + ".full_name)";
+    }
+
+    /** Whitelisted ORDER BY; ids break ties so pages never overlap. */
+    private static String sortColumn(String sort) {
+        return switch (sort == null ? "" : sort.toLowerCase(Locale.ROOT)) {
+            case "name" -> "full_name";
+            case "email" -> "email";
+            default -> "created_at";
+        };
+    }
+
+    private static boolean isAscending(String column, String direction) {
+        return direction == null || direction.isBlank()
+                ? !"created_at".equals(column)
+                : "asc".equalsIgnoreCase(direction);
+    }
+
+    private static String orderBy(String column, boolean ascending) {
+        return column + (ascending ? " ASC NULLS LAST" : " DESC NULLS LAST") + ", profile_id, user_id";
+    }
+
+    /**
+     * The same order within one branch.  For users it is on the raw
+     * created_at, which orders exactly like its UTC conversion.
+     */
+    private static String branchOrderBy(String alias, String column, boolean ascending) {
+        return alias + "." + column + (ascending ? " ASC NULLS LAST" : " DESC NULLS LAST") + ", " + alias + ".id";
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 }
@@ -3,17 +3,22 @@ package com.servio.service;
 import com.servio.dto.AppointmentDto;
 import com.servio.dto.AppointmentWebSocketEvent;
 import com.servio.dto.NotificationDto;
+import com.servio.dto.UnreadCountEvent;
+import com.servio.dto.WorkshopBoardEvent;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
 /**
- * Broadcasts appointment lifecycle events and notifications over STOMP WebSocket.
+ * Broadcasts appointment lifecycle events, notifications and workshop board
+ * changes over STOMP WebSocket.
  *
  * Topics:
  *   /topic/appointments              – every appointment change (admin)
  *   /topic/appointments/user/{id}   – change for a specific user
  *   /topic/notifications/user/{id}  – notification pushed to a specific user
+ *   /topic/notifications/user/{id}/unread-count – the user's new unread count
+ *   /topic/workshop/board            – workshop board deltas (admin)
  */
 @Service
 @RequiredArgsConstructor
@@ -44,4 +49,17 @@ public class AppointmentEventPublisher {
             messagingTemplate.convertAndSend("/topic/notifications/user/" + userId, notification);
         }
     }
+
+    /** Push a user's updated unread-notification count. */
+    public void publishUnreadCount(Long userId, long unreadCount) {
+        if (userId != null) {
+            messagingTemplate.convertAndSend("/topic/notifications/user/" + userId + "/unread-count",
+                    UnreadCountEvent.builder().userId(userId).unreadCount(unreadCount).build());
+        }
+    }
+
+    /** Push one sequenced change to the live workshop board. */
+    public void publishBoardEvent(WorkshopBoardEvent event) {
+        messagingTemplate.convertAndSend("/topic/workshop/board", event);
+    }
 }
@@ -20,7 +20,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.UUID;
@@ -37,6 +36,10 @@ public class AppointmentService {
     private final JdbcTemplate jdbcTemplate;
     private final EntityManager entityManager;
     private final AppointmentEventPublisher eventPublisher;
+    private final AppointmentSlotIndex slotIndex;
+    private final AppointmentSlotClaimService slotClaimService;
+    private final KpiRollupService kpiRollupService;
+    private final PrincipalResolver principalResolver;
     @Lazy
     private final NotificationService notificationService;
 
@@ -47,33 +50,32 @@ public class AppointmentService {
 
         // Get user from authentication context
         if (authentication != null && authentication.isAuthenticated()) {
-            String userId = authentication.getPrincipal().toString();
+            PrincipalResolver.ResolvedPrincipal principal = principalResolver.resolve(authentication);
+            String userId = principal.subject();
             String role = resolveRole(authentication);
 
-            // Try to parse as UUID (Supabase user)
-            try {
-                UUID profileId = UUID.fromString(userId);
-                profile = profileRepository.findById(profileId).orElse(null);
-                if (profile == null) {
-                    createProfileIfMissing(profileId, request, role);
+            switch (principal.kind()) {
+                case PROFILE -> {
+                    // Supabase user
+                    UUID profileId = principal.subjectProfileId();
+                    if (principal.profileId() == null) {
+                        createProfileIfMissing(profileId, request, role);
+                    } else {
+                        // Profile exists from Supabase auth, but may not have full_name
+                        // Update it if the customer name is provided
+                        ensureProfileHasName(profileId, request);
+                    }
                     profile = profileRepository.findById(profileId)
                             .orElseThrow(() -> new RuntimeException("Profile not found with ID: " + userId));
-                } else {
-                    // Profile exists from Supabase auth, but may not have full_name
-                    // Update it if the customer name is provided
-                    ensureProfileHasName(profileId, request);
-                    // Refresh the profile to get the latest data
-                    profile = profileRepository.findById(profileId).orElse(profile);
                 }
-            } catch (IllegalArgumentException e) {
-                // Not a UUID, try as Long (local user)
-                try {
-                    Long localUserId = Long.parseLong(userId);
-                    user = userRepository.findById(localUserId)
+                case LOCAL_USER -> {
+                    if (principal.userId() == null) {
+                        throw new RuntimeException("User not found with ID: " + userId);
+                    }
+                    user = userRepository.findById(principal.userId())
                             .orElseThrow(() -> new RuntimeException("User not found with ID: " + userId));
-                } catch (NumberFormatException nfe) {
-                    throw new RuntimeException("Invalid user ID format: " + userId);
                 }
+                default -> throw new RuntimeException("Invalid user ID format: " + userId);
             }
         } else if (request.getUserId() != null) {
             // Fallback to request userId for backwards compatibility
@@ -83,13 +85,9 @@ public class AppointmentService {
             throw new RuntimeException("User authentication required to create appointment");
         }
 
-        // Check if the time slot is already booked
-        List<Appointment> existingAppointments = appointmentRepository
-                .findByAppointmentDateAndStatusNotIn(
-                        request.getAppointmentDate(),
-                        List.of("CANCELLED"));
-
-        if (!existingAppointments.isEmpty()) {
+        // Cheap in-memory rejection for slots that are already taken; the
+        // authoritative check is the atomic slot claim below
+        if (slotIndex.isBooked(request.getAppointmentDate())) {
             throw new RuntimeException("This time slot is already booked. Please choose another time.");
         }
 
@@ -112,6 +110,15 @@ public class AppointmentService {
                 .build();
 
         appointment = appointmentRepository.save(appointment);
+
+        // Claim the slot atomically — a concurrent booking that passed the check
+        // above loses here, and throwing rolls back its appointment insert
+        if (!slotClaimService.claim(appointment.getId(), appointment.getAppointmentDate())) {
+            throw new RuntimeException("This time slot is already booked. Please choose another time.");
+        }
+
+        slotIndex.track(appointment);
+        kpiRollupService.recordAppointmentStatus(appointment, null);
         AppointmentDto dto = convertToDto(appointment);
         eventPublisher.publish("CREATED", dto);
 
@@ -143,7 +150,7 @@ public class AppointmentService {
     }
 
     private void createProfileIfMissing(UUID profileId, AppointmentRequest request, String role) {
-        jdbcTemplate.update(
+        int inserted = jdbcTemplate.update(
                 "INSERT INTO profiles (id, full_name, email, phone, role, is_admin, created_at, joined) "
                         + "VALUES (?, ?, ?, ?, ?, ?, NOW(), NOW()) ON CONFLICT (id) DO NOTHING",
                 profileId,
@@ -152,12 +159,17 @@ public class AppointmentService {
                 request.getCustomerPhone(),
                 role,
                 "ADMIN".equalsIgnoreCase(role));
+        if (inserted > 0) {
+            kpiRollupService.recordNewCustomer(LocalDate.now());
+            principalResolver.invalidate(profileId.toString());
+            principalResolver.invalidateEmail(request.getCustomerEmail());
+        }
     }
 
     private void ensureProfileHasName(UUID profileId, AppointmentRequest request) {
         // Update profile with customer name and contact info if they're empty
         if (request.getCustomerName() != null && !request.getCustomerName().trim().isEmpty()) {
-            jdbcTemplate.update(
+            int updated = jdbcTemplate.update(
                     "UPDATE profiles SET full_name = COALESCE(NULLIF(full_name, ''), ?), "
                             + "email = COALESCE(NULLIF(email, ''), ?), "
                             + "phone = COALESCE(NULLIF(phone, ''), ?) "
@@ -168,6 +180,9 @@ public class AppointmentService {
                     profileId);
             // Ensure Hibernate doesn't cache the old value
             entityManager.getEntityManagerFactory().getCache().evict(Profile.class, profileId);
+            if (updated > 0) {
+                principalResolver.invalidate(profileId.toString());
+            }
         }
     }
 
@@ -195,21 +210,15 @@ public class AppointmentService {
 
     @Transactional(readOnly = true)
     public List<AppointmentDto> getUserAppointments(String userId) {
-        try {
-            Long localUserId = Long.parseLong(userId);
-            return appointmentRepository.findUserAppointmentsOrderByCreatedAt(localUserId).stream()
+        return switch (PrincipalResolver.kindOf(userId)) {
+            case LOCAL_USER -> appointmentRepository.findUserAppointmentsOrderByCreatedAt(Long.valueOf(userId)).stream()
                     .map(this::convertToDto)
                     .collect(Collectors.toList());
-        } catch (NumberFormatException e) {
-            try {
-                UUID profileId = UUID.fromString(userId);
-                return appointmentRepository.findProfileAppointmentsOrderByDate(profileId).stream()
-                        .map(this::convertToDto)
-                        .collect(Collectors.toList());
-            } catch (IllegalArgumentException ex) {
-                return List.of();
-            }
-        }
+            case PROFILE -> appointmentRepository.findProfileAppointmentsOrderByDate(UUID.fromString(userId)).stream()
+                    .map(this::convertToDto)
+                    .collect(Collectors.toList());
+            default -> List.of();
+        };
     }
 
     @Transactional(readOnly = true)
@@ -219,24 +228,17 @@ public class AppointmentService {
         }
 
         String userId = authentication.getPrincipal().toString();
-
-        // Try to parse as UUID (Supabase user)
-        try {
-            UUID profileId = UUID.fromString(userId);
-            return appointmentRepository.findProfileAppointmentsOrderByDate(profileId).stream()
+        return switch (PrincipalResolver.kindOf(userId)) {
+            // Supabase user
+            case PROFILE -> appointmentRepository.findProfileAppointmentsOrderByDate(UUID.fromString(userId)).stream()
                     .map(this::convertToDto)
                     .collect(Collectors.toList());
-        } catch (IllegalArgumentException e) {
-            // Not a UUID, try as Long (local user)
-            try {
-                Long localUserId = Long.parseLong(userId);
-                return appointmentRepository.findUserAppointmentsOrderByDate(localUserId).stream()
-                        .map(this::convertToDto)
-                        .collect(Collectors.toList());
-            } catch (NumberFormatException nfe) {
-                throw new RuntimeException("Invalid user ID format: " + userId);
-            }
-        }
+            // Local user
+            case LOCAL_USER -> appointmentRepository.findUserAppointmentsOrderByDate(Long.valueOf(userId)).stream()
+                    .map(this::convertToDto)
+                    .collect(Collectors.toList());
+            default -> throw new RuntimeException("Invalid user ID format: " + userId);
+        };
     }
 
     @Transactional(readOnly = true)
@@ -251,8 +253,14 @@ public class AppointmentService {
         Appointment appointment = appointmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Appointment not found"));
 
+        String previousStatus = appointment.getStatus();
         appointment.setStatus(status);
+        if (!slotClaimService.reclaimIfRevived(appointment, previousStatus)) {
+            throw new RuntimeException("This time slot has been booked by another appointment since it was cancelled.");
+        }
         appointment = appointmentRepository.save(appointment);
+        slotIndex.track(appointment);
+        kpiRollupService.recordAppointmentStatus(appointment, previousStatus);
         AppointmentDto dto = convertToDto(appointment);
         eventPublisher.publish("UPDATED", dto);
 
@@ -273,7 +281,11 @@ public class AppointmentService {
 
     @Transactional
     public void deleteAppointment(Long id) {
-        appointmentRepository.deleteById(id);
+        appointmentRepository.findById(id).ifPresent(appointment -> {
+            appointmentRepository.delete(appointment);
+            kpiRollupService.recordAppointmentDeleted(appointment);
+        });
+        slotIndex.remove(id);
     }
 
     /**
@@ -291,40 +303,29 @@ public class AppointmentService {
         }
 
         String userId = authentication.getPrincipal().toString();
-        boolean isOwner = false;
-        try {
-            UUID profileId = UUID.fromString(userId);
-            isOwner = appointment.getProfile() != null
-                    && profileId.equals(appointment.getProfile().getId());
-        } catch (IllegalArgumentException e) {
-            try {
-                Long localUserId = Long.parseLong(userId);
-                isOwner = appointment.getUser() != null
-                        && localUserId.equals(appointment.getUser().getId());
-            } catch (NumberFormatException ignored) {}
-        }
+        boolean isOwner = switch (PrincipalResolver.kindOf(userId)) {
+            case PROFILE -> appointment.getProfile() != null
+                    && UUID.fromString(userId).equals(appointment.getProfile().getId());
+            case LOCAL_USER -> appointment.getUser() != null
+                    && Long.valueOf(userId).equals(appointment.getUser().getId());
+            default -> false;
+        };
 
         if (!isOwner) {
             throw new SecurityException("You can only cancel your own appointments");
         }
 
+        String previousStatus = appointment.getStatus();
         appointment.setStatus("CANCELLED");
         appointment = appointmentRepository.save(appointment);
+        slotIndex.track(appointment);
+        kpiRollupService.recordAppointmentStatus(appointment, previousStatus);
         return convertToDto(appointment);
     }
 
-    @Transactional(readOnly = true)
     public List<String> getBookedSlotsForDate(LocalDate date) {
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
-        return appointmentRepository.findBookedSlotsForDate(startOfDay, endOfDay)
-                .stream()
-                .map(a -> {
-                    // Format as "HH:mm" — this is what the frontend parses from the slot label
-                    DateTimeFormatter fmt = DateTimeFormatter.ofPattern("HH:mm");
-                    return a.getAppointmentDate().format(fmt);
-                })
-                .collect(Collectors.toList());
+        // Served from the slot index as "HH:mm" — this is what the frontend parses from the slot label
+        return slotIndex.getBookedSlots(date);
     }
 
     private AppointmentDto convertToDto(Appointment appointment) {
@@ -0,0 +1,85 @@
+package com.servio.service;
+
+import com.servio.entity.Appointment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Atomically claims booking slots in the appointment_slots table.
+ *
+ * A claim first takes a transaction-scoped advisory lock on the slot's
+ * start minute, then upserts the claim row keyed by that minute.  Two
+ * bookings for the same slot serialize on that one lock, while bookings for
+ * other slots never contend.  The lock is what makes the takeover check
+ * sound: the upsert starts only after any earlier claimant has committed or
+ * rolled back, so its snapshot sees that claimant's appointment.  Without
+ * it, a booking waiting on the conflicting key would check the holder with
+ * a snapshot from before the holder committed, and take the slot over too.
+ *
+ * A slot whose holder has since been CANCELLED is taken over in the same
+ * statement, so cancellations don't need to release their claim; deleted
+ * appointments drop theirs via ON DELETE CASCADE.  The flip side is that an
+ * appointment moving from CANCELLED back to an active status must claim its
+ * slot again, see {@link #reclaimIfRevived}.
+ */
+@Service
+@RequiredArgsConstructor
+public class AppointmentSlotClaimService {
+
+    /** Advisory lock namespace, so slot locks cannot collide with other advisory locks. */
+    private static final int SLOT_LOCK_SPACE = 0x5107;
+
+    private static final String CANCELLED = "CANCELLED";
+
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(?, ?)";
+
+    private static final String CLAIM_SQL =
+            "INSERT INTO appointment_slots (slot_start, appointment_id, claimed_at) VALUES (?, ?, NOW()) "
+                    + "ON CONFLICT (slot_start) DO UPDATE "
+                    + "SET appointment_id = EXCLUDED.appointment_id, claimed_at = EXCLUDED.claimed_at "
+                    + "WHERE appointment_slots.appointment_id = EXCLUDED.appointment_id "
+                    + "OR NOT EXISTS (SELECT 1 FROM appointments a "
+                    + "WHERE a.id = appointment_slots.appointment_id AND a.status <> 'CANCELLED')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Claims the slot starting at {@code appointmentDate} (truncated to the
+     * minute) for an already-inserted appointment.  Must run inside the
+     * booking transaction so the claim is rolled back with the appointment.
+     *
+     * @return true if the appointment now holds the slot, false if another
+     *         active appointment already does
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean claim(Long appointmentId, LocalDateTime appointmentDate) {
+        LocalDateTime slotStart = appointmentDate.withSecond(0).withNano(0);
+        // Held until the booking commits; epoch minutes fit an int until the year 6053
+        int slotKey = (int) (slotStart.toEpochSecond(ZoneOffset.UTC) / 60);
+        jdbcTemplate.query(LOCK_SQL, (RowCallbackHandler) rs -> { }, SLOT_LOCK_SPACE, slotKey);
+        return jdbcTemplate.update(CLAIM_SQL, slotStart, appointmentId) == 1;
+    }
+
+    /**
+     * Claims the slot again when a status change takes an appointment from
+     * CANCELLED back to an active status; while it was cancelled another
+     * booking may have taken the slot over.  Other transitions keep the
+     * claim they already have.
+     *
+     * @return false if another active appointment now holds the slot
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean reclaimIfRevived(Appointment appointment, String previousStatus) {
+        if (!CANCELLED.equalsIgnoreCase(previousStatus) || CANCELLED.equalsIgnoreCase(appointment.getStatus())) {
+            return true;
+        }
+        return claim(appointment.getId(), appointment.getAppointmentDate());
+    }
+}
@@ -0,0 +1,212 @@
+package com.servio.service;
+
+import com.servio.entity.Appointment;
+import com.servio.repository.AppointmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory occupancy index of booked appointment slots.
+ *
+ * Every active (non-CANCELLED) appointment occupies one minute-of-day slot.
+ * Each indexed day is a {@code short[1440]} of per-minute booking counts, so
+ * conflict checks and the public booked-slots endpoint are answered without a
+ * database round trip.
+ *
+ * The index is warmed from the appointments table on startup (today onwards)
+ * and kept current by calling {@link #track(Appointment)} / {@link #remove(Long)}
+ * after every appointment write.  Updates are applied after the surrounding
+ * transaction commits so a rolled-back booking never leaves a phantom slot.
+ * Dates before the indexed horizon, or lookups made while warming, fall back
+ * to lightweight projection queries.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AppointmentSlotIndex {
+
+    private static final int SLOTS_PER_DAY = 24 * 60;
+
+    private static final String CANCELLED = "CANCELLED";
+
+    /** Pre-built "HH:mm" labels so reads don't format a string per slot. */
+    private static final String[] SLOT_LABELS = new String[SLOTS_PER_DAY];
+
+    static {
+        for (int minute = 0; minute < SLOTS_PER_DAY; minute++) {
+            SLOT_LABELS[minute] = String.format("%02d:%02d", minute / 60, minute % 60);
+        }
+    }
+
+    private final AppointmentRepository appointmentRepository;
+
+    private final Map<LocalDate, short[]> occupancyByDate = new ConcurrentHashMap<>();
+    private final Map<Long, LocalDateTime> slotByAppointment = new ConcurrentHashMap<>();
+
+    /** Earliest date covered by the index; null until warm-up has completed. */
+    private volatile LocalDate horizon;
+
+    /**
+     * Loads today's and future active slots.  Runs under the index lock so
+     * writes committed while the snapshot is being read are applied on top of
+     * it rather than lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void warm() {
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = appointmentRepository.findActiveSlotsFrom(today.atStartOfDay());
+        occupancyByDate.clear();
+        slotByAppointment.clear();
+        for (Object[] row : rows) {
+            occupy((Long) row[0], (LocalDateTime) row[1]);
+        }
+        horizon = today;
+        log.info("Slot index warmed with {} active appointment(s) from {}", rows.size(), today);
+    }
+
+    /** Drops days that have passed so the index only holds today onwards. */
+    @Scheduled(cron = "0 5 0 * * *")
+    public synchronized void evictPastDays() {
+        if (horizon == null) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        horizon = today;
+        occupancyByDate.keySet().removeIf(date -> date.isBefore(today));
+        slotByAppointment.values().removeIf(slot -> slot.toLocalDate().isBefore(today));
+    }
+
+    /** True if any active appointment already holds the minute slot of {@code dateTime}. */
+    public boolean isBooked(LocalDateTime dateTime) {
+        LocalDate date = dateTime.toLocalDate();
+        if (!covers(date)) {
+            LocalDateTime slotStart = dateTime.withSecond(0).withNano(0);
+            return appointmentRepository.existsActiveInRange(slotStart, slotStart.plusMinutes(1));
+        }
+        short[] counts = occupancyByDate.get(date);
+        if (counts == null) {
+            return false;
+        }
+        synchronized (counts) {
+            return counts[minuteOfDay(dateTime)] > 0;
+        }
+    }
+
+    /** Booked start times for {@code date} in "HH:mm" format, in ascending order. */
+    public List<String> getBookedSlots(LocalDate date) {
+        if (!covers(date)) {
+            List<String> slots = new ArrayList<>();
+            for (LocalDateTime dateTime : appointmentRepository.findBookedSlotTimesForDate(
+                    date.atStartOfDay(), date.plusDays(1).atStartOfDay())) {
+                slots.add(SLOT_LABELS[minuteOfDay(dateTime)]);
+            }
+            return slots;
+        }
+        short[] counts = occupancyByDate.get(date);
+        if (counts == null) {
+            return List.of();
+        }
+        List<String> slots = new ArrayList<>();
+        synchronized (counts) {
+            for (int minute = 0; minute < SLOTS_PER_DAY; minute++) {
+                if (counts[minute] > 0) {
+                    slots.add(SLOT_LABELS[minute]);
+                }
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Records the current slot of an appointment once the active transaction
+     * commits: CANCELLED appointments release their slot, anything else
+     * occupies (or moves to) its appointment date.
+     */
+    public void track(Appointment appointment) {
+        Long id = appointment.getId();
+        LocalDateTime slot = CANCELLED.equalsIgnoreCase(appointment.getStatus())
+                ? null
+                : appointment.getAppointmentDate();
+        afterCommit(() -> apply(id, slot));
+    }
+
+    /** Releases the slot of a deleted appointment once the active transaction commits. */
+    public void remove(Long appointmentId) {
+        afterCommit(() -> apply(appointmentId, null));
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private synchronized void apply(Long id, LocalDateTime slot) {
+        if (id == null) {
+            return;
+        }
+        LocalDateTime previous = slotByAppointment.get(id);
+        if (previous != null && previous.equals(slot)) {
+            return;
+        }
+        if (previous != null) {
+            release(id, previous);
+        }
+        if (slot != null && horizon != null && !slot.toLocalDate().isBefore(horizon)) {
+            occupy(id, slot);
+        }
+    }
+
+    private void occupy(Long id, LocalDateTime slot) {
+        short[] counts = occupancyByDate.computeIfAbsent(slot.toLocalDate(), d -> new short[SLOTS_PER_DAY]);
+        synchronized (counts) {
+            counts[minuteOfDay(slot)]++;
+        }
+        slotByAppointment.put(id, slot);
+    }
+
+    private void release(Long id, LocalDateTime slot) {
+        slotByAppointment.remove(id);
+        short[] counts = occupancyByDate.get(slot.toLocalDate());
+        if (counts == null) {
+            return;
+        }
+        synchronized (counts) {
+            int minute = minuteOfDay(slot);
+            if (counts[minute] > 0) {
+                counts[minute]--;
+            }
+        }
+    }
+
+    private boolean covers(LocalDate date) {
+        LocalDate start = horizon;
+        return start != null && !date.isBefore(start);
+    }
+
+    private static int minuteOfDay(LocalDateTime dateTime) {
+        return dateTime.getHour() * 60 + dateTime.getMinute();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
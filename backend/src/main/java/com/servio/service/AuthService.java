@@ -10,30 +10,41 @@ import com.servio.entity.User;
 import com.servio.repository.ProfileRepository;
 import com.servio.repository.UserRepository;
 import com.servio.dto.SupabaseLoginRequest;
+import com.servio.security.PasswordHashRejectedException;
+import com.servio.security.PasswordHasher;
+import com.servio.security.SupabaseTokenVerifier;
 import com.servio.util.JwtTokenProvider;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class AuthService {
     private final UserRepository userRepository;
     private final ProfileRepository profileRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtTokenProvider jwtTokenProvider;
     private final RestTemplate restTemplate;
+    private final SupabaseTokenVerifier supabaseTokenVerifier;
+    private final PrincipalResolver principalResolver;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor completionExecutor;
 
     @Value("${supabase.url}")
     private String supabaseUrl;
@@ -41,43 +52,48 @@ public class AuthService {
     @Value("${supabase.anon.key}")
     private String supabaseAnonKey;
 
-    @Transactional
-    public AuthResponse signup(SignupRequest request) {
+    public AuthService(UserRepository userRepository,
+                       ProfileRepository profileRepository,
+                       PasswordHasher passwordHasher,
+                       JwtTokenProvider jwtTokenProvider,
+                       RestTemplate restTemplate,
+                       SupabaseTokenVerifier supabaseTokenVerifier,
+                       PrincipalResolver principalResolver,
+                       TransactionTemplate transactionTemplate,
+                       @Qualifier("authCompletionExecutor") ThreadPoolTaskExecutor completionExecutor) {
+        this.userRepository = userRepository;
+        this.profileRepository = profileRepository;
+        this.passwordHasher = passwordHasher;
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.restTemplate = restTemplate;
+        this.supabaseTokenVerifier = supabaseTokenVerifier;
+        this.principalResolver = principalResolver;
+        this.transactionTemplate = transactionTemplate;
+        this.completionExecutor = completionExecutor;
+    }
+
+    /**
+     * Registers a local user.  The password is hashed on the hashing pool, then
+     * the user is saved in its own transaction on the completion pool, so
+     * neither the request thread nor a hashing thread waits on the database.
+     */
+    public CompletableFuture<AuthResponse> signup(SignupRequest request) {
         // Check if user already exists
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new IllegalArgumentException("User with this email already exists");
         }
 
-        // Hash password
-        String passwordHash = passwordEncoder.encode(request.getPassword());
-
-        // Create new user
-        User user = User.builder()
-                .fullName(request.getFullName())
-                .email(request.getEmail())
-                .phone(request.getPhone())
-                .passwordHash(passwordHash)
-                .role(Role.USER)
-                .build();
-
-        User savedUser = userRepository.save(user);
-
-        // Generate token
-        String token = jwtTokenProvider.generateToken(savedUser.getId(), savedUser.getRole());
-
-        UserResponse userResponse = mapToUserResponse(savedUser);
-
-        return AuthResponse.builder()
-                .success(true)
-                .message("User registered successfully")
-                .data(AuthResponse.AuthData.builder()
-                        .user(userResponse)
-                        .token(token)
-                        .build())
-                .build();
+        // Hash password, then create the user
+        return passwordHasher.encode(request.getPassword()).thenApplyAsync(
+                passwordHash -> registerInTransaction(request, passwordHash),
+                completionExecutor);
     }
 
-    public AuthResponse login(LoginRequest request) {
+    /**
+     * Checks a local user's password on the hashing pool.  A hash made with a
+     * different BCrypt cost than configured is replaced in the background.
+     */
+    public CompletableFuture<AuthResponse> login(LoginRequest request) {
         // Find user by email
         Optional<User> userOptional = userRepository.findByEmail(request.getEmail());
 
@@ -88,70 +104,62 @@ public class AuthService {
         User user = userOptional.get();
 
         // Compare password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
-            throw new IllegalArgumentException("Invalid email or password");
-        }
+        return passwordHasher.matches(request.getPassword(), user.getPasswordHash()).thenApply(matches -> {
+            if (!matches) {
+                throw new IllegalArgumentException("Invalid email or password");
+            }
+            if (passwordHasher.needsRehash(user.getPasswordHash())) {
+                rehash(user, request.getPassword());
+            }
 
-        // Generate token
-        String token = jwtTokenProvider.generateToken(user.getId(), user.getRole());
+            // Generate token
+            String token = jwtTokenProvider.generateToken(user.getId(), user.getRole());
 
-        UserResponse userResponse = mapToUserResponse(user);
+            UserResponse userResponse = mapToUserResponse(user);
 
-        return AuthResponse.builder()
-                .success(true)
-                .message("Login successful")
-                .data(AuthResponse.AuthData.builder()
-                        .user(userResponse)
-                        .token(token)
-                        .build())
-                .build();
+            return AuthResponse.builder()
+                    .success(true)
+                    .message("Login successful")
+                    .data(AuthResponse.AuthData.builder()
+                            .user(userResponse)
+                            .token(token)
+                            .build())
+                    .build();
+        });
     }
 
     public AuthResponse loginWithSupabase(SupabaseLoginRequest request) {
-        // Validate the Supabase access token via Supabase Auth API.
-        // The frontend always refreshes the session before calling this endpoint,
-        // so the token will always be fresh and session_not_found cannot occur.
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Bearer " + request.getAccessToken());
-        headers.set("apikey", supabaseAnonKey);
-
-        HttpEntity<String> entity = new HttpEntity<>("parameters", headers);
-
+        // Verify the Supabase access token locally (signature + issuer/audience/expiry);
+        // only when no local key can check it do we ask the Supabase Auth API.
         String supabaseUserId;
         String tokenEmail;
 
-        try {
-            ResponseEntity<Map> response = restTemplate.exchange(
-                    supabaseUrl + "/auth/v1/user",
-                    HttpMethod.GET,
-                    entity,
-                    Map.class);
-
-            Map<String, Object> body = response.getBody();
-            if (body == null || !body.containsKey("id")) {
-                throw new IllegalArgumentException("Invalid Supabase token: no user id in response");
+        SupabaseTokenVerifier.Result local = supabaseTokenVerifier.verify(request.getAccessToken());
+        switch (local.status()) {
+            case VERIFIED -> {
+                supabaseUserId = local.userId();
+                tokenEmail = local.email();
             }
-
-            supabaseUserId = (String) body.get("id");
-            tokenEmail = (String) body.get("email");
-
-            if (tokenEmail == null || !tokenEmail.equalsIgnoreCase(request.getEmail())) {
-                throw new IllegalArgumentException(
-                        "Token email mismatch: expected " + request.getEmail() + " but got " + tokenEmail);
+            case REJECTED -> throw new IllegalArgumentException(
+                    "Unauthorized: Supabase token validation failed - " + local.reason());
+            default -> {
+                Map<String, Object> body = fetchSupabaseUser(request.getAccessToken());
+                supabaseUserId = (String) body.get("id");
+                tokenEmail = (String) body.get("email");
             }
-        } catch (IllegalArgumentException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Unauthorized: Supabase token validation failed - " + e.getMessage());
+        }
+
+        if (tokenEmail == null || !tokenEmail.equalsIgnoreCase(request.getEmail())) {
+            throw new IllegalArgumentException(
+                    "Token email mismatch: expected " + request.getEmail() + " but got " + tokenEmail);
         }
 
         // Determine role by checking the profiles table first (is_admin / role columns),
         // then falling back to the request role.
         Role resolvedRole = Role.USER;
         String displayName = request.getFullName();
-        try {
-            UUID profileId = UUID.fromString(supabaseUserId);
-            Profile profile = profileRepository.findById(profileId).orElse(null);
+        if (PrincipalResolver.kindOf(supabaseUserId) == PrincipalResolver.Kind.PROFILE) {
+            Profile profile = profileRepository.findById(UUID.fromString(supabaseUserId)).orElse(null);
             if (profile != null) {
                 if (profile.getFullName() != null) {
                     displayName = profile.getFullName();
@@ -163,8 +171,6 @@ public class AuthService {
                     resolvedRole = Role.ADMIN;
                 }
             }
-        } catch (IllegalArgumentException ignored) {
-            // supabaseUserId was not a valid UUID
         }
 
         // If profile didn't indicate admin, check the request role as fallback
@@ -182,17 +188,23 @@ public class AuthService {
                     // Sync the role if it changed in the profile
                     if (existing.getRole() != finalRole) {
                         existing.setRole(finalRole);
-                        return userRepository.save(existing);
+                        User saved = userRepository.save(existing);
+                        principalResolver.invalidate(saved.getId().toString());
+                        return saved;
                     }
                     return existing;
                 })
-                .orElseGet(() -> userRepository.save(User.builder()
-                .fullName(finalDisplayName)
-                        .email(finalTokenEmail)
-                        .phone(request.getPhone())
-                        .passwordHash(passwordEncoder.encode(UUID.randomUUID().toString()))
-                        .role(finalRole)
-                        .build()));
+                .orElseGet(() -> {
+                    User created = userRepository.save(User.builder()
+                            .fullName(finalDisplayName)
+                            .email(finalTokenEmail)
+                            .phone(request.getPhone())
+                            .passwordHash(hashNow(UUID.randomUUID().toString()))
+                            .role(finalRole)
+                            .build());
+                    principalResolver.invalidateEmail(finalTokenEmail);
+                    return created;
+                });
 
         // Generate backend JWT using backend numeric user ID for consistency
         String backendToken = jwtTokenProvider.generateToken(backendUser.getId(), backendUser.getRole());
@@ -217,6 +229,34 @@ public class AuthService {
                 .build();
     }
 
+    /** Remote fallback: validates the token by asking the Supabase Auth API for its user. */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> fetchSupabaseUser(String accessToken) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Bearer " + accessToken);
+        headers.set("apikey", supabaseAnonKey);
+
+        HttpEntity<String> entity = new HttpEntity<>("parameters", headers);
+
+        try {
+            ResponseEntity<Map> response = restTemplate.exchange(
+                    supabaseUrl + "/auth/v1/user",
+                    HttpMethod.GET,
+                    entity,
+                    Map.class);
+
+            Map<String, Object> body = response.getBody();
+            if (body == null || !body.containsKey("id")) {
+                throw new IllegalArgumentException("Invalid Supabase token: no user id in response");
+            }
+            return body;
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Unauthorized: Supabase token validation failed - " + e.getMessage());
+        }
+    }
+
     public UserResponse getProfileByUuid(String userId) {
         try {
             UUID uuid = UUID.fromString(userId);
@@ -244,6 +284,82 @@ public class AuthService {
         return mapToUserResponse(userOptional.get());
     }
 
+    /**
+     * Runs {@link #register} in its own transaction.  A concurrent sign-up with
+     * the same email can pass both existence checks; the unique constraint on
+     * users.email then rejects the second insert, which is reported like any
+     * other duplicate email.
+     */
+    private AuthResponse registerInTransaction(SignupRequest request, String passwordHash) {
+        try {
+            return transactionTemplate.execute(status -> register(request, passwordHash));
+        } catch (DataIntegrityViolationException e) {
+            if (userRepository.existsByEmail(request.getEmail())) {
+                throw new IllegalArgumentException("User with this email already exists");
+            }
+            throw e;
+        }
+    }
+
+    /** Saves a new local user; runs inside the sign-up transaction. */
+    private AuthResponse register(SignupRequest request, String passwordHash) {
+        // Re-checked here: another sign-up with this email may have finished while hashing
+        if (userRepository.existsByEmail(request.getEmail())) {
+            throw new IllegalArgumentException("User with this email already exists");
+        }
+        User user = User.builder()
+                .fullName(request.getFullName())
+                .email(request.getEmail())
+                .phone(request.getPhone())
+                .passwordHash(passwordHash)
+                .role(Role.USER)
+                .build();
+
+        User savedUser = userRepository.save(user);
+        principalResolver.invalidateEmail(savedUser.getEmail());
+
+        // Generate token
+        String token = jwtTokenProvider.generateToken(savedUser.getId(), savedUser.getRole());
+
+        UserResponse userResponse = mapToUserResponse(savedUser);
+
+        return AuthResponse.builder()
+                .success(true)
+                .message("User registered successfully")
+                .data(AuthResponse.AuthData.builder()
+                        .user(userResponse)
+                        .token(token)
+                        .build())
+                .build();
+    }
+
+    /**
+     * Hashes on the hashing pool and waits for it, for the synchronous Supabase
+     * login; a saturated pool surfaces as {@link PasswordHashRejectedException}.
+     */
+    private String hashNow(String rawPassword) {
+        try {
+            return passwordHasher.encode(rawPassword).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /** Stores a hash at the configured cost, unless the password changed meanwhile. */
+    private void rehash(User user, String rawPassword) {
+        String oldHash = user.getPasswordHash();
+        passwordHasher.encode(rawPassword)
+                .thenAcceptAsync(newHash -> userRepository.updatePasswordHash(user.getId(), oldHash, newHash),
+                        completionExecutor)
+                .exceptionally(e -> {
+                    log.warn("Could not rehash password for user {}: {}", user.getId(), e.getMessage());
+                    return null;
+                });
+    }
+
     private UserResponse mapToUserResponse(User user) {
         return UserResponse.builder()
                 .id(user.getId())
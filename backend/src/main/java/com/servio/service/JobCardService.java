@@ -1,22 +1,33 @@
 package com.servio.service;
 
 import com.servio.dto.JobCardDto;
+import com.servio.dto.JobCardPageDto;
 import com.servio.entity.*;
 import com.servio.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class JobCardService {
+    private static final int DEFAULT_PAGE_SIZE = 25;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
     private final JobCardRepository jobCardRepository;
     private final AppointmentRepository appointmentRepository;
     private final MechanicRepository mechanicRepository;
     private final ServiceBayRepository serviceBayRepository;
     private final WalkInCustomerRepository walkInCustomerRepository;
+    private final WorkshopSchedulingService workshopSchedulingService;
+    private final WorkshopBoardService workshopBoardService;
+    private final WorkNumberAllocator workNumberAllocator;
 
     public JobCardDto createJobCard(JobCardDto dto) {
         Appointment appointment = null;
@@ -48,6 +59,7 @@ public class JobCardService {
                 .assignedMechanic(mechanic)
                 .assignedBay(bay)
                 .walkInCustomer(walkIn)
+                .jobNumber(workNumberAllocator.nextJobNumber())
                 .serviceType(dto.getServiceType())
                 .description(dto.getDescription())
                 .status(JobCardStatus.NEW)
@@ -56,39 +68,51 @@ public class JobCardService {
                 .estimatedCost(dto.getEstimatedCost())
                 .build();
 
-        JobCard saved = jobCardRepository.save(jobCard);
+        JobCard saved = jobCardRepository.saveAndFlush(jobCard);
+        workshopSchedulingService.jobSaved(saved);
+        workshopBoardService.jobCardSaved(saved);
         return convertToDto(saved);
     }
 
     public JobCardDto getJobCardById(Long id) {
-        JobCard jobCard = jobCardRepository.findById(id)
+        return jobCardRepository.findDtoById(id)
                 .orElseThrow(() -> new RuntimeException("Job card not found"));
-        return convertToDto(jobCard);
     }
 
-    public List<JobCardDto> getAllJobCards() {
-        return jobCardRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    /**
+     * One page of job cards, newest first.  Every filter is optional; the
+     * date range is on the creation date, with both ends inclusive.
+     */
+    public JobCardPageDto getJobCards(String status, Long mechanicId, Long bayId,
+                                      LocalDate from, LocalDate to, int page, int size) {
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        int pageNumber = Math.max(page, 0);
+        Page<JobCardDto> result = jobCardRepository.findDtoPage(
+                status != null && !status.isBlank() ? JobCardStatus.valueOf(status) : null,
+                mechanicId, bayId, null,
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null,
+                PageRequest.of(pageNumber, pageSize, NEWEST_FIRST));
+        return JobCardPageDto.builder()
+                .items(result.getContent())
+                .page(pageNumber)
+                .size(pageSize)
+                .totalItems(result.getTotalElements())
+                .totalPages(result.getTotalPages())
+                .build();
     }
 
     public List<JobCardDto> getJobCardsByStatus(String status) {
         JobCardStatus jobCardStatus = JobCardStatus.valueOf(status);
-        return jobCardRepository.findByStatus(jobCardStatus).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return jobCardRepository.findDtoList(jobCardStatus, null, null, null, null, null, NEWEST_FIRST);
     }
 
     public List<JobCardDto> getJobCardsByAppointment(Long appointmentId) {
-        return jobCardRepository.findByAppointmentId(appointmentId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return jobCardRepository.findDtoList(null, null, null, appointmentId, null, null, NEWEST_FIRST);
     }
 
     public List<JobCardDto> getJobCardsByMechanic(Long mechanicId) {
-        return jobCardRepository.findByAssignedMechanicId(mechanicId).stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return jobCardRepository.findDtoList(null, mechanicId, null, null, null, null, NEWEST_FIRST);
     }
 
     public JobCardDto updateJobCard(Long id, JobCardDto dto) {
@@ -125,7 +149,9 @@ public class JobCardService {
             jobCard.setEstimatedCost(dto.getEstimatedCost());
         }
 
-        JobCard updated = jobCardRepository.save(jobCard);
+        JobCard updated = jobCardRepository.saveAndFlush(jobCard);
+        workshopSchedulingService.jobSaved(updated);
+        workshopBoardService.jobCardSaved(updated);
         return convertToDto(updated);
     }
 
@@ -142,12 +168,16 @@ public class JobCardService {
             jobCard.setCompletedAt(LocalDateTime.now());
         }
 
-        JobCard updated = jobCardRepository.save(jobCard);
+        JobCard updated = jobCardRepository.saveAndFlush(jobCard);
+        workshopSchedulingService.jobSaved(updated);
+        workshopBoardService.jobCardSaved(updated);
         return convertToDto(updated);
     }
 
     public void deleteJobCard(Long id) {
         jobCardRepository.deleteById(id);
+        workshopSchedulingService.jobRemoved(id);
+        workshopBoardService.jobCardRemoved(id);
     }
 
     private JobCardDto convertToDto(JobCard jobCard) {
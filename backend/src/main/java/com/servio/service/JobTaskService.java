@@ -1,20 +1,28 @@
 package com.servio.service;
 
 import com.servio.dto.JobTaskDto;
+import com.servio.dto.TaskTimeEventRequest;
 import com.servio.entity.*;
 import com.servio.repository.*;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class JobTaskService {
     private final JobTaskRepository jobTaskRepository;
     private final JobCardRepository jobCardRepository;
     private final MechanicRepository mechanicRepository;
+    private final WorkshopBoardService workshopBoardService;
+    private final WorkNumberAllocator workNumberAllocator;
+    private final TaskTimeTrackingService taskTimeTrackingService;
 
     public JobTaskDto createJobTask(JobTaskDto dto) {
         JobCard jobCard = jobCardRepository.findById(dto.getJobCardId())
@@ -29,6 +37,7 @@ public class JobTaskService {
         JobTask task = JobTask.builder()
                 .jobCard(jobCard)
                 .assignedMechanic(mechanic)
+                .taskNumber(workNumberAllocator.nextTaskNumber())
                 .description(dto.getDescription())
                 .instructions(dto.getInstructions())
                 .status(TaskStatus.PENDING)
@@ -36,7 +45,8 @@ public class JobTaskService {
                 .estimatedHours(dto.getEstimatedHours())
                 .build();
 
-        JobTask saved = jobTaskRepository.save(task);
+        JobTask saved = jobTaskRepository.saveAndFlush(task);
+        workshopBoardService.taskSaved(saved);
         return convertToDto(saved);
     }
 
@@ -88,7 +98,8 @@ public class JobTaskService {
             task.setEstimatedHours(dto.getEstimatedHours());
         }
 
-        JobTask updated = jobTaskRepository.save(task);
+        JobTask updated = jobTaskRepository.saveAndFlush(task);
+        workshopBoardService.taskSaved(updated);
         return convertToDto(updated);
     }
 
@@ -97,6 +108,7 @@ public class JobTaskService {
                 .orElseThrow(() -> new RuntimeException("Job task not found"));
 
         TaskStatus newStatus = TaskStatus.valueOf(status);
+        TaskStatus oldStatus = task.getStatus();
         task.setStatus(newStatus);
 
         if (newStatus == TaskStatus.IN_PROGRESS && task.getStartedAt() == null) {
@@ -105,12 +117,62 @@ public class JobTaskService {
             task.setCompletedAt(LocalDateTime.now());
         }
 
-        JobTask updated = jobTaskRepository.save(task);
+        JobTask updated = jobTaskRepository.saveAndFlush(task);
+        workshopBoardService.taskSaved(updated);
+        if (newStatus != oldStatus) {
+            clockStatusChange(updated, newStatus);
+        }
         return convertToDto(updated);
     }
 
     public void deleteJobTask(Long id) {
         jobTaskRepository.deleteById(id);
+        workshopBoardService.taskRemoved(id);
+    }
+
+    /**
+     * Clocks the assigned mechanic in when a task starts and out when it ends,
+     * for tasks driven from the admin screens rather than the tablets.  A
+     * mechanic already clocked in or out is left as is.  The event is queued
+     * once the status change has committed, so a rolled-back change books no
+     * time.
+     */
+    private void clockStatusChange(JobTask task, TaskStatus newStatus) {
+        Mechanic mechanic = task.getAssignedMechanic() != null
+                ? task.getAssignedMechanic() : task.getJobCard().getAssignedMechanic();
+        if (mechanic == null) {
+            return;
+        }
+        String type;
+        if (newStatus == TaskStatus.IN_PROGRESS) {
+            type = TimeEventType.CLOCK_IN.name();
+        } else if (newStatus == TaskStatus.COMPLETED || newStatus == TaskStatus.CANCELLED) {
+            type = TimeEventType.CLOCK_OUT.name();
+        } else {
+            return;
+        }
+        TaskTimeEventRequest event = TaskTimeEventRequest.builder()
+                .taskId(task.getId())
+                .mechanicId(mechanic.getId())
+                .type(type)
+                .build();
+        afterCommit(() -> taskTimeTrackingService.submit(List.of(event)).exceptionally(e -> {
+            log.warn("Could not clock task {} for mechanic {}: {}", task.getId(), mechanic.getId(), e.getMessage());
+            return null;
+        }));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
 
     private JobTaskDto convertToDto(JobTask task) {
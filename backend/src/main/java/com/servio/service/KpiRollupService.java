@@ -0,0 +1,212 @@
+package com.servio.service;
+
+import com.servio.dto.RevenueChartData;
+import com.servio.entity.Appointment;
+import com.servio.entity.Payment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the kpi_daily_rollups table that backs the admin dashboard totals
+ * and revenue trends.
+ *
+ * Payment and appointment writes call the {@code record*} methods inside their
+ * own transaction, so each rollup row moves atomically with the source row.
+ * Writes that bypass the backend (e.g. Supabase creating profiles) are picked
+ * up by the hourly reconciliation of today and the nightly full rebuild, which
+ * also corrects any other drift.  A rebuild runs alongside incremental writes:
+ * a write that commits while a rebuild statement is running may be
+ * overwritten by the recomputed value, and is put back by the next rebuild.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class KpiRollupService {
+
+    public static final String REVENUE = "REVENUE";
+    public static final String APPOINTMENTS = "APPOINTMENTS";
+    public static final String NEW_CUSTOMERS = "NEW_CUSTOMERS";
+
+    private static final LocalDate EARLIEST = LocalDate.of(1970, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO kpi_daily_rollups (day, metric, dimension, total_amount, event_count) "
+                    + "VALUES (?, ?, ?, ?, ?) "
+                    + "ON CONFLICT (day, metric, dimension) DO UPDATE SET "
+                    + "total_amount = kpi_daily_rollups.total_amount + EXCLUDED.total_amount, "
+                    + "event_count = kpi_daily_rollups.event_count + EXCLUDED.event_count";
+
+    /**
+     * The rebuild overwrites instead of inserting, because an incremental
+     * upsert may create a key after the DELETE and before the rebuild INSERT.
+     */
+    private static final String REBUILD_CONFLICT_SQL =
+            " ON CONFLICT (day, metric, dimension) DO UPDATE SET "
+                    + "total_amount = EXCLUDED.total_amount, event_count = EXCLUDED.event_count";
+
+    private static final String REBUILD_REVENUE_SQL =
+            "INSERT INTO kpi_daily_rollups (day, metric, dimension, total_amount, event_count) "
+                    + "SELECT CAST(COALESCE(payment_date, created_at) AS DATE), 'REVENUE', COALESCE(payment_method, ''), SUM(amount), COUNT(*) "
+                    + "FROM payments WHERE payment_status = 'COMPLETED' "
+                    + "AND CAST(COALESCE(payment_date, created_at) AS DATE) BETWEEN ? AND ? "
+                    + "GROUP BY 1, 3" + REBUILD_CONFLICT_SQL;
+
+    private static final String REBUILD_APPOINTMENTS_SQL =
+            "INSERT INTO kpi_daily_rollups (day, metric, dimension, total_amount, event_count) "
+                    + "SELECT CAST(appointment_date AS DATE), 'APPOINTMENTS', status, 0, COUNT(*) "
+                    + "FROM appointments WHERE CAST(appointment_date AS DATE) BETWEEN ? AND ? "
+                    + "GROUP BY 1, 3" + REBUILD_CONFLICT_SQL;
+
+    private static final String REBUILD_CUSTOMERS_SQL =
+            "INSERT INTO kpi_daily_rollups (day, metric, dimension, total_amount, event_count) "
+                    + "SELECT CAST(COALESCE(created_at, joined) AS DATE), 'NEW_CUSTOMERS', '', 0, COUNT(*) "
+                    + "FROM profiles WHERE CAST(COALESCE(created_at, joined) AS DATE) BETWEEN ? AND ? "
+                    + "GROUP BY 1" + REBUILD_CONFLICT_SQL;
+
+    private static final int MAX_TREND_POINTS = 366;
+
+    private static final DateTimeFormatter DAY_LABEL = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter MONTH_LABEL = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // ── Incremental updates ──────────────────────────────────────────────────
+
+    /** Adds a payment to the revenue rollup if it is COMPLETED. */
+    public void recordPayment(Payment payment) {
+        if (!"COMPLETED".equals(payment.getPaymentStatus()) || payment.getAmount() == null) {
+            return;
+        }
+        LocalDateTime when = payment.getPaymentDate() != null ? payment.getPaymentDate() : payment.getCreatedAt();
+        upsert(when.toLocalDate(), REVENUE, payment.getPaymentMethod(), payment.getAmount(), 1);
+    }
+
+    /**
+     * Moves an appointment between status buckets on its appointment day.
+     * Pass {@code previousStatus = null} for a new appointment.
+     */
+    public void recordAppointmentStatus(Appointment appointment, String previousStatus) {
+        String status = appointment.getStatus();
+        if (status != null && status.equals(previousStatus)) {
+            return;
+        }
+        LocalDate day = appointment.getAppointmentDate().toLocalDate();
+        if (previousStatus != null) {
+            upsert(day, APPOINTMENTS, previousStatus, BigDecimal.ZERO, -1);
+        }
+        if (status != null) {
+            upsert(day, APPOINTMENTS, status, BigDecimal.ZERO, 1);
+        }
+    }
+
+    /** Removes a deleted appointment from its status bucket. */
+    public void recordAppointmentDeleted(Appointment appointment) {
+        upsert(appointment.getAppointmentDate().toLocalDate(), APPOINTMENTS, appointment.getStatus(),
+                BigDecimal.ZERO, -1);
+    }
+
+    /** Counts a customer profile created by the backend itself. */
+    public void recordNewCustomer(LocalDate day) {
+        upsert(day, NEW_CUSTOMERS, "", BigDecimal.ZERO, 1);
+    }
+
+    // ── Reconciliation ───────────────────────────────────────────────────────
+
+    /** Seeds the rollups from the source tables the first time the backend starts against them. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void seedIfEmpty() {
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM (SELECT 1 FROM kpi_daily_rollups LIMIT 1) r",
+                Integer.class);
+        if (rows == null || rows == 0) {
+            reconcile(EARLIEST, LATEST);
+            log.info("KPI rollups seeded from source tables");
+        }
+    }
+
+    /** Nightly full rebuild — corrects any drift from missed or out-of-band writes. */
+    @Scheduled(cron = "0 30 2 * * *")
+    @Transactional
+    public void reconcileAll() {
+        reconcile(EARLIEST, LATEST);
+        log.info("KPI rollups rebuilt from source tables");
+    }
+
+    /** Hourly rebuild of today's rows, so out-of-band sign-ups show up the same day. */
+    @Scheduled(cron = "0 0 * * * *")
+    @Transactional
+    public void reconcileToday() {
+        LocalDate today = LocalDate.now();
+        reconcile(today, today);
+    }
+
+    // ── Reads ────────────────────────────────────────────────────────────────
+
+    /**
+     * Revenue per day or per month between {@code from} and {@code to}
+     * (inclusive), with empty periods reported as zero.
+     *
+     * @param monthly true to bucket by calendar month, false to bucket by day
+     */
+    @Transactional(readOnly = true)
+    public RevenueChartData getRevenueTrend(LocalDate from, LocalDate to, boolean monthly) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        LocalDate start = monthly ? from.withDayOfMonth(1) : from;
+        long buckets = monthly ? ChronoUnit.MONTHS.between(start, to) + 1 : ChronoUnit.DAYS.between(start, to) + 1;
+        if (buckets > MAX_TREND_POINTS) {
+            throw new IllegalArgumentException("Range too large: at most " + MAX_TREND_POINTS + " points per trend");
+        }
+        Map<LocalDate, BigDecimal> revenueByBucket = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT CAST(date_trunc(?, day) AS DATE) AS bucket, SUM(total_amount) AS amount "
+                        + "FROM kpi_daily_rollups WHERE metric = 'REVENUE' AND day BETWEEN ? AND ? "
+                        + "GROUP BY 1",
+                rs -> {
+                    revenueByBucket.put(rs.getDate("bucket").toLocalDate(), rs.getBigDecimal("amount"));
+                },
+                monthly ? "month" : "day", Date.valueOf(start), Date.valueOf(to));
+
+        List<String> labels = new ArrayList<>();
+        List<BigDecimal> data = new ArrayList<>();
+        for (LocalDate bucket = start; !bucket.isAfter(to); bucket = monthly ? bucket.plusMonths(1) : bucket.plusDays(1)) {
+            labels.add(bucket.format(monthly ? MONTH_LABEL : DAY_LABEL));
+            data.add(revenueByBucket.getOrDefault(bucket, BigDecimal.ZERO));
+        }
+        return RevenueChartData.builder().labels(labels).data(data).build();
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private void upsert(LocalDate day, String metric, String dimension, BigDecimal amount, long count) {
+        jdbcTemplate.update(UPSERT_SQL, Date.valueOf(day), metric, dimension != null ? dimension : "", amount, count);
+    }
+
+    private void reconcile(LocalDate from, LocalDate to) {
+        Date start = Date.valueOf(from);
+        Date end = Date.valueOf(to);
+        jdbcTemplate.update("DELETE FROM kpi_daily_rollups WHERE day BETWEEN ? AND ?", start, end);
+        jdbcTemplate.update(REBUILD_REVENUE_SQL, start, end);
+        jdbcTemplate.update(REBUILD_APPOINTMENTS_SQL, start, end);
+        jdbcTemplate.update(REBUILD_CUSTOMERS_SQL, start, end);
+    }
+}
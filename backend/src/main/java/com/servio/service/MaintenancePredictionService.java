@@ -0,0 +1,385 @@
+package com.servio.service;
+
+import com.servio.dto.MaintenanceReminderDto;
+import com.servio.entity.MaintenanceKind;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Predicts when each vehicle is next due for the services in
+ * {@link MaintenanceKind} and reminds the owner shortly before.
+ *
+ * A nightly run walks the vehicles in keyset pages of
+ * {@code maintenance.prediction.batch-size} ids.  Each page is handed to the
+ * bounded {@code maintenancePredictionExecutor}, which streams the page's
+ * service records in (vehicle, date) order and keeps only the current
+ * vehicle's running totals, so memory stays flat however many vehicles there
+ * are.  The vehicle's mileage rate is the least-squares slope of its odometer
+ * readings; the next due date is whichever of the kind's km and day
+ * intervals runs out first.  Results are upserted into maintenance_predictions
+ * and served from there.
+ *
+ * Owners are then reminded of predictions due within
+ * {@code maintenance.prediction.reminder-days}, once per due date.  The owner
+ * is the backend user with the vehicle profile's email, since notifications
+ * are addressed to users.
+ */
+@Service
+@Slf4j
+public class MaintenancePredictionService {
+
+    /** Fewer days between the first and last odometer reading give too noisy a rate. */
+    private static final int MIN_RATE_SPAN_DAYS = 30;
+    /** Caps the rate, so one mistyped odometer reading cannot predict a service every day. */
+    private static final double MAX_DAILY_KM = 500;
+
+    private static final String PAGE_END_SQL =
+            "SELECT MAX(id) FROM (SELECT id FROM vehicles WHERE id > ? ORDER BY id LIMIT ?) page";
+
+    private static final String HISTORY_SQL =
+            "SELECT vehicle_id, service_type, service_date, mileage FROM service_records "
+                    + "WHERE vehicle_id > ? AND vehicle_id <= ? "
+                    + "ORDER BY vehicle_id, service_date, id";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO maintenance_predictions "
+                    + "(vehicle_id, service_kind, due_date, due_mileage, daily_km, last_service_date, last_mileage, computed_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?) "
+                    + "ON CONFLICT (vehicle_id, service_kind) DO UPDATE SET "
+                    + "due_date = EXCLUDED.due_date, "
+                    + "due_mileage = EXCLUDED.due_mileage, "
+                    + "daily_km = EXCLUDED.daily_km, "
+                    + "last_service_date = EXCLUDED.last_service_date, "
+                    + "last_mileage = EXCLUDED.last_mileage, "
+                    + "computed_at = EXCLUDED.computed_at";
+
+    /** Drops the page's predictions this run did not rewrite, e.g. after a record was deleted. */
+    private static final String PRUNE_PAGE_SQL =
+            "DELETE FROM maintenance_predictions WHERE vehicle_id > ? AND vehicle_id <= ? AND computed_at < ?";
+
+    private static final String DUE_REMINDERS_SQL =
+            "SELECT mp.id, mp.service_kind, mp.due_date, mp.due_mileage, v.make, v.model, v.license_plate, u.id AS user_id "
+                    + "FROM maintenance_predictions mp "
+                    + "JOIN vehicles v ON v.id = mp.vehicle_id "
+                    + "JOIN public.profiles p ON p.id = v.profile_id "
+                    + "JOIN users u ON u.email = p.email "
+                    + "WHERE mp.id > ? AND mp.due_date <= ? "
+                    + "AND mp.reminded_due_date IS DISTINCT FROM mp.due_date "
+                    + "ORDER BY mp.id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationService notificationService;
+    private final ThreadPoolTaskExecutor executor;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${maintenance.prediction.enabled:true}")
+    private boolean enabled;
+
+    @Value("${maintenance.prediction.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${maintenance.prediction.default-daily-km:40}")
+    private double defaultDailyKm;
+
+    @Value("${maintenance.prediction.reminder-days:14}")
+    private int reminderDays;
+
+    public MaintenancePredictionService(JdbcTemplate jdbcTemplate,
+                                        TransactionTemplate transactionTemplate,
+                                        NotificationService notificationService,
+                                        @Qualifier("maintenancePredictionExecutor") ThreadPoolTaskExecutor executor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.notificationService = notificationService;
+        this.executor = executor;
+    }
+
+    // ── Batch run ────────────────────────────────────────────────────────────
+
+    @Scheduled(cron = "${maintenance.prediction.cron:0 30 4 * * *}")
+    public void runNightly() {
+        if (enabled) {
+            recomputeAll();
+            sendDueReminders();
+        }
+    }
+
+    /** Recomputes every vehicle's predictions.  Returns without work if a run is already in progress. */
+    public void recomputeAll() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Maintenance prediction run already in progress; skipping");
+            return;
+        }
+        try {
+            LocalDateTime computedAt = LocalDateTime.now();
+            AtomicLong written = new AtomicLong();
+            AtomicInteger failedPages = new AtomicInteger();
+            List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+            int pages = 0;
+
+            long after = 0;
+            Long pageEnd;
+            while ((pageEnd = jdbcTemplate.queryForObject(PAGE_END_SQL, Long.class, after, batchSize)) != null) {
+                long from = after;
+                long to = pageEnd;
+                // A full queue runs the page on this thread, which throttles paging to the workers
+                inFlight.add(CompletableFuture
+                        .runAsync(() -> written.addAndGet(processPage(from, to, computedAt)), executor)
+                        .exceptionally(e -> {
+                            failedPages.incrementAndGet();
+                            log.error("Maintenance predictions failed for vehicles ({}, {}]", from, to, e);
+                            return null;
+                        }));
+                inFlight.removeIf(CompletableFuture::isDone);
+                after = to;
+                pages++;
+            }
+            CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).join();
+
+            log.info("Maintenance predictions recomputed: {} prediction(s) over {} page(s), {} failed",
+                    written.get(), pages, failedPages.get());
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Notifies owners of predictions due within the reminder window that they
+     * have not been reminded of yet.  Each reminder and its mark commit
+     * together, so a crash never sends one twice.
+     */
+    public void sendDueReminders() {
+        LocalDate dueBy = LocalDate.now().plusDays(reminderDays);
+        long after = 0;
+        int sent = 0;
+        while (true) {
+            List<DueReminder> page = jdbcTemplate.query(DUE_REMINDERS_SQL, this::mapDueReminder,
+                    after, Date.valueOf(dueBy), batchSize);
+            for (DueReminder reminder : page) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    notificationService.createReminderNotification(reminder.userId(), reminderMessage(reminder));
+                    jdbcTemplate.update("UPDATE maintenance_predictions SET reminded_due_date = ? WHERE id = ?",
+                            Date.valueOf(reminder.dueDate()), reminder.id());
+                });
+                sent++;
+            }
+            if (page.size() < batchSize) {
+                break;
+            }
+            after = page.get(page.size() - 1).id();
+        }
+        if (sent > 0) {
+            log.info("Sent {} maintenance reminder(s)", sent);
+        }
+    }
+
+    // ── Reads ────────────────────────────────────────────────────────────────
+
+    /** The vehicle's latest predictions, soonest first. */
+    @Transactional(readOnly = true)
+    public List<MaintenanceReminderDto> getPredictions(Long vehicleId) {
+        LocalDate today = LocalDate.now();
+        return jdbcTemplate.query(
+                "SELECT service_kind, due_date, due_mileage, last_service_date, last_mileage "
+                        + "FROM maintenance_predictions WHERE vehicle_id = ? ORDER BY due_date, service_kind",
+                (rs, rowNum) -> {
+                    MaintenanceKind kind = MaintenanceKind.valueOf(rs.getString("service_kind"));
+                    LocalDate dueDate = rs.getDate("due_date").toLocalDate();
+                    return MaintenanceReminderDto.builder()
+                            .serviceType(kind.getLabel())
+                            .description(describe(kind, rs.getDate("last_service_date").toLocalDate(),
+                                    getInteger(rs, "last_mileage")))
+                            .dueDate(dueDate)
+                            .dueMileage(getInteger(rs, "due_mileage"))
+                            .priority(priorityOf(dueDate, today))
+                            .build();
+                },
+                vehicleId);
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    /** Predicts the vehicles with ids in (from, to] and returns the number of predictions written. */
+    private int processPage(long from, long to, LocalDateTime computedAt) {
+        PageScan scan = new PageScan();
+        jdbcTemplate.query(HISTORY_SQL, scan, from, to);
+        scan.finish();
+
+        Timestamp computed = Timestamp.valueOf(computedAt);
+        List<Object[]> rows = scan.rows;
+        for (Object[] row : rows) {
+            row[7] = computed;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+            }
+            jdbcTemplate.update(PRUNE_PAGE_SQL, from, to, computed);
+        });
+        return rows.size();
+    }
+
+    private void predict(VehicleHistory history, List<Object[]> rows) {
+        double dailyKm = history.dailyKm();
+        for (Map.Entry<MaintenanceKind, LastService> entry : history.lastByKind.entrySet()) {
+            MaintenanceKind kind = entry.getKey();
+            LastService last = entry.getValue();
+            long daysForKm = (long) Math.ceil(kind.getIntervalKm() / dailyKm);
+            LocalDate dueDate = last.date().plusDays(Math.min(daysForKm, kind.getIntervalDays()));
+            Integer dueMileage = last.mileage() != null ? last.mileage() + kind.getIntervalKm() : null;
+            rows.add(new Object[] {
+                    history.vehicleId, kind.name(), Date.valueOf(dueDate), dueMileage,
+                    Math.round(dailyKm * 10) / 10.0, Date.valueOf(last.date()), last.mileage(), null});
+        }
+    }
+
+    private DueReminder mapDueReminder(ResultSet rs, int rowNum) throws SQLException {
+        return new DueReminder(
+                rs.getLong("id"),
+                rs.getLong("user_id"),
+                MaintenanceKind.valueOf(rs.getString("service_kind")),
+                rs.getDate("due_date").toLocalDate(),
+                getInteger(rs, "due_mileage"),
+                rs.getString("make") + " " + rs.getString("model"),
+                rs.getString("license_plate"));
+    }
+
+    private String reminderMessage(DueReminder reminder) {
+        StringBuilder message = new StringBuilder("Your ").append(reminder.vehicle());
+        if (reminder.licensePlate() != null && !reminder.licensePlate().isBlank()) {
+            message.append(" (").append(reminder.licensePlate()).append(')');
+        }
+        message.append(reminder.dueDate().isBefore(LocalDate.now()) ? " was due for " : " is due for ")
+                .append(reminder.kind().getLabel().toLowerCase())
+                .append(" around ").append(reminder.dueDate());
+        if (reminder.dueMileage() != null) {
+            message.append(" or ").append(String.format("%,d", reminder.dueMileage())).append(" km");
+        }
+        return message.append(". Book a service to keep it in shape.").toString();
+    }
+
+    private static String describe(MaintenanceKind kind, LocalDate lastDate, Integer lastMileage) {
+        String description = String.format("Every %,d km or %d days; last done %s",
+                kind.getIntervalKm(), kind.getIntervalDays(), lastDate);
+        return lastMileage != null ? description + String.format(" at %,d km", lastMileage) : description;
+    }
+
+    private static String priorityOf(LocalDate dueDate, LocalDate today) {
+        if (!dueDate.isAfter(today)) {
+            return "HIGH";
+        }
+        return ChronoUnit.DAYS.between(today, dueDate) <= 30 ? "MEDIUM" : "LOW";
+    }
+
+    private static Integer getInteger(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    /** Folds one page's service records, which arrive grouped by vehicle, into upsert rows. */
+    private final class PageScan implements RowCallbackHandler {
+        private final List<Object[]> rows = new ArrayList<>();
+        private VehicleHistory current;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long vehicleId = rs.getLong("vehicle_id");
+            if (current == null || current.vehicleId != vehicleId) {
+                finish();
+                current = new VehicleHistory(vehicleId, defaultDailyKm);
+            }
+            current.add(rs.getString("service_type"), rs.getDate("service_date").toLocalDate(),
+                    getInteger(rs, "mileage"));
+        }
+
+        void finish() {
+            if (current != null) {
+                predict(current, rows);
+                current = null;
+            }
+        }
+    }
+
+    /**
+     * Running totals for one vehicle: the latest service of each kind and the
+     * sums for a least-squares fit of mileage against days since the first
+     * reading.  Package-private for tests.
+     */
+    static final class VehicleHistory {
+        private final long vehicleId;
+        private final double defaultDailyKm;
+        private final Map<MaintenanceKind, LastService> lastByKind = new EnumMap<>(MaintenanceKind.class);
+
+        private LocalDate firstReading;
+        private long readings;
+        private long spanDays;
+        private double sumX;
+        private double sumY;
+        private double sumXX;
+        private double sumXY;
+
+        VehicleHistory(long vehicleId, double defaultDailyKm) {
+            this.vehicleId = vehicleId;
+            this.defaultDailyKm = defaultDailyKm;
+        }
+
+        /** Records must be added in service date order. */
+        void add(String serviceType, LocalDate date, Integer mileage) {
+            lastByKind.put(MaintenanceKind.classify(serviceType), new LastService(date, mileage));
+            if (mileage == null) {
+                return;
+            }
+            if (firstReading == null) {
+                firstReading = date;
+            }
+            double x = ChronoUnit.DAYS.between(firstReading, date);
+            readings++;
+            spanDays = (long) x;
+            sumX += x;
+            sumY += mileage;
+            sumXX += x * x;
+            sumXY += x * mileage;
+        }
+
+        /** Km per day from the fitted slope, or the default when the readings cannot support one. */
+        double dailyKm() {
+            if (readings < 2 || spanDays < MIN_RATE_SPAN_DAYS) {
+                return defaultDailyKm;
+            }
+            double denominator = readings * sumXX - sumX * sumX;
+            double slope = denominator > 0 ? (readings * sumXY - sumX * sumY) / denominator : 0;
+            return slope > 0 ? Math.min(slope, MAX_DAILY_KM) : defaultDailyKm;
+        }
+    }
+
+    private record LastService(LocalDate date, Integer mileage) {}
+
+    private record DueReminder(long id, long userId, MaintenanceKind kind, LocalDate dueDate,
+                               Integer dueMileage, String vehicle, String licensePlate) {}
+}
@@ -14,6 +14,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class MechanicService {
     private final MechanicRepository mechanicRepository;
+    private final WorkshopSchedulingService workshopSchedulingService;
+    private final WorkshopBoardService workshopBoardService;
 
     public MechanicDto createMechanic(MechanicDto dto) {
         Mechanic mechanic = Mechanic.builder()
@@ -26,7 +28,9 @@ public class MechanicService {
                 .isActive(true)
                 .build();
 
-        Mechanic saved = mechanicRepository.save(mechanic);
+        Mechanic saved = mechanicRepository.saveAndFlush(mechanic);
+        workshopSchedulingService.invalidate();
+        workshopBoardService.mechanicSaved(saved);
         return convertToDto(saved);
     }
 
@@ -75,19 +79,25 @@ public class MechanicService {
             mechanic.setIsActive(dto.getIsActive());
         }
 
-        Mechanic updated = mechanicRepository.save(mechanic);
+        Mechanic updated = mechanicRepository.saveAndFlush(mechanic);
+        workshopSchedulingService.invalidate();
+        workshopBoardService.mechanicSaved(updated);
         return convertToDto(updated);
     }
 
     public void deleteMechanic(Long id) {
         mechanicRepository.deleteById(id);
+        workshopSchedulingService.invalidate();
+        workshopBoardService.mechanicRemoved(id);
     }
 
     public void updateMechanicStatus(Long id, String status) {
         Mechanic mechanic = mechanicRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Mechanic not found"));
         mechanic.setStatus(MechanicStatus.valueOf(status));
-        mechanicRepository.save(mechanic);
+        Mechanic updated = mechanicRepository.saveAndFlush(mechanic);
+        workshopSchedulingService.invalidate();
+        workshopBoardService.mechanicSaved(updated);
     }
 
     private MechanicDto convertToDto(Mechanic mechanic) {
@@ -0,0 +1,259 @@
+package com.servio.service;
+
+import com.servio.dto.NotificationDto;
+import com.servio.dto.admin.NotificationFanOutJobDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Sends one notification to every customer without holding up the caller.
+ *
+ * A job streams customer ids in keyset-paged batches, inserts each batch's
+ * notifications with a single JDBC batch in its own short transaction, and
+ * hands the WebSocket pushes to a bounded executor.  Jobs run one at a time
+ * on a dedicated thread; their progress is kept in memory for the most recent
+ * {@value #MAX_TRACKED_JOBS} jobs.
+ */
+@Service
+@Slf4j
+public class NotificationFanOutService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_TRACKED_JOBS = 50;
+
+    private static final String CUSTOMER_FILTER = "role IN ('USER', 'CUSTOMER')";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO notifications (user_id, title, message, type, is_read, created_at) "
+                    + "VALUES (?, ?, ?, ?, false, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AppointmentEventPublisher eventPublisher;
+    private final NotificationUnreadCounter unreadCounter;
+    private final ThreadPoolTaskExecutor fanOutExecutor;
+    private final ThreadPoolTaskExecutor pushExecutor;
+
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    public NotificationFanOutService(JdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate,
+                                     AppointmentEventPublisher eventPublisher,
+                                     NotificationUnreadCounter unreadCounter,
+                                     @Qualifier("notificationFanOutExecutor") ThreadPoolTaskExecutor fanOutExecutor,
+                                     @Qualifier("notificationPushExecutor") ThreadPoolTaskExecutor pushExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.unreadCounter = unreadCounter;
+        this.fanOutExecutor = fanOutExecutor;
+        this.pushExecutor = pushExecutor;
+    }
+
+    /**
+     * Queues a notification for every customer and returns immediately.  When
+     * called inside a transaction the job only starts once it commits, so a
+     * rolled-back change never notifies anyone.
+     *
+     * @return the job id, for progress polling via {@link #getJob(String)}
+     */
+    public String notifyAllCustomers(String title, String message, String type) {
+        Job job = new Job(UUID.randomUUID().toString(), title, message, type);
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+            if (jobs.size() > MAX_TRACKED_JOBS) {
+                jobs.remove(jobs.keySet().iterator().next());
+            }
+        }
+
+        Runnable submit = () -> submit(job);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit.run();
+                }
+            });
+        } else {
+            submit.run();
+        }
+        return job.id;
+    }
+
+    public Optional<NotificationFanOutJobDto> getJob(String jobId) {
+        synchronized (jobs) {
+            Job job = jobs.get(jobId);
+            return Optional.ofNullable(job).map(Job::toDto);
+        }
+    }
+
+    /** Most recent jobs first. */
+    public List<NotificationFanOutJobDto> getRecentJobs() {
+        synchronized (jobs) {
+            return jobs.values().stream()
+                    .map(Job::toDto)
+                    .sorted(Comparator.comparing(NotificationFanOutJobDto::getQueuedAt).reversed())
+                    .collect(Collectors.toList());
+        }
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    /**
+     * Hands the job to the fan-out thread.  When its queue is full the job is
+     * marked FAILED right away; it would otherwise stay QUEUED forever, since
+     * this runs after commit and nobody sees the exception.
+     */
+    private void submit(Job job) {
+        try {
+            fanOutExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            job.status = "FAILED";
+            job.error = "Too many notification jobs are queued; please send it again later";
+            job.finishedAt = LocalDateTime.now();
+            log.warn("Notification fan-out {} ('{}') rejected: fan-out queue is full", job.id, job.title);
+        }
+    }
+
+    private void run(Job job) {
+        job.startedAt = LocalDateTime.now();
+        job.status = "RUNNING";
+        try {
+            Long total = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM users WHERE " + CUSTOMER_FILTER, Long.class);
+            job.total = total != null ? total : 0;
+
+            long lastId = 0;
+            while (true) {
+                List<Recipient> page = jdbcTemplate.query(
+                        "SELECT id, full_name FROM users WHERE " + CUSTOMER_FILTER
+                                + " AND id > ? ORDER BY id LIMIT ?",
+                        (rs, rowNum) -> new Recipient(rs.getLong("id"), rs.getString("full_name")),
+                        lastId, BATCH_SIZE);
+                if (page.isEmpty()) {
+                    break;
+                }
+                LocalDateTime createdAt = LocalDateTime.now();
+                List<Long> ids = transactionTemplate.execute(status -> insertBatch(job, page, createdAt));
+                pushExecutor.execute(() -> push(job, page, ids, createdAt));
+                job.notified.addAndGet(page.size());
+                lastId = page.get(page.size() - 1).userId();
+            }
+            job.status = "COMPLETED";
+            log.info("Notification fan-out {} ('{}') delivered to {} customer(s)",
+                    job.id, job.title, job.notified.get());
+        } catch (Exception e) {
+            job.status = "FAILED";
+            job.error = e.getMessage();
+            log.error("Notification fan-out {} ('{}') failed after {} customer(s)",
+                    job.id, job.title, job.notified.get(), e);
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    /** Inserts one notification per recipient with a single JDBC batch; returns the generated ids in order. */
+    private List<Long> insertBatch(Job job, List<Recipient> page, LocalDateTime createdAt) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, new String[] {"id"})) {
+                Timestamp timestamp = Timestamp.valueOf(createdAt);
+                for (Recipient recipient : page) {
+                    ps.setLong(1, recipient.userId());
+                    ps.setString(2, job.title);
+                    ps.setString(3, job.message);
+                    ps.setString(4, job.type);
+                    ps.setTimestamp(5, timestamp);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                unreadCounter.increment(page.stream().map(Recipient::userId).collect(Collectors.toList()));
+                List<Long> ids = new ArrayList<>(page.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                return ids;
+            }
+        });
+    }
+
+    private void push(Job job, List<Recipient> page, List<Long> ids, LocalDateTime createdAt) {
+        for (int i = 0; i < page.size(); i++) {
+            Recipient recipient = page.get(i);
+            try {
+                eventPublisher.publishNotification(recipient.userId(), NotificationDto.builder()
+                        .id(i < ids.size() ? ids.get(i) : null)
+                        .userId(recipient.userId())
+                        .userName(recipient.fullName())
+                        .title(job.title)
+                        .message(job.message)
+                        .type(job.type)
+                        .isRead(false)
+                        .createdAt(createdAt)
+                        .build());
+            } catch (Exception e) {
+                log.warn("Failed to push fan-out notification to user {}: {}", recipient.userId(), e.getMessage());
+            }
+        }
+    }
+
+    private record Recipient(long userId, String fullName) {}
+
+    private static final class Job {
+        private final String id;
+        private final String title;
+        private final String message;
+        private final String type;
+        private final LocalDateTime queuedAt = LocalDateTime.now();
+        private final AtomicLong notified = new AtomicLong();
+        private volatile String status = "QUEUED";
+        private volatile long total;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private Job(String id, String title, String message, String type) {
+            this.id = id;
+            this.title = title;
+            this.message = message;
+            this.type = type;
+        }
+
+        private NotificationFanOutJobDto toDto() {
+            return NotificationFanOutJobDto.builder()
+                    .jobId(id)
+                    .title(title)
+                    .status(status)
+                    .totalRecipients(total)
+                    .notifiedRecipients(notified.get())
+                    .queuedAt(queuedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.servio.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Purges read notifications older than {@code notifications.retention.days}
+ * for every user, so the notifications table only holds the recent, hot part
+ * of each inbox.  Unread notifications are kept whatever their age, so the
+ * purge never changes a user's unread count.
+ *
+ * Rows are deleted in batches of {@code notifications.retention.batch-size},
+ * each in its own short transaction, so a large backlog never holds long
+ * locks or one huge transaction.  Set the retention to 0 to disable purging.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationRetentionScheduler {
+
+    /** Stops a single run from looping forever if rows keep arriving behind the cutoff. */
+    private static final int MAX_BATCHES_PER_RUN = 1_000;
+
+    private static final String PURGE_BATCH_SQL =
+            "DELETE FROM notifications WHERE id IN ("
+                    + "SELECT id FROM notifications WHERE created_at < ? AND is_read = true LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${notifications.retention.days:90}")
+    private int retentionDays;
+
+    @Value("${notifications.retention.batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(cron = "${notifications.retention.cron:0 15 3 * * *}")
+    public void purgeExpiredNotifications() {
+        if (retentionDays <= 0) {
+            return;
+        }
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays));
+        long purged = 0;
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            Integer deleted = transactionTemplate.execute(status ->
+                    jdbcTemplate.update(PURGE_BATCH_SQL, cutoff, batchSize));
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+            purged += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        if (purged > 0) {
+            log.info("Purged {} read notification(s) older than {} day(s)", purged, retentionDays);
+        }
+    }
+}
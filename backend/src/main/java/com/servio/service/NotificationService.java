@@ -1,6 +1,7 @@
 package com.servio.service;
 
 import com.servio.dto.NotificationDto;
+import com.servio.dto.NotificationPageDto;
 import com.servio.dto.NotificationRequest;
 import com.servio.entity.Notification;
 import com.servio.entity.User;
@@ -8,9 +9,13 @@ import com.servio.repository.NotificationRepository;
 import com.servio.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,8 +23,12 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class NotificationService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final NotificationUnreadCounter unreadCounter;
     @Lazy
     private final AppointmentEventPublisher eventPublisher;
 
@@ -38,6 +47,7 @@ public class NotificationService {
 
         notification = notificationRepository.save(notification);
         NotificationDto dto = convertToDto(notification);
+        unreadCounter.adjust(user.getId(), 1);
 
         // Push real-time notification via WebSocket
         eventPublisher.publishNotification(request.getUserId(), dto);
@@ -78,20 +88,27 @@ public class NotificationService {
         createNotification(request);
     }
     
-    public List<NotificationDto> getUserNotifications(Long userId) {
-        return notificationRepository.findUserNotificationsOrderByDate(userId).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+    /**
+     * One page of the user's inbox, newest first.  Uses keyset pagination on
+     * (created_at, id), so every page costs the same regardless of how many
+     * notifications the user has accumulated.
+     *
+     * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+     */
+    @Transactional(readOnly = true)
+    public NotificationPageDto getUserNotifications(Long userId, String cursor, Integer limit) {
+        return loadPage(userId, true, cursor, limit);
     }
-    
-    public List<NotificationDto> getUnreadNotifications(Long userId) {
-        return notificationRepository.findUnreadNotifications(userId).stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
+
+    /** Same as {@link #getUserNotifications} but only unread notifications. */
+    @Transactional(readOnly = true)
+    public NotificationPageDto getUnreadNotifications(Long userId, String cursor, Integer limit) {
+        return loadPage(userId, false, cursor, limit);
     }
     
+    /** Served from {@link NotificationUnreadCounter}; only a cold read touches the database. */
     public Long getUnreadCount(Long userId) {
-        return notificationRepository.countUnreadNotifications(userId);
+        return unreadCounter.get(userId);
     }
     
     public NotificationDto getNotificationById(Long id) {
@@ -105,35 +122,107 @@ public class NotificationService {
         Notification notification = notificationRepository.findById(notificationId)
             .orElseThrow(() -> new RuntimeException("Notification not found with id: " + notificationId));
         
-        notification.setIsRead(true);
-        notification = notificationRepository.save(notification);
-        return convertToDto(notification);
+        // Only the request whose conditional update flips the row decrements,
+        // so concurrent mark-read calls cannot count the same notification twice
+        if (notificationRepository.markAsReadIfUnread(notificationId) > 0) {
+            unreadCounter.adjust(notification.getUser().getId(), -1);
+        }
+        NotificationDto dto = convertToDto(notification);
+        dto.setIsRead(true);
+        return dto;
     }
     
     @Transactional
     public void markAllAsRead(Long userId) {
-        List<Notification> notifications = notificationRepository.findUnreadNotifications(userId);
-        notifications.forEach(n -> n.setIsRead(true));
-        notificationRepository.saveAll(notifications);
+        int updated = notificationRepository.markAllAsRead(userId);
+        unreadCounter.adjust(userId, -updated);
     }
     
     @Transactional
     public void deleteNotification(Long id) {
-        if (!notificationRepository.existsById(id)) {
-            throw new RuntimeException("Notification not found with id: " + id);
+        Notification notification = notificationRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Notification not found with id: " + id));
+        // The row counts decide, not the isRead loaded above: a concurrent
+        // mark-read or delete may have changed the row since
+        if (notificationRepository.deleteIfUnread(id) > 0) {
+            unreadCounter.adjust(notification.getUser().getId(), -1);
+        } else {
+            notificationRepository.removeById(id);
         }
-        notificationRepository.deleteById(id);
     }
     
     @Transactional
     public void deleteOldNotifications(Long userId, int daysOld) {
-        List<Notification> notifications = notificationRepository.findUserNotificationsOrderByDate(userId);
-        notifications.stream()
-            .filter(n -> n.getCreatedAt().isBefore(
-                java.time.LocalDateTime.now().minusDays(daysOld)))
-            .forEach(n -> notificationRepository.delete(n));
+        int deleted = notificationRepository.deleteUserNotificationsCreatedBefore(userId, LocalDateTime.now().minusDays(daysOld));
+        if (deleted > 0) {
+            // Some of the deleted rows may have been unread
+            unreadCounter.invalidate(userId);
+        }
     }
     
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private NotificationPageDto loadPage(Long userId, boolean includeRead, String cursor, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Fetch one extra row to learn whether another page follows
+        PageRequest page = PageRequest.of(0, size + 1);
+        List<Object[]> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = includeRead
+                ? notificationRepository.findInboxFirstPage(userId, page)
+                : notificationRepository.findUnreadFirstPage(userId, page);
+        } else {
+            Cursor position = decodeCursor(cursor);
+            rows = includeRead
+                ? notificationRepository.findInboxPageBefore(userId, position.createdAt(), position.id(), page)
+                : notificationRepository.findUnreadPageBefore(userId, position.createdAt(), position.id(), page);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<NotificationDto> items = rows.stream()
+            .limit(size)
+            .map(row -> NotificationDto.builder()
+                .id((Long) row[0])
+                .userId(userId)
+                .title((String) row[1])
+                .message((String) row[2])
+                .type((String) row[3])
+                .isRead((Boolean) row[4])
+                .createdAt((LocalDateTime) row[5])
+                .build())
+            .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (hasMore) {
+            NotificationDto last = items.get(items.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+        return NotificationPageDto.builder()
+            .items(items)
+            .nextCursor(nextCursor)
+            .hasMore(hasMore)
+            .build();
+    }
+
+    /** Opaque cursor: URL-safe base64 of "createdAt|id". */
+    private static String encodeCursor(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid notification cursor");
+        }
+    }
+
+    private record Cursor(LocalDateTime createdAt, Long id) {}
+
     private NotificationDto convertToDto(Notification notification) {
         return NotificationDto.builder()
             .id(notification.getId())
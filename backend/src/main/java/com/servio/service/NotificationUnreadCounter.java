@@ -0,0 +1,137 @@
+package com.servio.service;
+
+import com.servio.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process unread-notification counts, so the polled unread-count endpoint
+ * does not run a COUNT query per request.
+ *
+ * A user's count is loaded from SQL the first time it is asked for and then
+ * kept current by the deltas that notification writes report through
+ * {@link #adjust(Long, long)}.  Deltas are applied after the writing
+ * transaction commits, and each new count is pushed to
+ * /topic/notifications/user/{id}/unread-count.  At most
+ * {@value #MAX_CACHED_USERS} users are kept; the least recently used is
+ * evicted and simply reloaded on its next read.
+ *
+ * A load that overlaps a committed write for the same stripe of users is not
+ * cached, so a count read just before a commit can never be stored after it.
+ */
+@Service
+@Slf4j
+public class NotificationUnreadCounter {
+
+    private static final int MAX_CACHED_USERS = 10_000;
+    private static final int STRIPES = 64;
+
+    private final NotificationRepository notificationRepository;
+    private final AppointmentEventPublisher eventPublisher;
+
+    /** Access-ordered, so iteration order is least recently used first.  Guarded by itself. */
+    private final Map<Long, Long> counts = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+            return size() > MAX_CACHED_USERS;
+        }
+    };
+
+    /** Bumped on every applied write, per stripe of user ids.  Guarded by {@link #counts}. */
+    private final long[] versions = new long[STRIPES];
+
+    public NotificationUnreadCounter(NotificationRepository notificationRepository,
+                                     @Lazy AppointmentEventPublisher eventPublisher) {
+        this.notificationRepository = notificationRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /** Current unread count, loaded from SQL on a cold read. */
+    public long get(Long userId) {
+        long version;
+        synchronized (counts) {
+            Long cached = counts.get(userId);
+            if (cached != null) {
+                return cached;
+            }
+            version = versions[stripe(userId)];
+        }
+        Long loaded = notificationRepository.countUnreadNotifications(userId);
+        long count = loaded != null ? loaded : 0;
+        synchronized (counts) {
+            if (versions[stripe(userId)] == version) {
+                counts.putIfAbsent(userId, count);
+            }
+        }
+        return count;
+    }
+
+    /** Adds {@code delta} to the user's count once the active transaction commits. */
+    public void adjust(Long userId, long delta) {
+        if (userId == null || delta == 0) {
+            return;
+        }
+        afterCommit(() -> apply(userId, delta));
+    }
+
+    /** Adds one to each user's count once the active transaction commits. */
+    public void increment(Collection<Long> userIds) {
+        List<Long> ids = List.copyOf(userIds);
+        afterCommit(() -> ids.forEach(userId -> apply(userId, 1)));
+    }
+
+    /** Forgets the user's count after commit, for writes whose effect on it is unknown. */
+    public void invalidate(Long userId) {
+        afterCommit(() -> {
+            synchronized (counts) {
+                versions[stripe(userId)]++;
+                counts.remove(userId);
+            }
+        });
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private void apply(Long userId, long delta) {
+        long updated;
+        synchronized (counts) {
+            versions[stripe(userId)]++;
+            Long current = counts.get(userId);
+            if (current == null) {
+                return;
+            }
+            updated = Math.max(0, current + delta);
+            counts.put(userId, updated);
+        }
+        try {
+            eventPublisher.publishUnreadCount(userId, updated);
+        } catch (Exception e) {
+            log.warn("Failed to push unread count to user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private static int stripe(Long userId) {
+        return (int) (userId & (STRIPES - 1));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
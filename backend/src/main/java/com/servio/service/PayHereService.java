@@ -33,6 +33,8 @@ public class PayHereService {
 
     private final AppointmentRepository appointmentRepository;
     private final PaymentRepository paymentRepository;
+    private final AppointmentSlotIndex slotIndex;
+    private final KpiRollupService kpiRollupService;
 
     @Value("${payhere.merchant.id}")
     private String merchantId;
@@ -66,8 +68,11 @@ public class PayHereService {
 
         // Reserve the time slot for the payment window — auto-expires after 10 minutes
         // if the user doesn't complete payment (see PaymentExpiryScheduler).
+        String previousStatus = appointment.getStatus();
         appointment.setStatus("PENDING_PAYMENT");
         appointmentRepository.save(appointment);
+        slotIndex.track(appointment);
+        kpiRollupService.recordAppointmentStatus(appointment, previousStatus);
 
         // Resolve customer details from whichever auth path was used
         String fullName  = resolveFullName(appointment);
@@ -156,8 +161,11 @@ public class PayHereService {
         // 3. Act on payment status
         if ("2".equals(statusCode)) {
             // Successful payment — confirm the appointment and record payment
+            String previousStatus = appointment.getStatus();
             appointment.setStatus("CONFIRMED");
             appointmentRepository.save(appointment);
+            slotIndex.track(appointment);
+            kpiRollupService.recordAppointmentStatus(appointment, previousStatus);
 
             Payment payment = Payment.builder()
                     .appointment(appointment)
@@ -170,6 +178,7 @@ public class PayHereService {
                     .paymentDate(LocalDateTime.now())
                     .build();
             paymentRepository.save(payment);
+            kpiRollupService.recordPayment(payment);
             log.info("PayHere payment CONFIRMED — appointmentId={} paymentId={} method={}",
                     appointmentId, paymentId, method);
         } else {
@@ -208,24 +217,16 @@ public class PayHereService {
             throw new SecurityException("Authentication required");
         }
         String principal = authentication.getPrincipal().toString();
-        try {
-            UUID profileId = UUID.fromString(principal);
-            if (appointment.getProfile() == null
-                    || !appointment.getProfile().getId().equals(profileId)) {
-                throw new SecurityException(
-                        "Access denied: appointment does not belong to this user");
-            }
-        } catch (IllegalArgumentException e) {
-            try {
-                Long userId = Long.parseLong(principal);
-                if (appointment.getUser() == null
-                        || !appointment.getUser().getId().equals(userId)) {
-                    throw new SecurityException(
-                            "Access denied: appointment does not belong to this user");
-                }
-            } catch (NumberFormatException nfe) {
-                throw new SecurityException("Invalid principal format: " + principal);
-            }
+        boolean isOwner = switch (PrincipalResolver.kindOf(principal)) {
+            case PROFILE -> appointment.getProfile() != null
+                    && appointment.getProfile().getId().equals(UUID.fromString(principal));
+            case LOCAL_USER -> appointment.getUser() != null
+                    && appointment.getUser().getId().equals(Long.valueOf(principal));
+            default -> throw new SecurityException("Invalid principal format: " + principal);
+        };
+        if (!isOwner) {
+            throw new SecurityException(
+                    "Access denied: appointment does not belong to this user");
         }
     }
 
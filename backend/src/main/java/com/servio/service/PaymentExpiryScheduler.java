@@ -27,6 +27,8 @@ public class PaymentExpiryScheduler {
     private static final int PAYMENT_TIMEOUT_MINUTES = 10;
 
     private final AppointmentRepository appointmentRepository;
+    private final AppointmentSlotIndex slotIndex;
+    private final KpiRollupService kpiRollupService;
 
     @Scheduled(fixedDelay = 60_000) // runs every 60 seconds
     @Transactional
@@ -39,11 +41,15 @@ public class PaymentExpiryScheduler {
         }
 
         for (Appointment a : expired) {
+            String previousStatus = a.getStatus();
             a.setStatus("CANCELLED");
+            kpiRollupService.recordAppointmentStatus(a, previousStatus);
             log.info("Auto-cancelled expired PENDING_PAYMENT appointment id={} createdAt={}",
                     a.getId(), a.getCreatedAt());
         }
         appointmentRepository.saveAll(expired);
+        // Released slots become bookable as soon as this transaction commits
+        expired.forEach(slotIndex::track);
         log.info("Expired {} stale PENDING_PAYMENT appointment(s)", expired.size());
     }
 }
@@ -0,0 +1,225 @@
+package com.servio.service;
+
+import com.servio.entity.Profile;
+import com.servio.entity.User;
+import com.servio.repository.ProfileRepository;
+import com.servio.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Maps an authentication subject to the identity behind it.
+ *
+ * A subject is either a Supabase profile UUID or a numeric backend user id.
+ * It is classified by shape, without exception-driven parsing, and the
+ * linked profile or user (matched by email) is looked up once and cached for
+ * {@value #TTL_MILLIS} ms.  At most {@value #MAX_CACHED_SUBJECTS} subjects are
+ * kept; the least recently used is evicted first.
+ *
+ * Writes to profiles or users must call {@link #invalidate(String)} or
+ * {@link #invalidateEmail(String)}; both take effect after the writing
+ * transaction commits.  Writes made outside this application (e.g. by
+ * Supabase triggers) are picked up when the entry expires.
+ */
+@Service
+public class PrincipalResolver {
+
+    private static final int MAX_CACHED_SUBJECTS = 10_000;
+    private static final long TTL_MILLIS = 60_000;
+
+    public enum Kind { PROFILE, LOCAL_USER, INVALID }
+
+    /**
+     * The resolved identity.  {@code profileId} and {@code userId} are set only
+     * when the row exists: for a profile subject {@code userId} is the backend
+     * user with the same email, and for a user subject {@code profileId} is the
+     * profile with the same email.
+     */
+    public record ResolvedPrincipal(String subject, Kind kind, UUID profileId, Long userId, String email, String role) {
+
+        /** The subject as a profile id, whether or not the profile exists yet. */
+        public UUID subjectProfileId() {
+            return kind == Kind.PROFILE ? UUID.fromString(subject) : null;
+        }
+
+        /** The subject as a backend user id, whether or not the user exists. */
+        public Long subjectUserId() {
+            return kind == Kind.LOCAL_USER ? Long.valueOf(subject) : null;
+        }
+    }
+
+    private final ProfileRepository profileRepository;
+    private final UserRepository userRepository;
+
+    /** Access-ordered, so iteration order is least recently used first.  Guarded by itself. */
+    private final Map<String, Entry> cache = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_CACHED_SUBJECTS;
+        }
+    };
+
+    /** Bumped by every applied invalidation.  Guarded by {@link #cache}. */
+    private long version;
+
+    private final LongSupplier currentTimeMillis;
+
+    @Autowired
+    public PrincipalResolver(ProfileRepository profileRepository, UserRepository userRepository) {
+        this(profileRepository, userRepository, System::currentTimeMillis);
+    }
+
+    /** For tests: reads the time from {@code currentTimeMillis} instead of the system clock. */
+    PrincipalResolver(ProfileRepository profileRepository, UserRepository userRepository, LongSupplier currentTimeMillis) {
+        this.profileRepository = profileRepository;
+        this.userRepository = userRepository;
+        this.currentTimeMillis = currentTimeMillis;
+    }
+
+    public ResolvedPrincipal resolve(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated() || authentication.getPrincipal() == null) {
+            return new ResolvedPrincipal(null, Kind.INVALID, null, null, null, null);
+        }
+        return resolve(authentication.getPrincipal().toString());
+    }
+
+    public ResolvedPrincipal resolve(String subject) {
+        Kind kind = kindOf(subject);
+        if (kind == Kind.INVALID) {
+            return new ResolvedPrincipal(subject, kind, null, null, null, null);
+        }
+
+        long loadVersion;
+        long now = currentTimeMillis.getAsLong();
+        synchronized (cache) {
+            Entry cached = cache.get(subject);
+            if (cached != null && cached.expiresAt() > now) {
+                return cached.principal();
+            }
+            loadVersion = version;
+        }
+
+        ResolvedPrincipal principal = kind == Kind.PROFILE ? loadProfile(subject) : loadUser(subject);
+        synchronized (cache) {
+            // An invalidation that overlapped the load may have made it stale
+            if (version == loadVersion) {
+                cache.put(subject, new Entry(principal, now + TTL_MILLIS));
+            }
+        }
+        return principal;
+    }
+
+    /** Classifies a subject by shape: a canonical UUID, a positive long, or neither. */
+    public static Kind kindOf(String subject) {
+        if (subject == null || subject.isEmpty()) {
+            return Kind.INVALID;
+        }
+        if (isUuid(subject)) {
+            return Kind.PROFILE;
+        }
+        if (subject.length() <= 18 && subject.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            return Kind.LOCAL_USER;
+        }
+        return Kind.INVALID;
+    }
+
+    /** Forgets the subject's identity once the active transaction commits. */
+    public void invalidate(String subject) {
+        if (subject == null) {
+            return;
+        }
+        afterCommit(() -> {
+            synchronized (cache) {
+                version++;
+                cache.remove(subject);
+            }
+        });
+    }
+
+    /**
+     * Forgets every identity with this email once the active transaction
+     * commits, since profiles and users are linked to each other by email.
+     */
+    public void invalidateEmail(String email) {
+        if (email == null) {
+            return;
+        }
+        afterCommit(() -> {
+            synchronized (cache) {
+                version++;
+                cache.values().removeIf(entry -> email.equalsIgnoreCase(entry.principal().email()));
+            }
+        });
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private ResolvedPrincipal loadProfile(String subject) {
+        UUID profileId = UUID.fromString(subject);
+        Profile profile = profileRepository.findById(profileId).orElse(null);
+        if (profile == null) {
+            return new ResolvedPrincipal(subject, Kind.PROFILE, null, null, null, null);
+        }
+        Long userId = null;
+        if (profile.getEmail() != null && !profile.getEmail().isBlank()) {
+            userId = userRepository.findByEmail(profile.getEmail()).map(User::getId).orElse(null);
+        }
+        String role = Boolean.TRUE.equals(profile.getIsAdmin()) ? "ADMIN"
+                : profile.getRole() != null ? profile.getRole() : "USER";
+        return new ResolvedPrincipal(subject, Kind.PROFILE, profileId, userId, profile.getEmail(), role);
+    }
+
+    private ResolvedPrincipal loadUser(String subject) {
+        User user = userRepository.findById(Long.valueOf(subject)).orElse(null);
+        if (user == null) {
+            return new ResolvedPrincipal(subject, Kind.LOCAL_USER, null, null, null, null);
+        }
+        UUID profileId = null;
+        if (user.getEmail() != null && !user.getEmail().isBlank()) {
+            profileId = profileRepository.findByEmail(user.getEmail()).map(Profile::getId).orElse(null);
+        }
+        return new ResolvedPrincipal(subject, Kind.LOCAL_USER, profileId, user.getId(), user.getEmail(),
+                user.getRole() != null ? user.getRole().name() : "USER");
+    }
+
+    /** 8-4-4-4-12 hex digits, the only form Supabase issues. */
+    private static boolean isUuid(String s) {
+        if (s.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = s.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (!((c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F'))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Entry(ResolvedPrincipal principal, long expiresAt) {}
+}
@@ -14,6 +14,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ServiceBayService {
     private final ServiceBayRepository serviceBayRepository;
+    private final WorkshopSchedulingService workshopSchedulingService;
+    private final WorkshopBoardService workshopBoardService;
 
     public ServiceBayDto createServiceBay(ServiceBayDto dto) {
         ServiceBay bay = ServiceBay.builder()
@@ -25,7 +27,9 @@ public class ServiceBayService {
                 .isActive(true)
                 .build();
 
-        ServiceBay saved = serviceBayRepository.save(bay);
+        ServiceBay saved = serviceBayRepository.saveAndFlush(bay);
+        workshopSchedulingService.invalidate();
+        workshopBoardService.baySaved(saved);
         return convertToDto(saved);
     }
 
@@ -66,19 +70,25 @@ public class ServiceBayService {
             bay.setIsActive(dto.getIsActive());
         }
 
-        ServiceBay updated = serviceBayRepository.save(bay);
+        ServiceBay updated = serviceBayRepository.saveAndFlush(bay);
+        workshopSchedulingService.invalidate();
+        workshopBoardService.baySaved(updated);
         return convertToDto(updated);
     }
 
     public void deleteServiceBay(Long id) {
         serviceBayRepository.deleteById(id);
+        workshopSchedulingService.invalidate();
+        workshopBoardService.bayRemoved(id);
     }
 
     public void updateServiceBayStatus(Long id, String status) {
         ServiceBay bay = serviceBayRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Service bay not found"));
         bay.setStatus(ServiceBayStatus.valueOf(status));
-        serviceBayRepository.save(bay);
+        ServiceBay updated = serviceBayRepository.saveAndFlush(bay);
+        workshopSchedulingService.invalidate();
+        workshopBoardService.baySaved(updated);
     }
 
     private ServiceBayDto convertToDto(ServiceBay bay) {
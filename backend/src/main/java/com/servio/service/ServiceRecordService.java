@@ -18,6 +18,7 @@ import java.util.stream.Collectors;
 public class ServiceRecordService {
     private final ServiceRecordRepository serviceRecordRepository;
     private final VehicleRepository vehicleRepository;
+    private final VehicleStatsService vehicleStatsService;
 
     @Transactional
     public ServiceRecordDto createServiceRecord(ServiceRecordRequest request) {
@@ -34,6 +35,7 @@ public class ServiceRecordService {
                 .build();
 
         ServiceRecord saved = serviceRecordRepository.save(record);
+        vehicleStatsService.recordCreated(saved);
         return toDto(saved);
     }
 
@@ -64,16 +66,20 @@ public class ServiceRecordService {
             record.setCost(request.getCost());
         }
 
-        ServiceRecord updated = serviceRecordRepository.save(record);
+        // Flush so the stats recompute sees the new values
+        ServiceRecord updated = serviceRecordRepository.saveAndFlush(record);
+        vehicleStatsService.recordChanged(updated.getVehicle().getId());
         return toDto(updated);
     }
 
     @Transactional
     public void deleteServiceRecord(Long id) {
-        if (!serviceRecordRepository.existsById(id)) {
-            throw new RuntimeException("Service record not found with id: " + id);
-        }
-        serviceRecordRepository.deleteById(id);
+        ServiceRecord record = serviceRecordRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Service record not found with id: " + id));
+        Long vehicleId = record.getVehicle().getId();
+        serviceRecordRepository.delete(record);
+        serviceRecordRepository.flush();
+        vehicleStatsService.recordChanged(vehicleId);
     }
 
     private ServiceRecordDto toDto(ServiceRecord record) {
@@ -0,0 +1,537 @@
+package com.servio.service;
+
+import com.servio.dto.EstimateAccuracyDto;
+import com.servio.dto.MechanicUtilizationDto;
+import com.servio.dto.TaskTimeEventRequest;
+import com.servio.entity.TimeEventType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Records mechanics' clock events on job tasks and keeps the labour totals
+ * derived from them: {@code job_tasks.actual_hours},
+ * {@code job_cards.actual_hours}, {@code repair_jobs.actual_duration_hours}
+ * and the per-day {@code mechanic_daily_labour} used for utilization.
+ *
+ * Tablets post events in bursts (shift start, lunch), so {@link #submit}
+ * only validates and queues them.  A single writer drains the queue and
+ * writes everything queued so far in one transaction: one batched insert
+ * for the events, then batched updates for the clocks and totals.  The
+ * returned future completes once that transaction has committed, so an
+ * acknowledged event is durable.  A full queue fails fast and the tablet
+ * retries.
+ *
+ * Totals are incremental.  Each (task, mechanic) pair has a clock row
+ * holding the open interval, if any; CLOCK_IN/RESUME open it and
+ * PAUSE/CLOCK_OUT close it and add its length to every total.  History is
+ * never rescanned.  Events are applied in arrival order; a close stamped
+ * before its open adds nothing.  An interval counts only up to
+ * {@code workshop.day-end} on the day it opened (midnight for one opened
+ * after closing) and for at most {@value #MAX_INTERVAL_HOURS} hours, so a
+ * forgotten clock-out cannot book a night's work.  Intervals cut short are
+ * logged for review.
+ *
+ * Every backend instance runs its own writer, and the clocks are read,
+ * advanced in memory and written back whole while the totals only grow, so
+ * two writers folding events for one task at once could both close the same
+ * interval and book it twice.  Each batch therefore first takes a
+ * transaction-scoped advisory lock per task, in task id order, and reads the
+ * clocks only once it holds them.
+ */
+@Service
+@Slf4j
+public class TaskTimeTrackingService {
+
+    private static final long MAX_CLOCK_SKEW_MINUTES = 5;
+    private static final long MAX_INTERVAL_HOURS = 12;
+
+    /** The scheduler scales estimates only once this many tasks were timed in the window. */
+    private static final long FACTOR_MIN_TASKS = 20;
+    private static final int FACTOR_WINDOW_DAYS = 30;
+    private static final long FACTOR_TTL_MINUTES = 15;
+    private static final double FACTOR_MIN = 0.5;
+    private static final double FACTOR_MAX = 2.0;
+
+    private static final String INSERT_EVENT_SQL =
+            "INSERT INTO job_task_time_events (task_id, job_card_id, mechanic_id, event_type, occurred_at, recorded_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    /** Advisory lock namespace for tasks' clocks; keys are task ids folded to an int. */
+    private static final int CLOCK_LOCK_SPACE = 0x71C4;
+
+    /** Locks in key order, so two writers locking overlapping tasks cannot deadlock. */
+    private static final String LOCK_CLOCKS_SQL =
+            "SELECT pg_advisory_xact_lock(" + CLOCK_LOCK_SPACE + ", k) "
+                    + "FROM (SELECT DISTINCT k FROM unnest(ARRAY[:keys]) AS k ORDER BY k) keys";
+
+    private static final String LOAD_CLOCKS_SQL =
+            "SELECT task_id, mechanic_id, open_since, worked_seconds FROM job_task_clocks WHERE task_id IN (:taskIds)";
+
+    private static final String UPSERT_CLOCK_SQL =
+            "INSERT INTO job_task_clocks (task_id, mechanic_id, open_since, worked_seconds, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?) "
+                    + "ON CONFLICT (task_id, mechanic_id) DO UPDATE SET "
+                    + "open_since = EXCLUDED.open_since, worked_seconds = EXCLUDED.worked_seconds, "
+                    + "updated_at = EXCLUDED.updated_at";
+
+    private static final String ADD_TASK_HOURS_SQL =
+            "UPDATE job_tasks SET actual_hours = COALESCE(actual_hours, 0) + ? WHERE id = ?";
+
+    private static final String ADD_JOB_CARD_HOURS_SQL =
+            "UPDATE job_cards SET actual_hours = COALESCE(actual_hours, 0) + ? WHERE id = ?";
+
+    private static final String ADD_LABOUR_SQL =
+            "INSERT INTO mechanic_daily_labour (mechanic_id, day, worked_seconds) VALUES (?, ?, ?) "
+                    + "ON CONFLICT (mechanic_id, day) DO UPDATE SET "
+                    + "worked_seconds = mechanic_daily_labour.worked_seconds + EXCLUDED.worked_seconds";
+
+    /** Repair jobs share the appointment with their job cards. */
+    private static final String REFRESH_REPAIR_HOURS_SQL =
+            "UPDATE repair_jobs r SET actual_duration_hours = ("
+                    + "SELECT ROUND(SUM(COALESCE(j.actual_hours, 0))) FROM job_cards j WHERE j.appointment_id = r.appointment_id) "
+                    + "WHERE r.appointment_id IN (SELECT appointment_id FROM job_cards WHERE id IN (:jobCardIds))";
+
+    private static final String UTILIZATION_SQL =
+            "SELECT m.id, m.full_name, COALESCE(SUM(l.worked_seconds), 0) AS worked_seconds "
+                    + "FROM mechanics m LEFT JOIN mechanic_daily_labour l "
+                    + "ON l.mechanic_id = m.id AND l.day BETWEEN ? AND ? "
+                    + "WHERE m.is_active = TRUE "
+                    + "GROUP BY m.id, m.full_name ORDER BY m.full_name";
+
+    private static final String ACCURACY_SQL =
+            "SELECT COUNT(*) AS tasks, COALESCE(SUM(estimated_hours), 0) AS estimated, "
+                    + "COALESCE(SUM(actual_hours), 0) AS actual, "
+                    + "AVG(ABS(actual_hours - estimated_hours) / estimated_hours) AS mape "
+                    + "FROM job_tasks WHERE status = 'COMPLETED' "
+                    + "AND estimated_hours > 0 AND actual_hours > 0 "
+                    + "AND completed_at >= :from AND completed_at < :to "
+                    + "AND (CAST(:mechanicId AS BIGINT) IS NULL OR assigned_mechanic_id = :mechanicId)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final ThreadPoolTaskExecutor writerExecutor;
+    private final BlockingQueue<Submission> queue;
+    private final int batchSize;
+
+    @Value("${workshop.day-start:08:00}")
+    private String dayStart;
+
+    @Value("${workshop.day-end:18:00}")
+    private String dayEnd;
+
+    private volatile boolean stopped;
+
+    // Guarded by this
+    private double estimateFactor = 1.0;
+    private LocalDateTime estimateFactorAt;
+
+    public TaskTimeTrackingService(JdbcTemplate jdbcTemplate,
+                                   NamedParameterJdbcTemplate namedJdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   @Qualifier("timeEventWriterExecutor") ThreadPoolTaskExecutor writerExecutor,
+                                   @Value("${labour.events.queue:2000}") int queueCapacity,
+                                   @Value("${labour.events.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.writerExecutor = writerExecutor;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWriter() {
+        writerExecutor.execute(this::drainQueue);
+    }
+
+    @PreDestroy
+    public void stopWriter() {
+        // The writer flushes what is queued and exits; the executor waits for it
+        stopped = true;
+    }
+
+    // ── Ingestion ────────────────────────────────────────────────────────────
+
+    /**
+     * Queues a tablet's events.  The future yields the number of events
+     * recorded, or fails with IllegalArgumentException for an unknown task or
+     * mechanic (nothing from the request is recorded) and
+     * IllegalStateException when the queue is full or the write failed.
+     */
+    public CompletableFuture<Integer> submit(List<TaskTimeEventRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("No time events given");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Event> events = new ArrayList<>(requests.size());
+        for (TaskTimeEventRequest request : requests) {
+            events.add(toEvent(request, now));
+        }
+        Submission submission = new Submission(events, new CompletableFuture<>());
+        if (stopped || !queue.offer(submission)) {
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("Time tracking is busy, please retry shortly"));
+        }
+        return submission.result();
+    }
+
+    // ── Reads ────────────────────────────────────────────────────────────────
+
+    /** Clocked hours of each active mechanic against the opening hours of the period. */
+    public List<MechanicUtilizationDto> getUtilization(LocalDate from, LocalDate to) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days <= 0) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        double availableHours = days * openHoursPerDay();
+        return jdbcTemplate.query(UTILIZATION_SQL, (rs, rowNum) -> {
+            double worked = rs.getLong("worked_seconds") / 3600.0;
+            return MechanicUtilizationDto.builder()
+                    .mechanicId(rs.getLong("id"))
+                    .mechanicName(rs.getString("full_name"))
+                    .workedHours(round(worked))
+                    .availableHours(round(availableHours))
+                    .utilization(availableHours > 0 ? round(worked / availableHours) : null)
+                    .build();
+        }, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /** Logged against estimated hours for tasks completed in the period, optionally for one mechanic. */
+    public EstimateAccuracyDto getEstimateAccuracy(LocalDate from, LocalDate to, Long mechanicId) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", Timestamp.valueOf(from.atStartOfDay()))
+                .addValue("to", Timestamp.valueOf(to.plusDays(1).atStartOfDay()))
+                .addValue("mechanicId", mechanicId, Types.BIGINT);
+        return namedJdbcTemplate.queryForObject(ACCURACY_SQL, params, (rs, rowNum) -> {
+            double estimated = rs.getDouble("estimated");
+            double actual = rs.getDouble("actual");
+            double mape = rs.getDouble("mape");
+            boolean noMape = rs.wasNull();
+            return EstimateAccuracyDto.builder()
+                    .from(from)
+                    .to(to)
+                    .mechanicId(mechanicId)
+                    .completedTasks(rs.getLong("tasks"))
+                    .estimatedHours(round(estimated))
+                    .actualHours(round(actual))
+                    .actualToEstimateRatio(estimated > 0 ? round(actual / estimated) : null)
+                    .meanAbsolutePercentageError(noMape ? null : round(mape))
+                    .build();
+        });
+    }
+
+    /**
+     * How much longer (above 1) or shorter than estimated timed tasks have
+     * taken over the last {@value #FACTOR_WINDOW_DAYS} days, for the workshop
+     * scheduler to scale estimates by.  1.0 until enough tasks were timed;
+     * clamped to [{@value #FACTOR_MIN}, {@value #FACTOR_MAX}] and cached for
+     * {@value #FACTOR_TTL_MINUTES} minutes.
+     */
+    public synchronized double estimateFactor() {
+        LocalDateTime now = LocalDateTime.now();
+        if (estimateFactorAt == null || estimateFactorAt.plusMinutes(FACTOR_TTL_MINUTES).isBefore(now)) {
+            estimateFactorAt = now;
+            try {
+                EstimateAccuracyDto accuracy = getEstimateAccuracy(
+                        now.toLocalDate().minusDays(FACTOR_WINDOW_DAYS), now.toLocalDate(), null);
+                estimateFactor = accuracy.getCompletedTasks() >= FACTOR_MIN_TASKS
+                        && accuracy.getActualToEstimateRatio() != null
+                        ? Math.max(FACTOR_MIN, Math.min(FACTOR_MAX, accuracy.getActualToEstimateRatio()))
+                        : 1.0;
+            } catch (RuntimeException e) {
+                log.warn("Could not compute the labour estimate factor, keeping {}: {}", estimateFactor, e.getMessage());
+            }
+        }
+        return estimateFactor;
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private Event toEvent(TaskTimeEventRequest request, LocalDateTime now) {
+        if (request.getTaskId() == null || request.getMechanicId() == null || request.getType() == null) {
+            throw new IllegalArgumentException("Each time event needs a taskId, mechanicId and type");
+        }
+        TimeEventType type;
+        try {
+            type = TimeEventType.valueOf(request.getType().trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown time event type: " + request.getType());
+        }
+        LocalDateTime occurredAt = request.getOccurredAt() != null ? request.getOccurredAt() : now;
+        if (occurredAt.isAfter(now.plusMinutes(MAX_CLOCK_SKEW_MINUTES))) {
+            throw new IllegalArgumentException("Time event is in the future: " + occurredAt);
+        }
+        return new Event(request.getTaskId(), request.getMechanicId(), type, occurredAt);
+    }
+
+    /** The writer loop: takes whatever is queued, up to about {@code batchSize} events, per transaction. */
+    private void drainQueue() {
+        List<Submission> batch = new ArrayList<>();
+        while (!stopped || !queue.isEmpty()) {
+            Submission first;
+            try {
+                first = queue.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            int events = first.events().size();
+            Submission next;
+            while (events < batchSize && (next = queue.poll()) != null) {
+                batch.add(next);
+                events += next.events().size();
+            }
+            write(batch);
+            batch.clear();
+        }
+        Submission left;
+        while ((left = queue.poll()) != null) {
+            left.result().completeExceptionally(new IllegalStateException("Time tracking is shutting down"));
+        }
+    }
+
+    private void write(List<Submission> batch) {
+        long started = System.nanoTime();
+        Map<Submission, String> rejected;
+        try {
+            rejected = transaction.execute(status -> apply(batch));
+        } catch (RuntimeException e) {
+            log.error("Failed to record {} time event request(s)", batch.size(), e);
+            batch.forEach(submission -> submission.result().completeExceptionally(
+                    new IllegalStateException("Could not record time events, please retry")));
+            return;
+        }
+        int recorded = 0;
+        for (Submission submission : batch) {
+            String reason = rejected.get(submission);
+            if (reason != null) {
+                submission.result().completeExceptionally(new IllegalArgumentException(reason));
+            } else {
+                recorded += submission.events().size();
+                submission.result().complete(submission.events().size());
+            }
+        }
+        log.debug("Recorded {} time event(s) from {} request(s) in {} ms",
+                recorded, batch.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /** Runs in the writer's transaction; returns the requests rejected for unknown ids. */
+    private Map<Submission, String> apply(List<Submission> batch) {
+        Set<Long> taskIds = new HashSet<>();
+        Set<Long> mechanicIds = new HashSet<>();
+        for (Submission submission : batch) {
+            for (Event event : submission.events()) {
+                taskIds.add(event.taskId());
+                mechanicIds.add(event.mechanicId());
+            }
+        }
+        Map<Long, Long> jobCardByTask = new HashMap<>();
+        namedJdbcTemplate.query("SELECT id, job_card_id FROM job_tasks WHERE id IN (:ids)",
+                Map.of("ids", taskIds), rs -> {
+                    jobCardByTask.put(rs.getLong("id"), rs.getLong("job_card_id"));
+                });
+        Set<Long> knownMechanics = new HashSet<>(namedJdbcTemplate.queryForList(
+                "SELECT id FROM mechanics WHERE id IN (:ids)", Map.of("ids", mechanicIds), Long.class));
+
+        Map<Submission, String> rejected = new IdentityHashMap<>();
+        List<Event> accepted = new ArrayList<>();
+        for (Submission submission : batch) {
+            String reason = null;
+            for (Event event : submission.events()) {
+                if (!jobCardByTask.containsKey(event.taskId())) {
+                    reason = "Job task not found: " + event.taskId();
+                } else if (!knownMechanics.contains(event.mechanicId())) {
+                    reason = "Mechanic not found: " + event.mechanicId();
+                }
+                if (reason != null) {
+                    break;
+                }
+            }
+            if (reason != null) {
+                rejected.put(submission, reason);
+            } else {
+                accepted.addAll(submission.events());
+            }
+        }
+        if (accepted.isEmpty()) {
+            return rejected;
+        }
+
+        Map<ClockKey, Clock> clocks = loadClocks(jobCardByTask.keySet());
+        Map<ClockKey, Clock> changedClocks = new LinkedHashMap<>();
+        Map<Long, Long> taskSeconds = new HashMap<>();
+        Map<Long, Long> jobCardSeconds = new HashMap<>();
+        Map<LabourKey, Long> labourSeconds = new HashMap<>();
+        for (Event event : accepted) {
+            ClockKey key = new ClockKey(event.taskId(), event.mechanicId());
+            Clock clock = clocks.computeIfAbsent(key, k -> new Clock());
+            LocalDateTime openSince = clock.openSince;
+            long seconds = advance(clock, event.type(), event.occurredAt());
+            if (seconds > 0) {
+                taskSeconds.merge(event.taskId(), seconds, Long::sum);
+                jobCardSeconds.merge(jobCardByTask.get(event.taskId()), seconds, Long::sum);
+                labourSeconds.merge(new LabourKey(event.mechanicId(), openSince.toLocalDate()), seconds, Long::sum);
+            }
+            if (openSince != null && clock.openSince == null
+                    && seconds < Duration.between(openSince, event.occurredAt()).getSeconds()) {
+                log.warn("Clock for task {} and mechanic {} open since {} closed at {}; booked {} h, please review",
+                        event.taskId(), event.mechanicId(), openSince, event.occurredAt(), round(seconds / 3600.0));
+            }
+            changedClocks.put(key, clock);
+        }
+
+        Timestamp recordedAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_EVENT_SQL, accepted, accepted.size(), (ps, event) -> {
+            ps.setLong(1, event.taskId());
+            ps.setLong(2, jobCardByTask.get(event.taskId()));
+            ps.setLong(3, event.mechanicId());
+            ps.setString(4, event.type().name());
+            ps.setTimestamp(5, Timestamp.valueOf(event.occurredAt()));
+            ps.setTimestamp(6, recordedAt);
+        });
+        List<Map.Entry<ClockKey, Clock>> clockRows = new ArrayList<>(changedClocks.entrySet());
+        jdbcTemplate.batchUpdate(UPSERT_CLOCK_SQL, clockRows, clockRows.size(), (ps, row) -> {
+            ps.setLong(1, row.getKey().taskId());
+            ps.setLong(2, row.getKey().mechanicId());
+            ps.setTimestamp(3, row.getValue().openSince != null ? Timestamp.valueOf(row.getValue().openSince) : null);
+            ps.setLong(4, row.getValue().workedSeconds);
+            ps.setTimestamp(5, recordedAt);
+        });
+        if (!taskSeconds.isEmpty()) {
+            addHours(ADD_TASK_HOURS_SQL, taskSeconds);
+            addHours(ADD_JOB_CARD_HOURS_SQL, jobCardSeconds);
+            List<Map.Entry<LabourKey, Long>> labourRows = new ArrayList<>(labourSeconds.entrySet());
+            jdbcTemplate.batchUpdate(ADD_LABOUR_SQL, labourRows, labourRows.size(), (ps, row) -> {
+                ps.setLong(1, row.getKey().mechanicId());
+                ps.setDate(2, Date.valueOf(row.getKey().day()));
+                ps.setLong(3, row.getValue());
+            });
+            namedJdbcTemplate.update(REFRESH_REPAIR_HOURS_SQL, Map.of("jobCardIds", jobCardSeconds.keySet()));
+        }
+        return rejected;
+    }
+
+    /**
+     * Applies one event to its clock and returns the seconds of work it
+     * closes.  Package-private for tests.
+     */
+    long advance(Clock clock, TimeEventType type, LocalDateTime occurredAt) {
+        if (type.startsWork()) {
+            if (clock.openSince == null) {
+                clock.openSince = occurredAt;
+            }
+            return 0;
+        }
+        if (clock.openSince == null) {
+            return 0;
+        }
+        LocalDateTime cutoff = closingTime(clock.openSince);
+        LocalDateTime closedAt = occurredAt.isAfter(cutoff) ? cutoff : occurredAt;
+        long seconds = Math.max(0, Duration.between(clock.openSince, closedAt).getSeconds());
+        clock.workedSeconds += seconds;
+        clock.openSince = null;
+        return seconds;
+    }
+
+    /** When an interval opened at {@code openSince} stops counting. */
+    private LocalDateTime closingTime(LocalDateTime openSince) {
+        LocalDateTime closing = openSince.toLocalDate().atTime(LocalTime.parse(dayEnd));
+        if (!openSince.isBefore(closing)) {
+            // Work started after closing counts until midnight
+            closing = openSince.toLocalDate().plusDays(1).atStartOfDay();
+        }
+        LocalDateTime cap = openSince.plusHours(MAX_INTERVAL_HOURS);
+        return closing.isBefore(cap) ? closing : cap;
+    }
+
+    /** Locks the tasks' clocks until the writer's transaction ends, then reads them. */
+    private Map<ClockKey, Clock> loadClocks(Set<Long> taskIds) {
+        List<Integer> keys = taskIds.stream().map(id -> Long.hashCode(id)).collect(Collectors.toList());
+        namedJdbcTemplate.query(LOCK_CLOCKS_SQL, Map.of("keys", keys), (RowCallbackHandler) rs -> { });
+        Map<ClockKey, Clock> clocks = new HashMap<>();
+        namedJdbcTemplate.query(LOAD_CLOCKS_SQL, Map.of("taskIds", taskIds), rs -> {
+            Clock clock = new Clock();
+            Timestamp openSince = rs.getTimestamp("open_since");
+            clock.openSince = openSince != null ? openSince.toLocalDateTime() : null;
+            clock.workedSeconds = rs.getLong("worked_seconds");
+            clocks.put(new ClockKey(rs.getLong("task_id"), rs.getLong("mechanic_id")), clock);
+        });
+        return clocks;
+    }
+
+    private void addHours(String sql, Map<Long, Long> secondsById) {
+        List<Map.Entry<Long, Long>> rows = new ArrayList<>(secondsById.entrySet());
+        jdbcTemplate.batchUpdate(sql, rows, rows.size(), (ps, row) -> {
+            ps.setDouble(1, row.getValue() / 3600.0);
+            ps.setLong(2, row.getKey());
+        });
+    }
+
+    private double openHoursPerDay() {
+        return Duration.between(LocalTime.parse(dayStart), LocalTime.parse(dayEnd)).toMinutes() / 60.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private record Event(Long taskId, Long mechanicId, TimeEventType type, LocalDateTime occurredAt) {
+    }
+
+    private record Submission(List<Event> events, CompletableFuture<Integer> result) {
+    }
+
+    private record ClockKey(long taskId, long mechanicId) {
+    }
+
+    private record LabourKey(long mechanicId, LocalDate day) {
+    }
+
+    /** A clock row as the writer sees it during one batch.  Package-private for tests. */
+    static final class Clock {
+        LocalDateTime openSince;
+        long workedSeconds;
+    }
+}
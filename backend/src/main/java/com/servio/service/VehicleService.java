@@ -5,11 +5,9 @@ import com.servio.dto.VehicleDto;
 import com.servio.dto.VehicleRequest;
 import com.servio.dto.VehicleStatsDto;
 import com.servio.entity.Profile;
-import com.servio.entity.User;
 import com.servio.entity.Vehicle;
 import com.servio.entity.ServiceRecord;
 import com.servio.repository.ProfileRepository;
-import com.servio.repository.UserRepository;
 import com.servio.repository.VehicleRepository;
 import com.servio.repository.ServiceRecordRepository;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +16,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -27,35 +26,17 @@ import java.util.stream.Collectors;
 public class VehicleService {
 
     private final VehicleRepository vehicleRepository;
-    private final UserRepository userRepository;
     private final ServiceRecordRepository serviceRecordRepository;
     private final ProfileRepository profileRepository;
+    private final PrincipalResolver principalResolver;
+    private final VehicleStatsService vehicleStatsService;
 
     /**
-     * Resolves the Profile for the authenticated principal.
-     * The principal may be a UUID (Supabase profile id) or a numeric backend user id.
-     * When it's a numeric id, we look up the backend User, then find the Profile by email.
+     * Resolves the profile id for a principal: a UUID (Supabase profile id) or a
+     * numeric backend user id, whose profile is the one with the user's email.
      */
-    private Profile resolveProfile(String principalId) {
-        // Try UUID first (Supabase profile id)
-        try {
-            UUID profileId = UUID.fromString(principalId);
-            return profileRepository.findById(profileId).orElse(null);
-        } catch (IllegalArgumentException ignored) {
-            // Not a UUID — try as numeric backend user id
-        }
-
-        try {
-            Long userId = Long.parseLong(principalId);
-            User user = userRepository.findById(userId).orElse(null);
-            if (user != null && user.getEmail() != null) {
-                return profileRepository.findByEmail(user.getEmail()).orElse(null);
-            }
-        } catch (NumberFormatException ignored) {
-            // Not a valid number either
-        }
-
-        return null;
+    private UUID resolveProfileId(String principalId) {
+        return principalResolver.resolve(principalId).profileId();
     }
 
     /**
@@ -66,12 +47,11 @@ public class VehicleService {
         if (authentication == null || !authentication.isAuthenticated()) {
             return List.of();
         }
-        String principalId = authentication.getPrincipal().toString();
-        Profile profile = resolveProfile(principalId);
-        if (profile == null) {
+        UUID profileId = resolveProfileId(authentication.getPrincipal().toString());
+        if (profileId == null) {
             return List.of();
         }
-        return vehicleRepository.findByProfileId(profile.getId()).stream()
+        return vehicleRepository.findByProfileId(profileId).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
@@ -82,11 +62,12 @@ public class VehicleService {
     @Transactional
     public VehicleDto createMyVehicle(VehicleRequest request, Authentication authentication) {
         String principalId = authentication.getPrincipal().toString();
-        Profile profile = resolveProfile(principalId);
+        UUID profileId = resolveProfileId(principalId);
 
-        if (profile == null) {
+        if (profileId == null) {
             throw new RuntimeException("Profile not found for authenticated user: " + principalId);
         }
+        Profile profile = profileRepository.getReferenceById(profileId);
 
         Vehicle vehicle = Vehicle.builder()
                 .profile(profile)
@@ -106,7 +87,10 @@ public class VehicleService {
         Profile profile = null;
         if (request.getUserId() != null) {
             // Try as UUID profile id first, then as numeric user id
-            profile = resolveProfile(String.valueOf(request.getUserId()));
+            UUID profileId = resolveProfileId(String.valueOf(request.getUserId()));
+            if (profileId != null) {
+                profile = profileRepository.getReferenceById(profileId);
+            }
         }
 
         Vehicle vehicle = Vehicle.builder()
@@ -130,16 +114,13 @@ public class VehicleService {
 
     public List<VehicleDto> getVehiclesByUserId(Long userId) {
         // Legacy method — resolve profile from user id, then find vehicles
-        User user = userRepository.findById(userId).orElse(null);
-        if (user != null && user.getEmail() != null) {
-            Profile profile = profileRepository.findByEmail(user.getEmail()).orElse(null);
-            if (profile != null) {
-                return vehicleRepository.findByProfileId(profile.getId()).stream()
-                        .map(this::convertToDto)
-                        .collect(Collectors.toList());
-            }
+        UUID profileId = resolveProfileId(String.valueOf(userId));
+        if (profileId == null) {
+            return List.of();
         }
-        return List.of();
+        return vehicleRepository.findByProfileId(profileId).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
     }
 
     public VehicleDto getVehicleById(Long id) {
@@ -158,29 +139,16 @@ public class VehicleService {
         Vehicle vehicle = vehicleRepository.findById(vehicleId)
                 .orElseThrow(() -> new RuntimeException("Vehicle not found with id: " + vehicleId));
 
-        List<ServiceRecord> records = serviceRecordRepository.findAll().stream()
-                .filter(r -> r.getVehicle().getId().equals(vehicleId))
-                .collect(Collectors.toList());
-
-        Long totalServices = (long) records.size();
-
-        BigDecimal totalCost = records.stream()
-                .filter(r -> r.getCost() != null)
-                .map(ServiceRecord::getCost)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        Integer lastMileage = records.stream()
-                .filter(r -> r.getMileage() != null)
-                .map(ServiceRecord::getMileage)
-                .max(Integer::compareTo)
-                .orElse(null);
+        Object[] totals = serviceRecordRepository.aggregateByVehicleId(vehicleId).get(0);
 
         return VehicleStatsDto.builder()
                 .vehicleId(vehicleId)
                 .vehicleInfo(vehicle.getMake() + " " + vehicle.getModel() + " " + vehicle.getYear())
-                .totalServices(totalServices)
-                .totalCost(totalCost)
-                .lastMileage(lastMileage)
+                .totalServices((Long) totals[0])
+                .totalCost(totals[1] != null ? (BigDecimal) totals[1] : BigDecimal.ZERO)
+                .lastMileage((Integer) totals[2])
+                .lastServiceDate((LocalDate) totals[3])
+                .servicesPerYear(vehicleStatsService.getYearStats(vehicleId))
                 .build();
     }
 
@@ -0,0 +1,142 @@
+package com.servio.service;
+
+import com.servio.dto.VehicleServiceYearDto;
+import com.servio.entity.ServiceRecord;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.util.List;
+
+/**
+ * Maintains the vehicle_service_year_stats table: per vehicle and calendar
+ * year, the number of services, their total cost, the highest mileage and the
+ * latest service date.
+ *
+ * Service record writes call the {@code record*} methods inside their own
+ * transaction.  A new record is added with one upsert; an edited or deleted
+ * record recomputes that vehicle's rows from its service records, since a
+ * maximum cannot be decremented.  Both first lock the vehicle row, so
+ * concurrent writes for one vehicle apply in order.  The lock is
+ * {@code FOR NO KEY UPDATE}: the service record insert already holds the
+ * foreign key's {@code FOR KEY SHARE} on that row, which a plain
+ * {@code FOR UPDATE} would conflict with, deadlocking two concurrent creates.
+ * A nightly rebuild corrects any drift, e.g. from vehicles deleted with their
+ * records.  It does not lock the vehicles, so a record created while it runs
+ * may be upserted between its DELETE and INSERT; the rebuild then overwrites
+ * that row rather than failing on the unique key, and a record committed
+ * after the rebuild's snapshot is picked up by the next one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VehicleStatsService {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO vehicle_service_year_stats "
+                    + "(vehicle_id, year, service_count, total_cost, max_mileage, last_service_date) "
+                    + "VALUES (?, ?, 1, ?, ?, ?) "
+                    + "ON CONFLICT (vehicle_id, year) DO UPDATE SET "
+                    + "service_count = vehicle_service_year_stats.service_count + 1, "
+                    + "total_cost = vehicle_service_year_stats.total_cost + EXCLUDED.total_cost, "
+                    + "max_mileage = GREATEST(vehicle_service_year_stats.max_mileage, EXCLUDED.max_mileage), "
+                    + "last_service_date = GREATEST(vehicle_service_year_stats.last_service_date, EXCLUDED.last_service_date)";
+
+    private static final String REBUILD_SQL =
+            "INSERT INTO vehicle_service_year_stats "
+                    + "(vehicle_id, year, service_count, total_cost, max_mileage, last_service_date) "
+                    + "SELECT vehicle_id, CAST(EXTRACT(YEAR FROM service_date) AS INTEGER), COUNT(*), "
+                    + "COALESCE(SUM(cost), 0), MAX(mileage), MAX(service_date) "
+                    + "FROM service_records ";
+
+    /**
+     * The rebuild overwrites instead of inserting, because a concurrent
+     * upsert may create a row after the DELETE and before the INSERT.
+     */
+    private static final String REBUILD_CONFLICT_SQL =
+            " ON CONFLICT (vehicle_id, year) DO UPDATE SET "
+                    + "service_count = EXCLUDED.service_count, total_cost = EXCLUDED.total_cost, "
+                    + "max_mileage = EXCLUDED.max_mileage, last_service_date = EXCLUDED.last_service_date";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // ── Incremental updates ──────────────────────────────────────────────────
+
+    /** Adds a newly inserted record to its vehicle's year. */
+    public void recordCreated(ServiceRecord record) {
+        Long vehicleId = record.getVehicle().getId();
+        lockVehicle(vehicleId);
+        jdbcTemplate.update(UPSERT_SQL,
+                vehicleId,
+                record.getServiceDate().getYear(),
+                record.getCost() != null ? record.getCost() : BigDecimal.ZERO,
+                record.getMileage(),
+                Date.valueOf(record.getServiceDate()));
+    }
+
+    /**
+     * Recomputes the vehicle's rows after one of its records was edited or
+     * deleted.  The change must already be flushed to the database.
+     */
+    public void recordChanged(Long vehicleId) {
+        lockVehicle(vehicleId);
+        jdbcTemplate.update("DELETE FROM vehicle_service_year_stats WHERE vehicle_id = ?", vehicleId);
+        jdbcTemplate.update(REBUILD_SQL + "WHERE vehicle_id = ? GROUP BY 1, 2" + REBUILD_CONFLICT_SQL, vehicleId);
+    }
+
+    // ── Reconciliation ───────────────────────────────────────────────────────
+
+    /** Seeds the stats from service_records the first time the backend starts against them. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void seedIfEmpty() {
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT 1 FROM vehicle_service_year_stats LIMIT 1) s", Integer.class);
+        if (rows == null || rows == 0) {
+            rebuildAll();
+            log.info("Vehicle service stats seeded from service records");
+        }
+    }
+
+    /** Nightly full rebuild — corrects any drift from missed or out-of-band writes. */
+    @Scheduled(cron = "0 45 2 * * *")
+    @Transactional
+    public void reconcileAll() {
+        rebuildAll();
+        log.info("Vehicle service stats rebuilt from service records");
+    }
+
+    // ── Reads ────────────────────────────────────────────────────────────────
+
+    /** The vehicle's per-year totals, oldest year first. */
+    @Transactional(readOnly = true)
+    public List<VehicleServiceYearDto> getYearStats(Long vehicleId) {
+        return jdbcTemplate.query(
+                "SELECT year, service_count, total_cost FROM vehicle_service_year_stats "
+                        + "WHERE vehicle_id = ? ORDER BY year",
+                (rs, rowNum) -> VehicleServiceYearDto.builder()
+                        .year(rs.getInt("year"))
+                        .serviceCount(rs.getLong("service_count"))
+                        .totalCost(rs.getBigDecimal("total_cost"))
+                        .build(),
+                vehicleId);
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private void lockVehicle(Long vehicleId) {
+        jdbcTemplate.query("SELECT id FROM vehicles WHERE id = ? FOR NO KEY UPDATE", rs -> {}, vehicleId);
+    }
+
+    private void rebuildAll() {
+        jdbcTemplate.update("DELETE FROM vehicle_service_year_stats");
+        jdbcTemplate.update(REBUILD_SQL + "GROUP BY 1, 2" + REBUILD_CONFLICT_SQL);
+    }
+}
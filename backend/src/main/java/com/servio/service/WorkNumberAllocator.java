@@ -0,0 +1,86 @@
+package com.servio.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Hands out job card and job task numbers such as {@code JC-20261018-000151}:
+ * a prefix, the creation date and a serial from a Postgres sequence.
+ *
+ * Each sequence steps by {@value #BLOCK_SIZE}, so one {@code nextval} call
+ * reserves a block of that many serials for this instance alone.  Numbers
+ * are then handed out from memory, and instances never contend for (or
+ * collide on) a number.  Serials stay unique across days; numbers left in a
+ * block at shutdown are skipped.  The date keeps numbers readable and sorts
+ * them by day.
+ */
+@Service
+public class WorkNumberAllocator {
+
+    /** Must match the sequences' INCREMENT BY (database/work-numbers-migration.sql). */
+    static final int BLOCK_SIZE = 50;
+
+    private static final DateTimeFormatter DAY = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final Block jobNumbers;
+    private final Block taskNumbers;
+
+    public WorkNumberAllocator(JdbcTemplate jdbcTemplate) {
+        this.jobNumbers = new Block(jdbcTemplate, "job_card_number_seq");
+        this.taskNumbers = new Block(jdbcTemplate, "job_task_number_seq");
+    }
+
+    public String nextJobNumber() {
+        return format("JC", jobNumbers.next());
+    }
+
+    public String nextTaskNumber() {
+        return format("JT", taskNumbers.next());
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private static String format(String prefix, long serial) {
+        return prefix + "-" + LocalDate.now().format(DAY) + "-" + String.format("%06d", serial);
+    }
+
+    /** The serials this instance has reserved from one sequence. */
+    private static final class Block {
+        private final JdbcTemplate jdbcTemplate;
+        private final String sequence;
+
+        // Guarded by this
+        private boolean sequenceReady;
+        private long next;
+        private long last = -1;
+
+        Block(JdbcTemplate jdbcTemplate, String sequence) {
+            this.jdbcTemplate = jdbcTemplate;
+            this.sequence = sequence;
+        }
+
+        synchronized long next() {
+            if (next > last) {
+                reserve();
+            }
+            return next++;
+        }
+
+        private void reserve() {
+            if (!sequenceReady) {
+                // The schema is otherwise created by Hibernate, which does not know this sequence
+                jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence + " INCREMENT BY " + BLOCK_SIZE);
+                sequenceReady = true;
+            }
+            Long start = jdbcTemplate.queryForObject("SELECT nextval('" + sequence + "')", Long.class);
+            if (start == null) {
+                throw new IllegalStateException("Sequence " + sequence + " returned no value");
+            }
+            next = start;
+            last = start + BLOCK_SIZE - 1;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.servio.service;
+
+import com.servio.dto.WorkshopBoardDto;
+import com.servio.dto.WorkshopBoardDto.BayItem;
+import com.servio.dto.WorkshopBoardDto.JobCardItem;
+import com.servio.dto.WorkshopBoardDto.MechanicItem;
+import com.servio.dto.WorkshopBoardDto.TaskItem;
+import com.servio.dto.WorkshopBoardEvent;
+import com.servio.entity.JobCard;
+import com.servio.entity.JobCardStatus;
+import com.servio.entity.JobTask;
+import com.servio.entity.Mechanic;
+import com.servio.entity.ServiceBay;
+import com.servio.repository.JobCardRepository;
+import com.servio.repository.JobTaskRepository;
+import com.servio.repository.MechanicRepository;
+import com.servio.repository.ServiceBayRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-memory model of the live workshop board, kept current by job card,
+ * task, bay and mechanic writes and pushed to admin screens as deltas.
+ *
+ * The board is loaded on the first snapshot request (four queries, no lazy
+ * loading).  After that each write reports the changed entity; once its
+ * transaction commits the board applies it and publishes a
+ * {@link WorkshopBoardEvent} with the next sequence number.  An update
+ * older than the board's copy (by updatedAt) is dropped, so commits whose
+ * callbacks race cannot roll an item back.  Writers report an entity only
+ * after {@code saveAndFlush}: updatedAt is stamped by {@code @PreUpdate} at
+ * flush, and the flushed UPDATE holds the row lock until commit, so the later
+ * stamp belongs to the later commit.
+ *
+ * Resync: a client subscribes to /topic/workshop/board, then loads the
+ * snapshot and applies the events numbered above its {@code sequence}.  After
+ * a gap it asks for {@link #eventsAfter(long)}, or reloads the snapshot when
+ * the last {@value #RETAINED_EVENTS} events no longer reach back that far.
+ */
+@Service
+@Slf4j
+public class WorkshopBoardService {
+
+    private static final int RETAINED_EVENTS = 1_000;
+
+    private static final EnumSet<JobCardStatus> OPEN_STATUSES =
+            EnumSet.of(JobCardStatus.NEW, JobCardStatus.IN_PROGRESS, JobCardStatus.PAUSED);
+
+    private final JobCardRepository jobCardRepository;
+    private final JobTaskRepository jobTaskRepository;
+    private final ServiceBayRepository serviceBayRepository;
+    private final MechanicRepository mechanicRepository;
+    private final AppointmentEventPublisher eventPublisher;
+    private final TransactionTemplate readOnlyTransaction;
+
+    // All state below is guarded by this
+    private boolean loaded;
+    private final Map<Long, JobCardItem> jobCards = new LinkedHashMap<>();
+    private final Map<Long, TaskItem> tasks = new LinkedHashMap<>();
+    private final Map<Long, BayItem> bays = new LinkedHashMap<>();
+    private final Map<Long, MechanicItem> mechanics = new LinkedHashMap<>();
+    private long sequence;
+    private final Deque<WorkshopBoardEvent> recentEvents = new ArrayDeque<>();
+
+    public WorkshopBoardService(JobCardRepository jobCardRepository,
+                                JobTaskRepository jobTaskRepository,
+                                ServiceBayRepository serviceBayRepository,
+                                MechanicRepository mechanicRepository,
+                                AppointmentEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager) {
+        this.jobCardRepository = jobCardRepository;
+        this.jobTaskRepository = jobTaskRepository;
+        this.serviceBayRepository = serviceBayRepository;
+        this.mechanicRepository = mechanicRepository;
+        this.eventPublisher = eventPublisher;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public synchronized WorkshopBoardDto snapshot() {
+        if (!loaded) {
+            readOnlyTransaction.executeWithoutResult(status -> load());
+            loaded = true;
+        }
+        return WorkshopBoardDto.builder()
+                .sequence(sequence)
+                .jobCards(new ArrayList<>(jobCards.values()))
+                .tasks(new ArrayList<>(tasks.values()))
+                .bays(new ArrayList<>(bays.values()))
+                .mechanics(new ArrayList<>(mechanics.values()))
+                .build();
+    }
+
+    /**
+     * The events numbered above {@code after}, oldest first, or null when
+     * some of them are no longer retained and the client must reload the
+     * snapshot.
+     */
+    public synchronized List<WorkshopBoardEvent> eventsAfter(long after) {
+        if (after > sequence) {
+            return null;
+        }
+        long oldestRetained = recentEvents.isEmpty() ? sequence + 1 : recentEvents.peekFirst().getSequence();
+        if (after + 1 < oldestRetained) {
+            return null;
+        }
+        List<WorkshopBoardEvent> events = new ArrayList<>();
+        for (WorkshopBoardEvent event : recentEvents) {
+            if (event.getSequence() > after) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    // ── Change reports (call after saveAndFlush) ─────────────────────────────
+
+    public void jobCardSaved(JobCard jobCard) {
+        if (!OPEN_STATUSES.contains(jobCard.getStatus())) {
+            jobCardRemoved(jobCard.getId());
+            return;
+        }
+        JobCardItem item = toItem(jobCard);
+        afterCommit(() -> upsert("JOB_CARD", jobCards, item.getId(), item, JobCardItem::getUpdatedAt));
+    }
+
+    public void jobCardRemoved(Long jobCardId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                if (loaded && jobCards.remove(jobCardId) != null) {
+                    tasks.values().removeIf(task -> jobCardId.equals(task.getJobCardId()));
+                    publish("JOB_CARD", "REMOVE", jobCardId, null);
+                }
+            }
+        });
+    }
+
+    public void taskSaved(JobTask task) {
+        TaskItem item = toItem(task);
+        afterCommit(() -> {
+            synchronized (this) {
+                // Tasks are shown only under an open job card
+                if (loaded && jobCards.containsKey(item.getJobCardId())) {
+                    upsert("TASK", tasks, item.getId(), item, TaskItem::getUpdatedAt);
+                }
+            }
+        });
+    }
+
+    public void taskRemoved(Long taskId) {
+        afterCommit(() -> remove("TASK", tasks, taskId));
+    }
+
+    public void baySaved(ServiceBay bay) {
+        if (!Boolean.TRUE.equals(bay.getIsActive())) {
+            bayRemoved(bay.getId());
+            return;
+        }
+        BayItem item = toItem(bay);
+        afterCommit(() -> upsert("BAY", bays, item.getId(), item, BayItem::getUpdatedAt));
+    }
+
+    public void bayRemoved(Long bayId) {
+        afterCommit(() -> remove("BAY", bays, bayId));
+    }
+
+    public void mechanicSaved(Mechanic mechanic) {
+        if (!Boolean.TRUE.equals(mechanic.getIsActive())) {
+            mechanicRemoved(mechanic.getId());
+            return;
+        }
+        MechanicItem item = toItem(mechanic);
+        afterCommit(() -> upsert("MECHANIC", mechanics, item.getId(), item, MechanicItem::getUpdatedAt));
+    }
+
+    public void mechanicRemoved(Long mechanicId) {
+        afterCommit(() -> remove("MECHANIC", mechanics, mechanicId));
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private void load() {
+        jobCards.clear();
+        tasks.clear();
+        bays.clear();
+        mechanics.clear();
+        for (JobCard jobCard : jobCardRepository.findOpenForBoard(OPEN_STATUSES)) {
+            jobCards.put(jobCard.getId(), toItem(jobCard));
+        }
+        for (JobTask task : jobTaskRepository.findByJobCardStatusIn(OPEN_STATUSES)) {
+            tasks.put(task.getId(), toItem(task));
+        }
+        for (ServiceBay bay : serviceBayRepository.findAll()) {
+            if (Boolean.TRUE.equals(bay.getIsActive())) {
+                bays.put(bay.getId(), toItem(bay));
+            }
+        }
+        for (Mechanic mechanic : mechanicRepository.findAll()) {
+            if (Boolean.TRUE.equals(mechanic.getIsActive())) {
+                mechanics.put(mechanic.getId(), toItem(mechanic));
+            }
+        }
+        log.debug("Workshop board loaded: {} job card(s), {} task(s), {} bay(s), {} mechanic(s)",
+                jobCards.size(), tasks.size(), bays.size(), mechanics.size());
+    }
+
+    private synchronized <T> void upsert(String entity, Map<Long, T> items, Long id, T item,
+                                         Function<T, LocalDateTime> updatedAt) {
+        if (!loaded) {
+            return;
+        }
+        T current = items.get(id);
+        if (current != null && updatedAt.apply(current) != null && updatedAt.apply(item) != null
+                && updatedAt.apply(item).isBefore(updatedAt.apply(current))) {
+            return;
+        }
+        items.put(id, item);
+        publish(entity, "UPSERT", id, item);
+    }
+
+    private synchronized void remove(String entity, Map<Long, ?> items, Long id) {
+        if (loaded && items.remove(id) != null) {
+            publish(entity, "REMOVE", id, null);
+        }
+    }
+
+    /** Called with the lock held, so events reach the broker in sequence order. */
+    private void publish(String entity, String type, Long id, Object item) {
+        WorkshopBoardEvent event = WorkshopBoardEvent.builder()
+                .sequence(++sequence)
+                .entity(entity)
+                .type(type)
+                .id(id)
+                .item(item)
+                .build();
+        recentEvents.addLast(event);
+        if (recentEvents.size() > RETAINED_EVENTS) {
+            recentEvents.removeFirst();
+        }
+        eventPublisher.publishBoardEvent(event);
+    }
+
+    private JobCardItem toItem(JobCard jobCard) {
+        return JobCardItem.builder()
+                .id(jobCard.getId())
+                .jobNumber(jobCard.getJobNumber())
+                .serviceType(jobCard.getServiceType())
+                .status(jobCard.getStatus().toString())
+                .priority(jobCard.getPriority() != null ? jobCard.getPriority().toString() : null)
+                .mechanicId(jobCard.getAssignedMechanic() != null ? jobCard.getAssignedMechanic().getId() : null)
+                .serviceBayId(jobCard.getAssignedBay() != null ? jobCard.getAssignedBay().getId() : null)
+                .customerName(jobCard.getWalkInCustomer() != null ? jobCard.getWalkInCustomer().getFullName() : null)
+                .estimatedHours(jobCard.getEstimatedHours())
+                .startedAt(jobCard.getStartedAt())
+                .updatedAt(jobCard.getUpdatedAt())
+                .build();
+    }
+
+    private TaskItem toItem(JobTask task) {
+        return TaskItem.builder()
+                .id(task.getId())
+                .jobCardId(task.getJobCard().getId())
+                .taskNumber(task.getTaskNumber())
+                .description(task.getDescription())
+                .status(task.getStatus().toString())
+                .mechanicId(task.getAssignedMechanic() != null ? task.getAssignedMechanic().getId() : null)
+                .sequenceOrder(task.getSequenceOrder())
+                .updatedAt(task.getUpdatedAt())
+                .build();
+    }
+
+    private BayItem toItem(ServiceBay bay) {
+        return BayItem.builder()
+                .id(bay.getId())
+                .bayNumber(bay.getBayNumber())
+                .type(bay.getType().toString())
+                .status(bay.getStatus().toString())
+                .capacity(bay.getCapacity())
+                .updatedAt(bay.getUpdatedAt())
+                .build();
+    }
+
+    private MechanicItem toItem(Mechanic mechanic) {
+        return MechanicItem.builder()
+                .id(mechanic.getId())
+                .fullName(mechanic.getFullName())
+                .specialization(mechanic.getSpecialization())
+                .status(mechanic.getStatus().toString())
+                .updatedAt(mechanic.getUpdatedAt())
+                .build();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
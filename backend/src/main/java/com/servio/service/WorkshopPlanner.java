@@ -0,0 +1,375 @@
+package com.servio.service;
+
+import com.servio.entity.JobPriority;
+import com.servio.entity.ServiceBayType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory day plan for the workshop: which mechanic works each open job
+ * card in which service bay, and when.  Times are minutes since the epoch.
+ *
+ * Jobs are placed one at a time in a fixed order, each at the earliest start
+ * any suitable bay lane (a bay has one lane per unit of capacity) and
+ * mechanic allows.  Running jobs come first and keep their bay and mechanic.
+ * The rest follow in weighted-shortest-job-first order — priority weight over
+ * duration, the rule that minimises weighted waiting on one resource — so
+ * urgent and short jobs go early and lanes are packed back to back.  A job
+ * waits up to {@value #SPECIALIST_WAIT_MINUTES} minutes for a mechanic whose
+ * specialization matches its service type before going to a generalist.
+ * Jobs that cannot finish before closing are left unscheduled.
+ *
+ * Each placement depends only on the jobs before it, so adding, changing or
+ * removing a job replays the earlier placements as they are and searches
+ * again only from that job's position.  Not thread-safe.
+ */
+public final class WorkshopPlanner {
+
+    /** How long a job may wait for a specialist rather than go to the first free mechanic. */
+    static final long SPECIALIST_WAIT_MINUTES = 30;
+    /** A running job past its estimate is assumed to need at least this much longer. */
+    private static final long OVERRUN_MINUTES = 15;
+
+    public record Bay(long id, String bayNumber, ServiceBayType type, int capacity) {}
+
+    public record Mechanic(long id, String fullName, String specialization) {}
+
+    /**
+     * A job to place.  {@code readyAt} is when the vehicle arrived, or for a
+     * running ({@code pinned}) job when work started; {@code minutes} is the
+     * estimated work.  On an unpinned job, {@code bayId} and
+     * {@code mechanicId} restrict the search to that bay or mechanic.
+     */
+    public record Job(long id, String jobNumber, String serviceType, JobPriority priority,
+                      long minutes, long readyAt, long createdAt, Long bayId, Long mechanicId, boolean pinned) {}
+
+    public record Slot(Job job, Bay bay, Mechanic mechanic, long start, long end, boolean specialist) {}
+
+    private static final Comparator<Job> ORDER = Comparator
+            .comparing((Job job) -> !job.pinned())
+            .thenComparing((a, b) -> a.pinned()
+                    ? Long.compare(a.readyAt(), b.readyAt())
+                    // weight / minutes, descending, without dividing
+                    : Long.compare(weight(b.priority()) * a.minutes(), weight(a.priority()) * b.minutes()))
+            .thenComparingLong(Job::createdAt)
+            .thenComparingLong(Job::id);
+
+    private final List<Bay> bays;
+    private final List<Mechanic> mechanics;
+    private final long horizon;
+    private long origin;
+
+    private final int[] laneBay;
+    private final int[][] lanesByBay;
+    private final Map<ServiceBayType, int[]> lanesByType = new EnumMap<>(ServiceBayType.class);
+    private final Map<Long, Integer> bayIndex = new HashMap<>();
+    private final Map<Long, Integer> mechanicIndex = new HashMap<>();
+    private final String[][] specializationWords;
+
+    /** Jobs in placement order, and the placement of each (null when it does not fit today). */
+    private final List<Job> order = new ArrayList<>();
+    private final List<Placement> placements = new ArrayList<>();
+
+    private final long[] laneFree;
+    private final long[] mechanicFree;
+
+    public WorkshopPlanner(List<Bay> bays, List<Mechanic> mechanics, long origin, long horizon) {
+        this.bays = List.copyOf(bays);
+        this.mechanics = List.copyOf(mechanics);
+        this.origin = origin;
+        this.horizon = horizon;
+
+        List<Integer> lanes = new ArrayList<>();
+        Map<ServiceBayType, List<Integer>> byType = new EnumMap<>(ServiceBayType.class);
+        lanesByBay = new int[this.bays.size()][];
+        for (int b = 0; b < this.bays.size(); b++) {
+            Bay bay = this.bays.get(b);
+            bayIndex.put(bay.id(), b);
+            lanesByBay[b] = new int[Math.max(1, bay.capacity())];
+            for (int i = 0; i < lanesByBay[b].length; i++) {
+                lanesByBay[b][i] = lanes.size();
+                byType.computeIfAbsent(bay.type(), t -> new ArrayList<>()).add(lanes.size());
+                lanes.add(b);
+            }
+        }
+        laneBay = lanes.stream().mapToInt(Integer::intValue).toArray();
+        byType.forEach((type, list) -> lanesByType.put(type, list.stream().mapToInt(Integer::intValue).toArray()));
+
+        specializationWords = new String[this.mechanics.size()][];
+        for (int m = 0; m < this.mechanics.size(); m++) {
+            Mechanic mechanic = this.mechanics.get(m);
+            mechanicIndex.put(mechanic.id(), m);
+            specializationWords[m] = words(mechanic.specialization());
+        }
+
+        laneFree = new long[laneBay.length];
+        mechanicFree = new long[this.mechanics.size()];
+    }
+
+    /** Replaces all jobs and plans from scratch. */
+    public void setJobs(Collection<Job> jobs) {
+        order.clear();
+        order.addAll(jobs);
+        order.sort(ORDER);
+        planFrom(0);
+    }
+
+    /** Adds a job, or replaces the job with the same id, and replans from its position. */
+    public void upsert(Job job) {
+        int existing = indexOf(job.id());
+        if (existing >= 0) {
+            order.remove(existing);
+        }
+        int position = Collections.binarySearch(order, job, ORDER);
+        if (position < 0) {
+            position = -position - 1;
+        }
+        order.add(position, job);
+        planFrom(existing >= 0 ? Math.min(existing, position) : position);
+    }
+
+    /** Drops a finished or cancelled job and replans from its position. */
+    public void remove(long jobId) {
+        int existing = indexOf(jobId);
+        if (existing >= 0) {
+            order.remove(existing);
+            planFrom(existing);
+        }
+    }
+
+    /** Moves the plan's start to {@code newOrigin} (e.g. as the day goes on) and replans every job. */
+    public void rebase(long newOrigin) {
+        origin = newOrigin;
+        planFrom(0);
+    }
+
+    public long origin() {
+        return origin;
+    }
+
+    public long horizon() {
+        return horizon;
+    }
+
+    /** Placed jobs in placement order. */
+    public List<Slot> scheduled() {
+        List<Slot> slots = new ArrayList<>();
+        for (int i = 0; i < order.size(); i++) {
+            Placement p = placements.get(i);
+            if (p != null) {
+                slots.add(new Slot(order.get(i), bays.get(laneBay[p.lane()]), mechanics.get(p.mechanic()),
+                        p.start(), p.end(), p.specialist()));
+            }
+        }
+        return slots;
+    }
+
+    /** Jobs that do not fit before closing, or have no suitable bay or mechanic. */
+    public List<Job> unscheduled() {
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < order.size(); i++) {
+            if (placements.get(i) == null) {
+                jobs.add(order.get(i));
+            }
+        }
+        return jobs;
+    }
+
+    /** Share of bay lane time between origin and closing that the plan keeps busy. */
+    public double utilization() {
+        long capacity = (long) laneBay.length * (horizon - origin);
+        if (capacity <= 0) {
+            return 0;
+        }
+        long busy = 0;
+        for (Placement p : placements) {
+            if (p != null) {
+                busy += Math.max(0, Math.min(p.end(), horizon) - Math.max(p.start(), origin));
+            }
+        }
+        return (double) busy / capacity;
+    }
+
+    /** Mean minutes a scheduled, not yet running job waits from arrival (or now) to its start. */
+    public double averageWaitMinutes() {
+        long waited = 0;
+        int jobs = 0;
+        for (int i = 0; i < order.size(); i++) {
+            Placement p = placements.get(i);
+            Job job = order.get(i);
+            if (p != null && !job.pinned()) {
+                waited += p.start() - Math.min(job.readyAt(), p.start());
+                jobs++;
+            }
+        }
+        return jobs == 0 ? 0 : (double) waited / jobs;
+    }
+
+    /** The bay type a service type needs, by keyword; anything else goes to a general bay. */
+    public static ServiceBayType requiredBayType(String serviceType) {
+        String type = serviceType != null ? serviceType.toLowerCase(Locale.ROOT) : "";
+        if (type.contains("paint") || type.contains("body")) {
+            return ServiceBayType.PAINT_BOOTH;
+        }
+        if (type.contains("wash") || type.contains("detail")) {
+            return ServiceBayType.WASH_STATION;
+        }
+        if (type.contains("align")) {
+            return ServiceBayType.ALIGNMENT_STATION;
+        }
+        if (type.contains("diagnos")) {
+            return ServiceBayType.DIAGNOSTIC_STATION;
+        }
+        return ServiceBayType.GENERAL;
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    /** Keeps placements [0, from) — replaying them into the free times — and places the rest. */
+    private void planFrom(int from) {
+        Arrays.fill(laneFree, origin);
+        Arrays.fill(mechanicFree, origin);
+        for (int i = 0; i < from; i++) {
+            occupy(placements.get(i));
+        }
+        placements.subList(Math.min(from, placements.size()), placements.size()).clear();
+        for (int i = from; i < order.size(); i++) {
+            Placement p = place(order.get(i));
+            occupy(p);
+            placements.add(p);
+        }
+    }
+
+    /**
+     * Marks a placement's lane and mechanic busy until its end.  A pinned job
+     * can end before an earlier one on the same lane or mechanic, so the free
+     * time only ever moves forward; replaying and placing must agree on this
+     * for an incremental replan to equal a full one.
+     */
+    private void occupy(Placement p) {
+        if (p != null) {
+            laneFree[p.lane()] = Math.max(laneFree[p.lane()], p.end());
+            mechanicFree[p.mechanic()] = Math.max(mechanicFree[p.mechanic()], p.end());
+        }
+    }
+
+    private Placement place(Job job) {
+        int[] lanes = candidateLanes(job);
+        if (lanes.length == 0 || mechanics.isEmpty()) {
+            return null;
+        }
+        int lane = lanes[0];
+        for (int candidate : lanes) {
+            if (laneFree[candidate] < laneFree[lane]) {
+                lane = candidate;
+            }
+        }
+
+        if (job.pinned()) {
+            Integer mechanic = job.mechanicId() != null ? mechanicIndex.get(job.mechanicId()) : null;
+            if (mechanic == null) {
+                return null;
+            }
+            long end = job.readyAt() + job.minutes();
+            if (end <= origin) {
+                end = origin + OVERRUN_MINUTES;
+            }
+            return new Placement(lane, mechanic, job.readyAt(), end, false);
+        }
+
+        long laneStart = Math.max(job.readyAt(), laneFree[lane]);
+        String serviceType = job.serviceType() != null ? job.serviceType().toLowerCase(Locale.ROOT) : "";
+        int mechanic = -1;
+        long bestScore = Long.MAX_VALUE;
+        boolean specialist = false;
+        if (job.mechanicId() != null) {
+            Integer fixed = mechanicIndex.get(job.mechanicId());
+            if (fixed == null) {
+                return null;
+            }
+            mechanic = fixed;
+            specialist = matches(fixed, serviceType);
+        } else {
+            for (int m = 0; m < mechanics.size(); m++) {
+                boolean match = matches(m, serviceType);
+                long score = Math.max(laneStart, mechanicFree[m]) + (match ? 0 : SPECIALIST_WAIT_MINUTES);
+                if (score < bestScore) {
+                    bestScore = score;
+                    mechanic = m;
+                    specialist = match;
+                }
+            }
+        }
+
+        long start = Math.max(laneStart, mechanicFree[mechanic]);
+        long end = start + job.minutes();
+        return end <= horizon ? new Placement(lane, mechanic, start, end, specialist) : null;
+    }
+
+    private int[] candidateLanes(Job job) {
+        if (job.bayId() != null) {
+            Integer bay = bayIndex.get(job.bayId());
+            return bay != null ? lanesByBay[bay] : new int[0];
+        }
+        int[] lanes = lanesByType.get(requiredBayType(job.serviceType()));
+        if (lanes == null) {
+            lanes = lanesByType.get(ServiceBayType.GENERAL);
+        }
+        return lanes != null ? lanes : new int[0];
+    }
+
+    /** True when any word of four or more letters in the mechanic's specialization appears in the service type. */
+    private boolean matches(int mechanic, String serviceType) {
+        for (String word : specializationWords[mechanic]) {
+            if (serviceType.contains(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int indexOf(long jobId) {
+        for (int i = 0; i < order.size(); i++) {
+            if (order.get(i).id() == jobId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String[] words(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^a-z]+"))
+                .filter(word -> word.length() >= 4 && !word.equals("general"))
+                .toArray(String[]::new);
+    }
+
+    private static long weight(JobPriority priority) {
+        if (priority == null) {
+            return 2;
+        }
+        switch (priority) {
+            case URGENT:
+                return 8;
+            case HIGH:
+                return 4;
+            case LOW:
+                return 1;
+            default:
+                return 2;
+        }
+    }
+
+    private record Placement(int lane, int mechanic, long start, long end, boolean specialist) {}
+}
@@ -0,0 +1,275 @@
+package com.servio.service;
+
+import com.servio.dto.PlannedJobDto;
+import com.servio.dto.WorkshopPlanDto;
+import com.servio.entity.JobCard;
+import com.servio.entity.JobCardStatus;
+import com.servio.entity.Mechanic;
+import com.servio.entity.MechanicStatus;
+import com.servio.entity.ServiceBay;
+import com.servio.entity.ServiceBayStatus;
+import com.servio.repository.JobCardRepository;
+import com.servio.repository.MechanicRepository;
+import com.servio.repository.ServiceBayRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps today's {@link WorkshopPlanner} plan for the open job cards and
+ * serves it to the admin workshop screens.
+ *
+ * The plan is built from the database on first use and then maintained in
+ * memory: job card writes report the card through {@link #jobSaved(JobCard)}
+ * or {@link #jobRemoved(Long)}, which replan from that job's position
+ * without a query.  Mechanic and bay changes call {@link #invalidate()} and
+ * the next read rebuilds the plan.  Every change takes effect after the
+ * writing transaction commits.  As the day goes on the plan is moved forward
+ * to the current time, and a new day starts from a fresh load.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WorkshopSchedulingService {
+
+    private static final double DEFAULT_ESTIMATED_HOURS = 1.0;
+    private static final long MIN_JOB_MINUTES = 15;
+    /** The plan is moved to the current time once it is this far behind. */
+    private static final long REBASE_AFTER_MINUTES = 5;
+
+    private static final EnumSet<JobCardStatus> OPEN_STATUSES =
+            EnumSet.of(JobCardStatus.NEW, JobCardStatus.IN_PROGRESS, JobCardStatus.PAUSED);
+
+    private final JobCardRepository jobCardRepository;
+    private final MechanicRepository mechanicRepository;
+    private final ServiceBayRepository serviceBayRepository;
+    private final WorkshopBoardService workshopBoardService;
+    private final TaskTimeTrackingService taskTimeTrackingService;
+
+    @Value("${workshop.day-start:08:00}")
+    private String dayStart;
+
+    @Value("${workshop.day-end:18:00}")
+    private String dayEnd;
+
+    /** Guarded by this. */
+    private WorkshopPlanner planner;
+
+    @Transactional(readOnly = true)
+    public synchronized WorkshopPlanDto getPlan() {
+        return toDto(currentPlanner());
+    }
+
+    /** Discards the maintained plan and rebuilds it from the database. */
+    @Transactional(readOnly = true)
+    public synchronized WorkshopPlanDto replan() {
+        planner = null;
+        return toDto(currentPlanner());
+    }
+
+    /**
+     * Writes the plan's mechanic and bay onto every planned job card that is
+     * still NEW and not yet fully assigned.
+     */
+    @Transactional
+    public WorkshopPlanDto applyPlan() {
+        List<PlannedJobDto> planned;
+        synchronized (this) {
+            planned = toDto(currentPlanner()).getScheduled();
+        }
+        Map<Long, PlannedJobDto> byJob = planned.stream()
+                .filter(job -> !Boolean.TRUE.equals(job.getInProgress()))
+                .collect(Collectors.toMap(PlannedJobDto::getJobCardId, Function.identity()));
+        if (byJob.isEmpty()) {
+            return getPlan();
+        }
+        Map<Long, Mechanic> mechanics = mechanicRepository.findAllById(
+                        byJob.values().stream().map(PlannedJobDto::getMechanicId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Mechanic::getId, Function.identity()));
+        Map<Long, ServiceBay> bays = serviceBayRepository.findAllById(
+                        byJob.values().stream().map(PlannedJobDto::getServiceBayId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(ServiceBay::getId, Function.identity()));
+
+        for (JobCard jobCard : jobCardRepository.findAllById(byJob.keySet())) {
+            PlannedJobDto job = byJob.get(jobCard.getId());
+            if (jobCard.getStatus() != JobCardStatus.NEW
+                    || (jobCard.getAssignedMechanic() != null && jobCard.getAssignedBay() != null)) {
+                continue;
+            }
+            if (jobCard.getAssignedMechanic() == null) {
+                jobCard.setAssignedMechanic(mechanics.get(job.getMechanicId()));
+            }
+            if (jobCard.getAssignedBay() == null) {
+                jobCard.setAssignedBay(bays.get(job.getServiceBayId()));
+            }
+            JobCard saved = jobCardRepository.saveAndFlush(jobCard);
+            jobSaved(saved);
+            workshopBoardService.jobCardSaved(saved);
+        }
+        return getPlan();
+    }
+
+    /** Adds, moves or drops the job card in the plan once the active transaction commits. */
+    public void jobSaved(JobCard jobCard) {
+        if (jobCard.getStatus() == null || !OPEN_STATUSES.contains(jobCard.getStatus())) {
+            jobRemoved(jobCard.getId());
+            return;
+        }
+        WorkshopPlanner.Job job = toJob(jobCard);
+        afterCommit(() -> {
+            synchronized (this) {
+                if (planner != null) {
+                    planner.upsert(job);
+                }
+            }
+        });
+    }
+
+    public void jobRemoved(Long jobCardId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                if (planner != null) {
+                    planner.remove(jobCardId);
+                }
+            }
+        });
+    }
+
+    /** Forces a rebuild on the next read, e.g. after a mechanic or bay changed. */
+    public void invalidate() {
+        afterCommit(() -> {
+            synchronized (this) {
+                planner = null;
+            }
+        });
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private WorkshopPlanner currentPlanner() {
+        LocalTime opens = LocalTime.parse(dayStart);
+        LocalTime closes = LocalTime.parse(dayEnd);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate day = now.toLocalTime().isBefore(closes) ? now.toLocalDate() : now.toLocalDate().plusDays(1);
+        LocalDateTime opening = day.atTime(opens);
+        long origin = toMinutes(now.isAfter(opening) ? now : opening);
+        long horizon = toMinutes(day.atTime(closes));
+
+        if (planner == null || planner.horizon() != horizon) {
+            planner = load(origin, horizon);
+        } else if (origin - planner.origin() >= REBASE_AFTER_MINUTES) {
+            planner.rebase(origin);
+        }
+        return planner;
+    }
+
+    private WorkshopPlanner load(long origin, long horizon) {
+        List<WorkshopPlanner.Bay> bays = serviceBayRepository.findAll().stream()
+                .filter(bay -> Boolean.TRUE.equals(bay.getIsActive()) && bay.getStatus() != ServiceBayStatus.MAINTENANCE)
+                .map(bay -> new WorkshopPlanner.Bay(bay.getId(), bay.getBayNumber(), bay.getType(),
+                        bay.getCapacity() != null ? bay.getCapacity() : 1))
+                .collect(Collectors.toList());
+        List<WorkshopPlanner.Mechanic> mechanics = mechanicRepository.findAll().stream()
+                .filter(m -> Boolean.TRUE.equals(m.getIsActive()) && m.getStatus() != MechanicStatus.ON_LEAVE)
+                .map(m -> new WorkshopPlanner.Mechanic(m.getId(), m.getFullName(), m.getSpecialization()))
+                .collect(Collectors.toList());
+        List<WorkshopPlanner.Job> jobs = jobCardRepository.findByStatusIn(OPEN_STATUSES).stream()
+                .map(this::toJob)
+                .collect(Collectors.toList());
+
+        long started = System.nanoTime();
+        WorkshopPlanner loaded = new WorkshopPlanner(bays, mechanics, origin, horizon);
+        loaded.setJobs(jobs);
+        log.debug("Workshop plan built for {} job(s), {} bay(s), {} mechanic(s) in {} µs",
+                jobs.size(), bays.size(), mechanics.size(), (System.nanoTime() - started) / 1_000);
+        return loaded;
+    }
+
+    private WorkshopPlanner.Job toJob(JobCard jobCard) {
+        // Estimates are scaled by how long timed tasks have actually been taking
+        double hours = (jobCard.getEstimatedHours() != null ? jobCard.getEstimatedHours() : DEFAULT_ESTIMATED_HOURS)
+                * taskTimeTrackingService.estimateFactor();
+        if (jobCard.getStatus() == JobCardStatus.PAUSED && jobCard.getActualHours() != null) {
+            hours -= jobCard.getActualHours();
+        }
+        long minutes = Math.max(MIN_JOB_MINUTES, Math.round(hours * 60));
+        Long mechanicId = jobCard.getAssignedMechanic() != null ? jobCard.getAssignedMechanic().getId() : null;
+        Long bayId = jobCard.getAssignedBay() != null ? jobCard.getAssignedBay().getId() : null;
+        boolean running = jobCard.getStatus() == JobCardStatus.IN_PROGRESS && jobCard.getStartedAt() != null
+                && mechanicId != null && bayId != null;
+        long createdAt = jobCard.getCreatedAt() != null ? toMinutes(jobCard.getCreatedAt()) : toMinutes(LocalDateTime.now());
+        return new WorkshopPlanner.Job(jobCard.getId(), jobCard.getJobNumber(), jobCard.getServiceType(),
+                jobCard.getPriority(), minutes, running ? toMinutes(jobCard.getStartedAt()) : createdAt,
+                createdAt, bayId, mechanicId, running);
+    }
+
+    private WorkshopPlanDto toDto(WorkshopPlanner plan) {
+        return WorkshopPlanDto.builder()
+                .planStart(fromMinutes(plan.origin()))
+                .planEnd(fromMinutes(plan.horizon()))
+                .scheduled(plan.scheduled().stream().map(this::toDto).collect(Collectors.toList()))
+                .unscheduled(plan.unscheduled().stream()
+                        .map(job -> basePlannedJob(job).build())
+                        .collect(Collectors.toList()))
+                .bayUtilization(plan.utilization())
+                .averageWaitMinutes(plan.averageWaitMinutes())
+                .build();
+    }
+
+    private PlannedJobDto toDto(WorkshopPlanner.Slot slot) {
+        return basePlannedJob(slot.job())
+                .mechanicId(slot.mechanic().id())
+                .mechanicName(slot.mechanic().fullName())
+                .serviceBayId(slot.bay().id())
+                .bayNumber(slot.bay().bayNumber())
+                .plannedStart(fromMinutes(slot.start()))
+                .plannedEnd(fromMinutes(slot.end()))
+                .specialistMatch(slot.specialist())
+                .build();
+    }
+
+    private PlannedJobDto.PlannedJobDtoBuilder basePlannedJob(WorkshopPlanner.Job job) {
+        return PlannedJobDto.builder()
+                .jobCardId(job.id())
+                .jobNumber(job.jobNumber())
+                .serviceType(job.serviceType())
+                .priority(job.priority() != null ? job.priority().toString() : null)
+                .inProgress(job.pinned());
+    }
+
+    private static long toMinutes(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond() / 60;
+    }
+
+    private static LocalDateTime fromMinutes(long minutes) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(minutes * 60), ZoneId.systemDefault());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -2,22 +2,54 @@ package com.servio.util;
 
 import com.servio.entity.Role;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Component
 public class JwtTokenProvider {
+    /** Upper bound on remembered tokens; past it, expired entries are swept and then arbitrary ones dropped. */
+    private static final int MAX_CACHED_TOKENS = 10_000;
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration:86400000}") // Default 24 hours in milliseconds
     private long jwtExpirationMs;
 
+    // Built once: the key and parser are immutable and thread-safe
+    private SecretKey key;
+    private JwtParser parser;
+
+    /**
+     * Tokens whose signature has already been verified, until they expire.
+     * Lock-free on the read path: every request of a logged-in user looks its
+     * token up here, so a shared monitor would serialize the whole filter.
+     */
+    private final ConcurrentHashMap<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>(256);
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    @PostConstruct
+    void init() {
+        key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parser().verifyWith(key).build();
+    }
+
+    /** Subject and role of a token that has passed signature and expiry checks. */
+    public record VerifiedToken(String userId, String role, long expiresAtMillis) {
+    }
+
     // Updated to include Role in the token generation (Long userId - legacy)
     public String generateToken(Long userId, Role role) {
         return generateToken(userId.toString(), role.name());
@@ -25,7 +57,6 @@ public class JwtTokenProvider {
 
     // String userId version - supports UUID from Supabase profiles
     public String generateToken(String userId, String role) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
         return Jwts.builder()
                 .subject(userId)
                 .claim("role", role)
@@ -35,31 +66,70 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    /**
+     * Verifies the token and returns its subject and role, or empty if it is
+     * invalid or expired.  The token is parsed at most once; later calls with
+     * the same token are answered from a bounded cache until it expires.
+     */
+    public Optional<VerifiedToken> authenticate(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.get(token);
+        if (cached != null) {
+            if (now < cached.expiresAtMillis()) {
+                return Optional.of(cached);
+            }
+            verifiedTokens.remove(token, cached);
+            return Optional.empty();
+        }
+
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        Date expiration = claims.getExpiration();
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(), claims.get("role", String.class),
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE);
+        verifiedTokens.put(token, verified);
+        if (verifiedTokens.size() > MAX_CACHED_TOKENS) {
+            evict(now);
+        }
+        return Optional.of(verified);
+    }
+
     public String getUserIdFromToken(String token) {
-        Claims claims = getAllClaimsFromToken(token);
-        return claims.getSubject(); // Returns the raw subject string (Long or UUID)
+        return authenticate(token).map(VerifiedToken::userId).orElse(null); // Raw subject string (Long or UUID)
     }
 
     public String getRoleFromToken(String token) {
-        Claims claims = getAllClaimsFromToken(token);
-        return claims.get("role", String.class);
+        return authenticate(token).map(VerifiedToken::role).orElse(null);
     }
 
     public boolean validateToken(String token) {
-        try {
-            getAllClaimsFromToken(token);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return authenticate(token).isPresent();
     }
 
-    private Claims getAllClaimsFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    /**
+     * Drops expired tokens, then arbitrary ones until the cache is back to
+     * three quarters of its bound.  One thread sweeps at a time; the others
+     * carry on and may briefly overshoot the bound.
+     */
+    private void evict(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            verifiedTokens.values().removeIf(verified -> now >= verified.expiresAtMillis());
+            Iterator<String> tokens = verifiedTokens.keySet().iterator();
+            while (verifiedTokens.size() > MAX_CACHED_TOKENS * 3 / 4 && tokens.hasNext()) {
+                tokens.next();
+                tokens.remove();
+            }
+        } finally {
+            sweeping.set(false);
+        }
     }
-}
\ No newline at end of file
+}
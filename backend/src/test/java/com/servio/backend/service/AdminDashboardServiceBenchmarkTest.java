@@ -0,0 +1,189 @@
+package com.servio.backend.service;
+
+import com.servio.dto.AppointmentDto;
+import com.servio.dto.admin.DashboardStatsDto;
+import com.servio.entity.Appointment;
+import com.servio.entity.Payment;
+import com.servio.repository.AppointmentRepository;
+import com.servio.repository.PaymentRepository;
+import com.servio.repository.ProfileRepository;
+import com.servio.service.KpiRollupService;
+import com.servio.support.PostgresJpaTest;
+import com.servio.support.StatementCounter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dashboard statistics on 100k appointments: statements and latency of
+ * {@link AdminDashboardService#getDashboardStats()} against the previous
+ * implementation (per-metric queries, unpaged lists limited in Java, one
+ * payment query per listed appointment), reproduced in {@link #legacyStats()}.
+ *
+ * Run with {@code mvn test -Pbenchmark -Dtest=AdminDashboardServiceBenchmarkTest}.
+ */
+@Tag("benchmark")
+@Import({AdminDashboardService.class, KpiRollupService.class, StatementCounter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AdminDashboardServiceBenchmarkTest extends PostgresJpaTest {
+
+    private static final int APPOINTMENTS = 100_000;
+    private static final int PROFILES = 2_000;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 15;
+
+    @Autowired
+    private AdminDashboardService dashboardService;
+
+    @Autowired
+    private KpiRollupService kpiRollupService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ProfileRepository profileRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Test
+    void dashboardStatsBeforeAndAfter() {
+        seed();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Result before = measure("before", () -> readOnly.execute(status -> legacyStats()));
+        Result after = measure("after", dashboardService::getDashboardStats);
+
+        System.out.printf("%nDashboard stats, %,d appointments%n", APPOINTMENTS);
+        System.out.printf("%-8s %12s %12s %12s%n", "", "statements", "median ms", "p95 ms");
+        for (Result result : List.of(before, after)) {
+            System.out.printf("%-8s %12d %12.1f %12.1f%n", result.name(), result.statements(),
+                    result.medianMillis(), result.p95Millis());
+        }
+
+        assertThat(after.statements()).isEqualTo(4);
+        assertThat(after.statements()).isLessThan(before.statements());
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private record Result(String name, long statements, double medianMillis, double p95Millis) {
+    }
+
+    private Result measure(String name, Supplier<DashboardStatsDto> call) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            call.get();
+        }
+        List<Double> millis = new ArrayList<>();
+        long statements = 0;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            statementCounter.reset();
+            long started = System.nanoTime();
+            call.get();
+            millis.add((System.nanoTime() - started) / 1_000_000.0);
+            statements = statementCounter.count();
+        }
+        Collections.sort(millis);
+        return new Result(name, statements, millis.get(millis.size() / 2),
+                millis.get((int) Math.ceil(millis.size() * 0.95) - 1));
+    }
+
+    private void seed() {
+        jdbcTemplate.update("INSERT INTO public.profiles (id, full_name, email, created_at) "
+                + "SELECT gen_random_uuid(), 'Customer ' || g, 'customer' || g || '@example.com', "
+                + "NOW() - g * INTERVAL '3 hours' FROM generate_series(1, ?) g", PROFILES);
+        // Mostly past, completed work; the rest spread over the coming two months
+        jdbcTemplate.update("WITH p AS (SELECT array_agg(id) AS ids FROM public.profiles) "
+                + "INSERT INTO appointments (profile_id, service_type, appointment_date, status, estimated_cost, created_at) "
+                + "SELECT p.ids[1 + g % " + PROFILES + "], 'Service ' || (g % 12), "
+                + "NOW() + ((g % 425) - 365) * INTERVAL '1 day' + (g % 9) * INTERVAL '1 hour', "
+                + "CASE WHEN g % 425 < 365 THEN (CASE WHEN g % 20 = 0 THEN 'CANCELLED' ELSE 'COMPLETED' END) "
+                + "ELSE (ARRAY['PENDING', 'CONFIRMED', 'CONFIRMED', 'IN_PROGRESS'])[1 + g % 4] END, "
+                + "50 + g % 400, NOW() - (g % 400) * INTERVAL '1 day' "
+                + "FROM generate_series(1, ?) g, p", APPOINTMENTS);
+        jdbcTemplate.update("INSERT INTO payments (appointment_id, profile_id, amount, payment_method, payment_status, "
+                + "payment_date, created_at) "
+                + "SELECT id, profile_id, estimated_cost, (ARRAY['CASH', 'CREDIT_CARD', 'DEBIT_CARD', 'WALLET'])[1 + id % 4], "
+                + "'COMPLETED', appointment_date, appointment_date FROM appointments "
+                + "WHERE status = 'COMPLETED' OR (status = 'CONFIRMED' AND id % 3 = 0)");
+        kpiRollupService.reconcileAll();
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    /** The dashboard as built before the single-statement aggregate. */
+    private DashboardStatsDto legacyStats() {
+        long totalCustomers = profileRepository.count();
+        long totalAppointments = appointmentRepository.count();
+        BigDecimal totalRevenue = paymentRepository.getTotalRevenue();
+        BigDecimal cardRevenue = paymentRepository.getRevenueByPaymentMethods(
+                Arrays.asList("CREDIT_CARD", "DEBIT_CARD", "WALLET"));
+        BigDecimal cashRevenue = paymentRepository.getRevenueByPaymentMethods(List.of("CASH"));
+
+        List<Appointment> pendingCash = appointmentRepository.findAppointmentsNeedingPayment(Pageable.unpaged());
+        BigDecimal pendingCashRevenue = pendingCash.stream()
+                .map(a -> a.getEstimatedCost() != null ? a.getEstimatedCost() : BigDecimal.ZERO)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        List<AppointmentDto> pendingCashAppointments = pendingCash.stream()
+                .limit(10)
+                .map(this::legacyDto)
+                .collect(Collectors.toList());
+        List<AppointmentDto> upcomingAppointments = appointmentRepository.findUpcomingAppointments(Pageable.unpaged())
+                .stream()
+                .limit(5)
+                .map(this::legacyDto)
+                .collect(Collectors.toList());
+
+        return DashboardStatsDto.builder()
+                .totalCustomers(totalCustomers)
+                .totalAppointments(totalAppointments)
+                .totalRevenue(totalRevenue)
+                .cardRevenue(cardRevenue)
+                .cashRevenue(cashRevenue)
+                .pendingCashRevenue(pendingCashRevenue)
+                .pendingCashAppointments(pendingCashAppointments)
+                .upcomingAppointments(upcomingAppointments)
+                .build();
+    }
+
+    private AppointmentDto legacyDto(Appointment appointment) {
+        List<Payment> payments = paymentRepository.findCompletedPaymentsByAppointmentId(appointment.getId());
+        return AppointmentDto.builder()
+                .id(appointment.getId())
+                .userName(appointment.getProfile() != null ? appointment.getProfile().getFullName() : null)
+                .serviceType(appointment.getServiceType())
+                .appointmentDate(appointment.getAppointmentDate())
+                .status(appointment.getStatus())
+                .estimatedCost(appointment.getEstimatedCost())
+                .paidAmount(payments.stream().map(Payment::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .paymentMethod(payments.isEmpty() ? null : payments.get(0).getPaymentMethod())
+                .build();
+    }
+}
@@ -0,0 +1,184 @@
+package com.servio.backend.service;
+
+import com.servio.backend.controller.ServiceController;
+import com.servio.backend.dto.ServiceCategoryResponse;
+import com.servio.backend.dto.ServiceResponse;
+import com.servio.support.PostgresJpaTest;
+import com.servio.support.StatementCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** The catalog snapshot against Postgres; writes commit for real, so invalidation can be observed. */
+@Import({ServiceCatalog.class, ServiceService.class, StatementCounter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ServiceCatalogTest extends PostgresJpaTest {
+
+    @Autowired
+    private ServiceCatalog catalog;
+
+    @Autowired
+    private ServiceService serviceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private StatementCounter statements;
+
+    private Long maintenance;
+    private Long oilChange;
+    private Long hidden;
+
+    @BeforeEach
+    void seed() {
+        maintenance = insertCategory("Maintenance");
+        oilChange = insertService(maintenance, "Oil change", true, true);
+        insertService(maintenance, "Brake pads", false, true);
+        hidden = insertService(maintenance, "Retired service", false, false);
+        jdbcTemplate.update("INSERT INTO service_included_items (service_id, display_order, item) "
+                + "VALUES (?, 0, 'Filter'), (?, 1, 'Oil')",
+                oilChange, oilChange);
+        catalog.invalidate();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM service_included_items");
+        jdbcTemplate.update("DELETE FROM service_options");
+        jdbcTemplate.update("DELETE FROM services");
+        jdbcTemplate.update("DELETE FROM service_categories");
+        jdbcTemplate.update("DELETE FROM offers");
+    }
+
+    @Test
+    void theSnapshotHoldsOnlyActiveServices() {
+        assertThat(serviceService.getAllServices()).extracting(ServiceResponse::getName)
+                .containsExactly("Brake pads", "Oil change");
+        assertThat(serviceService.getFeaturedServices()).extracting(ServiceResponse::getName)
+                .containsExactly("Oil change");
+        assertThat(serviceService.getAllCategoriesWithServices()).singleElement()
+                .extracting(ServiceCategoryResponse::getServices).asList().hasSize(2);
+        assertThat(serviceService.getServiceById(oilChange).getIncludedItems()).containsExactly("Filter", "Oil");
+        assertThatThrownBy(() -> serviceService.getServiceById(hidden)).hasMessage("Service not found");
+    }
+
+    @Test
+    void unchangedReadsShareOneSnapshotAndETagWithoutQueries() {
+        ServiceCatalog.Snapshot first = catalog.current();
+        statements.reset();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(catalog.current()).isSameAs(first);
+            serviceService.getServiceById(oilChange);
+            serviceService.getCatalogETag();
+        }
+
+        assertThat(statements.count()).isZero();
+        assertThat(serviceService.getCatalogETag()).isEqualTo(first.etag());
+    }
+
+    @Test
+    void aCommittedWriteIsVisibleOnTheNextRead() {
+        String etag = serviceService.getCatalogETag();
+
+        inTransaction(() -> {
+            jdbcTemplate.update("UPDATE services SET is_active = true WHERE id = ?", hidden);
+            catalog.invalidate();
+            // Not committed yet, so readers keep the old snapshot
+            assertThat(serviceService.getCatalogETag()).isEqualTo(etag);
+        });
+
+        assertThat(serviceService.getCatalogETag()).isNotEqualTo(etag);
+        assertThat(serviceService.getServiceById(hidden).getName()).isEqualTo("Retired service");
+    }
+
+    @Test
+    void aRolledBackWriteKeepsTheSnapshot() {
+        String etag = serviceService.getCatalogETag();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE services SET is_active = true WHERE id = ?", hidden);
+            catalog.invalidate();
+            status.setRollbackOnly();
+        });
+
+        assertThat(serviceService.getCatalogETag()).isEqualTo(etag);
+    }
+
+    @Test
+    void aSnapshotExpiresWhenAnOfferWindowOpens() {
+        LocalDateTime opensAt = LocalDateTime.now().plusSeconds(1);
+        jdbcTemplate.update("INSERT INTO offers (title, valid_from, is_active, created_at) VALUES ('Spring sale', ?, true, NOW())",
+                Timestamp.valueOf(opensAt));
+        catalog.invalidate();
+        assertThat(serviceService.getActiveOffers()).isEmpty();
+
+        while (LocalDateTime.now().isBefore(opensAt)) {
+            Thread.onSpinWait();
+        }
+
+        assertThat(serviceService.getActiveOffers()).singleElement()
+                .satisfies(offer -> assertThat(offer.getTitle()).isEqualTo("Spring sale"));
+    }
+
+    @Test
+    void theControllerAnswersAMatchingETagWithNotModified() {
+        ServiceController controller = new ServiceController(serviceService);
+        String etag = serviceService.getCatalogETag();
+
+        MockHttpServletRequest fresh = new MockHttpServletRequest("GET", "/api/services/" + oilChange);
+        ResponseEntity<Map<String, Object>> full = controller.getServiceById(oilChange, new ServletWebRequest(fresh));
+        assertThat(full.getHeaders().getETag()).isEqualTo(etag);
+        assertThat(full.getBody()).containsEntry("success", true);
+
+        MockHttpServletRequest revalidate = new MockHttpServletRequest("GET", "/api/services/" + oilChange);
+        revalidate.addHeader("If-None-Match", etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(controller.getServiceById(oilChange, new ServletWebRequest(revalidate, response))).isNull();
+        assertThat(response.getStatus()).isEqualTo(304);
+
+        catalog.invalidate();
+        MockHttpServletResponse afterChange = new MockHttpServletResponse();
+        assertThat(controller.getServiceById(oilChange, new ServletWebRequest(revalidate, afterChange))).isNotNull();
+        assertThat(afterChange.getStatus()).isEqualTo(200);
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private void inTransaction(Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> work.run());
+    }
+
+    private Long insertCategory(String name) {
+        return jdbcTemplate.queryForObject("INSERT INTO service_categories (name, display_order, is_active, created_at) "
+                + "VALUES (?, 0, true, NOW()) RETURNING id", Long.class, name);
+    }
+
+    private Long insertService(Long categoryId, String name, boolean featured, boolean active) {
+        return jdbcTemplate.queryForObject("INSERT INTO services (category_id, name, description, status, is_featured, "
+                + "is_active, created_at) VALUES (?, ?, 'Description', 'PUBLISHED', ?, ?, NOW()) RETURNING id",
+                Long.class, categoryId, name, featured, active);
+    }
+}
@@ -0,0 +1,143 @@
+package com.servio.backend.service;
+
+import com.servio.backend.entity.Service;
+import com.servio.backend.repository.ServiceRepository;
+import com.servio.support.PostgresJpaTest;
+import com.servio.support.StatementCounter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Service search on 10k services: latency and statements of the catalog's
+ * {@link ServiceSearchIndex} against the previous path, the
+ * {@link ServiceRepository#searchServices} LIKE query with each result
+ * mapped the way the old ServiceService did (category, included items and
+ * options loaded lazily per service).  The LIKE row is the query alone.
+ * The old search returned every match unranked; the index returns the best
+ * {@value #SEARCH_LIMIT}.
+ *
+ * Run with {@code mvn test -Pbenchmark -Dtest=ServiceSearchIndexBenchmarkTest}.
+ */
+@Tag("benchmark")
+@Import({ServiceCatalog.class, StatementCounter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ServiceSearchIndexBenchmarkTest extends PostgresJpaTest {
+
+    private static final int SERVICES = 10_000;
+    private static final int CATEGORIES = 12;
+    private static final int SEARCH_LIMIT = 50;
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 25;
+
+    /** Common words, a two-word query, a rare word, a prefix being typed, and a typo LIKE cannot match. */
+    private static final List<String> QUERIES = List.of("oil", "brake pads", "alignment", "insp", "brkae");
+
+    @Autowired
+    private ServiceCatalog catalog;
+
+    @Autowired
+    private ServiceRepository serviceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Test
+    void searchBeforeAndAfter() {
+        seed();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        long buildStarted = System.nanoTime();
+        catalog.invalidate();
+        ServiceSearchIndex index = catalog.current().searchIndex();
+        double buildMillis = (System.nanoTime() - buildStarted) / 1_000_000.0;
+
+        System.out.printf("%nService search, %,d services (snapshot and index built in %.0f ms)%n", SERVICES, buildMillis);
+        System.out.printf("%-12s %-7s %8s %12s %12s %12s%n", "query", "", "results", "statements", "median ms", "p95 ms");
+        for (String query : QUERIES) {
+            Result like = measure(query, "LIKE", q -> readOnly.execute(status -> serviceRepository.searchServices(q).size()));
+            Result before = measure(query, "before", q -> readOnly.execute(status -> legacySearch(q)));
+            Result after = measure(query, "after", q -> index.search(q, null, SEARCH_LIMIT).services().size());
+            for (Result result : List.of(like, before, after)) {
+                System.out.printf("%-12s %-7s %8d %12d %12.2f %12.2f%n", query, result.name(), result.results(),
+                        result.statements(), result.medianMillis(), result.p95Millis());
+            }
+
+            assertThat(after.statements()).isZero();
+            assertThat(after.medianMillis()).isLessThan(before.medianMillis());
+        }
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private record Result(String name, int results, long statements, double medianMillis, double p95Millis) {
+    }
+
+    private Result measure(String query, String name, ToIntFunction<String> search) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            search.applyAsInt(query);
+        }
+        List<Double> millis = new ArrayList<>();
+        int results = 0;
+        long statements = 0;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            statementCounter.reset();
+            long started = System.nanoTime();
+            results = search.applyAsInt(query);
+            millis.add((System.nanoTime() - started) / 1_000_000.0);
+            statements = statementCounter.count();
+        }
+        Collections.sort(millis);
+        return new Result(name, results, statements, millis.get(millis.size() / 2),
+                millis.get((int) Math.ceil(millis.size() * 0.95) - 1));
+    }
+
+    /** The search as served before the index: an unranked, unlimited LIKE scan, then lazy loads per result. */
+    private int legacySearch(String query) {
+        List<Service> services = serviceRepository.searchServices(query);
+        int touched = 0;
+        for (Service service : services) {
+            touched += service.getCategory().getName().length();
+            touched += service.getIncludedItems().size();
+            touched += service.getOptions().size();
+        }
+        return touched >= 0 ? services.size() : 0;
+    }
+
+    private void seed() {
+        jdbcTemplate.update("INSERT INTO service_categories (name, display_order, is_active, created_at) "
+                + "SELECT 'Category ' || g, g, true, NOW() FROM generate_series(1, ?) g", CATEGORIES);
+        jdbcTemplate.update("WITH c AS (SELECT array_agg(id ORDER BY id) AS ids FROM service_categories) "
+                + "INSERT INTO services (category_id, name, description, base_price, status, is_featured, is_active, created_at) "
+                + "SELECT c.ids[1 + g % " + CATEGORIES + "], "
+                + "(ARRAY['Oil', 'Brake', 'Tyre', 'Battery', 'Engine', 'Gearbox', 'Clutch', 'Coolant', 'Wheel', 'Cabin'])[1 + g % 10] "
+                + "|| ' ' || (ARRAY['change', 'pads', 'rotation', 'check', 'service', 'flush', 'repair', 'inspection', "
+                + "'replacement', 'alignment'])[1 + (g / 10) % 10] || ' ' || g, "
+                + "'Includes ' || (ARRAY['a road test', 'fluid top-up', 'a safety check', 'parts and labour'])[1 + g % 4] "
+                + "|| ' for package ' || g, 20 + g % 300, 'PUBLISHED', g % 50 = 0, g % 20 <> 0, NOW() "
+                + "FROM generate_series(1, ?) g, c", SERVICES);
+        jdbcTemplate.update("INSERT INTO service_included_items (service_id, display_order, item) "
+                + "SELECT id, n, 'Item ' || n FROM services, generate_series(0, 2) n");
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
@@ -0,0 +1,87 @@
+package com.servio.backend.service;
+
+import com.servio.backend.dto.ServiceResponse;
+import com.servio.backend.dto.ServiceSearchFacet;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+class ServiceSearchIndexTest {
+
+    private static final long MAINTENANCE = 1L;
+    private static final long BRAKES = 2L;
+
+    private final ServiceSearchIndex index = ServiceSearchIndex.build(List.of(
+            service(1L, MAINTENANCE, "Maintenance", "Oil change", "Engine oil and filter replacement"),
+            service(2L, MAINTENANCE, "Maintenance", "Oiling of hinges", "Door and bonnet hinges"),
+            service(3L, MAINTENANCE, "Maintenance", "Full inspection", "Includes an oil level check"),
+            service(4L, BRAKES, "Brakes", "Brake pads", "Front or rear pad replacement"),
+            service(5L, BRAKES, "Brakes", "Brake fluid flush", "Replace the brake fluid")));
+
+    @Test
+    void exactNameHitsOutrankPrefixAndDescriptionHits() {
+        // "Oil change" is an exact name hit, "Oiling" a name prefix, the inspection only mentions oil
+        assertThat(ids(index.search("oil", null, 10))).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void prefixesMatchWhileTheUserIsTyping() {
+        assertThat(ids(index.search("bra", null, 10))).containsExactly(4L, 5L);
+        assertThat(ids(index.search("flu", null, 10))).containsExactly(5L);
+    }
+
+    @Test
+    void everyQueryTokenMustMatch() {
+        assertThat(ids(index.search("brake pads", null, 10))).containsExactly(4L);
+        assertThat(ids(index.search("brake oil", null, 10))).isEmpty();
+    }
+
+    @Test
+    void longTokensTolerateTyposButShortOnesDoNot() {
+        assertThat(ids(index.search("brkae", null, 10))).containsExactly(4L, 5L);
+        assertThat(ids(index.search("inspektion", null, 10))).containsExactly(3L);
+        assertThat(ids(index.search("pda", null, 10))).isEmpty();
+    }
+
+    @Test
+    void equalScoresKeepCatalogOrderAndLimitApplies() {
+        assertThat(ids(index.search("brake", null, 10))).containsExactly(4L, 5L);
+        assertThat(ids(index.search("brake", null, 1))).containsExactly(4L);
+    }
+
+    @Test
+    void emptyQueryReturnsTheWholeCatalogInOrder() {
+        assertThat(ids(index.search("  ", null, 10))).containsExactly(1L, 2L, 3L, 4L, 5L);
+    }
+
+    @Test
+    void facetsCountMatchesBeforeTheCategoryFilter() {
+        ServiceSearchIndex.Result result = index.search("replacement", BRAKES, 10);
+
+        assertThat(ids(result)).containsExactly(4L);
+        assertThat(result.facets()).extracting(ServiceSearchFacet::getCategoryId, ServiceSearchFacet::getCount)
+                .containsExactlyInAnyOrder(
+                        tuple(MAINTENANCE, 1L),
+                        tuple(BRAKES, 1L));
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private static ServiceResponse service(Long id, Long categoryId, String categoryName, String name, String description) {
+        ServiceResponse service = new ServiceResponse();
+        service.setId(id);
+        service.setCategoryId(categoryId);
+        service.setCategoryName(categoryName);
+        service.setName(name);
+        service.setDescription(description);
+        return service;
+    }
+
+    private static List<Long> ids(ServiceSearchIndex.Result result) {
+        return result.services().stream().map(ServiceResponse::getId).collect(Collectors.toList());
+    }
+}
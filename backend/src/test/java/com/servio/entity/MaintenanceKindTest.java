@@ -0,0 +1,31 @@
+package com.servio.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MaintenanceKindTest {
+
+    @Test
+    void serviceTypesAreClassifiedByKeywordIgnoringCase() {
+        assertThat(MaintenanceKind.classify("Oil change")).isEqualTo(MaintenanceKind.OIL_CHANGE);
+        assertThat(MaintenanceKind.classify("OIL AND FILTER")).isEqualTo(MaintenanceKind.OIL_CHANGE);
+        assertThat(MaintenanceKind.classify("Tyre rotation")).isEqualTo(MaintenanceKind.TYRE_ROTATION);
+        assertThat(MaintenanceKind.classify("New tires")).isEqualTo(MaintenanceKind.TYRE_ROTATION);
+        assertThat(MaintenanceKind.classify("Wheel rotation")).isEqualTo(MaintenanceKind.TYRE_ROTATION);
+        assertThat(MaintenanceKind.classify("Brake pads")).isEqualTo(MaintenanceKind.BRAKE_INSPECTION);
+    }
+
+    @Test
+    void theFirstMatchingKeywordWins() {
+        assertThat(MaintenanceKind.classify("Oil change and tyre rotation")).isEqualTo(MaintenanceKind.OIL_CHANGE);
+        assertThat(MaintenanceKind.classify("Tyre and brake check")).isEqualTo(MaintenanceKind.TYRE_ROTATION);
+    }
+
+    @Test
+    void unrecognisedOrMissingTypesAreGeneralServices() {
+        assertThat(MaintenanceKind.classify("Annual inspection")).isEqualTo(MaintenanceKind.GENERAL_SERVICE);
+        assertThat(MaintenanceKind.classify("")).isEqualTo(MaintenanceKind.GENERAL_SERVICE);
+        assertThat(MaintenanceKind.classify(null)).isEqualTo(MaintenanceKind.GENERAL_SERVICE);
+    }
+}
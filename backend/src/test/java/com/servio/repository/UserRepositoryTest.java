@@ -0,0 +1,32 @@
+package com.servio.repository;
+
+import com.servio.entity.User;
+import com.servio.support.PostgresJpaTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserRepositoryTest extends PostgresJpaTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void passwordHashIsReplacedOnlyWhileItIsUnchanged() {
+        User user = userRepository.saveAndFlush(User.builder().fullName("Ana Silva").email("ana@example.com")
+                .passwordHash("cost-10-hash").build());
+
+        assertThat(userRepository.updatePasswordHash(user.getId(), "cost-10-hash", "cost-12-hash")).isEqualTo(1);
+        // The password changed meanwhile: a rehash of the old password must not overwrite it
+        assertThat(userRepository.updatePasswordHash(user.getId(), "cost-10-hash", "stale-rehash")).isZero();
+
+        entityManager.clear();
+        assertThat(userRepository.findById(user.getId())).get()
+                .extracting(User::getPasswordHash).isEqualTo("cost-12-hash");
+    }
+}
@@ -0,0 +1,167 @@
+package com.servio.security;
+
+import com.servio.util.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JMH benchmark of the JWT filter hot path: a request carrying a token that is
+ * already in the verified-token cache, on eight threads.  Reports throughput
+ * and, via the GC profiler, bytes allocated per request (gc.alloc.rate.norm).
+ * The legacy benchmark replays the filter as it was before the caches: the
+ * signing key and parser built on every call, and the token parsed three
+ * times (validateToken, getUserIdFromToken, getRoleFromToken).
+ *
+ * Run with {@code mvn test -Pbenchmark -Dtest=JwtAuthenticationFilterBenchmarkTest}.
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationFilterBenchmarkTest {
+
+    private static final int THREADS = 8;
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private JwtTokenProvider tokenProvider;
+    private JwtAuthenticationFilter filter;
+    private String secret;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        secret = "benchmark-secret-benchmark-secret-benchmark-secret";
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", secret);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.invokeMethod(tokenProvider, "init");
+        filter = new JwtAuthenticationFilter(tokenProvider, new AuthFilterMetrics(Set.of(), List.of()));
+        token = tokenProvider.generateToken("42", "CUSTOMER");
+        tokenProvider.authenticate(token); // the hot path is a cache hit
+    }
+
+    @State(Scope.Thread)
+    public static class Request {
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+        FilterChain chain;
+
+        @Setup(Level.Trial)
+        public void setUp(JwtAuthenticationFilterBenchmarkTest benchmark) {
+            request = new MockHttpServletRequest("GET", "/api/appointments");
+            request.addHeader("Authorization", "Bearer " + benchmark.token);
+            response = new MockHttpServletResponse();
+            chain = (req, res) -> { };
+        }
+    }
+
+    @Benchmark
+    public Object filterCachedToken(Request request) throws Exception {
+        filter.doFilter(request.request, request.response, request.chain);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    @Benchmark
+    public Optional<JwtTokenProvider.VerifiedToken> authenticateCachedToken() {
+        return tokenProvider.authenticate(token);
+    }
+
+    /** The filter body before the caches, minus its INFO logging (see AuthFilterMetrics for that). */
+    @Benchmark
+    public Object legacyTripleParse(Request request) {
+        String header = request.request.getHeader("Authorization");
+        String bearer = header.substring(7);
+        if (legacyParse(bearer) != null) {
+            String userId = legacyParse(bearer).getSubject();
+            String role = legacyParse(bearer).get("role", String.class);
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(userId,
+                    null, Collections.singletonList(new SimpleGrantedAuthority(role)));
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request.request));
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+        }
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    @Test
+    void reportThroughputAndAllocationsPerRequest() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmarkTest.class.getName() + "\\.")
+                .threads(THREADS)
+                .forks(1)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .addProfiler(GCProfiler.class)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        Map<String, Double> bytesPerOp = new LinkedHashMap<>();
+        for (RunResult result : results) {
+            String name = result.getParams().getBenchmark();
+            name = name.substring(name.lastIndexOf('.') + 1);
+            Result<?> allocation = result.getSecondaryResults().get(ALLOCATION);
+            bytesPerOp.put(name, allocation.getScore());
+            System.out.printf("%-26s %10.2f ops/us %8.1f B/op%n", name,
+                    result.getPrimaryResult().getScore(), allocation.getScore());
+        }
+
+        // A cache hit must not allocate beyond what escape analysis leaves behind
+        assertThat(bytesPerOp.get("authenticateCachedToken")).isLessThan(32.0);
+        assertThat(bytesPerOp.get("filterCachedToken")).isLessThan(bytesPerOp.get("legacyTripleParse") / 10);
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    /** The old getAllClaimsFromToken: a new key and parser per call. */
+    private Claims legacyParse(String jwt) {
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes());
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(jwt)
+                .getPayload();
+    }
+}
@@ -0,0 +1,130 @@
+package com.servio.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PublicJwk;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SupabaseTokenVerifierTest {
+
+    private static final String SUPABASE_URL = "https://project.supabase.co";
+    private static final String ISSUER = SUPABASE_URL + "/auth/v1";
+    private static final String JWKS_URL = ISSUER + "/.well-known/jwks.json";
+    private static final String USER_ID = "6f1c2a44-0c59-4d55-9a64-1d3f5e0b7a21";
+
+    private final KeyPair current = Jwts.SIG.ES256.keyPair().build();
+    private final KeyPair rotated = Jwts.SIG.ES256.keyPair().build();
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final SupabaseTokenVerifier verifier = new SupabaseTokenVerifier(restTemplate, SUPABASE_URL, "", true);
+
+    @Test
+    void acceptsAValidJwksSignedToken() throws Exception {
+        publishKeys(Map.of("current", current));
+
+        SupabaseTokenVerifier.Result result = verifier.verify(token("current", current.getPrivate(), ISSUER, inOneHour()));
+
+        assertThat(result.status()).isEqualTo(SupabaseTokenVerifier.Status.VERIFIED);
+        assertThat(result.userId()).isEqualTo(USER_ID);
+        assertThat(result.email()).isEqualTo("ana@example.com");
+    }
+
+    @Test
+    void rejectsExpiredWrongIssuerAndBadSignatureTokens() throws Exception {
+        publishKeys(Map.of("current", current));
+        Date anHourAgo = Date.from(Instant.now().minus(Duration.ofHours(1)));
+
+        assertThat(verifier.verify(token("current", current.getPrivate(), ISSUER, anHourAgo)).status())
+                .isEqualTo(SupabaseTokenVerifier.Status.REJECTED);
+        assertThat(verifier.verify(token("current", current.getPrivate(), "https://evil.example/auth/v1", inOneHour())).status())
+                .isEqualTo(SupabaseTokenVerifier.Status.REJECTED);
+        // Claims to be signed by the published key, but signed by another one
+        assertThat(verifier.verify(token("current", rotated.getPrivate(), ISSUER, inOneHour())).status())
+                .isEqualTo(SupabaseTokenVerifier.Status.REJECTED);
+    }
+
+    @Test
+    void unknownKidRefreshesTheJwksAtMostOncePerInterval() throws Exception {
+        String before = jwks(Map.of("current", current));
+        String after = jwks(Map.of("current", current, "rotated", rotated));
+        when(restTemplate.getForObject(eq(JWKS_URL), eq(String.class))).thenReturn(before, after);
+        String rotatedToken = token("rotated", rotated.getPrivate(), ISSUER, inOneHour());
+
+        assertThat(verifier.verify(token("current", current.getPrivate(), ISSUER, inOneHour())).status())
+                .isEqualTo(SupabaseTokenVerifier.Status.VERIFIED);
+        // Fetched moments ago: an unknown kid does not refetch yet, so the caller falls back
+        assertThat(verifier.verify(rotatedToken).status()).isEqualTo(SupabaseTokenVerifier.Status.UNAVAILABLE);
+        verify(restTemplate, times(1)).getForObject(JWKS_URL, String.class);
+
+        ReflectionTestUtils.setField(verifier, "jwksFetchedAt", Instant.now().minus(Duration.ofMinutes(1)));
+        assertThat(verifier.verify(rotatedToken).status()).isEqualTo(SupabaseTokenVerifier.Status.VERIFIED);
+        verify(restTemplate, times(2)).getForObject(JWKS_URL, String.class);
+    }
+
+    @Test
+    void checksHs256TokensAgainstTheSharedSecretOffline() {
+        byte[] secret = new byte[32];
+        Arrays.fill(secret, (byte) 'k');
+        SupabaseTokenVerifier offline = new SupabaseTokenVerifier(SUPABASE_URL, new String(secret, StandardCharsets.UTF_8));
+        String valid = Jwts.builder()
+                .issuer(ISSUER).audience().add("authenticated").and()
+                .subject(USER_ID).claim("email", "ana@example.com").expiration(inOneHour())
+                .signWith(Keys.hmacShaKeyFor(secret))
+                .compact();
+
+        assertThat(offline.verify(valid).status()).isEqualTo(SupabaseTokenVerifier.Status.VERIFIED);
+        assertThat(offline.verify(valid.substring(0, valid.length() - 2) + "xx").status())
+                .isEqualTo(SupabaseTokenVerifier.Status.REJECTED);
+        // No JWKS offline: asymmetric tokens cannot be checked locally
+        assertThat(offline.verify(token("current", current.getPrivate(), ISSUER, inOneHour())).status())
+                .isEqualTo(SupabaseTokenVerifier.Status.UNAVAILABLE);
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private void publishKeys(Map<String, KeyPair> keys) throws Exception {
+        when(restTemplate.getForObject(JWKS_URL, String.class)).thenReturn(jwks(keys));
+    }
+
+    private static String jwks(Map<String, KeyPair> keys) throws Exception {
+        List<PublicJwk<?>> jwks = keys.entrySet().stream()
+                .<PublicJwk<?>>map(entry -> Jwks.builder().key(entry.getValue().getPublic()).id(entry.getKey()).build())
+                .collect(Collectors.toList());
+        return new ObjectMapper().writeValueAsString(Map.of("keys", jwks));
+    }
+
+    private static String token(String kid, PrivateKey signingKey, String issuer, Date expiration) {
+        return Jwts.builder()
+                .header().keyId(kid).and()
+                .issuer(issuer).audience().add("authenticated").and()
+                .subject(USER_ID).claim("email", "ana@example.com")
+                .issuedAt(new Date()).expiration(expiration)
+                .signWith(signingKey, Jwts.SIG.ES256)
+                .compact();
+    }
+
+    private static Date inOneHour() {
+        return Date.from(Instant.now().plus(Duration.ofHours(1)));
+    }
+}
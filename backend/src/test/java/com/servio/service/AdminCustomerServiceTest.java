@@ -0,0 +1,269 @@
+package com.servio.service;
+
+import com.servio.dto.AdminCustomerDetailsDto;
+import com.servio.dto.CustomerSearchResultDto;
+import com.servio.dto.CustomerVehicleHistoryDto;
+import com.servio.entity.Profile;
+import com.servio.entity.Role;
+import com.servio.entity.ServiceRecord;
+import com.servio.entity.User;
+import com.servio.entity.Vehicle;
+import com.servio.entity.WalkInCustomer;
+import com.servio.support.PostgresJpaTest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(AdminCustomerService.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class AdminCustomerServiceTest extends PostgresJpaTest {
+
+    private static final int RECORDS_PER_VEHICLE = 3;
+
+    @Autowired
+    private AdminCustomerService adminCustomerService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void trigramSearch() {
+        // The schema comes from the entities; word_similarity and <% come from
+        // the extension that customer-search-migration.sql installs
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+    }
+
+    @Test
+    void customerDetailsUseTheSameStatementsForOneOrManyVehicles() {
+        Profile oneVehicle = customerWithVehicles("one@example.com", 1);
+        Profile fiveVehicles = customerWithVehicles("five@example.com", 5);
+
+        long forOne = statementsFor(oneVehicle);
+        long forFive = statementsFor(fiveVehicles);
+
+        // Profile, user by email, vehicles, and all their service records
+        assertThat(forOne).isEqualTo(4);
+        assertThat(forFive).isEqualTo(forOne);
+    }
+
+    @Test
+    void vehiclesCarryTheirOwnerAndRecords() {
+        Profile profile = customerWithVehicles("ana@example.com", 2);
+        entityManager.clear();
+
+        AdminCustomerDetailsDto details = adminCustomerService.getCustomerDetails(profile.getId().toString());
+
+        assertThat(details.getVehicles()).hasSize(2);
+        for (CustomerVehicleHistoryDto history : details.getVehicles()) {
+            assertThat(history.getVehicle().getProfileId()).isEqualTo(profile.getId().toString());
+            assertThat(history.getVehicle().getOwnerName()).isEqualTo(profile.getFullName());
+            assertThat(history.getServiceRecords()).hasSize(RECORDS_PER_VEHICLE)
+                    .allSatisfy(record -> assertThat(record.getVehicleId()).isEqualTo(history.getVehicle().getId()));
+        }
+    }
+
+    @Test
+    void searchFindsProfilesByNameEmailAndPhone() {
+        Profile marta = profile("Marta Kowalski", "marta@example.com", "+48 600 100 200");
+        profile("Olek Nowak", "olek@example.com", "+48 600 999 000");
+
+        for (String query : List.of("kowalski", "MARTA@example", "100 200")) {
+            assertThat(adminCustomerService.searchCustomers(query, 10))
+                    .as(query)
+                    .singleElement()
+                    .satisfies(hit -> {
+                        assertThat(hit.getSource()).isEqualTo("PROFILE");
+                        assertThat(hit.getId()).isEqualTo(marta.getId().toString());
+                        assertThat(hit.getLicensePlate()).isNull();
+                    });
+        }
+    }
+
+    @Test
+    void searchFindsAProfileOnceByItsVehiclePlates() {
+        Profile owner = profile("Piotr Zielinski", "piotr@example.com", null);
+        vehicle(owner, "WX 4411");
+        vehicle(owner, "WX 4412");
+
+        List<CustomerSearchResultDto> hits = adminCustomerService.searchCustomers("wx 441", 10);
+
+        assertThat(hits).singleElement().satisfies(hit -> {
+            assertThat(hit.getSource()).isEqualTo("PROFILE");
+            assertThat(hit.getId()).isEqualTo(owner.getId().toString());
+            assertThat(hit.getLicensePlate()).startsWith("WX 441");
+        });
+    }
+
+    @Test
+    void searchFindsLocalUsersWithoutAProfileButNotAdmins() {
+        User jonas = user("Jonas Petraitis", "jonas@example.com", Role.USER);
+        user("Jonas Admin", "jonas.admin@example.com", Role.ADMIN);
+        profile("Jonas Profile", "jonas.profile@example.com", null);
+        // Shadowed by the profile above, so listed once, as that profile
+        user("Jonas Shadow", "jonas.profile@example.com", Role.USER);
+
+        List<CustomerSearchResultDto> hits = adminCustomerService.searchCustomers("jonas", 10);
+
+        assertThat(hits).extracting(CustomerSearchResultDto::getFullName)
+                .containsExactlyInAnyOrder("Jonas Petraitis", "Jonas Profile");
+        assertThat(hits).filteredOn(hit -> "USER".equals(hit.getSource())).singleElement()
+                .satisfies(hit -> assertThat(hit.getId()).isEqualTo(new UUID(0L, jonas.getId()).toString()));
+    }
+
+    @Test
+    void searchFindsWalkInCustomersByNameAndPlate() {
+        WalkInCustomer olga = walkIn("Olga Brandt", "+49 170 555 0101", "KR-9021");
+
+        for (String query : List.of("brandt", "kr-90")) {
+            assertThat(adminCustomerService.searchCustomers(query, 10))
+                    .as(query)
+                    .singleElement()
+                    .satisfies(hit -> {
+                        assertThat(hit.getSource()).isEqualTo("WALK_IN");
+                        assertThat(hit.getId()).isEqualTo(olga.getId().toString());
+                        assertThat(hit.getLicensePlate()).isEqualTo("KR-9021");
+                    });
+        }
+    }
+
+    @Test
+    void searchMatchesAMisspeltNameByWordSimilarity() {
+        Profile marta = profile("Marta Kowalski", "marta@example.com", null);
+        walkIn("Olga Brandt", "+49 170 555 0101", null);
+
+        assertThat(adminCustomerService.searchCustomers("kowalsky", 10))
+                .singleElement()
+                .satisfies(hit -> {
+                    assertThat(hit.getId()).isEqualTo(marta.getId().toString());
+                    // Fuzzy hits rank below every substring hit, which score at least 1
+                    assertThat(hit.getScore()).isPositive().isLessThan(1);
+                });
+    }
+
+    @Test
+    void searchRanksExactThenPrefixThenSubstringHits() {
+        profile("Mariana Lopes", "lopes@example.com", null);
+        profile("Anabel Costa", "costa@example.com", null);
+        user("Ana", "ana.user@example.com", Role.USER);
+        // Word similarity 0.5, under the 0.6 threshold of <%
+        walkIn("Anna Berg", "+46 70 000 0000", null);
+
+        List<CustomerSearchResultDto> hits = adminCustomerService.searchCustomers("ana", 10);
+
+        assertThat(hits).extracting(CustomerSearchResultDto::getFullName)
+                .containsExactly("Ana", "Anabel Costa", "Mariana Lopes");
+        assertThat(hits).extracting(CustomerSearchResultDto::getScore).isSortedAccordingTo((a, b) -> Double.compare(b, a));
+    }
+
+    @Test
+    void searchHonoursTheLimitAndIgnoresShortQueries() {
+        for (int i = 0; i < 5; i++) {
+            walkIn("Fleet Driver " + i, "+1 555 010" + i, null);
+        }
+
+        assertThat(adminCustomerService.searchCustomers("fleet", 3)).hasSize(3);
+        assertThat(adminCustomerService.searchCustomers(" f ", 10)).isEmpty();
+        assertThat(adminCustomerService.searchCustomers(null, 10)).isEmpty();
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private long statementsFor(Profile profile) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        adminCustomerService.getCustomerDetails(profile.getId().toString());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Profile customerWithVehicles(String email, int vehicles) {
+        Profile profile = Profile.builder()
+                .id(UUID.randomUUID())
+                .fullName("Customer " + email)
+                .email(email)
+                .role("USER")
+                .createdAt(OffsetDateTime.now())
+                .joined(OffsetDateTime.now())
+                .build();
+        entityManager.persist(profile);
+        for (int i = 0; i < vehicles; i++) {
+            Vehicle vehicle = Vehicle.builder().profile(profile).make("Toyota").model("Corolla").year(2015 + i)
+                    .licensePlate(email.substring(0, 3).toUpperCase() + "-" + i).build();
+            entityManager.persist(vehicle);
+            for (int r = 0; r < RECORDS_PER_VEHICLE; r++) {
+                entityManager.persist(ServiceRecord.builder().vehicle(vehicle).serviceType("Oil change")
+                        .serviceDate(LocalDate.now().minusMonths(r * 6L)).mileage(10_000 * (r + 1))
+                        .cost(new BigDecimal("89.00")).build());
+            }
+        }
+        entityManager.flush();
+        return profile;
+    }
+
+    private Profile profile(String fullName, String email, String phone) {
+        Profile profile = Profile.builder()
+                .id(UUID.randomUUID())
+                .fullName(fullName)
+                .email(email)
+                .phone(phone)
+                .role("USER")
+                .createdAt(OffsetDateTime.now())
+                .joined(OffsetDateTime.now())
+                .build();
+        entityManager.persist(profile);
+        entityManager.flush();
+        return profile;
+    }
+
+    private void vehicle(Profile owner, String licensePlate) {
+        entityManager.persist(Vehicle.builder().profile(owner).make("Skoda").model("Octavia").year(2019)
+                .licensePlate(licensePlate).build());
+        entityManager.flush();
+    }
+
+    private User user(String fullName, String email, Role role) {
+        User user = User.builder()
+                .fullName(fullName)
+                .email(email)
+                .passwordHash("hash")
+                .role(role)
+                .createdAt(LocalDateTime.now())
+                .build();
+        entityManager.persist(user);
+        entityManager.flush();
+        return user;
+    }
+
+    private WalkInCustomer walkIn(String fullName, String phone, String licensePlate) {
+        WalkInCustomer customer = WalkInCustomer.builder()
+                .fullName(fullName)
+                .phone(phone)
+                .licensePlate(licensePlate)
+                .build();
+        entityManager.persist(customer);
+        entityManager.flush();
+        return customer;
+    }
+}
@@ -0,0 +1,151 @@
+package com.servio.service;
+
+import com.servio.dto.admin.AppointmentUpdateRequest;
+import com.servio.support.PostgresJpaTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/** Status changes that take an appointment out of CANCELLED, against the real slot claims. */
+@Import({AppointmentService.class, AdminAppointmentService.class, AppointmentSlotClaimService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AppointmentServiceTest extends PostgresJpaTest {
+
+    private static final LocalDateTime SLOT = LocalDateTime.of(2030, 3, 4, 9, 30);
+
+    @Autowired
+    private AppointmentService appointmentService;
+
+    @Autowired
+    private AdminAppointmentService adminAppointmentService;
+
+    @Autowired
+    private AppointmentSlotClaimService slotClaimService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private AppointmentSlotIndex slotIndex;
+
+    @MockBean
+    private AppointmentEventPublisher eventPublisher;
+
+    @MockBean
+    private KpiRollupService kpiRollupService;
+
+    @MockBean
+    private PrincipalResolver principalResolver;
+
+    @MockBean
+    private NotificationService notificationService;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM appointment_slots");
+        jdbcTemplate.update("DELETE FROM appointments");
+    }
+
+    @Test
+    void unCancellingIntoATakenSlotIsRejected() {
+        Long cancelled = book(SLOT);
+        cancel(cancelled);
+        Long taker = book(SLOT);
+
+        assertThatThrownBy(() -> appointmentService.updateAppointmentStatus(cancelled, "CONFIRMED"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("booked by another appointment");
+
+        assertThat(statusOf(cancelled)).isEqualTo("CANCELLED");
+        assertThat(holderOf(SLOT)).isEqualTo(taker);
+        verify(slotIndex, never()).track(any());
+    }
+
+    @Test
+    void adminUnCancellingIntoATakenSlotIsRejected() {
+        Long cancelled = book(SLOT);
+        cancel(cancelled);
+        Long taker = book(SLOT);
+        AppointmentUpdateRequest request = new AppointmentUpdateRequest();
+        request.setStatus("PENDING");
+
+        assertThatThrownBy(() -> adminAppointmentService.updateAppointment(cancelled, request))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(statusOf(cancelled)).isEqualTo("CANCELLED");
+        assertThat(holderOf(SLOT)).isEqualTo(taker);
+    }
+
+    @Test
+    void unCancellingIntoAFreeSlotClaimsIt() {
+        Long cancelled = book(SLOT);
+        cancel(cancelled);
+
+        appointmentService.updateAppointmentStatus(cancelled, "CONFIRMED");
+
+        assertThat(statusOf(cancelled)).isEqualTo("CONFIRMED");
+        assertThat(holderOf(SLOT)).isEqualTo(cancelled);
+        // The slot is held again, so a new booking now loses it
+        assertThat(book(SLOT)).isNull();
+    }
+
+    @Test
+    void activeTransitionsKeepTheirClaim() {
+        Long id = book(SLOT);
+
+        appointmentService.updateAppointmentStatus(id, "CONFIRMED");
+        appointmentService.updateAppointmentStatus(id, "IN_PROGRESS");
+
+        assertThat(statusOf(id)).isEqualTo("IN_PROGRESS");
+        assertThat(holderOf(SLOT)).isEqualTo(id);
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    /** Inserts and claims a PENDING appointment; null if the slot was already held. */
+    private Long book(LocalDateTime slot) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Long id = jdbcTemplate.queryForObject(
+                    "INSERT INTO appointments (service_type, appointment_date, status, created_at) "
+                            + "VALUES ('Oil Change', ?, 'PENDING', NOW()) RETURNING id",
+                    Long.class, Timestamp.valueOf(slot));
+            if (!slotClaimService.claim(id, slot)) {
+                status.setRollbackOnly();
+                return null;
+            }
+            return id;
+        });
+    }
+
+    private void cancel(Long id) {
+        jdbcTemplate.update("UPDATE appointments SET status = 'CANCELLED' WHERE id = ?", id);
+    }
+
+    private String statusOf(Long id) {
+        return jdbcTemplate.queryForObject("SELECT status FROM appointments WHERE id = ?", String.class, id);
+    }
+
+    private Long holderOf(LocalDateTime slot) {
+        return jdbcTemplate.queryForObject("SELECT appointment_id FROM appointment_slots WHERE slot_start = ?",
+                Long.class, Timestamp.valueOf(slot));
+    }
+}
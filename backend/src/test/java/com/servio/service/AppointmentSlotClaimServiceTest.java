@@ -0,0 +1,129 @@
+package com.servio.service;
+
+import com.servio.support.PostgresJpaTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Races real bookings against Postgres; each booking is its own transaction, as in AppointmentService. */
+@Import(AppointmentSlotClaimService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "spring.datasource.hikari.maximum-pool-size=32")
+class AppointmentSlotClaimServiceTest extends PostgresJpaTest {
+
+    private static final int BOOKINGS = 300;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private AppointmentSlotClaimService slotClaimService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM appointment_slots");
+        jdbcTemplate.update("DELETE FROM appointments");
+    }
+
+    @Test
+    void concurrentBookingsForOneSlotHaveExactlyOneWinner() throws Exception {
+        LocalDateTime slot = LocalDateTime.of(2030, 1, 7, 10, 0);
+
+        List<Boolean> results = bookConcurrently(i -> slot);
+
+        assertThat(results.stream().filter(Boolean::booleanValue).count()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM appointments", Long.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM appointment_slots s JOIN appointments a ON a.id = s.appointment_id "
+                        + "WHERE s.slot_start = ?", Long.class, Timestamp.valueOf(slot))).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentBookingsForDistinctSlotsAllWin() throws Exception {
+        LocalDateTime first = LocalDateTime.of(2030, 1, 7, 8, 0);
+
+        List<Boolean> results = bookConcurrently(i -> first.plusMinutes(30L * i));
+
+        assertThat(results).hasSize(BOOKINGS).containsOnly(true);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM appointment_slots", Long.class))
+                .isEqualTo(BOOKINGS);
+    }
+
+    @Test
+    void slotOfCancelledAppointmentIsTakenOver() {
+        LocalDateTime slot = LocalDateTime.of(2030, 1, 7, 11, 0);
+        assertThat(book(slot)).isTrue();
+        assertThat(book(slot)).isFalse();
+
+        jdbcTemplate.update("UPDATE appointments SET status = 'CANCELLED'");
+
+        assertThat(book(slot)).isTrue();
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private interface SlotForBooking {
+        LocalDateTime slot(int booking);
+    }
+
+    private List<Boolean> bookConcurrently(SlotForBooking slots) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < BOOKINGS; i++) {
+                LocalDateTime slot = slots.slot(i);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return book(slot);
+                }));
+            }
+            start.countDown();
+            List<Boolean> results = new ArrayList<>();
+            for (Future<Boolean> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /** Inserts an appointment and claims its slot; the loser rolls back, as AppointmentService's exception does. */
+    private boolean book(LocalDateTime slot) {
+        Boolean won = new TransactionTemplate(transactionManager).execute(status -> {
+            Long id = jdbcTemplate.queryForObject(
+                    "INSERT INTO appointments (service_type, appointment_date, status, created_at) "
+                            + "VALUES ('Oil Change', ?, 'PENDING', NOW()) RETURNING id",
+                    Long.class, Timestamp.valueOf(slot));
+            boolean claimed = slotClaimService.claim(id, slot);
+            if (!claimed) {
+                status.setRollbackOnly();
+            }
+            return claimed;
+        });
+        return Boolean.TRUE.equals(won);
+    }
+}
@@ -0,0 +1,178 @@
+package com.servio.service;
+
+import com.servio.entity.Appointment;
+import com.servio.repository.AppointmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AppointmentSlotIndexTest {
+
+    private static final LocalDate DAY = LocalDate.now().plusDays(3);
+    private static final LocalDateTime NINE = DAY.atTime(9, 0);
+
+    private final AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+    private final AppointmentSlotIndex index = new AppointmentSlotIndex(appointmentRepository);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void aBookingOccupiesItsWholeMinuteAndNothingElse() {
+        warm();
+        index.track(appointment(1L, NINE.plusSeconds(20), "PENDING"));
+
+        assertThat(index.isBooked(NINE)).isTrue();
+        assertThat(index.isBooked(NINE.plusSeconds(59))).isTrue();
+        assertThat(index.isBooked(NINE.minusMinutes(1))).isFalse();
+        assertThat(index.isBooked(NINE.plusMinutes(1))).isFalse();
+        assertThat(index.isBooked(NINE.plusDays(1))).isFalse();
+        assertThat(index.getBookedSlots(DAY)).containsExactly("09:00");
+    }
+
+    @Test
+    void aSlotStaysBookedUntilEveryHolderIsGone() {
+        warm();
+        index.track(appointment(1L, NINE, "PENDING"));
+        index.track(appointment(2L, NINE, "CONFIRMED"));
+
+        index.track(appointment(1L, NINE, "CANCELLED"));
+        assertThat(index.isBooked(NINE)).isTrue();
+
+        index.remove(2L);
+        assertThat(index.isBooked(NINE)).isFalse();
+        assertThat(index.getBookedSlots(DAY)).isEmpty();
+    }
+
+    @Test
+    void trackingAgainIsIdempotentAndMovesRescheduledAppointments() {
+        warm();
+        Appointment appointment = appointment(1L, NINE, "PENDING");
+        index.track(appointment);
+        index.track(appointment);
+        index.track(appointment(2L, NINE.plusMinutes(30), "PENDING"));
+
+        appointment.setAppointmentDate(NINE.plusHours(2));
+        index.track(appointment);
+
+        assertThat(index.getBookedSlots(DAY)).containsExactly("09:30", "11:00");
+        // A single release is enough, the repeated track was not counted twice
+        index.remove(1L);
+        assertThat(index.getBookedSlots(DAY)).containsExactly("09:30");
+    }
+
+    @Test
+    void removingAndCancellingReleaseTheSlot() {
+        warm();
+        index.track(appointment(1L, NINE, "PENDING"));
+        index.track(appointment(2L, NINE.plusHours(1), "PENDING"));
+
+        index.track(appointment(1L, NINE, "cancelled"));
+        index.remove(2L);
+        index.remove(99L);
+
+        assertThat(index.getBookedSlots(DAY)).isEmpty();
+    }
+
+    @Test
+    void updatesApplyOnlyAfterCommit() {
+        warm();
+        TransactionSynchronizationManager.initSynchronization();
+
+        index.track(appointment(1L, NINE, "PENDING"));
+        assertThat(index.isBooked(NINE)).isFalse();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(index.isBooked(NINE)).isTrue();
+    }
+
+    @Test
+    void aRolledBackBookingLeavesTheIndexUntouched() {
+        warm();
+        index.track(appointment(1L, NINE, "PENDING"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        index.track(appointment(2L, NINE.plusMinutes(15), "PENDING"));
+        index.track(appointment(1L, NINE, "CANCELLED"));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(index.getBookedSlots(DAY)).containsExactly("09:00");
+    }
+
+    @Test
+    void warmingLoadsActiveSlotsAndReplacesEarlierState() {
+        warm();
+        index.track(appointment(9L, NINE.plusHours(5), "PENDING"));
+        when(appointmentRepository.findActiveSlotsFrom(any())).thenReturn(List.of(
+                new Object[]{1L, NINE},
+                new Object[]{2L, NINE},
+                new Object[]{3L, NINE.plusMinutes(45)}));
+
+        index.warm();
+
+        assertThat(index.getBookedSlots(DAY)).containsExactly("09:00", "09:45");
+        index.remove(1L);
+        assertThat(index.isBooked(NINE)).isTrue();
+        verify(appointmentRepository, never()).existsActiveInRange(any(), any());
+    }
+
+    @Test
+    void beforeWarmingAndBeforeTheHorizonLookupsGoToTheDatabase() {
+        LocalDateTime past = LocalDate.now().minusDays(2).atTime(14, 10, 30);
+        when(appointmentRepository.existsActiveInRange(NINE, NINE.plusMinutes(1))).thenReturn(true);
+        when(appointmentRepository.existsActiveInRange(past.withSecond(0), past.withSecond(0).plusMinutes(1)))
+                .thenReturn(true);
+        when(appointmentRepository.findBookedSlotTimesForDate(past.toLocalDate().atStartOfDay(),
+                past.toLocalDate().plusDays(1).atStartOfDay())).thenReturn(List.of(past));
+
+        // Not warmed yet: nothing is tracked in memory
+        index.track(appointment(1L, NINE.plusHours(1), "PENDING"));
+        assertThat(index.isBooked(NINE)).isTrue();
+        assertThat(index.isBooked(NINE.plusHours(1))).isFalse();
+
+        warm();
+        assertThat(index.isBooked(past)).isTrue();
+        assertThat(index.getBookedSlots(past.toLocalDate())).containsExactly("14:10");
+        // Bookings in the past are not added to the index
+        index.track(appointment(2L, past, "PENDING"));
+        assertThat(index.isBooked(NINE)).isFalse();
+    }
+
+    @Test
+    void evictingDropsPassedDaysOnly() {
+        warm();
+        index.track(appointment(1L, NINE, "PENDING"));
+
+        index.evictPastDays();
+
+        assertThat(index.isBooked(NINE)).isTrue();
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private void warm() {
+        when(appointmentRepository.findActiveSlotsFrom(any())).thenReturn(List.of());
+        index.warm();
+    }
+
+    private static Appointment appointment(Long id, LocalDateTime date, String status) {
+        return Appointment.builder().id(id).appointmentDate(date).status(status).serviceType("Oil Change").build();
+    }
+}
@@ -0,0 +1,175 @@
+package com.servio.service;
+
+import com.servio.config.AsyncConfig;
+import com.servio.dto.AuthResponse;
+import com.servio.dto.LoginRequest;
+import com.servio.entity.Role;
+import com.servio.entity.User;
+import com.servio.repository.ProfileRepository;
+import com.servio.repository.UserRepository;
+import com.servio.security.PasswordHashRejectedException;
+import com.servio.security.PasswordHasher;
+import com.servio.security.SupabaseTokenVerifier;
+import com.servio.util.JwtTokenProvider;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Password logins under concurrency: logins/sec, end-to-end p99 latency, and
+ * how long each login holds the request thread.  The pooled path is
+ * {@link AuthService#login(LoginRequest)}; the inline path replays the
+ * previous behaviour, BCrypt on the request thread.  Clients are plain
+ * threads standing in for Tomcat's; the repository is mocked so only hashing
+ * and token signing are measured.
+ *
+ * Run with {@code mvn test -Pbenchmark -Dtest=AuthServiceLoginBenchmarkTest}.
+ */
+@Tag("benchmark")
+class AuthServiceLoginBenchmarkTest {
+
+    private static final int STRENGTH = 10;
+    private static final int CLIENTS = 50;
+    private static final int LOGINS = 300;
+    private static final int WARMUP_LOGINS = 20;
+    private static final String EMAIL = "ana@example.com";
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Test
+    void loginThroughputAndLatency() throws Exception {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(STRENGTH);
+        ThreadPoolTaskExecutor hashExecutor = new AsyncConfig().passwordHashExecutor(0, 200);
+        ThreadPoolTaskExecutor completionExecutor = new AsyncConfig().authCompletionExecutor(8, 200);
+        String storedHash = encoder.encode(PASSWORD);
+        AuthService authService = authService(encoder, storedHash, hashExecutor, completionExecutor);
+        LoginRequest request = new LoginRequest(EMAIL, PASSWORD);
+
+        Function<LoginRequest, CompletableFuture<AuthResponse>> pooled = authService::login;
+        Function<LoginRequest, CompletableFuture<AuthResponse>> inline = login -> {
+            // The previous login: BCrypt on the calling (request) thread
+            if (!encoder.matches(login.getPassword(), storedHash)) {
+                throw new IllegalArgumentException("Invalid email or password");
+            }
+            return CompletableFuture.completedFuture(null);
+        };
+
+        try {
+            run(pooled, request, WARMUP_LOGINS);
+            Result before = run(inline, request, LOGINS).named("inline");
+            Result after = run(pooled, request, LOGINS).named("pooled");
+
+            System.out.printf("%n%d logins, %d clients, BCrypt cost %d, %d CPU%n", LOGINS, CLIENTS, STRENGTH,
+                    Runtime.getRuntime().availableProcessors());
+            System.out.printf("%-8s %10s %10s %10s %18s %6s%n", "", "logins/s", "p50 ms", "p99 ms",
+                    "request p99 ms", "503s");
+            for (Result result : List.of(before, after)) {
+                System.out.printf("%-8s %10.1f %10.1f %10.1f %18.2f %6d%n", result.name(), result.loginsPerSecond(),
+                        result.p50Millis(), result.p99Millis(), result.requestThreadP99Millis(), result.rejected());
+            }
+
+            assertThat(after.failed()).isZero();
+            assertThat(after.rejected()).isZero(); // 50 clients fit in the 200-deep queue
+            // The point of the pool: request threads are handed back almost at once
+            assertThat(after.requestThreadP99Millis()).isLessThan(before.requestThreadP99Millis() / 10);
+        } finally {
+            hashExecutor.shutdown();
+            completionExecutor.shutdown();
+        }
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private AuthService authService(BCryptPasswordEncoder encoder, String storedHash,
+                                    ThreadPoolTaskExecutor hashExecutor, ThreadPoolTaskExecutor completionExecutor) {
+        User user = User.builder().id(7L).fullName("Ana").email(EMAIL).passwordHash(storedHash)
+                .role(Role.USER).createdAt(LocalDateTime.now()).build();
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+
+        JwtTokenProvider tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "benchmark-secret-benchmark-secret-benchmark-secret");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.invokeMethod(tokenProvider, "init");
+
+        return new AuthService(userRepository, mock(ProfileRepository.class),
+                new PasswordHasher(encoder, hashExecutor, STRENGTH), tokenProvider, mock(RestTemplate.class),
+                mock(SupabaseTokenVerifier.class), mock(PrincipalResolver.class), mock(TransactionTemplate.class),
+                completionExecutor);
+    }
+
+    private record Result(String name, double loginsPerSecond, double p50Millis, double p99Millis,
+                          double requestThreadP99Millis, int rejected, int failed) {
+        Result named(String name) {
+            return new Result(name, loginsPerSecond, p50Millis, p99Millis, requestThreadP99Millis, rejected, failed);
+        }
+    }
+
+    /** Fires {@code logins} logins from {@link #CLIENTS} threads, all released at once. */
+    private Result run(Function<LoginRequest, CompletableFuture<AuthResponse>> login, LoginRequest request,
+                       int logins) throws InterruptedException {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(logins);
+        List<Double> latencies = Collections.synchronizedList(new ArrayList<>());
+        List<Double> requestThread = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        for (int i = 0; i < logins; i++) {
+            clients.execute(() -> {
+                try {
+                    start.await();
+                    long started = System.nanoTime();
+                    CompletableFuture<AuthResponse> response = login.apply(request);
+                    requestThread.add((System.nanoTime() - started) / 1_000_000.0);
+                    response.join();
+                    latencies.add((System.nanoTime() - started) / 1_000_000.0);
+                } catch (CompletionException e) {
+                    (e.getCause() instanceof PasswordHashRejectedException ? rejected : failed).incrementAndGet();
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        long started = System.nanoTime();
+        start.countDown();
+        done.await(10, TimeUnit.MINUTES);
+        double seconds = (System.nanoTime() - started) / 1e9;
+        clients.shutdown();
+
+        List<Double> sorted = new ArrayList<>(latencies);
+        List<Double> held = new ArrayList<>(requestThread);
+        Collections.sort(sorted);
+        Collections.sort(held);
+        return new Result("", sorted.size() / seconds, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                percentile(held, 0.99), rejected.get(), failed.get());
+    }
+
+    private static double percentile(List<Double> sorted, double p) {
+        return sorted.isEmpty() ? 0 : sorted.get((int) Math.ceil(sorted.size() * p) - 1);
+    }
+}
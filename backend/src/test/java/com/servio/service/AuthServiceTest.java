@@ -0,0 +1,171 @@
+package com.servio.service;
+
+import com.servio.config.AsyncConfig;
+import com.servio.dto.AuthResponse;
+import com.servio.dto.LoginRequest;
+import com.servio.dto.SignupRequest;
+import com.servio.entity.Role;
+import com.servio.entity.User;
+import com.servio.repository.ProfileRepository;
+import com.servio.repository.UserRepository;
+import com.servio.security.PasswordHashRejectedException;
+import com.servio.security.PasswordHasher;
+import com.servio.security.SupabaseTokenVerifier;
+import com.servio.util.JwtTokenProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+    private final JwtTokenProvider tokenProvider = mock(JwtTokenProvider.class);
+    private final ThreadPoolTaskExecutor hashExecutor = new AsyncConfig().passwordHashExecutor(1, 10);
+    private final ThreadPoolTaskExecutor completionExecutor = new AsyncConfig().authCompletionExecutor(1, 10);
+
+    @AfterEach
+    void shutDown() {
+        hashExecutor.shutdown();
+        completionExecutor.shutdown();
+    }
+
+    @Test
+    void signupSavesTheUserInATransactionOffTheHashingPool() {
+        AtomicReference<String> savedOn = new AtomicReference<>();
+        when(transactionTemplate.execute(any())).thenAnswer(call -> {
+            savedOn.set(Thread.currentThread().getName());
+            return call.<TransactionCallback<?>>getArgument(0).doInTransaction(null);
+        });
+        when(userRepository.save(any(User.class))).thenAnswer(call -> {
+            User user = call.getArgument(0);
+            user.setId(5L);
+            return user;
+        });
+        when(tokenProvider.generateToken(5L, Role.USER)).thenReturn("token");
+
+        AuthResponse response = authService(hashExecutor).signup(signupRequest()).join();
+
+        assertThat(response.getData().getToken()).isEqualTo("token");
+        assertThat(savedOn.get()).startsWith("auth-completion-");
+    }
+
+    @Test
+    void saturatedHashingPoolFailsWithTheDedicatedException() {
+        ThreadPoolTaskExecutor saturated = mock(ThreadPoolTaskExecutor.class, RETURNS_DEEP_STUBS);
+        doThrow(new TaskRejectedException("full")).when(saturated).execute(any(Runnable.class));
+
+        assertThatThrownBy(() -> authService(saturated).signup(signupRequest()).join())
+                .hasCauseInstanceOf(PasswordHashRejectedException.class);
+    }
+
+    @Test
+    void aConcurrentSignupWithTheSameEmailIsReportedAsADuplicate() {
+        when(userRepository.existsByEmail("ana@example.com")).thenReturn(false, false, true);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(call -> call.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(userRepository.save(any(User.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint"));
+
+        assertThatThrownBy(() -> authService(hashExecutor).signup(signupRequest()).join())
+                .hasCauseInstanceOf(IllegalArgumentException.class)
+                .cause().hasMessage("User with this email already exists");
+    }
+
+    @Test
+    void otherIntegrityViolationsAreNotMistakenForADuplicate() {
+        when(transactionTemplate.execute(any()))
+                .thenThrow(new DataIntegrityViolationException("null value in column \"full_name\""));
+
+        assertThatThrownBy(() -> authService(hashExecutor).signup(signupRequest()).join())
+                .hasCauseInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void loginReplacesAHashMadeAtAnotherCost() {
+        String oldHash = new BCryptPasswordEncoder(5).encode(signupRequest().getPassword());
+        givenUser(oldHash);
+
+        authService(hashExecutor).login(loginRequest(signupRequest().getPassword())).join();
+
+        ArgumentCaptor<String> newHash = ArgumentCaptor.forClass(String.class);
+        verify(userRepository, timeout(5_000)).updatePasswordHash(eq(5L), eq(oldHash), newHash.capture());
+        assertThat(newHash.getValue()).startsWith("$2a$04$");
+        assertThat(new BCryptPasswordEncoder(4).matches(signupRequest().getPassword(), newHash.getValue())).isTrue();
+    }
+
+    @Test
+    void loginKeepsAHashAtTheConfiguredCost() throws Exception {
+        givenUser(new BCryptPasswordEncoder(4).encode(signupRequest().getPassword()));
+
+        authService(hashExecutor).login(loginRequest(signupRequest().getPassword())).join();
+
+        // Give a stray rehash the chance to run before checking it did not
+        completionExecutor.submit(() -> { }).get();
+        verify(userRepository, never()).updatePasswordHash(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void aWrongPasswordIsNeverRehashed() {
+        givenUser(new BCryptPasswordEncoder(5).encode(signupRequest().getPassword()));
+
+        assertThatThrownBy(() -> authService(hashExecutor).login(loginRequest("wrong password")).join())
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+        verify(userRepository, never()).updatePasswordHash(anyLong(), anyString(), anyString());
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private AuthService authService(ThreadPoolTaskExecutor hashPool) {
+        return new AuthService(userRepository, mock(ProfileRepository.class),
+                new PasswordHasher(new BCryptPasswordEncoder(4), hashPool, 4), tokenProvider,
+                mock(RestTemplate.class), mock(SupabaseTokenVerifier.class), mock(PrincipalResolver.class),
+                transactionTemplate, completionExecutor);
+    }
+
+    private void givenUser(String passwordHash) {
+        User user = User.builder().id(5L).fullName("Ana Silva").email("ana@example.com")
+                .passwordHash(passwordHash).role(Role.USER).build();
+        when(userRepository.findByEmail("ana@example.com")).thenReturn(Optional.of(user));
+        when(tokenProvider.generateToken(5L, Role.USER)).thenReturn("token");
+    }
+
+    private static LoginRequest loginRequest(String password) {
+        LoginRequest request = new LoginRequest();
+        request.setEmail("ana@example.com");
+        request.setPassword(password);
+        return request;
+    }
+
+    private static SignupRequest signupRequest() {
+        SignupRequest request = new SignupRequest();
+        request.setFullName("Ana Silva");
+        request.setEmail("ana@example.com");
+        request.setPassword("correct horse battery staple");
+        return request;
+    }
+}
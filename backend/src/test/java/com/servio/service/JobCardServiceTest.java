@@ -0,0 +1,176 @@
+package com.servio.service;
+
+import com.servio.dto.JobCardDto;
+import com.servio.dto.JobCardPageDto;
+import com.servio.entity.Appointment;
+import com.servio.entity.JobCard;
+import com.servio.entity.JobCardStatus;
+import com.servio.entity.Mechanic;
+import com.servio.entity.ServiceBay;
+import com.servio.entity.WalkInCustomer;
+import com.servio.support.PostgresJpaTest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(JobCardService.class)
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class JobCardServiceTest extends PostgresJpaTest {
+
+    private static final int CARDS = 40;
+    private static final int PAGE_SIZE = 10;
+    private static final JobCardStatus[] STATUSES = {
+            JobCardStatus.NEW, JobCardStatus.IN_PROGRESS, JobCardStatus.COMPLETED, JobCardStatus.PAUSED};
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @MockBean
+    private WorkshopSchedulingService workshopSchedulingService;
+
+    @MockBean
+    private WorkshopBoardService workshopBoardService;
+
+    @MockBean
+    private WorkNumberAllocator workNumberAllocator;
+
+    @Autowired
+    private JobCardService jobCardService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Mechanic ana;
+    private ServiceBay bayOne;
+    private final List<JobCard> cards = new ArrayList<>();
+
+    @BeforeEach
+    void createCards() {
+        ana = persist(Mechanic.builder().fullName("Ana Silva").email("ana@example.com").phone("910000001").build());
+        Mechanic rui = persist(Mechanic.builder().fullName("Rui Costa").email("rui@example.com").phone("910000002").build());
+        bayOne = persist(ServiceBay.builder().bayNumber("Bay 1").description("General bay").capacity(1).build());
+        ServiceBay bayTwo = persist(ServiceBay.builder().bayNumber("Bay 2").description("Double bay").capacity(2).build());
+        WalkInCustomer walkIn = persist(WalkInCustomer.builder().fullName("Marta Reis").phone("912000000").build());
+        Appointment appointment = persist(Appointment.builder().serviceType("Oil change")
+                .appointmentDate(LocalDateTime.now()).build());
+
+        for (int i = 0; i < CARDS; i++) {
+            cards.add(persist(JobCard.builder()
+                    .appointment(appointment)
+                    .assignedMechanic(i % 3 == 0 ? null : i % 3 == 1 ? ana : rui)
+                    .assignedBay(i % 2 == 0 ? bayOne : bayTwo)
+                    .walkInCustomer(i % 5 == 0 ? walkIn : null)
+                    .jobNumber("JC-TEST-" + i)
+                    .serviceType("Oil change")
+                    .status(STATUSES[i / 4 % STATUSES.length])
+                    .build()));
+        }
+        entityManager.flush();
+        // Spread the cards over the last four days, ten a day
+        entityManager.createNativeQuery("UPDATE job_cards SET created_at = created_at - (id % 4) * INTERVAL '1 day'")
+                .executeUpdate();
+        entityManager.clear();
+    }
+
+    @Test
+    void unfilteredPageIsOneSelectAndOneCount() {
+        JobCardPageDto page = countingStatements(2, () -> getJobCards(null, null, null, null, null));
+
+        assertThat(page.getTotalItems()).isEqualTo(CARDS);
+        assertThat(page.getTotalPages()).isEqualTo(CARDS / PAGE_SIZE);
+        assertThat(page.getItems()).hasSize(PAGE_SIZE);
+        // The joined names come from the same select, without lazy loads
+        assertThat(page.getItems()).anySatisfy(card -> assertThat(card.getMechanicName()).isEqualTo("Ana Silva"));
+        assertThat(page.getItems()).anySatisfy(card -> assertThat(card.getMechanicName()).isNull());
+        assertThat(page.getItems()).allSatisfy(card -> assertThat(card.getBayNumber()).startsWith("Bay "));
+        assertThat(page.getItems()).anySatisfy(card -> assertThat(card.getCustomerName()).isEqualTo("Marta Reis"));
+    }
+
+    @Test
+    void eachFilterBindsAgainstPostgresAndKeepsTheStatementCount() {
+        assertFiltered(card -> card.getStatus() == JobCardStatus.IN_PROGRESS,
+                () -> getJobCards("IN_PROGRESS", null, null, null, null));
+        assertFiltered(card -> card.getAssignedMechanic() == ana,
+                () -> getJobCards(null, ana.getId(), null, null, null));
+        assertFiltered(card -> card.getAssignedBay() == bayOne,
+                () -> getJobCards(null, null, bayOne.getId(), null, null));
+        assertFiltered(card -> card.getId() % 4 <= 1,
+                () -> getJobCards(null, null, null, TODAY.minusDays(1), null));
+        assertFiltered(card -> card.getId() % 4 >= 2,
+                () -> getJobCards(null, null, null, null, TODAY.minusDays(2)));
+        assertFiltered(card -> card.getStatus() == JobCardStatus.NEW && card.getAssignedBay() == bayOne
+                        && card.getId() % 4 != 0,
+                () -> getJobCards("NEW", null, bayOne.getId(), TODAY.minusDays(3), TODAY.minusDays(1)));
+    }
+
+    @Test
+    void aShortFirstPageSkipsTheCount() {
+        JobCardPageDto page = countingStatements(1, () -> getJobCards(null, ana.getId(), bayOne.getId(), null, null));
+
+        assertThat(page.getItems()).isNotEmpty().hasSizeLessThan(PAGE_SIZE);
+        assertThat(page.getTotalItems()).isEqualTo(page.getItems().size());
+    }
+
+    @Test
+    void pagesAreNewestFirstWithoutGapsOrRepeats() {
+        List<Long> ids = new ArrayList<>();
+        for (int page = 0; page < CARDS / PAGE_SIZE; page++) {
+            int number = page;
+            JobCardPageDto result = countingStatements(2,
+                    () -> jobCardService.getJobCards(null, null, null, null, null, number, PAGE_SIZE));
+            result.getItems().stream().map(JobCardDto::getId).forEach(ids::add);
+        }
+
+        assertThat(ids).doesNotHaveDuplicates().hasSize(CARDS);
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    /** Spring Data skips the count when the first page is not full. */
+    private void assertFiltered(Predicate<JobCard> matches, Supplier<JobCardPageDto> query) {
+        List<Long> expected = cards.stream().filter(matches).map(JobCard::getId).collect(Collectors.toList());
+        assertThat(expected).isNotEmpty();
+        JobCardPageDto page = countingStatements(expected.size() >= PAGE_SIZE ? 2 : 1, query);
+
+        assertThat(page.getTotalItems()).isEqualTo(expected.size());
+        assertThat(page.getItems()).extracting(JobCardDto::getId)
+                .hasSize(Math.min(expected.size(), PAGE_SIZE))
+                .isSubsetOf(expected);
+    }
+
+    private JobCardPageDto getJobCards(String status, Long mechanicId, Long bayId, LocalDate from, LocalDate to) {
+        return jobCardService.getJobCards(status, mechanicId, bayId, from, to, 0, PAGE_SIZE);
+    }
+
+    private JobCardPageDto countingStatements(long expected, Supplier<JobCardPageDto> query) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        JobCardPageDto page = query.get();
+        assertThat(statistics.getPrepareStatementCount()).as("statements").isEqualTo(expected);
+        return page;
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
@@ -0,0 +1,88 @@
+package com.servio.service;
+
+import com.servio.entity.JobCard;
+import com.servio.entity.JobTask;
+import com.servio.entity.Mechanic;
+import com.servio.entity.TaskStatus;
+import com.servio.repository.JobCardRepository;
+import com.servio.repository.JobTaskRepository;
+import com.servio.repository.MechanicRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobTaskServiceTest {
+
+    private final JobTaskRepository jobTaskRepository = mock(JobTaskRepository.class);
+    private final TaskTimeTrackingService taskTimeTrackingService = mock(TaskTimeTrackingService.class);
+    private final JobTaskService jobTaskService = new JobTaskService(jobTaskRepository, mock(JobCardRepository.class),
+            mock(MechanicRepository.class), mock(WorkshopBoardService.class), mock(WorkNumberAllocator.class),
+            taskTimeTrackingService);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void startingATaskClocksTheMechanicInOnlyAfterCommit() {
+        givenTask();
+        TransactionSynchronizationManager.initSynchronization();
+
+        jobTaskService.updateTaskStatus(7L, "IN_PROGRESS");
+        verify(taskTimeTrackingService, never()).submit(anyList());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(taskTimeTrackingService).submit(argThat(events -> events.size() == 1
+                && events.get(0).getTaskId() == 7L
+                && events.get(0).getMechanicId() == 3L
+                && events.get(0).getType().equals("CLOCK_IN")));
+    }
+
+    @Test
+    void aRolledBackStatusChangeBooksNoTime() {
+        givenTask();
+        TransactionSynchronizationManager.initSynchronization();
+
+        jobTaskService.updateTaskStatus(7L, "COMPLETED");
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(taskTimeTrackingService, never()).submit(anyList());
+    }
+
+    @Test
+    void withoutATransactionTheEventIsSubmittedAtOnce() {
+        givenTask();
+
+        jobTaskService.updateTaskStatus(7L, "COMPLETED");
+
+        verify(taskTimeTrackingService).submit(argThat(events -> events.get(0).getType().equals("CLOCK_OUT")));
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private void givenTask() {
+        Mechanic mechanic = Mechanic.builder().id(3L).fullName("Ana Silva").build();
+        JobCard jobCard = JobCard.builder().id(5L).jobNumber("JC-1").build();
+        JobTask task = JobTask.builder().id(7L).jobCard(jobCard).assignedMechanic(mechanic)
+                .status(TaskStatus.PENDING).build();
+        when(jobTaskRepository.findById(7L)).thenReturn(Optional.of(task));
+        when(jobTaskRepository.saveAndFlush(any(JobTask.class))).thenAnswer(call -> call.getArgument(0));
+        when(taskTimeTrackingService.submit(anyList())).thenReturn(CompletableFuture.completedFuture(1));
+    }
+}
@@ -0,0 +1,196 @@
+package com.servio.service;
+
+import com.servio.dto.RevenueChartData;
+import com.servio.entity.Appointment;
+import com.servio.entity.Payment;
+import com.servio.support.PostgresJpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(KpiRollupService.class)
+class KpiRollupServiceTest extends PostgresJpaTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final LocalDate LAST_WEEK = TODAY.minusDays(7);
+
+    @Autowired
+    private KpiRollupService kpiRollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clear() {
+        jdbcTemplate.update("DELETE FROM kpi_daily_rollups");
+    }
+
+    @Test
+    void incrementalUpdatesMatchAFullRebuild() {
+        pay(LAST_WEEK.atTime(10, 0), "CARD", "120.00");
+        pay(LAST_WEEK.atTime(16, 0), "CARD", "30.50");
+        pay(TODAY.atTime(9, 0), "CASH", "45.00");
+        payPending(TODAY.atTime(9, 5), "CARD", "999.00");
+
+        Appointment kept = book(LAST_WEEK.atTime(11, 0));
+        Appointment moved = book(TODAY.atTime(12, 0));
+        Appointment deleted = book(TODAY.atTime(13, 0));
+        changeStatus(moved, "CONFIRMED");
+        changeStatus(moved, "COMPLETED");
+        changeStatus(kept, "CANCELLED");
+        jdbcTemplate.update("DELETE FROM appointments WHERE id = ?", deleted.getId());
+        kpiRollupService.recordAppointmentDeleted(deleted);
+
+        signUp(TODAY.atTime(8, 0));
+        signUp(LAST_WEEK.atTime(8, 0));
+
+        Map<String, String> incremental = rollups();
+        assertThat(incremental).containsEntry(key(LAST_WEEK, "REVENUE", "CARD"), "150.50/2")
+                .containsEntry(key(TODAY, "REVENUE", "CASH"), "45.00/1")
+                .doesNotContainKey(key(TODAY, "REVENUE", "CARD"))
+                .containsEntry(key(TODAY, "APPOINTMENTS", "COMPLETED"), "0.00/1")
+                .containsEntry(key(LAST_WEEK, "APPOINTMENTS", "CANCELLED"), "0.00/1")
+                .containsEntry(key(TODAY, "NEW_CUSTOMERS", ""), "0.00/1");
+
+        kpiRollupService.reconcileAll();
+
+        assertThat(rollups()).isEqualTo(incremental);
+    }
+
+    @Test
+    void reconcilingTodayCorrectsTodayOnly() {
+        pay(TODAY.atTime(9, 0), "CASH", "45.00");
+        pay(LAST_WEEK.atTime(9, 0), "CASH", "10.00");
+        jdbcTemplate.update("UPDATE kpi_daily_rollups SET total_amount = 1, event_count = 7");
+        insertRollup(TODAY, "REVENUE", "CHEQUE", "5.00", 1);
+
+        kpiRollupService.reconcileToday();
+
+        assertThat(rollups()).containsEntry(key(TODAY, "REVENUE", "CASH"), "45.00/1")
+                .doesNotContainKey(key(TODAY, "REVENUE", "CHEQUE"))
+                .containsEntry(key(LAST_WEEK, "REVENUE", "CASH"), "1.00/7");
+    }
+
+    @Test
+    void seedingRebuildsOnlyAnEmptyTable() {
+        insertPayment(TODAY.atTime(9, 0), "CASH", "45.00", "COMPLETED");
+
+        kpiRollupService.seedIfEmpty();
+        assertThat(rollups()).containsEntry(key(TODAY, "REVENUE", "CASH"), "45.00/1");
+
+        insertPayment(TODAY.atTime(10, 0), "CASH", "5.00", "COMPLETED");
+        kpiRollupService.seedIfEmpty();
+        assertThat(rollups()).containsEntry(key(TODAY, "REVENUE", "CASH"), "45.00/1");
+    }
+
+    /**
+     * Stands in for a payment whose incremental upsert lands after the
+     * rebuild's DELETE and before its INSERT: a trigger re-creates the key
+     * as soon as the DELETE has run.
+     */
+    @Test
+    void aKeyUpsertedDuringTheRebuildIsOverwrittenNotAViolation() {
+        pay(TODAY.atTime(9, 0), "CASH", "45.00");
+        jdbcTemplate.execute("CREATE FUNCTION kpi_concurrent_upsert() RETURNS trigger AS $$ BEGIN "
+                + "INSERT INTO kpi_daily_rollups (day, metric, dimension, total_amount, event_count) "
+                + "VALUES (CURRENT_DATE, 'REVENUE', 'CASH', 45.00, 1); RETURN NULL; END $$ LANGUAGE plpgsql");
+        jdbcTemplate.execute("CREATE TRIGGER kpi_concurrent_upsert AFTER DELETE ON kpi_daily_rollups "
+                + "FOR EACH STATEMENT EXECUTE FUNCTION kpi_concurrent_upsert()");
+        pay(TODAY.atTime(10, 0), "CASH", "5.00");
+
+        kpiRollupService.reconcileToday();
+
+        assertThat(rollups()).containsEntry(key(TODAY, "REVENUE", "CASH"), "50.00/2");
+    }
+
+    @Test
+    void revenueTrendFillsEmptyPeriodsWithZero() {
+        LocalDate first = LocalDate.of(2031, 1, 30);
+        insertRollup(first, "REVENUE", "CARD", "10.00", 1);
+        insertRollup(first, "REVENUE", "CASH", "2.50", 1);
+        insertRollup(first.plusDays(2), "REVENUE", "CARD", "4.00", 1);
+        insertRollup(first.plusDays(2), "APPOINTMENTS", "PENDING", "0", 3);
+
+        RevenueChartData daily = kpiRollupService.getRevenueTrend(first, first.plusDays(2), false);
+        RevenueChartData monthly = kpiRollupService.getRevenueTrend(first, first.plusDays(2), true);
+
+        assertThat(daily.getLabels()).containsExactly("2031-01-30", "2031-01-31", "2031-02-01");
+        assertThat(daily.getData()).usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("12.50"), BigDecimal.ZERO, new BigDecimal("4.00"));
+        assertThat(monthly.getLabels()).containsExactly("2031-01", "2031-02");
+        assertThat(monthly.getData()).usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("12.50"), new BigDecimal("4.00"));
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private void pay(LocalDateTime when, String method, String amount) {
+        insertPayment(when, method, amount, "COMPLETED");
+        kpiRollupService.recordPayment(Payment.builder().paymentDate(when).paymentMethod(method)
+                .paymentStatus("COMPLETED").amount(new BigDecimal(amount)).build());
+    }
+
+    private void payPending(LocalDateTime when, String method, String amount) {
+        insertPayment(when, method, amount, "PENDING");
+        kpiRollupService.recordPayment(Payment.builder().paymentDate(when).paymentMethod(method)
+                .paymentStatus("PENDING").amount(new BigDecimal(amount)).build());
+    }
+
+    private void insertPayment(LocalDateTime when, String method, String amount, String status) {
+        jdbcTemplate.update("INSERT INTO payments (amount, payment_method, payment_status, payment_date, created_at) "
+                + "VALUES (?, ?, ?, ?, NOW())", new BigDecimal(amount), method, status, Timestamp.valueOf(when));
+    }
+
+    private Appointment book(LocalDateTime when) {
+        Long id = jdbcTemplate.queryForObject("INSERT INTO appointments (service_type, appointment_date, status, created_at) "
+                + "VALUES ('Oil Change', ?, 'PENDING', NOW()) RETURNING id", Long.class, Timestamp.valueOf(when));
+        Appointment appointment = Appointment.builder().id(id).appointmentDate(when).status("PENDING").build();
+        kpiRollupService.recordAppointmentStatus(appointment, null);
+        return appointment;
+    }
+
+    private void changeStatus(Appointment appointment, String status) {
+        String previous = appointment.getStatus();
+        jdbcTemplate.update("UPDATE appointments SET status = ? WHERE id = ?", status, appointment.getId());
+        appointment.setStatus(status);
+        kpiRollupService.recordAppointmentStatus(appointment, previous);
+    }
+
+    private void signUp(LocalDateTime when) {
+        jdbcTemplate.update("INSERT INTO profiles (id, created_at) VALUES (?, ?)", UUID.randomUUID(), Timestamp.valueOf(when));
+        kpiRollupService.recordNewCustomer(when.toLocalDate());
+    }
+
+    private void insertRollup(LocalDate day, String metric, String dimension, String amount, long count) {
+        jdbcTemplate.update("INSERT INTO kpi_daily_rollups (day, metric, dimension, total_amount, event_count) "
+                + "VALUES (?, ?, ?, ?, ?)", Date.valueOf(day), metric, dimension, new BigDecimal(amount), count);
+    }
+
+    /** Non-empty rollup rows as "day/metric/dimension" to "amount/count"; emptied status buckets are left out. */
+    private Map<String, String> rollups() {
+        Map<String, String> rows = new TreeMap<>();
+        jdbcTemplate.query("SELECT day, metric, dimension, total_amount, event_count FROM kpi_daily_rollups "
+                + "WHERE event_count <> 0", rs -> {
+            rows.put(key(rs.getDate("day").toLocalDate(), rs.getString("metric"), rs.getString("dimension")),
+                    rs.getBigDecimal("total_amount").setScale(2) + "/" + rs.getLong("event_count"));
+        });
+        return rows;
+    }
+
+    private static String key(LocalDate day, String metric, String dimension) {
+        return day + "/" + metric + "/" + dimension;
+    }
+}
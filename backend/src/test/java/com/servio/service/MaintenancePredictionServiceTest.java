@@ -0,0 +1,100 @@
+package com.servio.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MaintenancePredictionServiceTest {
+
+    private static final double DEFAULT_DAILY_KM = 40;
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Test
+    void evenReadingsGiveTheirRate() {
+        MaintenancePredictionService.VehicleHistory history = history();
+        history.add("Oil change", START, 10_000);
+        history.add("Oil change", START.plusDays(100), 13_000);
+        history.add("Oil change", START.plusDays(200), 16_000);
+
+        assertThat(history.dailyKm()).isCloseTo(30, within(1e-9));
+    }
+
+    @Test
+    void unevenReadingsUseTheLeastSquaresSlopeNotTheEndpoints() {
+        MaintenancePredictionService.VehicleHistory history = history();
+        history.add("Oil change", START, 1_000);
+        history.add("Brake pads", START.plusDays(50), 3_000);
+        history.add("Oil change", START.plusDays(200), 7_000);
+
+        // x = 0, 50, 200; y = 1000, 3000, 7000: Sxy / Sxx = 633,333.3 / 21,666.7, where the endpoints give 30
+        assertThat(history.dailyKm()).isCloseTo(380.0 / 13, within(1e-9));
+    }
+
+    @Test
+    void recordsWithoutMileageDoNotAnchorTheFit() {
+        MaintenancePredictionService.VehicleHistory history = history();
+        history.add("Inspection", START, null);
+        history.add("Oil change", START.plusDays(10), 10_000);
+        history.add("Oil change", START.plusDays(30), null);
+        history.add("Oil change", START.plusDays(70), 11_200);
+
+        assertThat(history.dailyKm()).isCloseTo(20, within(1e-9));
+    }
+
+    @Test
+    void fewerThanTwoReadingsFallBackToTheDefault() {
+        MaintenancePredictionService.VehicleHistory history = history();
+        assertThat(history.dailyKm()).isEqualTo(DEFAULT_DAILY_KM);
+
+        history.add("Oil change", START, 10_000);
+        history.add("Oil change", START.plusDays(200), null);
+        assertThat(history.dailyKm()).isEqualTo(DEFAULT_DAILY_KM);
+    }
+
+    @Test
+    void readingsSpanningUnderThirtyDaysFallBackToTheDefault() {
+        MaintenancePredictionService.VehicleHistory history = history();
+        history.add("Oil change", START, 10_000);
+        history.add("Oil change", START.plusDays(29), 12_000);
+        assertThat(history.dailyKm()).isEqualTo(DEFAULT_DAILY_KM);
+
+        history.add("Oil change", START.plusDays(30), 12_100);
+        assertThat(history.dailyKm()).isNotEqualTo(DEFAULT_DAILY_KM);
+    }
+
+    @Test
+    void sameDayReadingsFallBackToTheDefault() {
+        MaintenancePredictionService.VehicleHistory history = history();
+        history.add("Oil change", START, 10_000);
+        history.add("Tyre rotation", START, 10_000);
+
+        assertThat(history.dailyKm()).isEqualTo(DEFAULT_DAILY_KM);
+    }
+
+    @Test
+    void aFallingOdometerFallsBackToTheDefault() {
+        MaintenancePredictionService.VehicleHistory history = history();
+        history.add("Oil change", START, 50_000);
+        history.add("Oil change", START.plusDays(180), 5_000); // mistyped: a digit short
+
+        assertThat(history.dailyKm()).isEqualTo(DEFAULT_DAILY_KM);
+    }
+
+    @Test
+    void theRateIsCappedAtFiveHundredKmADay() {
+        MaintenancePredictionService.VehicleHistory history = history();
+        history.add("Oil change", START, 10_000);
+        history.add("Oil change", START.plusDays(60), 100_000); // mistyped: a digit too many
+
+        assertThat(history.dailyKm()).isEqualTo(500);
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private static MaintenancePredictionService.VehicleHistory history() {
+        return new MaintenancePredictionService.VehicleHistory(1L, DEFAULT_DAILY_KM);
+    }
+}
@@ -0,0 +1,32 @@
+package com.servio.service;
+
+import com.servio.dto.admin.NotificationFanOutJobDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+class NotificationFanOutServiceTest {
+
+    @Test
+    void jobRejectedByAFullQueueIsMarkedFailed() {
+        ThreadPoolTaskExecutor fanOutExecutor = mock(ThreadPoolTaskExecutor.class);
+        doThrow(new TaskRejectedException("queue full")).when(fanOutExecutor).execute(any(Runnable.class));
+        NotificationFanOutService service = new NotificationFanOutService(mock(JdbcTemplate.class),
+                mock(TransactionTemplate.class), mock(AppointmentEventPublisher.class),
+                mock(NotificationUnreadCounter.class), fanOutExecutor, mock(ThreadPoolTaskExecutor.class));
+
+        String jobId = service.notifyAllCustomers("Closed on Monday", "The workshop is closed on Monday.", "INFO");
+
+        NotificationFanOutJobDto job = service.getJob(jobId).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo("FAILED");
+        assertThat(job.getError()).isNotBlank();
+        assertThat(job.getFinishedAt()).isNotNull();
+    }
+}
@@ -0,0 +1,175 @@
+package com.servio.service;
+
+import com.servio.dto.NotificationDto;
+import com.servio.dto.NotificationPageDto;
+import com.servio.support.PostgresJpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/** The notification inbox against Postgres: keyset paging and the bulk statements. */
+@Import(NotificationService.class)
+class NotificationInboxTest extends PostgresJpaTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2031, 5, 1, 8, 0, 0, 123_456_000);
+    private static final int NOTIFICATIONS = 27;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private NotificationUnreadCounter unreadCounter;
+
+    @MockBean
+    private AppointmentEventPublisher eventPublisher;
+
+    private Long userId;
+    private Long otherUserId;
+
+    @BeforeEach
+    void seed() {
+        userId = insertUser("ana@example.com");
+        otherUserId = insertUser("ben@example.com");
+        // Groups of four share one timestamp, so the id tie-break decides the order
+        for (int i = 0; i < NOTIFICATIONS; i++) {
+            insertNotification(userId, START.plusMinutes(i / 4), i % 3 == 0);
+            insertNotification(otherUserId, START.plusMinutes(i / 4), false);
+        }
+    }
+
+    @Test
+    void pagingVisitsEveryNotificationOnceNewestFirst() {
+        List<Long> expected = jdbcTemplate.queryForList(
+                "SELECT id FROM notifications WHERE user_id = ? ORDER BY created_at DESC, id DESC", Long.class, userId);
+
+        for (int limit : new int[]{1, 3, 4, 5, NOTIFICATIONS, 100}) {
+            assertThat(pageThrough(true, limit)).as("limit %d", limit).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void unreadPagingSkipsReadNotifications() {
+        List<Long> expected = jdbcTemplate.queryForList(
+                "SELECT id FROM notifications WHERE user_id = ? AND is_read = false "
+                        + "ORDER BY created_at DESC, id DESC", Long.class, userId);
+
+        assertThat(expected).hasSize(NOTIFICATIONS - 9);
+        assertThat(pageThrough(false, 4)).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void theLastPageHasNoCursor() {
+        NotificationPageDto first = notificationService.getUserNotifications(userId, null, 20);
+        assertThat(first.getItems()).hasSize(20);
+        assertThat(first.isHasMore()).isTrue();
+
+        NotificationPageDto last = notificationService.getUserNotifications(userId, first.getNextCursor(), 20);
+        assertThat(last.getItems()).hasSize(NOTIFICATIONS - 20);
+        assertThat(last.isHasMore()).isFalse();
+        assertThat(last.getNextCursor()).isNull();
+        assertThat(last.getItems()).allSatisfy(item -> assertThat(item.getUserId()).isEqualTo(userId));
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        assertThat(notificationService.getUserNotifications(userId, null, null).getItems()).hasSize(20);
+        assertThat(notificationService.getUserNotifications(userId, "", 0).getItems()).hasSize(1);
+        assertThat(notificationService.getUserNotifications(userId, null, -5).getItems()).hasSize(1);
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        String noSeparator = Base64.getUrlEncoder().encodeToString("2031-05-01T08:00".getBytes(StandardCharsets.UTF_8));
+        String badDate = Base64.getUrlEncoder().encodeToString("yesterday|12".getBytes(StandardCharsets.UTF_8));
+        String badId = Base64.getUrlEncoder().encodeToString("2031-05-01T08:00|x".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : new String[]{"not base64!", noSeparator, badDate, badId}) {
+            assertThatThrownBy(() -> notificationService.getUserNotifications(userId, cursor, 5))
+                    .as(cursor)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid notification cursor");
+        }
+    }
+
+    @Test
+    void markAllAsReadIsOneStatementForTheUsersUnreadRows() {
+        notificationService.markAllAsRead(userId);
+
+        assertThat(unread(userId)).isZero();
+        assertThat(unread(otherUserId)).isEqualTo(NOTIFICATIONS);
+        verify(unreadCounter).adjust(userId, -(NOTIFICATIONS - 9));
+
+        notificationService.markAllAsRead(userId);
+        verify(unreadCounter).adjust(userId, 0);
+    }
+
+    @Test
+    void deletingOldNotificationsKeepsRecentOnesAndOtherUsers() {
+        LocalDateTime now = LocalDateTime.now();
+        insertNotification(userId, now.minusDays(40), false);
+        insertNotification(userId, now.minusDays(31), true);
+        insertNotification(userId, now.minusDays(29), false);
+        insertNotification(otherUserId, now.minusDays(40), false);
+
+        notificationService.deleteOldNotifications(userId, 30);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notifications WHERE user_id = ?",
+                Long.class, userId)).isEqualTo(NOTIFICATIONS + 1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notifications WHERE user_id = ?",
+                Long.class, otherUserId)).isEqualTo(NOTIFICATIONS + 1);
+        verify(unreadCounter).invalidate(userId);
+
+        notificationService.deleteOldNotifications(userId, 30);
+        verify(unreadCounter, times(1)).invalidate(userId);
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private List<Long> pageThrough(boolean includeRead, int limit) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            NotificationPageDto page = includeRead
+                    ? notificationService.getUserNotifications(userId, cursor, limit)
+                    : notificationService.getUnreadNotifications(userId, cursor, limit);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(limit);
+            page.getItems().stream().map(NotificationDto::getId).forEach(ids::add);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private long unread(Long user) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notifications WHERE user_id = ? AND is_read = false",
+                Long.class, user);
+    }
+
+    private Long insertUser(String email) {
+        return jdbcTemplate.queryForObject("INSERT INTO users (full_name, email, password_hash, role, created_at) "
+                + "VALUES ('Test User', ?, 'x', 'USER', NOW()) RETURNING id", Long.class, email);
+    }
+
+    private Long insertNotification(Long user, LocalDateTime createdAt, boolean read) {
+        return jdbcTemplate.queryForObject("INSERT INTO notifications (user_id, title, message, type, is_read, created_at) "
+                + "VALUES (?, 'Title', 'Message', 'APPOINTMENT', ?, ?) RETURNING id",
+                Long.class, user, read, Timestamp.valueOf(createdAt));
+    }
+}
@@ -0,0 +1,88 @@
+package com.servio.service;
+
+import com.servio.support.PostgresJpaTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@Import(NotificationRetentionScheduler.class)
+@TestPropertySource(properties = {"notifications.retention.days=30", "notifications.retention.batch-size=7"})
+class NotificationRetentionSchedulerTest extends PostgresJpaTest {
+
+    @Autowired
+    private NotificationRetentionScheduler retentionScheduler;
+
+    @SpyBean
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void seedUser() {
+        userId = jdbcTemplate.queryForObject("INSERT INTO users (full_name, email, password_hash, role, created_at) "
+                + "VALUES ('Test User', 'ana@example.com', 'x', 'USER', NOW()) RETURNING id", Long.class);
+    }
+
+    @Test
+    void purgesOnlyExpiredReadNotificationsInBatches() {
+        LocalDateTime now = LocalDateTime.now();
+        insertNotifications(21, now.minusDays(31), true);
+        insertNotifications(5, now.minusDays(400), false);
+        insertNotifications(4, now.minusDays(29), true);
+        insertNotifications(3, now.minusHours(1), false);
+
+        retentionScheduler.purgeExpiredNotifications();
+
+        assertThat(count("created_at < NOW() - INTERVAL '30 days' AND is_read = true")).isZero();
+        assertThat(count("is_read = false")).isEqualTo(8);
+        assertThat(count("is_read = true")).isEqualTo(4);
+        // Three full batches of seven, then an empty one ends the run
+        verify(jdbcTemplate, times(4)).update(startsWith("DELETE FROM notifications"), any(Timestamp.class), eq(7));
+    }
+
+    @Test
+    void aShortBatchEndsTheRun() {
+        insertNotifications(9, LocalDateTime.now().minusDays(90), true);
+
+        retentionScheduler.purgeExpiredNotifications();
+
+        assertThat(count("true")).isZero();
+        verify(jdbcTemplate, times(2)).update(startsWith("DELETE FROM notifications"), any(Timestamp.class), eq(7));
+    }
+
+    @Test
+    void nothingExpiredDeletesNothing() {
+        insertNotifications(3, LocalDateTime.now().minusDays(1), true);
+
+        retentionScheduler.purgeExpiredNotifications();
+
+        assertThat(count("true")).isEqualTo(3);
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private void insertNotifications(int count, LocalDateTime createdAt, boolean read) {
+        for (int i = 0; i < count; i++) {
+            jdbcTemplate.update("INSERT INTO notifications (user_id, title, message, type, is_read, created_at) "
+                    + "VALUES (?, 'Title', 'Message', 'APPOINTMENT', ?, ?)", userId, read, Timestamp.valueOf(createdAt));
+        }
+    }
+
+    private long count(String condition) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notifications WHERE " + condition, Long.class);
+    }
+}
@@ -0,0 +1,68 @@
+package com.servio.service;
+
+import com.servio.dto.NotificationDto;
+import com.servio.entity.Notification;
+import com.servio.entity.User;
+import com.servio.repository.NotificationRepository;
+import com.servio.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationServiceTest {
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final NotificationUnreadCounter unreadCounter = mock(NotificationUnreadCounter.class);
+    private final NotificationService service = new NotificationService(notificationRepository,
+            mock(UserRepository.class), unreadCounter, mock(AppointmentEventPublisher.class));
+
+    @BeforeEach
+    void loadUnreadNotification() {
+        // Loaded as unread: the counter must follow the row counts, not this snapshot
+        Notification notification = Notification.builder()
+                .id(7L).user(User.builder().id(3L).fullName("Ana").build())
+                .title("Ready").message("Your car is ready").type("APPOINTMENT").isRead(false)
+                .build();
+        when(notificationRepository.findById(7L)).thenReturn(Optional.of(notification));
+    }
+
+    @Test
+    void markAsReadDecrementsOnlyWhenItsUpdateFlipsTheRow() {
+        when(notificationRepository.markAsReadIfUnread(7L)).thenReturn(1);
+        NotificationDto dto = service.markAsRead(7L);
+        assertThat(dto.getIsRead()).isTrue();
+        verify(unreadCounter).adjust(3L, -1);
+    }
+
+    @Test
+    void markAsReadLosingTheRaceLeavesTheCountAlone() {
+        when(notificationRepository.markAsReadIfUnread(7L)).thenReturn(0);
+        NotificationDto dto = service.markAsRead(7L);
+        assertThat(dto.getIsRead()).isTrue();
+        verify(unreadCounter, never()).adjust(anyLong(), anyLong());
+    }
+
+    @Test
+    void deletingAnUnreadRowDecrements() {
+        when(notificationRepository.deleteIfUnread(7L)).thenReturn(1);
+        service.deleteNotification(7L);
+        verify(unreadCounter).adjust(3L, -1);
+        verify(notificationRepository, never()).removeById(7L);
+    }
+
+    @Test
+    void deletingARowReadConcurrentlyDoesNotDecrement() {
+        when(notificationRepository.deleteIfUnread(7L)).thenReturn(0);
+        service.deleteNotification(7L);
+        verify(notificationRepository).removeById(7L);
+        verify(unreadCounter, never()).adjust(anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,66 @@
+package com.servio.service;
+
+import com.servio.entity.Profile;
+import com.servio.repository.ProfileRepository;
+import com.servio.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PrincipalResolverTest {
+
+    private static final UUID PROFILE_ID = UUID.fromString("0b7e4c1a-5f2d-4e8b-9c3a-6d1f2e3a4b5c");
+
+    private final ProfileRepository profileRepository = mock(ProfileRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private final PrincipalResolver resolver = new PrincipalResolver(profileRepository, userRepository, now::get);
+
+    @Test
+    void missingProfileIsCachedUntilTheEntryExpires() {
+        Profile profile = Profile.builder().id(PROFILE_ID).email("ana@example.com").role("USER").build();
+        // Signed up on Supabase just after the first lookup; the trigger writes the profile behind our back
+        when(profileRepository.findById(PROFILE_ID)).thenReturn(Optional.empty(), Optional.of(profile));
+        when(userRepository.findByEmail("ana@example.com")).thenReturn(Optional.empty());
+
+        assertThat(resolver.resolve(PROFILE_ID.toString()).profileId()).isNull();
+
+        now.addAndGet(59_999);
+        assertThat(resolver.resolve(PROFILE_ID.toString()).profileId()).isNull();
+        verify(profileRepository, times(1)).findById(PROFILE_ID);
+
+        now.addAndGet(1);
+        PrincipalResolver.ResolvedPrincipal resolved = resolver.resolve(PROFILE_ID.toString());
+        assertThat(resolved.profileId()).isEqualTo(PROFILE_ID);
+        assertThat(resolved.email()).isEqualTo("ana@example.com");
+        verify(profileRepository, times(2)).findById(PROFILE_ID);
+    }
+
+    @Test
+    void invalidationDropsANegativeEntryBeforeItExpires() {
+        Profile profile = Profile.builder().id(PROFILE_ID).email("ana@example.com").build();
+        when(profileRepository.findById(PROFILE_ID)).thenReturn(Optional.empty(), Optional.of(profile));
+
+        assertThat(resolver.resolve(PROFILE_ID.toString()).profileId()).isNull();
+        resolver.invalidate(PROFILE_ID.toString());
+
+        assertThat(resolver.resolve(PROFILE_ID.toString()).profileId()).isEqualTo(PROFILE_ID);
+    }
+
+    @Test
+    void subjectsAreClassifiedByShape() {
+        assertThat(PrincipalResolver.kindOf(PROFILE_ID.toString())).isEqualTo(PrincipalResolver.Kind.PROFILE);
+        assertThat(PrincipalResolver.kindOf("42")).isEqualTo(PrincipalResolver.Kind.LOCAL_USER);
+        assertThat(PrincipalResolver.kindOf("1234567890123456789")).isEqualTo(PrincipalResolver.Kind.INVALID);
+        assertThat(PrincipalResolver.kindOf("-1")).isEqualTo(PrincipalResolver.Kind.INVALID);
+        assertThat(PrincipalResolver.kindOf("")).isEqualTo(PrincipalResolver.Kind.INVALID);
+    }
+}
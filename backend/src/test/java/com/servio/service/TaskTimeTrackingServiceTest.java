@@ -0,0 +1,107 @@
+package com.servio.service;
+
+import com.servio.entity.TimeEventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class TaskTimeTrackingServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+
+    private final TaskTimeTrackingService service = new TaskTimeTrackingService(mock(JdbcTemplate.class),
+            mock(NamedParameterJdbcTemplate.class), mock(PlatformTransactionManager.class),
+            mock(ThreadPoolTaskExecutor.class), 10, 10);
+    private final TaskTimeTrackingService.Clock clock = new TaskTimeTrackingService.Clock();
+
+    TaskTimeTrackingServiceTest() {
+        ReflectionTestUtils.setField(service, "dayStart", "08:00");
+        ReflectionTestUtils.setField(service, "dayEnd", "18:00");
+    }
+
+    @Test
+    void clockingInAndOutBooksTheInterval() {
+        assertThat(advance(TimeEventType.CLOCK_IN, at("09:00"))).isZero();
+        assertThat(clock.openSince).isEqualTo(at("09:00"));
+
+        assertThat(advance(TimeEventType.CLOCK_OUT, at("10:30"))).isEqualTo(90 * 60);
+        assertThat(clock.openSince).isNull();
+        assertThat(clock.workedSeconds).isEqualTo(90 * 60);
+    }
+
+    @Test
+    void pauseAndResumeBookOnlyTheWorkedParts() {
+        advance(TimeEventType.CLOCK_IN, at("09:00"));
+        assertThat(advance(TimeEventType.PAUSE, at("10:00"))).isEqualTo(3600);
+        assertThat(advance(TimeEventType.RESUME, at("10:45"))).isZero();
+        assertThat(advance(TimeEventType.CLOCK_OUT, at("11:15"))).isEqualTo(1800);
+
+        assertThat(clock.workedSeconds).isEqualTo(5400);
+        assertThat(clock.openSince).isNull();
+    }
+
+    @Test
+    void aRepeatedOpenKeepsTheFirstAndARepeatedCloseAddsNothing() {
+        advance(TimeEventType.CLOCK_IN, at("09:00"));
+        advance(TimeEventType.RESUME, at("09:30"));
+        assertThat(advance(TimeEventType.CLOCK_OUT, at("10:00"))).isEqualTo(3600);
+        assertThat(advance(TimeEventType.CLOCK_OUT, at("11:00"))).isZero();
+
+        assertThat(clock.workedSeconds).isEqualTo(3600);
+    }
+
+    @Test
+    void aCloseStampedBeforeItsOpenBooksNothingButClosesTheClock() {
+        advance(TimeEventType.CLOCK_IN, at("10:00"));
+
+        assertThat(advance(TimeEventType.CLOCK_OUT, at("09:55"))).isZero();
+        assertThat(clock.openSince).isNull();
+        assertThat(clock.workedSeconds).isZero();
+    }
+
+    @Test
+    void aForgottenClockOutStopsCountingAtClosingTime() {
+        advance(TimeEventType.CLOCK_IN, at("16:00"));
+
+        // Clocked out the next morning: only 16:00-18:00 counts
+        assertThat(advance(TimeEventType.CLOCK_OUT, DAY.plusDays(1).atTime(9, 0))).isEqualTo(2 * 3600);
+        assertThat(clock.workedSeconds).isEqualTo(2 * 3600);
+    }
+
+    @Test
+    void workStartedAfterClosingCountsUntilMidnight() {
+        advance(TimeEventType.CLOCK_IN, at("19:00"));
+        assertThat(advance(TimeEventType.CLOCK_OUT, at("20:30"))).isEqualTo(90 * 60);
+
+        advance(TimeEventType.CLOCK_IN, at("21:00"));
+        assertThat(advance(TimeEventType.CLOCK_OUT, DAY.plusDays(1).atTime(8, 0))).isEqualTo(3 * 3600);
+    }
+
+    @Test
+    void noIntervalCountsForMoreThanTheCap() {
+        // Opened before dawn: closing time is 14 hours away, the cap 12
+        advance(TimeEventType.CLOCK_IN, at("04:00"));
+
+        assertThat(advance(TimeEventType.CLOCK_OUT, at("17:30"))).isEqualTo(12 * 3600);
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private long advance(TimeEventType type, LocalDateTime occurredAt) {
+        return service.advance(clock, type, occurredAt);
+    }
+
+    private static LocalDateTime at(String time) {
+        return DAY.atTime(LocalTime.parse(time));
+    }
+}
@@ -0,0 +1,162 @@
+package com.servio.service;
+
+import com.servio.dto.TaskTimeEventRequest;
+import com.servio.support.PostgresJpaTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two writers, as on two backend instances, folding events for the same
+ * clock against Postgres.  Every write commits.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskTimeWriterTest extends PostgresJpaTest {
+
+    private static final LocalDateTime OPENED = LocalDate.now().minusDays(1).atTime(9, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<TaskTimeTrackingService> writers = new ArrayList<>();
+    private final List<ThreadPoolTaskExecutor> executors = new ArrayList<>();
+    private long taskId;
+    private long mechanicId;
+
+    @BeforeEach
+    void seed() {
+        mechanicId = jdbcTemplate.queryForObject("INSERT INTO mechanics (full_name, email, phone, status, is_active, "
+                + "created_at) VALUES ('Ana Silva', 'ana@example.com', '555', 'AVAILABLE', true, NOW()) RETURNING id",
+                Long.class);
+        long appointmentId = jdbcTemplate.queryForObject("INSERT INTO appointments "
+                + "(service_type, appointment_date, status, created_at) "
+                + "VALUES ('Inspection', NOW(), 'CONFIRMED', NOW()) RETURNING id", Long.class);
+        long jobCardId = jdbcTemplate.queryForObject("INSERT INTO job_cards (appointment_id, job_number, service_type, "
+                + "status, priority, created_at) VALUES (?, 'JC-1', 'Inspection', 'IN_PROGRESS', 'NORMAL', NOW()) "
+                + "RETURNING id", Long.class, appointmentId);
+        taskId = jdbcTemplate.queryForObject("INSERT INTO job_tasks (job_card_id, task_number, description, status, "
+                + "created_at) VALUES (?, 'JT-1', 'Brakes', 'IN_PROGRESS', NOW()) RETURNING id", Long.class, jobCardId);
+        jdbcTemplate.update("INSERT INTO job_task_clocks (task_id, mechanic_id, open_since, worked_seconds, updated_at) "
+                + "VALUES (?, ?, ?, 0, NOW())", taskId, mechanicId, Timestamp.valueOf(OPENED));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        writers.forEach(TaskTimeTrackingService::stopWriter);
+        executors.forEach(ThreadPoolTaskExecutor::shutdown);
+        for (String table : List.of("job_task_time_events", "job_task_clocks", "mechanic_daily_labour",
+                "job_tasks", "job_cards", "appointments", "mechanics")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    /**
+     * A tablet retries its clock-out on the other instance.  The test holds
+     * the task row, so the first writer stops at its hours update with the
+     * interval closed but not committed, and the second writer has to get
+     * as far as it can before both are let go.
+     */
+    @Test
+    void twoWritersClosingTheSameIntervalBookItOnce() throws Exception {
+        TaskTimeTrackingService first = writer();
+        TaskTimeTrackingService second = writer();
+        CountDownLatch taskHeld = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    jdbcTemplate.queryForObject("SELECT id FROM job_tasks WHERE id = ? FOR UPDATE", Long.class, taskId);
+                    taskHeld.countDown();
+                    await(release);
+                }));
+        taskHeld.await(10, TimeUnit.SECONDS);
+
+        CompletableFuture<Integer> firstClose = first.submit(List.of(clockOut()));
+        awaitBlockedSessions(1);
+        CompletableFuture<Integer> secondClose = second.submit(List.of(clockOut()));
+        awaitBlockedSessions(2);
+        release.countDown();
+        holder.get(10, TimeUnit.SECONDS);
+
+        assertThat(firstClose.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(secondClose.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT actual_hours FROM job_tasks WHERE id = ?", Double.class, taskId))
+                .isEqualTo(1.0);
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(worked_seconds) FROM mechanic_daily_labour "
+                + "WHERE mechanic_id = ?", Long.class, mechanicId)).isEqualTo(3600);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM job_task_time_events WHERE task_id = ?",
+                Integer.class, taskId)).isEqualTo(2);
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private TaskTimeTrackingService writer() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        TaskTimeTrackingService writer = new TaskTimeTrackingService(jdbcTemplate, namedJdbcTemplate,
+                transactionManager, executor, 10, 10);
+        ReflectionTestUtils.setField(writer, "dayStart", "08:00");
+        ReflectionTestUtils.setField(writer, "dayEnd", "18:00");
+        writer.startWriter();
+        executors.add(executor);
+        writers.add(writer);
+        return writer;
+    }
+
+    private TaskTimeEventRequest clockOut() {
+        TaskTimeEventRequest request = new TaskTimeEventRequest();
+        request.setTaskId(taskId);
+        request.setMechanicId(mechanicId);
+        request.setType("CLOCK_OUT");
+        request.setOccurredAt(OPENED.plusHours(1));
+        return request;
+    }
+
+    /** Waits until this many other sessions are waiting on a lock. */
+    private void awaitBlockedSessions(int sessions) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            Integer blocked = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM pg_stat_activity "
+                    + "WHERE wait_event_type = 'Lock' AND datname = current_database()", Integer.class);
+            if (blocked != null && blocked >= sessions) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError(sessions + " session(s) never blocked");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.servio.service;
+
+import com.servio.entity.ServiceRecord;
+import com.servio.entity.Vehicle;
+import com.servio.support.PostgresJpaTest;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Import(VehicleStatsService.class)
+class VehicleStatsServiceTest extends PostgresJpaTest {
+
+    @Autowired
+    private VehicleStatsService vehicleStatsService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clear() {
+        jdbcTemplate.update("DELETE FROM vehicle_service_year_stats");
+    }
+
+    @Test
+    void createdRecordsAreUpsertedIntoTheirYear() {
+        Vehicle vehicle = vehicle("KR-1001");
+        create(vehicle, LocalDate.of(2023, 3, 1), 40_000, "120.00");
+        create(vehicle, LocalDate.of(2023, 9, 1), 52_000, "80.50");
+        create(vehicle, LocalDate.of(2023, 6, 1), 47_000, null);
+        create(vehicle, LocalDate.of(2024, 2, 1), 60_000, "200.00");
+
+        assertThat(stats()).containsOnly(
+                Map.entry(vehicle.getId() + "/2023", "3/200.50/52000/2023-09-01"),
+                Map.entry(vehicle.getId() + "/2024", "1/200.00/60000/2024-02-01"));
+    }
+
+    @Test
+    void anEditedOrDeletedRecordRecomputesItsVehicleOnly() {
+        Vehicle vehicle = vehicle("KR-1002");
+        Vehicle other = vehicle("KR-1003");
+        ServiceRecord latest = create(vehicle, LocalDate.of(2023, 9, 1), 52_000, "80.50");
+        ServiceRecord moved = create(vehicle, LocalDate.of(2023, 3, 1), 40_000, "120.00");
+        create(other, LocalDate.of(2023, 5, 1), 10_000, "15.00");
+        jdbcTemplate.update("UPDATE vehicle_service_year_stats SET service_count = 9 WHERE vehicle_id = ?", other.getId());
+
+        moved.setServiceDate(LocalDate.of(2022, 12, 1));
+        entityManager.flush();
+        vehicleStatsService.recordChanged(vehicle.getId());
+
+        assertThat(stats()).containsEntry(vehicle.getId() + "/2022", "1/120.00/40000/2022-12-01")
+                .containsEntry(vehicle.getId() + "/2023", "1/80.50/52000/2023-09-01");
+
+        entityManager.remove(latest);
+        entityManager.flush();
+        vehicleStatsService.recordChanged(vehicle.getId());
+
+        assertThat(stats()).containsOnly(
+                Map.entry(vehicle.getId() + "/2022", "1/120.00/40000/2022-12-01"),
+                Map.entry(other.getId() + "/2023", "9/15.00/10000/2023-05-01"));
+    }
+
+    @Test
+    void reconcilingMatchesTheIncrementalUpdatesAndCorrectsDrift() {
+        Vehicle vehicle = vehicle("KR-1004");
+        create(vehicle, LocalDate.of(2023, 3, 1), 40_000, "120.00");
+        create(vehicle, LocalDate.of(2024, 2, 1), 60_000, "200.00");
+        Map<String, String> incremental = stats();
+        jdbcTemplate.update("UPDATE vehicle_service_year_stats SET total_cost = 1");
+        jdbcTemplate.update("INSERT INTO vehicle_service_year_stats (vehicle_id, year, service_count, total_cost) "
+                + "VALUES (?, 2019, 4, 10)", vehicle.getId());
+
+        vehicleStatsService.reconcileAll();
+
+        assertThat(stats()).isEqualTo(incremental);
+    }
+
+    @Test
+    void seedingRebuildsOnlyAnEmptyTable() {
+        Vehicle vehicle = vehicle("KR-1005");
+        insertRecord(vehicle, LocalDate.of(2023, 3, 1), 40_000, "120.00");
+
+        vehicleStatsService.seedIfEmpty();
+        assertThat(stats()).containsOnly(Map.entry(vehicle.getId() + "/2023", "1/120.00/40000/2023-03-01"));
+
+        insertRecord(vehicle, LocalDate.of(2023, 4, 1), 41_000, "5.00");
+        vehicleStatsService.seedIfEmpty();
+        assertThat(stats()).containsOnly(Map.entry(vehicle.getId() + "/2023", "1/120.00/40000/2023-03-01"));
+    }
+
+    /**
+     * Stands in for a record whose upsert lands after the rebuild's DELETE
+     * and before its INSERT: a trigger re-creates the row as soon as the
+     * DELETE has run.
+     */
+    @Test
+    void aRowUpsertedDuringTheRebuildIsOverwrittenNotAViolation() {
+        Vehicle vehicle = vehicle("KR-1006");
+        create(vehicle, LocalDate.of(2023, 3, 1), 40_000, "120.00");
+        jdbcTemplate.execute("CREATE FUNCTION vehicle_stats_concurrent_upsert() RETURNS trigger AS $$ BEGIN "
+                + "INSERT INTO vehicle_service_year_stats (vehicle_id, year, service_count, total_cost) "
+                + "VALUES (" + vehicle.getId() + ", 2023, 1, 120.00); RETURN NULL; END $$ LANGUAGE plpgsql");
+        jdbcTemplate.execute("CREATE TRIGGER vehicle_stats_concurrent_upsert AFTER DELETE ON vehicle_service_year_stats "
+                + "FOR EACH STATEMENT EXECUTE FUNCTION vehicle_stats_concurrent_upsert()");
+        create(vehicle, LocalDate.of(2023, 4, 1), 41_000, "5.00");
+
+        vehicleStatsService.reconcileAll();
+
+        assertThat(stats()).containsOnly(Map.entry(vehicle.getId() + "/2023", "2/125.00/41000/2023-04-01"));
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private Vehicle vehicle(String licensePlate) {
+        Vehicle vehicle = Vehicle.builder().make("Skoda").model("Octavia").year(2018).licensePlate(licensePlate).build();
+        entityManager.persist(vehicle);
+        entityManager.flush();
+        return vehicle;
+    }
+
+    private ServiceRecord create(Vehicle vehicle, LocalDate date, int mileage, String cost) {
+        ServiceRecord record = insertRecord(vehicle, date, mileage, cost);
+        vehicleStatsService.recordCreated(record);
+        return record;
+    }
+
+    private ServiceRecord insertRecord(Vehicle vehicle, LocalDate date, int mileage, String cost) {
+        ServiceRecord record = ServiceRecord.builder().vehicle(vehicle).serviceType("Inspection").serviceDate(date)
+                .mileage(mileage).cost(cost != null ? new BigDecimal(cost) : null).build();
+        entityManager.persist(record);
+        entityManager.flush();
+        return record;
+    }
+
+    /** Stats rows as "vehicle/year" to "count/cost/max mileage/last date". */
+    private Map<String, String> stats() {
+        Map<String, String> rows = new TreeMap<>();
+        jdbcTemplate.query("SELECT vehicle_id, year, service_count, total_cost, max_mileage, last_service_date "
+                + "FROM vehicle_service_year_stats", rs -> {
+            rows.put(rs.getLong("vehicle_id") + "/" + rs.getInt("year"),
+                    rs.getLong("service_count") + "/" + rs.getBigDecimal("total_cost").setScale(2)
+                            + "/" + rs.getObject("max_mileage") + "/" + rs.getDate("last_service_date"));
+        });
+        return rows;
+    }
+}
@@ -0,0 +1,120 @@
+package com.servio.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WorkNumberAllocatorTest {
+
+    private static final int THREADS = 16;
+    private static final int BLOCKS = 40;
+    private static final String JOB_NEXTVAL = "SELECT nextval('job_card_number_seq')";
+    private static final String TASK_NEXTVAL = "SELECT nextval('job_task_number_seq')";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    @Test
+    void concurrentCallersGetUniqueSerialsThatFillEachBlockInOrder() throws Exception {
+        stubSequence(JOB_NEXTVAL, new AtomicLong(1));
+        WorkNumberAllocator allocator = new WorkNumberAllocator(jdbcTemplate);
+
+        List<List<Long>> perThread = drawConcurrently(allocator::nextJobNumber, BLOCKS * WorkNumberAllocator.BLOCK_SIZE);
+
+        List<Long> all = new ArrayList<>();
+        perThread.forEach(all::addAll);
+        Collections.sort(all);
+        // 1, 51, 101, … each covered end to end: 1..2000 with no gaps or repeats
+        assertThat(all).hasSize(BLOCKS * WorkNumberAllocator.BLOCK_SIZE);
+        for (int i = 0; i < all.size(); i++) {
+            assertThat(all.get(i)).isEqualTo(i + 1);
+        }
+        // Each thread sees increasing serials, so a block is handed out in order
+        perThread.forEach(serials -> assertThat(serials).isSorted());
+        verify(jdbcTemplate, times(BLOCKS)).queryForObject(JOB_NEXTVAL, Long.class);
+        verify(jdbcTemplate, times(1)).execute("CREATE SEQUENCE IF NOT EXISTS job_card_number_seq INCREMENT BY 50");
+    }
+
+    @Test
+    void instancesSharingASequenceNeverCollide() throws Exception {
+        AtomicLong sequence = new AtomicLong(1);
+        stubSequence(JOB_NEXTVAL, sequence);
+        WorkNumberAllocator first = new WorkNumberAllocator(jdbcTemplate);
+        WorkNumberAllocator second = new WorkNumberAllocator(jdbcTemplate);
+
+        int draws = 10 * WorkNumberAllocator.BLOCK_SIZE;
+        Set<Long> serials = new TreeSet<>();
+        drawConcurrently(first::nextJobNumber, draws).forEach(serials::addAll);
+        drawConcurrently(second::nextJobNumber, draws).forEach(serials::addAll);
+
+        assertThat(serials).hasSize(2 * draws);
+    }
+
+    @Test
+    void jobAndTaskNumbersComeFromSeparateSequences() {
+        stubSequence(JOB_NEXTVAL, new AtomicLong(1));
+        stubSequence(TASK_NEXTVAL, new AtomicLong(101));
+        WorkNumberAllocator allocator = new WorkNumberAllocator(jdbcTemplate);
+
+        assertThat(allocator.nextJobNumber()).matches("JC-\\d{8}-000001");
+        assertThat(allocator.nextTaskNumber()).matches("JT-\\d{8}-000101");
+        assertThat(allocator.nextJobNumber()).matches("JC-\\d{8}-000002");
+        assertThat(allocator.nextTaskNumber()).matches("JT-\\d{8}-000102");
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    /** Each nextval returns the next block start: 1, 51, 101, … as with INCREMENT BY 50. */
+    private void stubSequence(String nextval, AtomicLong sequence) {
+        when(jdbcTemplate.queryForObject(eq(nextval), eq(Long.class)))
+                .thenAnswer(call -> sequence.getAndAdd(WorkNumberAllocator.BLOCK_SIZE));
+    }
+
+    /** Draws {@code total} numbers from {@link #THREADS} threads released together; returns each thread's serials. */
+    private static List<List<Long>> drawConcurrently(Supplier<String> nextNumber, int total) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int draws = total / THREADS + (t < total % THREADS ? 1 : 0);
+                Callable<List<Long>> drawer = () -> {
+                    start.await();
+                    List<Long> serials = new ArrayList<>(draws);
+                    for (int i = 0; i < draws; i++) {
+                        String number = nextNumber.get();
+                        serials.add(Long.parseLong(number.substring(number.lastIndexOf('-') + 1)));
+                    }
+                    return serials;
+                };
+                futures.add(pool.submit(drawer));
+            }
+            start.countDown();
+            List<List<Long>> perThread = new ArrayList<>();
+            for (Future<List<Long>> future : futures) {
+                perThread.add(future.get());
+            }
+            return perThread;
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
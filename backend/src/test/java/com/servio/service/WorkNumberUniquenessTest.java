@@ -0,0 +1,143 @@
+package com.servio.service;
+
+import com.servio.dto.JobCardDto;
+import com.servio.dto.JobTaskDto;
+import com.servio.repository.AppointmentRepository;
+import com.servio.repository.JobCardRepository;
+import com.servio.repository.JobTaskRepository;
+import com.servio.repository.MechanicRepository;
+import com.servio.repository.ServiceBayRepository;
+import com.servio.repository.WalkInCustomerRepository;
+import com.servio.support.PostgresJpaTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Job cards and tasks created concurrently, through two service stacks
+ * with their own {@link WorkNumberAllocator} as two backend instances
+ * would be, against the real unique indexes.  Every insert commits.
+ */
+@Import({JobCardService.class, JobTaskService.class, WorkNumberAllocator.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WorkNumberUniquenessTest extends PostgresJpaTest {
+
+    private static final int THREADS = 8;
+    private static final int CARDS_PER_THREAD = 60;
+
+    @Autowired
+    private JobCardService jobCardService;
+
+    @Autowired
+    private JobTaskService jobTaskService;
+
+    @Autowired
+    private JobCardRepository jobCardRepository;
+
+    @Autowired
+    private JobTaskRepository jobTaskRepository;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private MechanicRepository mechanicRepository;
+
+    @Autowired
+    private ServiceBayRepository serviceBayRepository;
+
+    @Autowired
+    private WalkInCustomerRepository walkInCustomerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private WorkshopSchedulingService workshopSchedulingService;
+
+    @MockBean
+    private WorkshopBoardService workshopBoardService;
+
+    @MockBean
+    private TaskTimeTrackingService taskTimeTrackingService;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM job_tasks");
+        jdbcTemplate.update("DELETE FROM job_cards");
+        jdbcTemplate.update("DELETE FROM appointments");
+    }
+
+    @Test
+    void concurrentCreatesAcrossInstancesGetDistinctNumbers() throws Exception {
+        // A second backend instance: same database, its own number blocks
+        WorkNumberAllocator otherAllocator = new WorkNumberAllocator(jdbcTemplate);
+        JobCardService otherJobCards = new JobCardService(jobCardRepository, appointmentRepository,
+                mechanicRepository, serviceBayRepository, walkInCustomerRepository, workshopSchedulingService,
+                workshopBoardService, otherAllocator);
+        JobTaskService otherTasks = new JobTaskService(jobTaskRepository, jobCardRepository, mechanicRepository,
+                workshopBoardService, otherAllocator, taskTimeTrackingService);
+
+        Long appointmentId = jdbcTemplate.queryForObject("INSERT INTO appointments "
+                + "(service_type, appointment_date, status, created_at) "
+                + "VALUES ('Inspection', NOW(), 'CONFIRMED', NOW()) RETURNING id", Long.class);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            JobCardService cards = t % 2 == 0 ? jobCardService : otherJobCards;
+            JobTaskService tasks = t % 2 == 0 ? jobTaskService : otherTasks;
+            Callable<List<String>> worker = () -> {
+                start.await();
+                List<String> numbers = new ArrayList<>();
+                for (int i = 0; i < CARDS_PER_THREAD; i++) {
+                    JobCardDto card = cards.createJobCard(JobCardDto.builder()
+                            .appointmentId(appointmentId).serviceType("Inspection").build());
+                    JobTaskDto task = tasks.createJobTask(JobTaskDto.builder().jobCardId(card.getId())
+                            .description("Check brakes").sequenceOrder(1).build());
+                    numbers.add(card.getJobNumber());
+                    numbers.add(task.getTaskNumber());
+                }
+                return numbers;
+            };
+            futures.add(pool.submit(worker));
+        }
+        start.countDown();
+
+        // get() rethrows a unique violation from any worker
+        Set<String> numbers = new HashSet<>();
+        int created = 0;
+        for (Future<List<String>> future : futures) {
+            List<String> batch = future.get();
+            created += batch.size();
+            numbers.addAll(batch);
+        }
+        pool.shutdown();
+
+        int total = THREADS * CARDS_PER_THREAD;
+        assertThat(created).isEqualTo(2 * total);
+        assertThat(numbers).hasSize(2 * total);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT job_number) FROM job_cards", Integer.class))
+                .isEqualTo(total);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(DISTINCT task_number) FROM job_tasks", Integer.class))
+                .isEqualTo(total);
+    }
+}
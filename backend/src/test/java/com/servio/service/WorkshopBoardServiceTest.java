@@ -0,0 +1,178 @@
+package com.servio.service;
+
+import com.servio.dto.WorkshopBoardDto;
+import com.servio.dto.WorkshopBoardDto.BayItem;
+import com.servio.dto.WorkshopBoardEvent;
+import com.servio.entity.JobCard;
+import com.servio.entity.JobCardStatus;
+import com.servio.entity.JobTask;
+import com.servio.entity.Mechanic;
+import com.servio.entity.ServiceBay;
+import com.servio.entity.ServiceBayStatus;
+import com.servio.repository.JobCardRepository;
+import com.servio.repository.JobTaskRepository;
+import com.servio.repository.MechanicRepository;
+import com.servio.repository.ServiceBayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The board outside a transaction, so each change report is applied at once
+ * (as it would be after its commit).
+ */
+class WorkshopBoardServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 10, 18, 9, 0);
+
+    private final JobCardRepository jobCardRepository = mock(JobCardRepository.class);
+    private final JobTaskRepository jobTaskRepository = mock(JobTaskRepository.class);
+    private final ServiceBayRepository serviceBayRepository = mock(ServiceBayRepository.class);
+    private final MechanicRepository mechanicRepository = mock(MechanicRepository.class);
+    private final AppointmentEventPublisher eventPublisher = mock(AppointmentEventPublisher.class);
+
+    private WorkshopBoardService board;
+    private ServiceBay bay;
+
+    @BeforeEach
+    void setUp() {
+        bay = bay(1L, ServiceBayStatus.AVAILABLE, T0);
+        ServiceBay inactive = bay(2L, ServiceBayStatus.AVAILABLE, T0);
+        inactive.setIsActive(false);
+        when(serviceBayRepository.findAll()).thenReturn(List.of(bay, inactive));
+        when(mechanicRepository.findAll()).thenReturn(List.of(mechanic(1L, T0)));
+        board = new WorkshopBoardService(jobCardRepository, jobTaskRepository, serviceBayRepository,
+                mechanicRepository, eventPublisher, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void theSnapshotIsLoadedOnceWithActiveItemsOnly() {
+        WorkshopBoardDto first = board.snapshot();
+        board.snapshot();
+
+        assertThat(first.getSequence()).isZero();
+        assertThat(first.getBays()).extracting(BayItem::getId).containsExactly(1L);
+        assertThat(first.getMechanics()).hasSize(1);
+        verify(serviceBayRepository, times(1)).findAll();
+    }
+
+    @Test
+    void changesBeforeTheFirstSnapshotAreNotPublished() {
+        board.baySaved(bay(1L, ServiceBayStatus.IN_USE, T0.plusMinutes(1)));
+
+        verify(eventPublisher, never()).publishBoardEvent(any());
+        assertThat(board.snapshot().getSequence()).isZero();
+    }
+
+    @Test
+    void eventsAreNumberedConsecutivelyAcrossEntities() {
+        board.snapshot();
+
+        board.baySaved(bay(1L, ServiceBayStatus.IN_USE, T0.plusMinutes(1)));
+        board.mechanicSaved(mechanic(2L, T0.plusMinutes(2)));
+        board.bayRemoved(1L);
+        board.bayRemoved(1L);
+
+        assertThat(published()).extracting(WorkshopBoardEvent::getSequence).containsExactly(1L, 2L, 3L);
+        assertThat(published()).extracting(WorkshopBoardEvent::getType).containsExactly("UPSERT", "UPSERT", "REMOVE");
+        WorkshopBoardDto snapshot = board.snapshot();
+        assertThat(snapshot.getSequence()).isEqualTo(3);
+        assertThat(snapshot.getBays()).isEmpty();
+        assertThat(snapshot.getMechanics()).hasSize(2);
+    }
+
+    @Test
+    void anUpdateOlderThanTheBoardsCopyIsDropped() {
+        board.snapshot();
+        board.baySaved(bay(1L, ServiceBayStatus.IN_USE, T0.plusMinutes(5)));
+
+        // A commit whose callback runs late, carrying an earlier stamp
+        board.baySaved(bay(1L, ServiceBayStatus.MAINTENANCE, T0.plusMinutes(3)));
+
+        assertThat(published()).hasSize(1);
+        WorkshopBoardDto snapshot = board.snapshot();
+        assertThat(snapshot.getSequence()).isEqualTo(1);
+        assertThat(snapshot.getBays()).singleElement()
+                .satisfies(item -> assertThat(item.getStatus()).isEqualTo("IN_USE"));
+    }
+
+    @Test
+    void aClosedJobCardIsRemovedWithItsTasks() {
+        JobCard jobCard = JobCard.builder().id(10L).jobNumber("JC-1").serviceType("Oil change")
+                .status(JobCardStatus.IN_PROGRESS).updatedAt(T0).build();
+        board.snapshot();
+        board.jobCardSaved(jobCard);
+        board.taskSaved(JobTask.builder().id(20L).jobCard(jobCard).taskNumber("JT-1").updatedAt(T0).build());
+        // A task of a card not on the board is left out
+        JobCard other = JobCard.builder().id(11L).status(JobCardStatus.NEW).build();
+        board.taskSaved(JobTask.builder().id(21L).jobCard(other).taskNumber("JT-2").updatedAt(T0).build());
+        assertThat(board.snapshot().getTasks()).hasSize(1);
+
+        jobCard.setStatus(JobCardStatus.COMPLETED);
+        board.jobCardSaved(jobCard);
+
+        assertThat(published()).extracting(event -> event.getEntity() + " " + event.getType())
+                .containsExactly("JOB_CARD UPSERT", "TASK UPSERT", "JOB_CARD REMOVE");
+        assertThat(board.snapshot().getJobCards()).isEmpty();
+        assertThat(board.snapshot().getTasks()).isEmpty();
+    }
+
+    @Test
+    void eventsAfterReturnsTheMissedEventsInOrder() {
+        board.snapshot();
+        for (int i = 1; i <= 5; i++) {
+            board.baySaved(bay(1L, ServiceBayStatus.IN_USE, T0.plusMinutes(i)));
+        }
+
+        assertThat(board.eventsAfter(2)).extracting(WorkshopBoardEvent::getSequence).containsExactly(3L, 4L, 5L);
+        assertThat(board.eventsAfter(5)).isEmpty();
+        assertThat(board.eventsAfter(0)).hasSize(5);
+        // Ahead of the board, e.g. numbered by a board that has since restarted
+        assertThat(board.eventsAfter(6)).isNull();
+    }
+
+    @Test
+    void eventsAfterIsNullOnceTheRetainedEventsNoLongerReachBack() {
+        board.snapshot();
+        for (int i = 1; i <= 1_001; i++) {
+            board.baySaved(bay(1L, ServiceBayStatus.IN_USE, T0.plusSeconds(i)));
+        }
+
+        // Events 2..1001 are retained
+        assertThat(board.eventsAfter(0)).isNull();
+        List<WorkshopBoardEvent> sinceFirst = board.eventsAfter(1);
+        assertThat(sinceFirst).hasSize(1_000);
+        assertThat(sinceFirst.get(0).getSequence()).isEqualTo(2);
+        assertThat(sinceFirst.get(999).getSequence()).isEqualTo(1_001);
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private List<WorkshopBoardEvent> published() {
+        ArgumentCaptor<WorkshopBoardEvent> events = ArgumentCaptor.forClass(WorkshopBoardEvent.class);
+        verify(eventPublisher, atLeastOnce()).publishBoardEvent(events.capture());
+        return events.getAllValues();
+    }
+
+    private static ServiceBay bay(Long id, ServiceBayStatus status, LocalDateTime updatedAt) {
+        return ServiceBay.builder().id(id).bayNumber("Bay " + id).status(status).capacity(1)
+                .updatedAt(updatedAt).build();
+    }
+
+    private static Mechanic mechanic(Long id, LocalDateTime updatedAt) {
+        return Mechanic.builder().id(id).fullName("Mechanic " + id).updatedAt(updatedAt).build();
+    }
+}
@@ -0,0 +1,159 @@
+package com.servio.service;
+
+import com.servio.entity.JobPriority;
+import com.servio.entity.ServiceBayType;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replanning a synthetic 50-bay, 500-job workshop: a full {@link WorkshopPlanner#setJobs}
+ * against the incremental {@link WorkshopPlanner#upsert} and
+ * {@link WorkshopPlanner#remove} used for a walk-in, a delay and a finished
+ * job.  Each incremental plan is checked against a full replan of the same
+ * jobs.
+ *
+ * Run with {@code mvn test -Pbenchmark -Dtest=WorkshopPlannerBenchmarkTest}.
+ */
+@Tag("benchmark")
+class WorkshopPlannerBenchmarkTest {
+
+    private static final int BAYS = 50;
+    private static final int MECHANICS = 60;
+    private static final int JOBS = 500;
+    private static final int RUNNING_JOBS = 40;
+    private static final int ROUNDS = 300;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final long ORIGIN = 8 * 60;
+    private static final long HORIZON = 18 * 60;
+
+    private static final String[] SERVICE_TYPES = {
+            "Oil change", "Brake repair", "Engine diagnostics", "Wheel alignment", "Body paint", "Full wash",
+            "Suspension repair", "Transmission service", "Electrical diagnostics", "Tyre change"};
+    private static final String[] SPECIALIZATIONS = {
+            "Brake systems", "Engine diagnostics", "Bodywork and paint", "Transmission", "Electrical",
+            "Suspension", "General mechanic", null};
+
+    @Test
+    void incrementalReplanVersusFullReplan() {
+        Random random = new Random(2024);
+        List<WorkshopPlanner.Bay> bays = bays(random);
+        List<WorkshopPlanner.Mechanic> mechanics = mechanics(random);
+        List<WorkshopPlanner.Job> jobs = new ArrayList<>();
+        for (int id = 1; id <= JOBS; id++) {
+            jobs.add(job(random, id, bays, mechanics, id <= RUNNING_JOBS));
+        }
+        WorkshopPlanner planner = new WorkshopPlanner(bays, mechanics, ORIGIN, HORIZON);
+        planner.setJobs(jobs);
+
+        IntConsumer full = round -> planner.setJobs(jobs);
+        IntConsumer walkIn = round -> planner.upsert(job(random, JOBS + 1 + round, bays, mechanics, false));
+        IntConsumer delay = round -> {
+            WorkshopPlanner.Job job = jobs.get(RUNNING_JOBS + random.nextInt(JOBS - RUNNING_JOBS));
+            planner.upsert(delayed(job, 15 + random.nextInt(60)));
+        };
+        IntConsumer finish = round -> planner.remove(jobs.get(random.nextInt(JOBS)).id());
+
+        System.out.printf("%n%d bays (%d lanes), %d mechanics, %d jobs (%d running), %d CPU%n", BAYS,
+                bays.stream().mapToInt(WorkshopPlanner.Bay::capacity).sum(), MECHANICS, JOBS, RUNNING_JOBS,
+                Runtime.getRuntime().availableProcessors());
+        System.out.printf("utilization %.1f%%, average wait %.0f min, %d unscheduled%n",
+                planner.utilization() * 100, planner.averageWaitMinutes(), planner.unscheduled().size());
+        System.out.printf("%-12s %10s %10s %10s%n", "", "p50 ms", "p99 ms", "max ms");
+
+        double[] fullTimes = time("full replan", planner, bays, mechanics, jobs, full);
+        double[] walkInTimes = time("walk-in", planner, bays, mechanics, jobs, walkIn);
+        double[] delayTimes = time("delay", planner, bays, mechanics, jobs, delay);
+        double[] finishTimes = time("finish", planner, bays, mechanics, jobs, finish);
+
+        for (double[] incremental : List.of(walkInTimes, delayTimes, finishTimes)) {
+            assertThat(percentile(incremental, 0.50)).isLessThan(percentile(fullTimes, 0.50));
+            assertThat(percentile(incremental, 0.99)).isLessThan(50);
+        }
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    /**
+     * Times {@code change} on a fresh copy of the plan each round and, once
+     * per round, checks the result against a full replan of the same jobs.
+     */
+    private static double[] time(String name, WorkshopPlanner planner, List<WorkshopPlanner.Bay> bays,
+                                 List<WorkshopPlanner.Mechanic> mechanics, List<WorkshopPlanner.Job> jobs,
+                                 IntConsumer change) {
+        double[] millis = new double[ROUNDS];
+        for (int round = -WARMUP_ROUNDS; round < ROUNDS; round++) {
+            planner.setJobs(jobs);
+            long started = System.nanoTime();
+            change.accept(round + WARMUP_ROUNDS);
+            long elapsed = System.nanoTime() - started;
+            if (round >= 0) {
+                millis[round] = elapsed / 1_000_000.0;
+                WorkshopPlanner replanned = new WorkshopPlanner(bays, mechanics, ORIGIN, HORIZON);
+                replanned.setJobs(jobsOf(planner));
+                assertThat(planner.scheduled()).as("%s round %d", name, round).isEqualTo(replanned.scheduled());
+            }
+        }
+        Arrays.sort(millis);
+        System.out.printf("%-12s %10.3f %10.3f %10.3f%n", name, percentile(millis, 0.50), percentile(millis, 0.99),
+                millis[millis.length - 1]);
+        return millis;
+    }
+
+    private static List<WorkshopPlanner.Job> jobsOf(WorkshopPlanner planner) {
+        List<WorkshopPlanner.Job> jobs = new ArrayList<>(planner.unscheduled());
+        planner.scheduled().forEach(slot -> jobs.add(slot.job()));
+        return jobs;
+    }
+
+    private static List<WorkshopPlanner.Bay> bays(Random random) {
+        ServiceBayType[] specialTypes = {ServiceBayType.PAINT_BOOTH, ServiceBayType.WASH_STATION,
+                ServiceBayType.ALIGNMENT_STATION, ServiceBayType.DIAGNOSTIC_STATION};
+        List<WorkshopPlanner.Bay> bays = new ArrayList<>();
+        for (int id = 1; id <= BAYS; id++) {
+            ServiceBayType type = id <= 30 ? ServiceBayType.GENERAL : specialTypes[id % specialTypes.length];
+            bays.add(new WorkshopPlanner.Bay(id, "B" + id, type, 1 + random.nextInt(2)));
+        }
+        return bays;
+    }
+
+    private static List<WorkshopPlanner.Mechanic> mechanics(Random random) {
+        List<WorkshopPlanner.Mechanic> mechanics = new ArrayList<>();
+        for (int id = 1; id <= MECHANICS; id++) {
+            mechanics.add(new WorkshopPlanner.Mechanic(id, "Mechanic " + id,
+                    SPECIALIZATIONS[random.nextInt(SPECIALIZATIONS.length)]));
+        }
+        return mechanics;
+    }
+
+    private static WorkshopPlanner.Job job(Random random, long id, List<WorkshopPlanner.Bay> bays,
+                                           List<WorkshopPlanner.Mechanic> mechanics, boolean running) {
+        String serviceType = SERVICE_TYPES[random.nextInt(SERVICE_TYPES.length)];
+        long minutes = 30 + 15 * random.nextInt(12);
+        if (running) {
+            return new WorkshopPlanner.Job(id, "JC-" + id, serviceType, JobPriority.NORMAL, minutes,
+                    ORIGIN - random.nextInt(120), id, bays.get(random.nextInt(bays.size())).id(),
+                    mechanics.get(random.nextInt(mechanics.size())).id(), true);
+        }
+        JobPriority priority = JobPriority.values()[random.nextInt(JobPriority.values().length)];
+        return new WorkshopPlanner.Job(id, "JC-" + id, serviceType, priority, minutes,
+                ORIGIN + random.nextInt(240), id, null, null, false);
+    }
+
+    private static WorkshopPlanner.Job delayed(WorkshopPlanner.Job job, long extraMinutes) {
+        return new WorkshopPlanner.Job(job.id(), job.jobNumber(), job.serviceType(), job.priority(),
+                job.minutes() + extraMinutes, job.readyAt(), job.createdAt(), job.bayId(), job.mechanicId(),
+                job.pinned());
+    }
+
+    private static double percentile(double[] sorted, double p) {
+        return sorted[(int) Math.ceil(sorted.length * p) - 1];
+    }
+}
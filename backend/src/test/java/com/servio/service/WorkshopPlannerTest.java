@@ -0,0 +1,161 @@
+package com.servio.service;
+
+import com.servio.entity.JobPriority;
+import com.servio.entity.ServiceBayType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkshopPlannerTest {
+
+    private static final long ORIGIN = 8 * 60;
+    private static final long HORIZON = 18 * 60;
+    private static final String[] SERVICE_TYPES = {
+            "Oil change", "Brake repair", "Engine diagnostics", "Wheel alignment", "Body paint", "Full wash"};
+    private static final JobPriority[] PRIORITIES = JobPriority.values();
+
+    private static final List<WorkshopPlanner.Bay> BAYS = List.of(
+            new WorkshopPlanner.Bay(1, "B1", ServiceBayType.GENERAL, 2),
+            new WorkshopPlanner.Bay(2, "B2", ServiceBayType.GENERAL, 1),
+            new WorkshopPlanner.Bay(3, "B3", ServiceBayType.DIAGNOSTIC_STATION, 1),
+            new WorkshopPlanner.Bay(4, "B4", ServiceBayType.ALIGNMENT_STATION, 1),
+            new WorkshopPlanner.Bay(5, "B5", ServiceBayType.PAINT_BOOTH, 1));
+    private static final List<WorkshopPlanner.Mechanic> MECHANICS = List.of(
+            new WorkshopPlanner.Mechanic(1, "Ana", "Brake systems"),
+            new WorkshopPlanner.Mechanic(2, "Rui", "Engine diagnostics"),
+            new WorkshopPlanner.Mechanic(3, "Marta", "Bodywork and paint"),
+            new WorkshopPlanner.Mechanic(4, "Jorge", null));
+
+    @Test
+    void pinnedJobsOnOneLaneKeepItBusyUntilTheLaterEnds() {
+        List<WorkshopPlanner.Bay> bays = List.of(new WorkshopPlanner.Bay(1, "B1", ServiceBayType.GENERAL, 1));
+        // Started first, runs until 10:00; started second on the same lane, ends at 08:30
+        WorkshopPlanner.Job longRunning = pinned(1, 1, 1, ORIGIN - 60, 180);
+        WorkshopPlanner.Job shortRunning = pinned(2, 1, 2, ORIGIN - 30, 60);
+        WorkshopPlanner.Job walkIn = new WorkshopPlanner.Job(3, "JC-3", "Oil change", JobPriority.NORMAL,
+                60, ORIGIN, 3, null, null, false);
+
+        WorkshopPlanner full = new WorkshopPlanner(bays, MECHANICS, ORIGIN, HORIZON);
+        full.setJobs(List.of(longRunning, shortRunning, walkIn));
+        WorkshopPlanner incremental = new WorkshopPlanner(bays, MECHANICS, ORIGIN, HORIZON);
+        incremental.setJobs(List.of(longRunning, shortRunning));
+        incremental.upsert(walkIn);
+
+        assertThat(startOf(full, 3)).isEqualTo(ORIGIN + 120);
+        assertThat(incremental.scheduled()).isEqualTo(full.scheduled());
+    }
+
+    @Test
+    void incrementalChangesMatchAFullReplan() {
+        Random random = new Random(42);
+        Map<Long, WorkshopPlanner.Job> jobs = new LinkedHashMap<>();
+        for (long id = 1; id <= 30; id++) {
+            jobs.put(id, randomJob(random, id));
+        }
+        WorkshopPlanner incremental = new WorkshopPlanner(BAYS, MECHANICS, ORIGIN, HORIZON);
+        incremental.setJobs(jobs.values());
+
+        long nextId = jobs.size() + 1;
+        for (int step = 0; step < 500; step++) {
+            int action = random.nextInt(3);
+            if (action == 0 || jobs.isEmpty()) {
+                WorkshopPlanner.Job walkIn = randomJob(random, nextId++);
+                jobs.put(walkIn.id(), walkIn);
+                incremental.upsert(walkIn);
+            } else {
+                List<Long> ids = new ArrayList<>(jobs.keySet());
+                long id = ids.get(random.nextInt(ids.size()));
+                if (action == 1) {
+                    // A delay or re-estimate: same job and creation time, new estimate, priority and shape
+                    WorkshopPlanner.Job changed = withCreatedAt(randomJob(random, id), jobs.get(id).createdAt());
+                    jobs.put(id, changed);
+                    incremental.upsert(changed);
+                } else {
+                    jobs.remove(id);
+                    incremental.remove(id);
+                }
+            }
+
+            WorkshopPlanner full = new WorkshopPlanner(BAYS, MECHANICS, ORIGIN, HORIZON);
+            full.setJobs(jobs.values());
+            assertThat(incremental.scheduled()).as("step %d", step).isEqualTo(full.scheduled());
+            assertThat(incremental.unscheduled()).as("step %d", step).isEqualTo(full.unscheduled());
+        }
+    }
+
+    @Test
+    void rebasingMatchesAFullReplanFromTheNewOrigin() {
+        Random random = new Random(7);
+        List<WorkshopPlanner.Job> jobs = new ArrayList<>();
+        for (long id = 1; id <= 25; id++) {
+            jobs.add(randomJob(random, id));
+        }
+        WorkshopPlanner rebased = new WorkshopPlanner(BAYS, MECHANICS, ORIGIN, HORIZON);
+        rebased.setJobs(jobs);
+        rebased.rebase(ORIGIN + 90);
+
+        WorkshopPlanner full = new WorkshopPlanner(BAYS, MECHANICS, ORIGIN + 90, HORIZON);
+        full.setJobs(jobs);
+
+        assertThat(rebased.scheduled()).isEqualTo(full.scheduled());
+    }
+
+    @Test
+    void urgentShortJobsGoFirstAndSpecialistsAreWaitedFor() {
+        List<WorkshopPlanner.Bay> bays = List.of(new WorkshopPlanner.Bay(1, "B1", ServiceBayType.GENERAL, 1));
+        WorkshopPlanner planner = new WorkshopPlanner(bays, MECHANICS, ORIGIN, HORIZON);
+        planner.setJobs(List.of(
+                new WorkshopPlanner.Job(1, "JC-1", "Oil change", JobPriority.LOW, 60, ORIGIN, 1, null, null, false),
+                new WorkshopPlanner.Job(2, "JC-2", "Brake repair", JobPriority.URGENT, 90, ORIGIN, 2, null, null,
+                        false)));
+
+        List<WorkshopPlanner.Slot> slots = planner.scheduled();
+        assertThat(slots).extracting(slot -> slot.job().id()).containsExactly(2L, 1L);
+        assertThat(slots.get(0).mechanic().fullName()).isEqualTo("Ana");
+        assertThat(slots.get(0).specialist()).isTrue();
+        assertThat(slots.get(1).start()).isEqualTo(ORIGIN + 90);
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private static long startOf(WorkshopPlanner planner, long jobId) {
+        return planner.scheduled().stream()
+                .filter(slot -> slot.job().id() == jobId)
+                .findFirst()
+                .orElseThrow()
+                .start();
+    }
+
+    private static WorkshopPlanner.Job pinned(long id, long bayId, long mechanicId, long startedAt, long minutes) {
+        return new WorkshopPlanner.Job(id, "JC-" + id, "Oil change", JobPriority.NORMAL, minutes, startedAt, id,
+                bayId, mechanicId, true);
+    }
+
+    private static WorkshopPlanner.Job withCreatedAt(WorkshopPlanner.Job job, long createdAt) {
+        return new WorkshopPlanner.Job(job.id(), job.jobNumber(), job.serviceType(), job.priority(), job.minutes(),
+                job.readyAt(), createdAt, job.bayId(), job.mechanicId(), job.pinned());
+    }
+
+    /** A job mixing every shape the planner handles: running, bay- or mechanic-bound, and free. */
+    private static WorkshopPlanner.Job randomJob(Random random, long id) {
+        String serviceType = SERVICE_TYPES[random.nextInt(SERVICE_TYPES.length)];
+        long minutes = 30 + 15 * random.nextInt(12);
+        int shape = random.nextInt(10);
+        if (shape == 0) {
+            long bayId = BAYS.get(random.nextInt(BAYS.size())).id();
+            long mechanicId = MECHANICS.get(random.nextInt(MECHANICS.size())).id();
+            return new WorkshopPlanner.Job(id, "JC-" + id, serviceType, JobPriority.NORMAL, minutes,
+                    ORIGIN - random.nextInt(240), id, bayId, mechanicId, true);
+        }
+        Long bayId = shape == 1 ? BAYS.get(random.nextInt(BAYS.size())).id() : null;
+        Long mechanicId = shape == 2 ? MECHANICS.get(random.nextInt(MECHANICS.size())).id() : null;
+        return new WorkshopPlanner.Job(id, "JC-" + id, serviceType, PRIORITIES[random.nextInt(PRIORITIES.length)],
+                minutes, ORIGIN + random.nextInt(180), id, bayId, mechanicId, false);
+    }
+}
@@ -0,0 +1,66 @@
+package com.servio.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the JDBC statements the application prepares, whether they come
+ * from Hibernate or from JdbcTemplate.  Import it into a test and read
+ * {@link #count()} around the code under test.
+ */
+@TestConfiguration
+public class StatementCounter implements BeanPostProcessor {
+
+    private static final Set<String> STATEMENT_METHODS = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+    private final AtomicLong statements = new AtomicLong();
+
+    public long count() {
+        return statements.get();
+    }
+
+    public void reset() {
+        statements.set(0);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        return proxy(DataSource.class, dataSource, (method, result) ->
+                result instanceof Connection connection && method.getName().equals("getConnection")
+                        ? proxy(Connection.class, connection, (connectionMethod, statement) -> {
+                            if (STATEMENT_METHODS.contains(connectionMethod.getName())) {
+                                statements.incrementAndGet();
+                            }
+                            return statement;
+                        })
+                        : result);
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private interface ResultHandler {
+        Object handle(Method method, Object result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, ResultHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            try {
+                return handler.handle(method, method.invoke(target, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+}
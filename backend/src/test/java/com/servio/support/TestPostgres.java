@@ -0,0 +1,66 @@
+package com.servio.support;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * The Postgres database integration tests run against.
+ *
+ * With {@code -Dtest.postgres.url=jdbc:postgresql://...} (and optionally
+ * {@code test.postgres.username} / {@code test.postgres.password}) the tests
+ * use that database; its tables are dropped and recreated.  Otherwise a
+ * Testcontainers container is started once per JVM.  Without either the
+ * tests are skipped.
+ */
+public final class TestPostgres {
+
+    private static final String URL_PROPERTY = "test.postgres.url";
+
+    private static PostgreSQLContainer<?> container;
+
+    private TestPostgres() {
+    }
+
+    public static boolean isAvailable() {
+        if (System.getProperty(URL_PROPERTY) != null) {
+            return true;
+        }
+        try {
+            return DockerClientFactory.instance().isDockerAvailable();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    public static synchronized void register(DynamicPropertyRegistry registry) {
+        String url = System.getProperty(URL_PROPERTY);
+        if (url != null) {
+            registry.add("spring.datasource.url", () -> url);
+            registry.add("spring.datasource.username", () -> System.getProperty("test.postgres.username", "postgres"));
+            registry.add("spring.datasource.password", () -> System.getProperty("test.postgres.password", ""));
+        } else {
+            if (container == null) {
+                container = new PostgreSQLContainer<>("postgres:15-alpine");
+                container.start();
+            }
+            registry.add("spring.datasource.url", container::getJdbcUrl);
+            registry.add("spring.datasource.username", container::getUsername);
+            registry.add("spring.datasource.password", container::getPassword);
+        }
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+    }
+
+    /** Skips the test class when no database is available. */
+    public static class Condition implements ExecutionCondition {
+        @Override
+        public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+            return isAvailable()
+                    ? ConditionEvaluationResult.enabled("Postgres available")
+                    : ConditionEvaluationResult.disabled("No Docker and no -D" + URL_PROPERTY + "; skipping Postgres tests");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+-- Admin customer listing
+-- AdminCustomerService pages through profiles plus the local users that have
+-- no profile (matched by email) in one UNION ALL query.  These indexes back
+-- the NOT EXISTS email probe and the default newest-first ordering.
+
+BEGIN;
+
+CREATE INDEX IF NOT EXISTS idx_profiles_email
+    ON public.profiles (email);
+
+-- Each branch is sorted on its own raw created_at, DESC NULLS LAST like the
+-- listing; a plain DESC index sorts NULLs first and cannot serve it.  Earlier
+-- versions of this file created these with plain DESC, hence the drops.
+DROP INDEX IF EXISTS public.idx_profiles_created_at;
+CREATE INDEX idx_profiles_created_at
+    ON public.profiles (created_at DESC NULLS LAST);
+
+DROP INDEX IF EXISTS idx_users_created_at;
+CREATE INDEX idx_users_created_at
+    ON users (created_at DESC NULLS LAST);
+
+COMMIT;
@@ -0,0 +1,23 @@
+-- Appointment slot claims
+-- One row per booked slot; the primary key on slot_start is what makes two
+-- concurrent bookings for the same time impossible (see AppointmentSlotClaimService).
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS appointment_slots (
+    slot_start TIMESTAMP PRIMARY KEY,
+    appointment_id BIGINT NOT NULL UNIQUE REFERENCES appointments(id) ON DELETE CASCADE,
+    claimed_at TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+-- Backfill claims for existing active appointments.  If a slot was already
+-- double-booked, the earliest-created appointment keeps the claim.
+INSERT INTO appointment_slots (slot_start, appointment_id, claimed_at)
+SELECT DISTINCT ON (date_trunc('minute', appointment_date))
+       date_trunc('minute', appointment_date), id, NOW()
+FROM appointments
+WHERE status <> 'CANCELLED'
+ORDER BY date_trunc('minute', appointment_date), created_at, id
+ON CONFLICT DO NOTHING;
+
+COMMIT;
@@ -0,0 +1,24 @@
+-- Customer search
+-- AdminCustomerService.searchCustomers matches a typed query against names,
+-- emails, phones and licence plates of profiles, local users and walk-in
+-- customers with ILIKE '%q%' and word similarity; these trigram indexes
+-- serve both, so a search per keystroke does not scan the tables.
+
+BEGIN;
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_profiles_search_trgm
+    ON public.profiles USING gin (full_name gin_trgm_ops, email gin_trgm_ops, phone gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_users_search_trgm
+    ON users USING gin (full_name gin_trgm_ops, email gin_trgm_ops, phone gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_walk_in_customers_search_trgm
+    ON walk_in_customers USING gin (full_name gin_trgm_ops, email gin_trgm_ops, phone gin_trgm_ops,
+                                    license_plate gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_vehicles_license_plate_trgm
+    ON vehicles USING gin (license_plate gin_trgm_ops);
+
+COMMIT;
@@ -0,0 +1,20 @@
+-- Dashboard KPI rollups
+-- Daily totals per metric/dimension, maintained incrementally by the backend
+-- (KpiRollupService) and recomputed nightly.  Monthly figures are summed from
+-- the daily rows, so dashboard reads scale with days rather than rows.
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS kpi_daily_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    day DATE NOT NULL,
+    metric VARCHAR(32) NOT NULL,      -- REVENUE, APPOINTMENTS, NEW_CUSTOMERS
+    dimension VARCHAR(64) NOT NULL,   -- payment method, appointment status, or ''
+    total_amount DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    event_count BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_kpi_daily_rollups_day_metric_dimension UNIQUE (day, metric, dimension)
+);
+
+CREATE INDEX IF NOT EXISTS idx_kpi_daily_rollups_metric_day ON kpi_daily_rollups(metric, day);
+
+COMMIT;
@@ -0,0 +1,40 @@
+-- Labour time tracking
+-- Clock events posted by the workshop tablets (CLOCK_IN, PAUSE, RESUME,
+-- CLOCK_OUT per task and mechanic), the running clock per (task, mechanic)
+-- and the per-day labour totals behind mechanic utilization.
+-- TaskTimeTrackingService maintains job_tasks.actual_hours,
+-- job_cards.actual_hours and repair_jobs.actual_duration_hours from them.
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS job_task_time_events (
+    id BIGSERIAL PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    job_card_id BIGINT NOT NULL,
+    mechanic_id BIGINT NOT NULL,
+    event_type VARCHAR(16) NOT NULL,
+    occurred_at TIMESTAMP NOT NULL,
+    recorded_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_job_task_time_events_task ON job_task_time_events(task_id, occurred_at);
+
+CREATE TABLE IF NOT EXISTS job_task_clocks (
+    id BIGSERIAL PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    mechanic_id BIGINT NOT NULL,
+    open_since TIMESTAMP,
+    worked_seconds BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL,
+    UNIQUE (task_id, mechanic_id)
+);
+
+CREATE TABLE IF NOT EXISTS mechanic_daily_labour (
+    id BIGSERIAL PRIMARY KEY,
+    mechanic_id BIGINT NOT NULL,
+    day DATE NOT NULL,
+    worked_seconds BIGINT NOT NULL DEFAULT 0,
+    UNIQUE (mechanic_id, day)
+);
+
+COMMIT;
@@ -0,0 +1,28 @@
+-- Maintenance predictions
+-- Next due date per vehicle and service kind, recomputed nightly by the
+-- backend (MaintenancePredictionService) from service_records and served
+-- by /api/vehicles/{id}/maintenance.  reminded_due_date is the due date the
+-- owner was last notified about.  The nightly run reads service_records by
+-- vehicle_id range, which uses idx_service_records_vehicle_id.
+
+BEGIN;
+
+CREATE INDEX IF NOT EXISTS idx_service_records_vehicle_id ON service_records(vehicle_id);
+
+CREATE TABLE IF NOT EXISTS maintenance_predictions (
+    id BIGSERIAL PRIMARY KEY,
+    vehicle_id BIGINT NOT NULL REFERENCES vehicles(id) ON DELETE CASCADE,
+    service_kind VARCHAR(32) NOT NULL,
+    due_date DATE NOT NULL,
+    due_mileage INTEGER,
+    daily_km DOUBLE PRECISION NOT NULL,
+    last_service_date DATE NOT NULL,
+    last_mileage INTEGER,
+    computed_at TIMESTAMP NOT NULL,
+    reminded_due_date DATE,
+    CONSTRAINT uk_maintenance_predictions_vehicle_kind UNIQUE (vehicle_id, service_kind)
+);
+
+CREATE INDEX IF NOT EXISTS idx_maintenance_predictions_due_date ON maintenance_predictions(due_date);
+
+COMMIT;
@@ -0,0 +1,16 @@
+-- Notification inbox paging
+-- The inbox is read with keyset pagination on (created_at, id) per user
+-- (see NotificationService.getUserNotifications); this index lets every page
+-- be an index range scan, however long the user's history is.  Unread-only
+-- pages use the partial index, so they never walk past read notifications.
+
+BEGIN;
+
+CREATE INDEX IF NOT EXISTS idx_notifications_user_created
+    ON notifications (user_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_notifications_user_unread
+    ON notifications (user_id, created_at DESC, id DESC)
+    WHERE is_read = false;
+
+COMMIT;
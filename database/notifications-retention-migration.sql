@@ -0,0 +1,10 @@
+-- Notification retention
+-- NotificationRetentionScheduler purges read notifications older than the
+-- configured age in batches; this index keeps each batch's lookup cheap.
+
+BEGIN;
+
+CREATE INDEX IF NOT EXISTS idx_notifications_created_at
+    ON notifications (created_at);
+
+COMMIT;
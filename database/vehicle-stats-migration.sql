@@ -0,0 +1,22 @@
+-- Vehicle service stats
+-- Per-vehicle, per-year service totals maintained by the backend
+-- (VehicleStatsService) on every service record write and recomputed nightly.
+-- The vehicle_id index on service_records backs both the per-vehicle
+-- recompute and the /api/vehicles/{id}/stats aggregate.
+
+BEGIN;
+
+CREATE INDEX IF NOT EXISTS idx_service_records_vehicle_id ON service_records(vehicle_id);
+
+CREATE TABLE IF NOT EXISTS vehicle_service_year_stats (
+    id BIGSERIAL PRIMARY KEY,
+    vehicle_id BIGINT NOT NULL REFERENCES vehicles(id) ON DELETE CASCADE,
+    year INTEGER NOT NULL,
+    service_count BIGINT NOT NULL DEFAULT 0,
+    total_cost DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    max_mileage INTEGER,
+    last_service_date DATE,
+    CONSTRAINT uk_vehicle_service_year_stats_vehicle_year UNIQUE (vehicle_id, year)
+);
+
+COMMIT;
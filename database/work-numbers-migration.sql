@@ -0,0 +1,24 @@
+-- Work numbers
+-- Job card and job task numbers (JC-YYYYMMDD-NNNNNN / JT-YYYYMMDD-NNNNNN)
+-- take their serial from these sequences.  Each backend instance reserves
+-- a block of 50 serials per nextval call (WorkNumberAllocator), so the
+-- INCREMENT BY must stay 50.
+--
+-- Numbers generated earlier from the clock could collide; duplicates get
+-- their id appended before the unique indexes are created.
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS job_card_number_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS job_task_number_seq INCREMENT BY 50;
+
+UPDATE job_cards j SET job_number = j.job_number || '-' || j.id
+WHERE EXISTS (SELECT 1 FROM job_cards d WHERE d.job_number = j.job_number AND d.id < j.id);
+
+UPDATE job_tasks t SET task_number = t.task_number || '-' || t.id
+WHERE EXISTS (SELECT 1 FROM job_tasks d WHERE d.task_number = t.task_number AND d.id < t.id);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_job_cards_job_number ON job_cards(job_number);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_job_tasks_task_number ON job_tasks(task_number);
+
+COMMIT;
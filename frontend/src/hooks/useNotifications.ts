@@ -2,6 +2,17 @@ import { useState, useEffect, useCallback, useRef } from 'react';
 import { apiService, type NotificationDto } from '@/services/api';
 import { useAuth } from '@/contexts/AuthContext';
 import { supabase } from '@/lib/supabase';
+import { useWebSocket } from '@/hooks/useWebSocket';
+
+/** Pushed on /topic/notifications/user/{id}/unread-count whenever the user's unread count changes. */
+interface UnreadCountEvent {
+  userId: number;
+  unreadCount: number;
+}
+
+// Unread counts are pushed over STOMP; this slow poll only catches up after
+// messages missed while the socket was reconnecting
+const RESYNC_INTERVAL_MS = 10 * 60_000;
 
 export function useNotifications() {
   const { user } = useAuth();
@@ -17,11 +28,16 @@ export function useNotifications() {
     if (!numericUserId) return;
     setIsLoading(true);
     try {
-      const res = await apiService.getMyNotifications(numericUserId);
+      const [res, countRes] = await Promise.all([
+        apiService.getMyNotifications(numericUserId),
+        apiService.getUnreadCount(numericUserId),
+      ]);
       if (res.success && res.data) {
-        setNotifications(res.data);
-        seenIdsRef.current = new Set(res.data.map(n => n.id));
-        setUnreadCount(res.data.filter(n => !n.isRead).length);
+        setNotifications(res.data.items);
+        seenIdsRef.current = new Set(res.data.items.map(n => n.id));
+      }
+      if (countRes.success && countRes.data != null) {
+        setUnreadCount(countRes.data);
       }
     } catch {
       // silently fail
@@ -30,13 +46,19 @@ export function useNotifications() {
     }
   }, [numericUserId]);
 
-  // Poll REST on mount + every 60 seconds
+  // Load REST on mount, then resync rarely
   useEffect(() => {
     fetchNotifications();
-    const interval = setInterval(fetchNotifications, 60_000);
+    const interval = setInterval(fetchNotifications, RESYNC_INTERVAL_MS);
     return () => clearInterval(interval);
   }, [fetchNotifications]);
 
+  // The server pushes the authoritative count after every committed change
+  useWebSocket<UnreadCountEvent>(
+    numericUserId ? [`/topic/notifications/user/${numericUserId}/unread-count`] : [],
+    (event) => setUnreadCount(event.unreadCount),
+  );
+
   // Supabase Realtime subscription. The REST fetch above remains the source of
   // truth for history and as a fallback when realtime briefly disconnects.
   useEffect(() => {
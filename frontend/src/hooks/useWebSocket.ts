@@ -41,16 +41,26 @@ export interface AppointmentEvent {
   appointmentDate: string;
 }
 
+/** One change to the live workshop board, published on /topic/workshop/board. */
+export interface WorkshopBoardEvent {
+  sequence: number;
+  entity: 'JOB_CARD' | 'TASK' | 'BAY' | 'MECHANIC';
+  type: 'UPSERT' | 'REMOVE';
+  id: number;
+  item: Record<string, unknown> | null;
+}
+
 /**
  * Subscribes to one or more STOMP topics and fires `onEvent` whenever a
- * message arrives.  The connection is torn down on unmount.
+ * message arrives.  The connection is torn down on unmount; with no topics
+ * no connection is opened.
  *
  * Usage:
  *   useWebSocket(['/topic/appointments/user/7'], (event) => refresh());
  */
-export function useWebSocket(
+export function useWebSocket<T = AppointmentEvent>(
   topics: string[],
-  onEvent: (event: AppointmentEvent) => void,
+  onEvent: (event: T) => void,
 ) {
   const clientRef = useRef<Client | null>(null);
   // Keep a stable reference to the latest callback so we never need to
@@ -59,7 +69,7 @@ export function useWebSocket(
   useEffect(() => { onEventRef.current = onEvent; }, [onEvent]);
 
   const connect = useCallback(() => {
-    if (clientRef.current?.active) return;
+    if (topics.length === 0 || clientRef.current?.active) return;
 
     const client = new Client({
       // Native WebSocket — no SockJS needed, works directly with Vite ESM
@@ -69,7 +79,7 @@ export function useWebSocket(
         topics.forEach(topic => {
           client.subscribe(topic, (msg: IMessage) => {
             try {
-              const event: AppointmentEvent = JSON.parse(msg.body);
+              const event: T = JSON.parse(msg.body);
               onEventRef.current(event);
             } catch {
               // malformed message — ignore
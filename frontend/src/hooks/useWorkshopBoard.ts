@@ -0,0 +1,180 @@
+import { useCallback, useEffect, useRef, useState } from 'react';
+import { adminApi } from '@/services/adminApi';
+import { useWebSocket } from '@/hooks/useWebSocket';
+import type { WorkshopBoardEvent } from '@/hooks/useWebSocket';
+
+export interface BoardJobCard {
+  id: number;
+  jobNumber: string;
+  serviceType: string;
+  status: string;
+  priority: string | null;
+  mechanicId: number | null;
+  serviceBayId: number | null;
+  customerName: string | null;
+  estimatedHours: number | null;
+  startedAt: string | null;
+  updatedAt: string | null;
+}
+
+export interface BoardTask {
+  id: number;
+  jobCardId: number;
+  taskNumber: string;
+  description: string;
+  status: string;
+  mechanicId: number | null;
+  sequenceOrder: number | null;
+  updatedAt: string | null;
+}
+
+export interface BoardBay {
+  id: number;
+  bayNumber: string;
+  type: string;
+  status: string;
+  capacity: number | null;
+  updatedAt: string | null;
+}
+
+export interface BoardMechanic {
+  id: number;
+  fullName: string;
+  specialization: string | null;
+  status: string;
+  updatedAt: string | null;
+}
+
+/** Open job cards, their tasks, and the active bays and mechanics, as of event `sequence`. */
+export interface WorkshopBoard {
+  sequence: number;
+  jobCards: BoardJobCard[];
+  tasks: BoardTask[];
+  bays: BoardBay[];
+  mechanics: BoardMechanic[];
+}
+
+interface WorkshopBoardOptions {
+  /** Called for each event once the board has applied it, in sequence order, with the board before it. */
+  onEvent?: (event: WorkshopBoardEvent, previous: WorkshopBoard) => void;
+  /** Called when the snapshot is reloaded because the missed events are no longer retained. */
+  onReload?: () => void;
+}
+
+/**
+ * The live workshop board: loads the snapshot from /admin/workshop/board
+ * once, then applies the deltas pushed on /topic/workshop/board.  Events
+ * at or below the board's sequence are dropped; after a gap the missed
+ * events are fetched with /events?after=N, and the snapshot is reloaded
+ * only when the server no longer has them (409).
+ */
+export function useWorkshopBoard({ onEvent, onReload }: WorkshopBoardOptions = {}) {
+  const [board, setBoard] = useState<WorkshopBoard | null>(null);
+  const boardRef = useRef<WorkshopBoard | null>(null);
+  // Events received but not yet applied: before the snapshot, or beyond a gap
+  const pendingRef = useRef<WorkshopBoardEvent[]>([]);
+  const syncingRef = useRef(false);
+  const onEventRef = useRef(onEvent);
+  const onReloadRef = useRef(onReload);
+  useEffect(() => {
+    onEventRef.current = onEvent;
+    onReloadRef.current = onReload;
+  }, [onEvent, onReload]);
+
+  /** Applies pending events up to the first gap; true when none are left. */
+  const drain = useCallback(() => {
+    let current = boardRef.current;
+    if (!current) return false;
+    const pending = pendingRef.current
+      .filter((event) => event.sequence > current!.sequence)
+      .sort((a, b) => a.sequence - b.sequence);
+    const applied: { event: WorkshopBoardEvent; previous: WorkshopBoard }[] = [];
+    let next = 0;
+    for (; next < pending.length; next++) {
+      const event = pending[next];
+      if (event.sequence <= current.sequence) continue;
+      if (event.sequence !== current.sequence + 1) break;
+      applied.push({ event, previous: current });
+      current = applyBoardEvent(current, event);
+    }
+    pendingRef.current = pending.slice(next);
+    if (applied.length > 0) {
+      boardRef.current = current;
+      setBoard(current);
+      applied.forEach(({ event, previous }) => onEventRef.current?.(event, previous));
+    }
+    return pendingRef.current.length === 0;
+  }, []);
+
+  const loadSnapshot = useCallback(async () => {
+    const reload = boardRef.current !== null;
+    const response = await adminApi.getWorkshopBoard();
+    if (!response.success) throw new Error(response.message || 'Failed to load workshop board');
+    boardRef.current = response.data;
+    setBoard(response.data);
+    if (reload) onReloadRef.current?.();
+  }, []);
+
+  /** Brings the board up to date: snapshot first if there is none, then the missed events. */
+  const sync = useCallback(async () => {
+    if (syncingRef.current) return;
+    syncingRef.current = true;
+    try {
+      if (!boardRef.current) await loadSnapshot();
+      if (drain()) return;
+      const missed = await adminApi.getWorkshopBoardEvents(boardRef.current!.sequence);
+      if (missed?.success) {
+        pendingRef.current.push(...missed.data);
+        if (drain()) return;
+      }
+      await loadSnapshot();
+      drain();
+    } catch (error) {
+      console.error('Failed to sync the workshop board:', error);
+    } finally {
+      syncingRef.current = false;
+    }
+  }, [drain, loadSnapshot]);
+
+  useEffect(() => {
+    sync();
+  }, [sync]);
+
+  useWebSocket<WorkshopBoardEvent>(['/topic/workshop/board'], (event) => {
+    pendingRef.current.push(event);
+    // A running sync drains the event when it is done
+    if (syncingRef.current) return;
+    if (!drain()) sync();
+  });
+
+  return board;
+}
+
+/** The board after one event; removing a job card also removes its tasks. */
+export function applyBoardEvent(board: WorkshopBoard, event: WorkshopBoardEvent): WorkshopBoard {
+  const next = { ...board, sequence: event.sequence };
+  switch (event.entity) {
+    case 'JOB_CARD':
+      next.jobCards = applyItem(board.jobCards, event);
+      if (event.type === 'REMOVE') next.tasks = board.tasks.filter((task) => task.jobCardId !== event.id);
+      break;
+    case 'TASK':
+      next.tasks = applyItem(board.tasks, event);
+      break;
+    case 'BAY':
+      next.bays = applyItem(board.bays, event);
+      break;
+    case 'MECHANIC':
+      next.mechanics = applyItem(board.mechanics, event);
+      break;
+  }
+  return next;
+}
+
+function applyItem<T extends { id: number }>(items: T[], event: WorkshopBoardEvent): T[] {
+  if (event.type === 'REMOVE' || !event.item) return items.filter((item) => item.id !== event.id);
+  const item = event.item as unknown as T;
+  return items.some((existing) => existing.id === event.id)
+    ? items.map((existing) => (existing.id === event.id ? item : existing))
+    : [...items, item];
+}
@@ -13,6 +13,26 @@ interface CustomerProfile {
   joined?: string | null;
 }
 
+interface CustomerPage {
+  items: CustomerProfile[];
+  page: number;
+  size: number;
+  totalItems: number;
+  totalPages: number;
+}
+
+const PAGE_SIZE = 25;
+
+interface CustomerSearchResult {
+  source: 'PROFILE' | 'USER' | 'WALK_IN';
+  id: string;
+  fullName?: string | null;
+  email?: string | null;
+  phone?: string | null;
+  licensePlate?: string | null;
+  score: number;
+}
+
 interface AdminCustomerUser {
   id: number;
   fullName: string;
@@ -103,6 +123,10 @@ export function AdminCustomers() {
   const [loading, setLoading] = useState(true);
   const [walkInLoading, setWalkInLoading] = useState(false);
   const [searchQuery, setSearchQuery] = useState('');
+  const [suggestions, setSuggestions] = useState<CustomerSearchResult[]>([]);
+  const [page, setPage] = useState(0);
+  const [totalItems, setTotalItems] = useState(0);
+  const [totalPages, setTotalPages] = useState(0);
   const [selectedCustomer, setSelectedCustomer] = useState<CustomerProfile | null>(null);
   const [customerDetails, setCustomerDetails] = useState<CustomerDetails | null>(null);
   const [detailsLoading, setDetailsLoading] = useState(false);
@@ -111,15 +135,52 @@ export function AdminCustomers() {
   const [walkInSubmitting, setWalkInSubmitting] = useState(false);
 
   useEffect(() => {
-    loadCustomers();
     loadWalkInCustomers();
   }, []);
 
-  const loadCustomers = async () => {
+  useEffect(() => {
+    // Debounce while a search is being typed; the first load goes out immediately
+    const timer = setTimeout(() => loadCustomers(page, searchQuery), searchQuery ? 300 : 0);
+    return () => clearTimeout(timer);
+  }, [page, searchQuery]);
+
+  useEffect(() => {
+    const query = searchQuery.trim();
+    if (query.length < 2) {
+      setSuggestions([]);
+      return;
+    }
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        const response = await adminApi.searchCustomers(query);
+        if (!cancelled) setSuggestions(response.data || []);
+      } catch (error) {
+        console.error('Customer search failed:', error);
+      }
+    }, 150);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [searchQuery]);
+
+  const openSuggestion = (result: CustomerSearchResult) => {
+    setSuggestions([]);
+    if (result.source === 'WALK_IN') {
+      toast.info(`${result.fullName} is a walk-in customer (see the list below)`);
+      return;
+    }
+    openCustomerDetails({ id: result.id, fullName: result.fullName, email: result.email, phone: result.phone });
+  };
+
+  const loadCustomers = async (pageNumber: number, search: string) => {
     try {
-      setLoading(true);
-      const response = await adminApi.getAllCustomers();
-      setCustomers(response.data || []);
+      const response = await adminApi.getCustomers({ search, page: pageNumber, size: PAGE_SIZE });
+      const data: CustomerPage | undefined = response.data;
+      setCustomers(data?.items || []);
+      setTotalItems(data?.totalItems || 0);
+      setTotalPages(data?.totalPages || 0);
     } catch (error) {
       console.error('Failed to load customers:', error);
       toast.error('Failed to load customers');
@@ -202,12 +263,6 @@ export function AdminCustomers() {
     }
   };
 
-  const filteredCustomers = customers.filter(
-    (customer) =>
-      (customer.fullName || '').toLowerCase().includes(searchQuery.toLowerCase()) ||
-      (customer.email || '').toLowerCase().includes(searchQuery.toLowerCase())
-  );
-
   const formatDate = (dateString?: string | null) => {
     if (!dateString) return '—';
     return new Date(dateString).toLocaleDateString('en-US', {
@@ -252,11 +307,11 @@ export function AdminCustomers() {
       <div className="grid grid-cols-1 md:grid-cols-2 gap-6">
         <div className="bg-white rounded-xl border border-black/5 shadow-sm p-6">
           <div className="text-sm text-gray-600 mb-1">Total Customers</div>
-          <div className="text-3xl font-bold text-black">{customers.length}</div>
+          <div className="text-3xl font-bold text-black">{totalItems}</div>
         </div>
         <div className="bg-white rounded-xl border border-black/5 shadow-sm p-6">
           <div className="text-sm text-gray-600 mb-1">Showing</div>
-          <div className="text-3xl font-bold text-[#ff5d2e]">{filteredCustomers.length}</div>
+          <div className="text-3xl font-bold text-[#ff5d2e]">{customers.length}</div>
         </div>
       </div>
 
@@ -268,9 +323,35 @@ export function AdminCustomers() {
               type="text"
               placeholder="Search customers by name or email..."
               value={searchQuery}
-              onChange={(e) => setSearchQuery(e.target.value)}
+              onChange={(e) => {
+                setSearchQuery(e.target.value);
+                setPage(0);
+              }}
+              onBlur={() => setTimeout(() => setSuggestions([]), 150)}
               className="w-full pl-10 pr-4 py-2 bg-gray-50 border-transparent focus:bg-white focus:border-[#ff5d2e] focus:ring-0 rounded-lg transition-all text-sm"
             />
+            {suggestions.length > 0 && (
+              <div className="absolute left-0 right-0 top-full mt-1 bg-white border border-black/10 rounded-lg shadow-lg z-20 overflow-hidden">
+                {suggestions.map((result) => (
+                  <button
+                    key={`${result.source}-${result.id}`}
+                    onMouseDown={(e) => e.preventDefault()}
+                    onClick={() => openSuggestion(result)}
+                    className="w-full px-4 py-2 text-left hover:bg-gray-50 flex items-center justify-between gap-3"
+                  >
+                    <div className="min-w-0">
+                      <div className="text-sm font-medium text-black truncate">{result.fullName || 'Unknown'}</div>
+                      <div className="text-xs text-gray-500 truncate">
+                        {[result.email, result.phone, result.licensePlate].filter(Boolean).join(' · ')}
+                      </div>
+                    </div>
+                    <span className="text-[10px] uppercase tracking-wide text-gray-400 shrink-0">
+                      {result.source === 'WALK_IN' ? 'Walk-in' : result.source === 'USER' ? 'Local' : 'Profile'}
+                    </span>
+                  </button>
+                ))}
+              </div>
+            )}
           </div>
           <button className="flex items-center gap-2 px-3 py-2 text-sm font-medium text-gray-600 hover:text-black hover:bg-gray-50 rounded-lg transition-colors">
             <Filter className="h-4 w-4" />
@@ -292,7 +373,7 @@ export function AdminCustomers() {
               </tr>
             </thead>
             <tbody className="divide-y divide-gray-100">
-              {filteredCustomers.length === 0 ? (
+              {customers.length === 0 ? (
                 <tr>
                   <td colSpan={7} className="px-6 py-12 text-center text-gray-500">
                     <div className="bg-gray-50 rounded-full w-16 h-16 flex items-center justify-center mx-auto mb-4">
@@ -303,7 +384,7 @@ export function AdminCustomers() {
                   </td>
                 </tr>
               ) : (
-                filteredCustomers.map((customer) => (
+                customers.map((customer) => (
                   <tr key={customer.id} className="hover:bg-gray-50/50 transition-colors group">
                     <td className="px-6 py-4 text-sm font-mono text-gray-400">
                       #{customer.id.slice(0, 8)}
@@ -367,10 +448,25 @@ export function AdminCustomers() {
         </div>
 
         <div className="p-4 border-t border-black/5 bg-gray-50/50 flex items-center justify-between text-xs text-gray-500">
-          <span>Showing {filteredCustomers.length} results</span>
+          <span>
+            Showing {customers.length} of {totalItems} results
+            {totalPages > 1 && ` · Page ${page + 1} of ${totalPages}`}
+          </span>
           <div className="flex gap-2">
-            <button className="px-3 py-1 border rounded hover:bg-white disabled:opacity-50" disabled>Previous</button>
-            <button className="px-3 py-1 border rounded hover:bg-white disabled:opacity-50" disabled>Next</button>
+            <button
+              className="px-3 py-1 border rounded hover:bg-white disabled:opacity-50"
+              disabled={page === 0}
+              onClick={() => setPage((p) => Math.max(p - 1, 0))}
+            >
+              Previous
+            </button>
+            <button
+              className="px-3 py-1 border rounded hover:bg-white disabled:opacity-50"
+              disabled={page + 1 >= totalPages}
+              onClick={() => setPage((p) => p + 1)}
+            >
+              Next
+            </button>
           </div>
         </div>
       </div>
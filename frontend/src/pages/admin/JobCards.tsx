@@ -1,6 +1,12 @@
 import { useEffect, useState } from 'react';
 import { Clipboard, Search, MoreVertical, Trash2, Eye } from 'lucide-react';
 import { toast } from 'sonner';
+import { adminApi } from '@/services/adminApi';
+import { useWorkshopBoard } from '@/hooks/useWorkshopBoard';
+import type { WorkshopBoard } from '@/hooks/useWorkshopBoard';
+import type { WorkshopBoardEvent } from '@/hooks/useWebSocket';
+
+const PAGE_SIZE = 25;
 
 export function AdminJobCards() {
   const [jobCards, setJobCards] = useState<any[]>([]);
@@ -8,14 +14,53 @@ export function AdminJobCards() {
   const [searchQuery, setSearchQuery] = useState('');
   const [statusFilter, setStatusFilter] = useState('');
   const [selectedJobCard, setSelectedJobCard] = useState<any>(null);
+  const [page, setPage] = useState(0);
+  const [totalItems, setTotalItems] = useState(0);
+  const [totalPages, setTotalPages] = useState(0);
 
   useEffect(() => {
     loadJobCards();
-  }, [statusFilter]);
+  }, [statusFilter, page]);
+
+  // Live updates: open cards on this page take their status, priority and
+  // assignments from the board; only a card that leaves or joins the board
+  // is fetched again, and only by this page
+  const board = useWorkshopBoard({
+    onEvent: (event, previous) => {
+      if (event.entity === 'JOB_CARD') refreshJobCard(event, previous);
+    },
+    onReload: () => loadJobCards(true),
+  });
 
-  const loadJobCards = async () => {
+  const refreshJobCard = async (event: WorkshopBoardEvent, previous: WorkshopBoard) => {
+    const onPage = jobCards.some((card) => card.id === event.id);
+    const joinedBoard = event.type === 'UPSERT' && !previous.jobCards.some((card) => card.id === event.id);
+    // Closed or deleted, or new or reopened; a new card belongs at the top of the first page
+    if (!(event.type === 'REMOVE' ? onPage : joinedBoard && !onPage && page === 0)) return;
     try {
-      setLoading(true);
+      const response = await adminApi.getJobCard(event.id);
+      if (!response.success) {
+        if (!onPage) return;
+        setJobCards((cards) => cards.filter((card) => card.id !== event.id));
+        setTotalItems((total) => Math.max(total - 1, 0));
+        return;
+      }
+      const card = response.data;
+      if (onPage) {
+        setJobCards((cards) => cards.map((existing) => (existing.id === card.id ? card : existing)));
+      } else if ((!statusFilter || card.status === statusFilter)
+          && (!jobCards.length || card.createdAt > jobCards[0].createdAt)) {
+        setJobCards((cards) => [card, ...cards.filter((existing) => existing.id !== card.id)].slice(0, PAGE_SIZE));
+        setTotalItems((total) => total + 1);
+      }
+    } catch (error) {
+      console.error('Failed to refresh job card:', error);
+    }
+  };
+
+  const loadJobCards = async (quiet = false) => {
+    try {
+      if (!quiet) setLoading(true);
       const apiBaseUrl = (() => {
         let url = import.meta.env.VITE_API_URL;
         if (url && url.startsWith('http://') && window.location.protocol === 'https:') url = undefined;
@@ -23,9 +68,9 @@ export function AdminJobCards() {
         const h = window.location.hostname;
         return (h === 'localhost' || h === '127.0.0.1') ? `http://${h}:3001/api` : `${window.location.origin}/api`;
       })();
-      const url = statusFilter
-        ? `${apiBaseUrl}/admin/job-cards/status/${statusFilter}`
-        : `${apiBaseUrl}/admin/job-cards`;
+      const params = new URLSearchParams({ page: String(page), size: String(PAGE_SIZE) });
+      if (statusFilter) params.set('status', statusFilter);
+      const url = `${apiBaseUrl}/admin/job-cards?${params}`;
       
       const response = await fetch(url, {
         headers: {
@@ -33,7 +78,9 @@ export function AdminJobCards() {
         },
       });
       const data = await response.json();
-      setJobCards(data.data || []);
+      setJobCards(data.data?.items || []);
+      setTotalItems(data.data?.totalItems || 0);
+      setTotalPages(data.data?.totalPages || 0);
     } catch (error) {
       console.error('Failed to load job cards:', error);
       toast.error('Failed to load job cards');
@@ -60,7 +107,7 @@ const apiBaseUrl = (() => {
       
       if (response.ok) {
         toast.success('Status updated successfully');
-        loadJobCards();
+        setJobCards((cards) => cards.map((card) => (card.id === id ? { ...card, status: newStatus } : card)));
         if (selectedJobCard?.id === id) {
           setSelectedJobCard(null);
         }
@@ -91,7 +138,8 @@ const apiBaseUrl = (() => {
         
         if (response.ok) {
           toast.success('Job card deleted successfully');
-          loadJobCards();
+          setJobCards((cards) => cards.filter((card) => card.id !== id));
+          setTotalItems((total) => Math.max(total - 1, 0));
           setSelectedJobCard(null);
         } else {
           toast.error('Failed to delete job card');
@@ -123,11 +171,12 @@ const apiBaseUrl = (() => {
     return colors[priority] || 'text-gray-600';
   };
 
-  const filteredJobCards = jobCards.filter(
+  const filteredJobCards = jobCards.map((card) => withBoardState(card, board)).filter(
     (card) =>
-      card.jobNumber.toLowerCase().includes(searchQuery.toLowerCase()) ||
+      (!statusFilter || card.status === statusFilter) &&
+      (card.jobNumber.toLowerCase().includes(searchQuery.toLowerCase()) ||
       card.serviceType.toLowerCase().includes(searchQuery.toLowerCase()) ||
-      (card.mechanicName && card.mechanicName.toLowerCase().includes(searchQuery.toLowerCase()))
+      (card.mechanicName && card.mechanicName.toLowerCase().includes(searchQuery.toLowerCase())))
   );
 
   if (loading) {
@@ -167,7 +216,10 @@ const apiBaseUrl = (() => {
         </div>
         <select
           value={statusFilter}
-          onChange={(e) => setStatusFilter(e.target.value)}
+          onChange={(e) => {
+            setStatusFilter(e.target.value);
+            setPage(0);
+          }}
           className="px-4 py-2 bg-white border border-black/10 rounded-lg text-sm focus:outline-none focus:border-[#ff5d2e]"
         >
           <option value="">All Status</option>
@@ -253,6 +305,29 @@ const apiBaseUrl = (() => {
             )}
           </tbody>
         </table>
+
+        <div className="p-4 border-t border-black/10 flex items-center justify-between text-xs text-black/60">
+          <span>
+            Showing {jobCards.length} of {totalItems} job cards
+            {totalPages > 1 && ` · Page ${page + 1} of ${totalPages}`}
+          </span>
+          <div className="flex gap-2">
+            <button
+              className="px-3 py-1 border rounded hover:bg-black/5 disabled:opacity-50"
+              disabled={page === 0}
+              onClick={() => setPage((p) => Math.max(p - 1, 0))}
+            >
+              Previous
+            </button>
+            <button
+              className="px-3 py-1 border rounded hover:bg-black/5 disabled:opacity-50"
+              disabled={page + 1 >= totalPages}
+              onClick={() => setPage((p) => p + 1)}
+            >
+              Next
+            </button>
+          </div>
+        </div>
       </div>
 
       {/* Detailed View Modal */}
@@ -330,3 +405,21 @@ const apiBaseUrl = (() => {
     </div>
   );
 }
+
+/** The page's copy of a job card with the board's live fields, while the card is open. */
+function withBoardState(card: any, board: WorkshopBoard | null) {
+  const live = board?.jobCards.find((item) => item.id === card.id);
+  if (!board || !live) return card;
+  const mechanic = board.mechanics.find((item) => item.id === live.mechanicId);
+  const bay = board.bays.find((item) => item.id === live.serviceBayId);
+  return {
+    ...card,
+    status: live.status,
+    priority: live.priority,
+    estimatedHours: live.estimatedHours,
+    mechanicId: live.mechanicId,
+    mechanicName: mechanic ? mechanic.fullName : live.mechanicId === card.mechanicId ? card.mechanicName : null,
+    serviceBayId: live.serviceBayId,
+    bayNumber: bay ? bay.bayNumber : live.serviceBayId === card.serviceBayId ? card.bayNumber : null,
+  };
+}
@@ -1,6 +1,10 @@
 import { useEffect, useState } from 'react';
 import { Wrench, Search, Plus, MoreVertical, Trash2, Edit2 } from 'lucide-react';
 import { toast } from 'sonner';
+import { adminApi } from '@/services/adminApi';
+import { useWorkshopBoard } from '@/hooks/useWorkshopBoard';
+import type { WorkshopBoard } from '@/hooks/useWorkshopBoard';
+import type { WorkshopBoardEvent } from '@/hooks/useWebSocket';
 
 export function AdminMechanics() {
   const [mechanics, setMechanics] = useState<any[]>([]);
@@ -19,9 +23,31 @@ export function AdminMechanics() {
     loadMechanics();
   }, []);
 
-  const loadMechanics = async () => {
+  // Live updates: active mechanics take their status from the board; one that
+  // joins or leaves it (added, reactivated, deactivated, deleted) is fetched again
+  const board = useWorkshopBoard({
+    onEvent: (event, previous) => {
+      if (event.entity === 'MECHANIC') refreshMechanic(event, previous);
+    },
+    onReload: () => loadMechanics(true),
+  });
+
+  const refreshMechanic = async (event: WorkshopBoardEvent, previous: WorkshopBoard) => {
+    if (event.type === 'UPSERT' && previous.mechanics.some((item) => item.id === event.id)) return;
+    try {
+      const response = await adminApi.getMechanic(event.id);
+      setMechanics((items) => {
+        const others = items.filter((item) => item.id !== event.id);
+        return response.success ? [...others, response.data] : others;
+      });
+    } catch (error) {
+      console.error('Failed to refresh mechanic:', error);
+    }
+  };
+
+  const loadMechanics = async (quiet = false) => {
     try {
-      setLoading(true);
+      if (!quiet) setLoading(true);
 const apiBaseUrl = (() => {
   let url = import.meta.env.VITE_API_URL;
   if (url && url.startsWith('http://') && window.location.protocol === 'https:') url = undefined;
@@ -68,6 +94,7 @@ const apiBaseUrl = (() => {
       });
       
       if (response.ok) {
+        const created = (await response.json()).data;
         toast.success('Mechanic added successfully');
         setShowModal(false);
         setFormData({
@@ -77,7 +104,7 @@ const apiBaseUrl = (() => {
           specialization: '',
           experienceYears: '',
         });
-        loadMechanics();
+        setMechanics((items) => [...items.filter((item) => item.id !== created.id), created]);
       } else {
         toast.error('Failed to add mechanic');
       }
@@ -105,7 +132,7 @@ const apiBaseUrl = (() => {
         
         if (response.ok) {
           toast.success('Mechanic deleted successfully');
-          loadMechanics();
+          setMechanics((items) => items.filter((item) => item.id !== id));
         } else {
           toast.error('Failed to delete mechanic');
         }
@@ -115,7 +142,7 @@ const apiBaseUrl = (() => {
     }
   };
 
-  const filteredMechanics = mechanics.filter(
+  const filteredMechanics = mechanics.map((mechanic) => withBoardState(mechanic, board)).filter(
     (mechanic) =>
       mechanic.fullName.toLowerCase().includes(searchQuery.toLowerCase()) ||
       mechanic.specialization?.toLowerCase().includes(searchQuery.toLowerCase())
@@ -290,3 +317,11 @@ const apiBaseUrl = (() => {
     </div>
   );
 }
+
+/** The listed mechanic with the board's live fields, while the mechanic is active. */
+function withBoardState(mechanic: any, board: WorkshopBoard | null) {
+  const live = board?.mechanics.find((item) => item.id === mechanic.id);
+  return live
+    ? { ...mechanic, fullName: live.fullName, specialization: live.specialization, status: live.status }
+    : mechanic;
+}
@@ -1,6 +1,10 @@
 import { useEffect, useState } from 'react';
 import { Warehouse, Search, Plus, MoreVertical, Trash2, Edit2 } from 'lucide-react';
 import { toast } from 'sonner';
+import { adminApi } from '@/services/adminApi';
+import { useWorkshopBoard } from '@/hooks/useWorkshopBoard';
+import type { WorkshopBoard } from '@/hooks/useWorkshopBoard';
+import type { WorkshopBoardEvent } from '@/hooks/useWebSocket';
 
 export function AdminServiceBays() {
   const [bays, setBays] = useState<any[]>([]);
@@ -18,9 +22,31 @@ export function AdminServiceBays() {
     loadBays();
   }, []);
 
-  const loadBays = async () => {
+  // Live updates: active service bays take their status from the board; one that
+  // joins or leaves it (added, reactivated, deactivated, deleted) is fetched again
+  const board = useWorkshopBoard({
+    onEvent: (event, previous) => {
+      if (event.entity === 'BAY') refreshBay(event, previous);
+    },
+    onReload: () => loadBays(true),
+  });
+
+  const refreshBay = async (event: WorkshopBoardEvent, previous: WorkshopBoard) => {
+    if (event.type === 'UPSERT' && previous.bays.some((item) => item.id === event.id)) return;
+    try {
+      const response = await adminApi.getServiceBay(event.id);
+      setBays((items) => {
+        const others = items.filter((item) => item.id !== event.id);
+        return response.success ? [...others, response.data] : others;
+      });
+    } catch (error) {
+      console.error('Failed to refresh service bay:', error);
+    }
+  };
+
+  const loadBays = async (quiet = false) => {
     try {
-      setLoading(true);
+      if (!quiet) setLoading(true);
 const apiBaseUrl = (() => {
   let url = import.meta.env.VITE_API_URL;
   if (url && url.startsWith('http://') && window.location.protocol === 'https:') url = undefined;
@@ -70,6 +96,7 @@ const apiBaseUrl = (() => {
       });
       
       if (response.ok) {
+        const created = (await response.json()).data;
         toast.success('Service bay added successfully');
         setShowModal(false);
         setFormData({
@@ -78,7 +105,7 @@ const apiBaseUrl = (() => {
           type: 'GENERAL',
           capacity: '1',
         });
-        loadBays();
+        setBays((items) => [...items.filter((item) => item.id !== created.id), created]);
       } else {
         toast.error('Failed to add service bay');
       }
@@ -106,7 +133,7 @@ const apiBaseUrl = (() => {
         
         if (response.ok) {
           toast.success('Service bay deleted successfully');
-          loadBays();
+          setBays((items) => items.filter((item) => item.id !== id));
         } else {
           toast.error('Failed to delete service bay');
         }
@@ -134,7 +161,7 @@ const apiBaseUrl = (() => {
       
       if (response.ok) {
         toast.success('Status updated successfully');
-        loadBays();
+        setBays((items) => items.map((item) => (item.id === id ? { ...item, status: newStatus } : item)));
       } else {
         toast.error('Failed to update status');
       }
@@ -143,7 +170,7 @@ const apiBaseUrl = (() => {
     }
   };
 
-  const filteredBays = bays.filter(
+  const filteredBays = bays.map((bay) => withBoardState(bay, board)).filter(
     (bay) =>
       bay.bayNumber.toLowerCase().includes(searchQuery.toLowerCase()) ||
       bay.description.toLowerCase().includes(searchQuery.toLowerCase())
@@ -324,3 +351,11 @@ const apiBaseUrl = (() => {
     </div>
   );
 }
+
+/** The listed bay with the board's live fields, while the bay is active. */
+function withBoardState(bay: any, board: WorkshopBoard | null) {
+  const live = board?.bays.find((item) => item.id === bay.id);
+  return live
+    ? { ...bay, bayNumber: live.bayNumber, type: live.type, status: live.status, capacity: live.capacity }
+    : bay;
+}
@@ -153,8 +153,20 @@ class AdminApiService {
     return response.json();
   }
 
-  async getAllCustomers() {
-    const response = await apiFetch(`${API_BASE_URL}/admin/customers`, {
+  async getCustomers(params: { search?: string; role?: string; sort?: string; direction?: string; page?: number; size?: number } = {}) {
+    const query = new URLSearchParams();
+    Object.entries(params).forEach(([key, value]) => {
+      if (value !== undefined && value !== null && value !== '') query.set(key, String(value));
+    });
+    const response = await apiFetch(`${API_BASE_URL}/admin/customers?${query.toString()}`, {
+      headers: this.getHeaders(),
+    });
+    return response.json();
+  }
+
+  async searchCustomers(q: string, limit = 8) {
+    const query = new URLSearchParams({ q, limit: String(limit) });
+    const response = await apiFetch(`${API_BASE_URL}/admin/customers/search?${query.toString()}`, {
       headers: this.getHeaders(),
     });
     return response.json();
@@ -191,6 +203,44 @@ class AdminApiService {
     return response.json();
   }
 
+  /** Live board snapshot; its `sequence` is the last board event it includes. */
+  async getWorkshopBoard() {
+    const response = await apiFetch(`${API_BASE_URL}/admin/workshop/board`, {
+      headers: this.getHeaders(),
+    });
+    return response.json();
+  }
+
+  /** Board events numbered above `after`, or null (409) when they are gone and the snapshot must be reloaded. */
+  async getWorkshopBoardEvents(after: number) {
+    const response = await apiFetch(`${API_BASE_URL}/admin/workshop/board/events?after=${after}`, {
+      headers: this.getHeaders(),
+    });
+    if (response.status === 409) return null;
+    return response.json();
+  }
+
+  async getJobCard(id: number) {
+    const response = await apiFetch(`${API_BASE_URL}/admin/job-cards/${id}`, {
+      headers: this.getHeaders(),
+    });
+    return response.json();
+  }
+
+  async getServiceBay(id: number) {
+    const response = await apiFetch(`${API_BASE_URL}/admin/service-bays/${id}`, {
+      headers: this.getHeaders(),
+    });
+    return response.json();
+  }
+
+  async getMechanic(id: number) {
+    const response = await apiFetch(`${API_BASE_URL}/admin/mechanics/${id}`, {
+      headers: this.getHeaders(),
+    });
+    return response.json();
+  }
+
   async recordPayment(id: number, amount: number, paymentMethod: string) {
     const response = await apiFetch(`${API_BASE_URL}/admin/appointments/${id}/payments`, {
       method: 'POST',
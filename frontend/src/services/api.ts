@@ -498,12 +498,16 @@ class ApiService {
   }
 
   // Notification endpoints
-  async getMyNotifications(userId: number): Promise<ApiResponse<NotificationDto[]>> {
-    const response = await apiFetch(`${API_BASE_URL}/notifications/user/${userId}`, {
+  async getMyNotifications(userId: number, cursor?: string, limit?: number): Promise<ApiResponse<NotificationPageDto>> {
+    const params = new URLSearchParams();
+    if (cursor) params.set('cursor', cursor);
+    if (limit) params.set('limit', String(limit));
+    const query = params.toString();
+    const response = await apiFetch(`${API_BASE_URL}/notifications/user/${userId}${query ? `?${query}` : ''}`, {
       method: 'GET',
       headers: this.getHeaders(true),
     });
-    return this.handleResponse<NotificationDto[]>(response);
+    return this.handleResponse<NotificationPageDto>(response);
   }
 
   async getUnreadCount(userId: number): Promise<ApiResponse<number>> {
@@ -542,6 +546,12 @@ export interface NotificationDto {
   createdAt: string;
 }
 
+export interface NotificationPageDto {
+  items: NotificationDto[];
+  nextCursor: string | null;
+  hasMore: boolean;
+}
+
 export const apiService = new ApiService();
 export type {
   User,